@@ -0,0 +1,87 @@
+package br.com.consisa.gov.kb.benchmark;
+
+import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.governance.KbContentAnalysisService;
+import br.com.consisa.gov.kb.governance.detector.AiReadyAuditService;
+import br.com.consisa.gov.kb.perf.KbArticleCorpus;
+import br.com.consisa.gov.kb.service.KbArticleHashService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Caminhos quentes por artigo do sync/pipeline de governança.
+ *
+ * - hash: normalização + SHA-256 do conteúdo (KbArticleHashService)
+ * - incompleteContent: normalização + busca de marcadores (detector INCOMPLETE_CONTENT)
+ * - aiReadyChecklist: checklist IA-ready (AiReadyAuditService, sem banco)
+ *
+ * Cada invocação processa o próximo artigo do corpus da faixa ({@code size}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArticleContentBenchmark {
+
+    private static final int CORPUS_SIZE = 64;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public KbArticleCorpus.Size size;
+
+    private List<KbArticle> articles;
+    private int next;
+
+    private KbArticleHashService hashService;
+    private KbContentAnalysisService analysisService;
+    private AiReadyAuditService aiReadyAuditService;
+
+    @Setup
+    public void setUp() {
+        articles = KbArticleCorpus.articles(size, CORPUS_SIZE, 42L);
+        hashService = new KbArticleHashService();
+        analysisService = new KbContentAnalysisService();
+        // só evaluate() é medido: repositórios/issues não são usados
+        aiReadyAuditService = new AiReadyAuditService(null, null, null, new ObjectMapper());
+    }
+
+    private KbArticle nextArticle() {
+        KbArticle article = articles.get(next);
+        next = (next + 1) % CORPUS_SIZE;
+        return article;
+    }
+
+    private static String content(KbArticle article) {
+        return article.getContentText() != null ? article.getContentText() : article.getContentHtml();
+    }
+
+    @Benchmark
+    public String hash() {
+        return hashService.generateContentHash(content(nextArticle()));
+    }
+
+    @Benchmark
+    public boolean incompleteContent() {
+        String text = content(nextArticle());
+        return analysisService.length(text) < 500 || analysisService.hasPlaceholder(analysisService.normalize(text));
+    }
+
+    @Benchmark
+    public AiReadyAuditService.AiReadyChecklist aiReadyChecklist() {
+        return aiReadyAuditService.evaluate(nextArticle());
+    }
+}
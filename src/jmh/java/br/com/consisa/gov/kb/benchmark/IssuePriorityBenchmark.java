@@ -0,0 +1,68 @@
+package br.com.consisa.gov.kb.benchmark;
+
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.domain.GovernanceSeverity;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+import br.com.consisa.gov.kb.service.GovernanceIssuePriorityService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Score de prioridade de issue (rodado por issue em listagens e rollups).
+ *
+ * Combinações de severidade/tipo/status/SLA sorteadas uma vez (semente fixa).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IssuePriorityBenchmark {
+
+    private static final int CASES = 1024;
+
+    private final String[] severities = new String[CASES];
+    private final String[] types = new String[CASES];
+    private final String[] statuses = new String[CASES];
+    private final OffsetDateTime[] dueDates = new OffsetDateTime[CASES];
+    private final OffsetDateTime now = OffsetDateTime.of(2026, 3, 2, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private GovernanceIssuePriorityService priorityService;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        priorityService = new GovernanceIssuePriorityService();
+        SplittableRandom random = new SplittableRandom(11L);
+        GovernanceSeverity[] severity = GovernanceSeverity.values();
+        KbGovernanceIssueType[] type = KbGovernanceIssueType.values();
+        GovernanceIssueStatus[] status = GovernanceIssueStatus.values();
+        for (int i = 0; i < CASES; i++) {
+            severities[i] = severity[random.nextInt(severity.length)].name();
+            types[i] = type[random.nextInt(type.length)].name();
+            statuses[i] = status[random.nextInt(status.length)].name();
+            dueDates[i] = random.nextInt(10) == 0 ? null : now.plusHours(random.nextInt(-240, 240));
+        }
+    }
+
+    @Benchmark
+    public GovernanceIssuePriorityService.PriorityAssessment assess() {
+        int i = next;
+        next = (next + 1) & (CASES - 1);
+        return priorityService.assess(severities[i], types[i], statuses[i], dueDates[i], now);
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.consisa.gov.kb.benchmark;
+
+import br.com.consisa.gov.kb.perf.KbArticleCorpus;
+import br.com.consisa.gov.kb.service.SupportNormalizationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Normalização + fingerprint de texto de ticket (importação de suporte).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SupportNormalizationBenchmark {
+
+    private static final int CORPUS_SIZE = 64;
+
+    @Param({"SMALL", "MEDIUM"})
+    public KbArticleCorpus.Size size;
+
+    private List<String> tickets;
+    private int next;
+    private SupportNormalizationService normalizationService;
+
+    @Setup
+    public void setUp() {
+        tickets = KbArticleCorpus.tickets(size, CORPUS_SIZE, 7L);
+        normalizationService = new SupportNormalizationService();
+    }
+
+    @Benchmark
+    public String normalizeAndFingerprint() {
+        String text = tickets.get(next);
+        next = (next + 1) % CORPUS_SIZE;
+        return normalizationService.fingerprint(normalizationService.normalize(text));
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.consisa.gov.kb.audit;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Evento de auditoria capturado na thread da requisição.
+ *
+ * Usuário e correlationId são lidos na hora (ThreadLocal); os valores
+ * antigo/novo seguem como objeto e só viram JSON no {@link AuditLogWriter}.
+ *
+ * @param enqueuedNanos System.nanoTime() da captura (latência até o commit)
+ */
+public record AuditEvent(
+        String userId,
+        String action,
+        String entityType,
+        String entityId,
+        Object oldValue,
+        Object newValue,
+        String correlationId,
+        OffsetDateTime createdAt,
+        long enqueuedNanos
+) {
+}
@@ -0,0 +1,270 @@
+package br.com.consisa.gov.kb.audit;
+
+import br.com.consisa.gov.kb.repository.AuditLogBatchRepository;
+import br.com.consisa.gov.kb.repository.AuditLogBatchRepository.AuditLogRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 📝 Gravação assíncrona de auditoria (fila limitada + batch JDBC).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - {@link #enqueue}: só um offer numa fila circular de tamanho fixo;
+ *   fila cheia = evento descartado e contado (a requisição nunca espera)
+ * - Uma thread dedicada drena até batch-size eventos, serializa o JSON
+ *   fora da requisição e grava tudo num único batch
+ * - Shutdown: para depois do servidor web (phase menor) e grava o que
+ *   ainda estiver na fila antes do pool de conexões fechar
+ *
+ * Estatísticas (enfileirados, gravados, descartados, falhas e latência
+ * captura → commit) ficam em {@link #stats()} e no Micrometer:
+ * kb.audit.queue.depth, kb.audit.events{result} e kb.audit.lag.
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    /** Para depois do servidor web (que para em DEFAULT_PHASE - 2048). */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final AuditLogBatchRepository batchRepository;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong lagNanosTotal = new AtomicLong();
+    private final AtomicLong lagNanosMax = new AtomicLong();
+    private volatile Timer lagTimer;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(
+            AuditLogBatchRepository batchRepository,
+            ObjectMapper objectMapper,
+            @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.audit.batch-size:200}") int batchSize,
+            @Value("${app.audit.flush-interval-ms:500}") long flushIntervalMs
+    ) {
+        this.batchRepository = batchRepository;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+    }
+
+    /**
+     * @return false se a fila estava cheia (evento descartado)
+     */
+    public boolean enqueue(AuditEvent event) {
+        if (queue.offer(event)) {
+            enqueued.incrementAndGet();
+            return true;
+        }
+        long total = dropped.incrementAndGet();
+        if (total == 1 || total % 1000 == 0) {
+            log.warn("⚠️ Fila de auditoria cheia: {} eventos descartados até agora", total);
+        }
+        return false;
+    }
+
+    // ======================
+    // CICLO DE VIDA
+    // ======================
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        int remaining = queue.size();
+        while (flushOnce() > 0) {
+            // drena o restante na thread de shutdown
+        }
+        if (remaining > 0) {
+            log.info("📝 Auditoria: {} eventos pendentes gravados no shutdown", remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void runLoop() {
+        while (running) {
+            try {
+                AuditEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<AuditEvent> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    write(batch);
+                }
+            } catch (InterruptedException ex) {
+                // stop(): o restante é drenado na thread de shutdown
+                return;
+            } catch (RuntimeException ex) {
+                log.warn("Falha no writer de auditoria: {}", ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Grava um lote do que estiver na fila (usado no shutdown e em testes).
+     *
+     * @return quantidade de eventos retirados da fila
+     */
+    int flushOnce() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+        return batch.size();
+    }
+
+    private void write(List<AuditEvent> batch) {
+        List<AuditLogRow> rows = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            rows.add(new AuditLogRow(
+                    event.userId(),
+                    event.action(),
+                    event.entityType(),
+                    event.entityId(),
+                    toJson(event.oldValue()),
+                    toJson(event.newValue()),
+                    event.correlationId(),
+                    event.createdAt()
+            ));
+        }
+
+        try {
+            batchRepository.insertAll(rows);
+        } catch (RuntimeException ex) {
+            failed.addAndGet(batch.size());
+            log.warn("Falha ao gravar {} eventos de auditoria: {}", batch.size(), ex.getMessage());
+            return;
+        }
+
+        long now = System.nanoTime();
+        for (AuditEvent event : batch) {
+            long lag = now - event.enqueuedNanos();
+            lagNanosTotal.addAndGet(lag);
+            lagNanosMax.accumulateAndGet(lag, Math::max);
+            if (lagTimer != null) {
+                lagTimer.record(lag, TimeUnit.NANOSECONDS);
+            }
+        }
+        written.addAndGet(batch.size());
+    }
+
+    private String toJson(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            log.warn("Falha ao serializar audit payload: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    // ======================
+    // ESTATÍSTICAS
+    // ======================
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("kb.audit.queue.depth", queue, BlockingQueue::size)
+                .description("Eventos de auditoria aguardando gravação")
+                .register(registry);
+        bindCounter(registry, "enqueued", enqueued);
+        bindCounter(registry, "written", written);
+        bindCounter(registry, "dropped", dropped);
+        bindCounter(registry, "failed", failed);
+        lagTimer = Timer.builder("kb.audit.lag")
+                .description("Latência captura → commit do evento de auditoria")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static void bindCounter(MeterRegistry registry, String result, AtomicLong counter) {
+        FunctionCounter.builder("kb.audit.events", counter, AtomicLong::get)
+                .description("Eventos de auditoria por resultado")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public AuditStats stats() {
+        long writtenCount = written.get();
+        return new AuditStats(
+                queue.size(),
+                enqueued.get(),
+                writtenCount,
+                dropped.get(),
+                failed.get(),
+                writtenCount == 0 ? 0.0 : lagNanosTotal.get() / 1_000_000.0 / writtenCount,
+                lagNanosMax.get() / 1_000_000.0
+        );
+    }
+
+    /**
+     * @param avgLagMs latência média captura → commit
+     * @param maxLagMs maior latência captura → commit
+     */
+    public record AuditStats(
+            int queued,
+            long enqueued,
+            long written,
+            long dropped,
+            long failed,
+            double avgLagMs,
+            double maxLagMs
+    ) {
+    }
+}
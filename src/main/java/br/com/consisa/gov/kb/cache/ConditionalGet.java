@@ -0,0 +1,27 @@
+package br.com.consisa.gov.kb.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Habilita ETag / If-None-Match num endpoint GET que retorna ResponseEntity.
+ *
+ * O ETag é derivado dos contadores dos domínios informados (sem serializar
+ * nem fazer hash do corpo). Se o cliente já tem a versão atual, a resposta
+ * é 304 antes de executar o método (nenhuma query).
+ *
+ * Pode ser usada no método ou na classe do controller.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+
+    /**
+     * Domínios dos quais a resposta depende.
+     */
+    DataDomain[] value();
+}
@@ -0,0 +1,122 @@
+package br.com.consisa.gov.kb.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Collections;
+
+/**
+ * 🏷️ GET condicional (ETag / If-None-Match) para endpoints {@link ConditionalGet}.
+ *
+ * ORDEM:
+ * ------
+ * Roda DEPOIS do @PreAuthorize (usuário sem permissão continua recebendo 403)
+ * e ANTES do @Transactional (304 não abre transação nem executa a query
+ * do endpoint).
+ *
+ * O corpo nunca é serializado para calcular o ETag: a versão vem de
+ * {@link DataVersionService} (domínios do banco: um SELECT em kb_data_version).
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class ConditionalGetAspect {
+
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final DataVersionService versions;
+
+    public ConditionalGetAspect(DataVersionService versions) {
+        this.versions = versions;
+    }
+
+    @Around("@annotation(br.com.consisa.gov.kb.cache.ConditionalGet) "
+            + "|| @within(br.com.consisa.gov.kb.cache.ConditionalGet)")
+    public Object around(ProceedingJoinPoint joinPoint) throws Throwable {
+        HttpServletRequest request = resolveRequest();
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        if (request == null
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+                || !ResponseEntity.class.isAssignableFrom(signature.getReturnType())) {
+            return joinPoint.proceed();
+        }
+
+        ConditionalGet config = resolveConfig(joinPoint, signature);
+        if (config == null) {
+            return joinPoint.proceed();
+        }
+
+        // versão lida ANTES da query: se mudar durante a execução, o próximo GET busca de novo
+        String etag = versions.etag(config.value());
+
+        if (matches(request, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(REVALIDATE)
+                    .build();
+        }
+
+        Object result = joinPoint.proceed();
+        if (result instanceof ResponseEntity<?> response
+                && response.getStatusCode().is2xxSuccessful()
+                && response.getHeaders().getETag() == null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+            headers.setETag(etag);
+            if (headers.getCacheControl() == null) {
+                headers.setCacheControl(REVALIDATE);
+            }
+            return new ResponseEntity<>(response.getBody(), headers, response.getStatusCode());
+        }
+        return result;
+    }
+
+    private ConditionalGet resolveConfig(ProceedingJoinPoint joinPoint, MethodSignature signature) {
+        ConditionalGet config = AnnotatedElementUtils.findMergedAnnotation(signature.getMethod(), ConditionalGet.class);
+        if (config == null && joinPoint.getTarget() != null) {
+            config = AnnotatedElementUtils.findMergedAnnotation(joinPoint.getTarget().getClass(), ConditionalGet.class);
+        }
+        return config;
+    }
+
+    /**
+     * If-None-Match pode ter várias tags separadas por vírgula ou "*".
+     * Comparação fraca (ignora o prefixo W/), como manda a RFC 9110 para 304.
+     */
+    static boolean matches(HttpServletRequest request, String etag) {
+        String current = stripWeak(etag);
+        for (String header : Collections.list(request.getHeaders(HttpHeaders.IF_NONE_MATCH))) {
+            for (String candidate : header.split(",")) {
+                String value = candidate.trim();
+                if ("*".equals(value) || current.equals(stripWeak(value))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private HttpServletRequest resolveRequest() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            return attributes.getRequest();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,34 @@
+package br.com.consisa.gov.kb.cache;
+
+/**
+ * Conjuntos de dados versionados por {@link DataVersionService}.
+ *
+ * Cada domínio tem um contador que sobe a cada mudança confirmada (commit).
+ * Domínios compartilhados (dados do banco, escritos por qualquer réplica)
+ * guardam o contador em kb_data_version; os demais descrevem estado em
+ * memória da própria réplica e o contador é local.
+ */
+public enum DataDomain {
+
+    /** kb_governance_issue (criação, status, atribuição). */
+    ISSUES(true),
+
+    /** kb_article (sync, edição manual, marcação de MISSING). */
+    ARTICLES(true),
+
+    /** Snapshot do {@code GovernanceMetricsStore} (deltas e reconciliações). */
+    METRICS(false),
+
+    /** Top-K do {@code GovernanceTopIssuesTracker}. */
+    TOP_ISSUES(false);
+
+    private final boolean shared;
+
+    DataDomain(boolean shared) {
+        this.shared = shared;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+}
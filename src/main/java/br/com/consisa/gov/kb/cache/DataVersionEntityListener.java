@@ -0,0 +1,36 @@
+package br.com.consisa.gov.kb.cache;
+
+import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssue;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que incrementa a versão do domínio quando a entidade muda.
+ *
+ * Registrado via {@code @EntityListeners} em KbArticle e KbGovernanceIssue.
+ * Updates em massa (JPQL/SQL nativo) não passam por aqui: quem os executa
+ * deve chamar {@link DataVersionService#bumpAfterCommit(DataDomain)}.
+ */
+@Component
+public class DataVersionEntityListener {
+
+    private final DataVersionService versions;
+
+    public DataVersionEntityListener(DataVersionService versions) {
+        this.versions = versions;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        if (entity instanceof KbGovernanceIssue) {
+            versions.bumpAfterCommit(DataDomain.ISSUES);
+        } else if (entity instanceof KbArticle) {
+            versions.bumpAfterCommit(DataDomain.ARTICLES);
+        }
+    }
+}
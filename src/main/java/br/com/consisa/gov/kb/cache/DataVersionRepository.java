@@ -0,0 +1,50 @@
+package br.com.consisa.gov.kb.cache;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Versões dos domínios compartilhados ({@link DataDomain#isShared()}) em kb_data_version.
+ *
+ * Tabela de poucas linhas: ler todas as versões é um único SELECT por PK.
+ */
+@Repository
+public class DataVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DataVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Map<DataDomain, Long> findAll() {
+        Map<DataDomain, Long> versions = new EnumMap<>(DataDomain.class);
+        jdbcTemplate.query("SELECT domain, version FROM kb_data_version", rs -> {
+            versions.put(DataDomain.valueOf(rs.getString("domain")), rs.getLong("version"));
+        });
+        return versions;
+    }
+
+    /**
+     * Incrementa em transação própria e curta: chamado depois do commit de
+     * quem escreveu, a linha fica travada só pelo UPDATE.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void increment(Collection<DataDomain> domains) {
+        // ordem fixa (enum) evita deadlock entre réplicas incrementando os mesmos domínios
+        List<String> ordered = domains.stream().sorted().map(DataDomain::name).toList();
+        jdbcTemplate.batchUpdate("""
+                UPDATE kb_data_version
+                SET version = version + 1,
+                    updated_at = NOW()
+                WHERE domain = ?
+                """, ordered, ordered.size(), (ps, domain) -> ps.setString(1, domain));
+    }
+}
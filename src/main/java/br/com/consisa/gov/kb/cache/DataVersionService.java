@@ -0,0 +1,138 @@
+package br.com.consisa.gov.kb.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🔢 Versões (contadores de mudança) por domínio de dados.
+ *
+ * Usado para derivar ETags baratos: nenhuma query de negócio nem
+ * serialização do corpo.
+ *
+ * REGRAS:
+ * -------
+ * - Mudança dentro de transação só conta no COMMIT (evita que um GET leia a
+ *   versão nova com dados antigos e o cliente guarde conteúdo desatualizado)
+ * - Vários saves na mesma transação viram um único incremento por domínio
+ * - Domínios compartilhados (ISSUES, ARTICLES): contador em kb_data_version,
+ *   o mesmo para todas as réplicas; escrita em qualquer réplica invalida o
+ *   ETag em todas (custo: um SELECT de PK por GET condicional)
+ * - Domínios locais (METRICS, TOP_ISSUES): estado em memória da réplica,
+ *   contador local; o epoch diferencia réplicas e reinícios do processo
+ */
+@Service
+public class DataVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DataVersionService.class);
+
+    private final DataVersionRepository sharedVersions;
+    private final long epoch = System.currentTimeMillis();
+    private final Map<DataDomain, AtomicLong> localVersions = new EnumMap<>(DataDomain.class);
+
+    public DataVersionService(DataVersionRepository sharedVersions) {
+        this.sharedVersions = sharedVersions;
+        for (DataDomain domain : DataDomain.values()) {
+            if (!domain.isShared()) {
+                localVersions.put(domain, new AtomicLong());
+            }
+        }
+    }
+
+    public long epoch() {
+        return epoch;
+    }
+
+    public long version(DataDomain domain) {
+        if (domain.isShared()) {
+            return sharedVersions.findAll().getOrDefault(domain, 0L);
+        }
+        return localVersions.get(domain).get();
+    }
+
+    /**
+     * Incrementa imediatamente (usar fora de transação ou após commit).
+     */
+    public void bump(DataDomain domain) {
+        increment(EnumSet.of(domain));
+    }
+
+    /**
+     * Incrementa no commit da transação corrente (ou já, se não houver transação).
+     */
+    public void bumpAfterCommit(DataDomain domain) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(domain);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<DataDomain> pending = (Set<DataDomain>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<DataDomain> domains = EnumSet.noneOf(DataDomain.class);
+            TransactionSynchronizationManager.bindResource(this, domains);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    increment(domains);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(DataVersionService.this);
+                }
+            });
+            pending = domains;
+        }
+        pending.add(domain);
+    }
+
+    /**
+     * ETag fraco com as versões dos domínios (e o epoch da instância, se
+     * algum domínio for local).
+     */
+    public String etag(DataDomain... domains) {
+        boolean anyShared = Arrays.stream(domains).anyMatch(DataDomain::isShared);
+        boolean anyLocal = Arrays.stream(domains).anyMatch(domain -> !domain.isShared());
+        Map<DataDomain, Long> shared = anyShared ? sharedVersions.findAll() : Map.of();
+
+        StringBuilder tag = new StringBuilder("W/\"").append(anyLocal ? Long.toHexString(epoch) : "db");
+        for (DataDomain domain : domains) {
+            long version = domain.isShared()
+                    ? shared.getOrDefault(domain, 0L)
+                    : localVersions.get(domain).get();
+            tag.append('-').append(version);
+        }
+        return tag.append('"').toString();
+    }
+
+    private void increment(Set<DataDomain> domains) {
+        Set<DataDomain> shared = EnumSet.noneOf(DataDomain.class);
+        for (DataDomain domain : domains) {
+            if (domain.isShared()) {
+                shared.add(domain);
+            } else {
+                localVersions.get(domain).incrementAndGet();
+            }
+        }
+        if (shared.isEmpty()) {
+            return;
+        }
+        try {
+            sharedVersions.increment(shared);
+        } catch (RuntimeException ex) {
+            // a escrita de negócio já foi confirmada: não propaga para quem fez o commit.
+            // ETag fica para trás até a próxima mudança do domínio.
+            log.warn("⚠️ Falha ao incrementar versão compartilhada {}: {}", shared, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package br.com.consisa.gov.kb.client.movidesk;
+
+/**
+ * Resultado de GET /article/{id} condicional.
+ *
+ * @param article corpo do artigo (null quando notModified)
+ * @param etag    ETag da resposta (null se a API não devolver)
+ * @param notModified true = 304, corpo não foi baixado
+ */
+public record MovideskArticleFetch(MovideskArticleDto article, String etag, boolean notModified) {
+}
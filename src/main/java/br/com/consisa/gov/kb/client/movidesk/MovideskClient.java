@@ -1,9 +1,13 @@
 package br.com.consisa.gov.kb.client.movidesk;
 
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.observability.jfr.MovideskRequestEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.HttpServerErrorException;
@@ -13,8 +17,10 @@ import org.springframework.web.client.RestClientResponseException;
 
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Function;
 
 /**
  * Client HTTP responsável por consumir a API pública do Movidesk.
@@ -26,6 +32,9 @@ import java.util.List;
  * - Buscar artigos da KB
  * - Criar tickets (tarefas)
  * - Buscar informações de agentes
+ *
+ * Toda chamada HTTP é medida em kb.movidesk.requests{endpoint,status}
+ * e emite o evento JFR MovideskRequest (bytes via MovideskTrafficInterceptor).
  */
 @Component
 public class MovideskClient {
@@ -33,15 +42,24 @@ public class MovideskClient {
     private static final Logger log =
             LoggerFactory.getLogger(MovideskClient.class);
 
+    /** Tickets por página na busca paginada (OData $top). */
+    public static final int TICKET_PAGE_SIZE = 500;
+
     private final RestClient restClient;
     private final String token;
+    private final MovideskRateLimiter ticketRateLimiter;
+    private final KbMetrics metrics;
 
     public MovideskClient(
             RestClient movideskRestClient,
-            @Value("${movidesk.token}") String token
+            @Value("${movidesk.token}") String token,
+            MovideskRateLimiter ticketRateLimiter,
+            KbMetrics metrics
     ) {
         this.restClient = movideskRestClient;
         this.token = token;
+        this.ticketRateLimiter = ticketRateLimiter;
+        this.metrics = metrics;
     }
 
     /**
@@ -51,14 +69,15 @@ public class MovideskClient {
         try {
             log.debug("Movidesk: buscando artigo id={}", id);
 
-            return restClient.get()
+            return exchange("getArticleById", id, event -> restClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/article/{id}")
                             .queryParam("token", token)
                             .build(id))
+                    .attribute(MovideskRequestEvent.ATTRIBUTE, event)
                     .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
-                    .body(MovideskArticleDto.class);
+                    .toEntity(MovideskArticleDto.class));
 
         } catch (HttpClientErrorException | HttpServerErrorException ex) {
             log.error("Erro Movidesk getArticleById id={} status={} body={}",
@@ -73,6 +92,51 @@ public class MovideskClient {
         }
     }
 
+    /**
+     * Busca condicional do artigo: If-None-Match (etag) e If-Modified-Since
+     * (updatedDate já salvo). Com 304 o corpo não é baixado.
+     * Sem etag nem data → GET normal. Se a API ignorar os headers, volta 200
+     * com corpo e quem chama compara o revisionId.
+     */
+    public MovideskArticleFetch getArticleIfModified(long id, String etag, OffsetDateTime lastModified) {
+        try {
+            log.debug("Movidesk: buscando artigo (condicional) id={} etag={} since={}", id, etag, lastModified);
+
+            ResponseEntity<MovideskArticleDto> response = exchangeEntity("getArticleById", id, event -> {
+                RestClient.RequestHeadersSpec<?> request = restClient.get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path("/article/{id}")
+                                .queryParam("token", token)
+                                .build(id))
+                        .attribute(MovideskRequestEvent.ATTRIBUTE, event)
+                        .accept(MediaType.APPLICATION_JSON);
+                if (etag != null && !etag.isBlank()) {
+                    request = request.ifNoneMatch(etag);
+                }
+                if (lastModified != null) {
+                    request = request.ifModifiedSince(lastModified.toZonedDateTime());
+                }
+                return request.retrieve().toEntity(MovideskArticleDto.class);
+            });
+
+            boolean notModified = response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value();
+            return new MovideskArticleFetch(
+                    notModified ? null : response.getBody(),
+                    response.getHeaders().getETag(),
+                    notModified);
+
+        } catch (HttpClientErrorException | HttpServerErrorException ex) {
+            log.error("Erro Movidesk getArticleById id={} status={} body={}",
+                    id, ex.getStatusCode(), safeBody(ex));
+            throw ex;
+
+        } catch (ResourceAccessException ex) {
+            log.error("Erro de rede Movidesk getArticleById id={} msg={}",
+                    id, safeMsg(ex));
+            throw ex;
+        }
+    }
+
     /**
      * Search oficial da KB (usado no syncAll).
      */
@@ -80,7 +144,7 @@ public class MovideskClient {
         try {
             log.debug("Movidesk: searchArticles page={} pageSize={}", page, pageSize);
 
-            return restClient.get()
+            return exchange("searchArticles", 0, event -> restClient.get()
                     .uri(uriBuilder -> uriBuilder
                             .path("/kb/article")
                             .queryParam("page", page)
@@ -88,9 +152,10 @@ public class MovideskClient {
                             .queryParam("status", 1)
                             .queryParam("token", token)
                             .build())
+                    .attribute(MovideskRequestEvent.ATTRIBUTE, event)
                     .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
-                    .body(MovideskArticleSearchResponse.class);
+                    .toEntity(MovideskArticleSearchResponse.class));
 
         } catch (HttpClientErrorException | HttpServerErrorException ex) {
             log.error("Erro Movidesk searchArticles page={} status={} body={}",
@@ -114,16 +179,17 @@ public class MovideskClient {
         try {
             log.info("Movidesk: criando ticket subject='{}'", request.getSubject());
 
-            MovideskTicketResponse response = restClient.post()
+            MovideskTicketResponse response = exchange("createTicket", 0, event -> restClient.post()
                     .uri(uriBuilder -> uriBuilder
                             .path("/tickets")
                             .queryParam("token", token)
                             .build())
+                    .attribute(MovideskRequestEvent.ATTRIBUTE, event)
                     .contentType(MediaType.APPLICATION_JSON)
                     .accept(MediaType.APPLICATION_JSON)
                     .body(request)
                     .retrieve()
-                    .body(MovideskTicketResponse.class);
+                    .toEntity(MovideskTicketResponse.class));
 
             log.info("✅ Ticket criado: id={} protocol={}",
                     response.getId(), response.getProtocol());
@@ -143,14 +209,34 @@ public class MovideskClient {
     }
 
     /**
-     * Busca tickets por período.
+     * Busca tickets por período (todas as páginas).
      */
     public List<MovideskTicketResponse> searchTickets(OffsetDateTime start, OffsetDateTime end) {
+        List<MovideskTicketResponse> tickets = new ArrayList<>();
+        for (int skip = 0; ; skip += TICKET_PAGE_SIZE) {
+            List<MovideskTicketResponse> page = searchTickets(start, end, skip, TICKET_PAGE_SIZE);
+            tickets.addAll(page);
+            if (page.size() < TICKET_PAGE_SIZE) {
+                return tickets;
+            }
+        }
+    }
+
+    /**
+     * Busca uma página de tickets do período (OData $top/$skip, ordem estável por id).
+     * Respeita o limite de requisições da API de tickets.
+     */
+    public List<MovideskTicketResponse> searchTickets(OffsetDateTime start, OffsetDateTime end, int skip, int top) {
         try {
             String startParam = start != null ? start.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME) : null;
             String endParam = end != null ? end.format(DateTimeFormatter.ISO_OFFSET_DATE_TIME) : null;
 
-            MovideskTicketResponse[] response = restClient.get()
+            long waitStarted = System.nanoTime();
+            ticketRateLimiter.acquire();
+            metrics.movideskRateLimitWait(System.nanoTime() - waitStarted);
+            log.debug("Movidesk: searchTickets from={} to={} skip={} top={}", startParam, endParam, skip, top);
+
+            MovideskTicketResponse[] response = exchange("searchTickets", 0, event -> restClient.get()
                     .uri(uriBuilder -> {
                         uriBuilder.path("/tickets")
                                 .queryParam("token", token);
@@ -160,19 +246,24 @@ public class MovideskClient {
                         if (endParam != null) {
                             uriBuilder.queryParam("createdDateTo", endParam);
                         }
-                        return uriBuilder.build();
+                        return uriBuilder
+                                .queryParam("$orderby", "id")
+                                .queryParam("$top", top)
+                                .queryParam("$skip", skip)
+                                .build();
                     })
+                    .attribute(MovideskRequestEvent.ATTRIBUTE, event)
                     .accept(MediaType.APPLICATION_JSON)
                     .retrieve()
-                    .body(MovideskTicketResponse[].class);
+                    .toEntity(MovideskTicketResponse[].class));
 
             return response == null ? List.of() : Arrays.asList(response);
         } catch (HttpClientErrorException | HttpServerErrorException ex) {
-            log.error("Erro Movidesk searchTickets status={} body={}",
-                    ex.getStatusCode(), safeBody(ex));
+            log.error("Erro Movidesk searchTickets skip={} status={} body={}",
+                    skip, ex.getStatusCode(), safeBody(ex));
             throw ex;
         } catch (ResourceAccessException ex) {
-            log.error("Erro de rede Movidesk searchTickets msg={}", safeMsg(ex));
+            log.error("Erro de rede Movidesk searchTickets skip={} msg={}", skip, safeMsg(ex));
             throw ex;
         }
     }
@@ -182,16 +273,17 @@ public class MovideskClient {
      */
     public void addTicketAction(String ticketId, MovideskTicketActionRequest request) {
         try {
-            restClient.post()
+            exchange("addTicketAction", 0, event -> restClient.post()
                     .uri(uriBuilder -> uriBuilder
                             .path("/tickets/{id}/actions")
                             .queryParam("token", token)
                             .build(ticketId))
+                    .attribute(MovideskRequestEvent.ATTRIBUTE, event)
                     .contentType(MediaType.APPLICATION_JSON)
                     .accept(MediaType.APPLICATION_JSON)
                     .body(request)
                     .retrieve()
-                    .toBodilessEntity();
+                    .toBodilessEntity());
         } catch (HttpClientErrorException | HttpServerErrorException ex) {
             log.error("Erro Movidesk addTicketAction status={} body={}",
                     ex.getStatusCode(), safeBody(ex));
@@ -202,6 +294,43 @@ public class MovideskClient {
         }
     }
 
+    /**
+     * Executa a chamada medindo duração e status HTTP
+     * (IO_ERROR = sem resposta; ERROR = falha fora do HTTP, ex.: desserialização).
+     * O evento JFR vai como atributo da requisição para o interceptor de tráfego.
+     */
+    private <T> T exchange(String endpoint, long articleId, Function<MovideskRequestEvent, ResponseEntity<T>> call) {
+        return exchangeEntity(endpoint, articleId, call).getBody();
+    }
+
+    private <T> ResponseEntity<T> exchangeEntity(String endpoint, long articleId,
+                                                 Function<MovideskRequestEvent, ResponseEntity<T>> call) {
+        MovideskRequestEvent event = new MovideskRequestEvent();
+        event.begin();
+        long started = System.nanoTime();
+        String status = "ERROR";
+        try {
+            ResponseEntity<T> response = call.apply(event);
+            status = String.valueOf(response.getStatusCode().value());
+            return response;
+        } catch (RestClientResponseException ex) {
+            status = String.valueOf(ex.getStatusCode().value());
+            throw ex;
+        } catch (ResourceAccessException ex) {
+            status = KbMetrics.STATUS_IO_ERROR;
+            throw ex;
+        } finally {
+            metrics.movideskRequest(endpoint, status, System.nanoTime() - started);
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.articleId = articleId;
+                event.status = status;
+                event.commit();
+            }
+        }
+    }
+
     /* =========================================================
        HELPERS DE LOG (seguros)
        ========================================================= */
@@ -0,0 +1,22 @@
+package br.com.consisa.gov.kb.client.movidesk;
+
+import io.micrometer.common.KeyValue;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+/**
+ * 🔒 Convenção de observation das chamadas ao Movidesk.
+ *
+ * O token da API vai na query string: a URL do span (http.url) é exportada
+ * sem query para não vazar credencial para o backend de tracing.
+ */
+public class MovideskClientObservationConvention extends DefaultClientRequestObservationConvention {
+
+    @Override
+    protected KeyValue requestUri(ClientRequestObservationContext context) {
+        KeyValue original = super.requestUri(context);
+        String url = original.getValue();
+        int query = url.indexOf('?');
+        return query < 0 ? original : KeyValue.of(original.getKey(), url.substring(0, query));
+    }
+}
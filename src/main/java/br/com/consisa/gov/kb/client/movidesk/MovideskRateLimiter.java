@@ -0,0 +1,48 @@
+package br.com.consisa.gov.kb.client.movidesk;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏱️ Limite de requisições da busca de tickets do Movidesk.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Distribui as chamadas uniformemente: uma a cada 60s / requests-per-minute
+ * - Cada chamada reserva o próximo horário livre e dorme fora do lock, então
+ *   várias threads (janelas em paralelo) compartilham o mesmo limite
+ */
+@Component
+public class MovideskRateLimiter {
+
+    private final long intervalNanos;
+    private long nextSlotNanos = System.nanoTime();
+
+    public MovideskRateLimiter(@Value("${movidesk.tickets.requests-per-minute:10}") int requestsPerMinute) {
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, requestsPerMinute);
+    }
+
+    /**
+     * Bloqueia até a próxima vaga.
+     */
+    public void acquire() {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlotNanos);
+            nextSlotNanos = slot + intervalNanos;
+            waitNanos = slot - now;
+        }
+        if (waitNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando limite de requisições do Movidesk", ex);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package br.com.consisa.gov.kb.client.movidesk;
+
+import br.com.consisa.gov.kb.observability.jfr.MovideskRequestEvent;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 📦 Preenche o MovideskRequestEvent (JFR) com o tráfego da chamada.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Só age quando a requisição carrega o evento (atributo) e o JFR está
+ *   gravando esse tipo de evento; senão é um repasse direto
+ * - requestBytes: corpo enviado; timeToHeaders: até o status/headers
+ * - responseBytes: contados conforme o corpo é lido (sem bufferizar)
+ */
+public class MovideskTrafficInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        if (!(request.getAttributes().get(MovideskRequestEvent.ATTRIBUTE) instanceof MovideskRequestEvent event)
+                || !event.isEnabled()) {
+            return execution.execute(request, body);
+        }
+
+        long started = System.nanoTime();
+        event.requestBytes = body.length;
+        ClientHttpResponse response = execution.execute(request, body);
+        event.timeToHeaders = System.nanoTime() - started;
+        return new CountingResponse(response, event);
+    }
+
+    private static final class CountingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final MovideskRequestEvent event;
+        private InputStream body;
+
+        CountingResponse(ClientHttpResponse delegate, MovideskRequestEvent event) {
+            this.delegate = delegate;
+            this.event = event;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(delegate.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        int b = super.read();
+                        if (b >= 0) {
+                            event.responseBytes++;
+                        }
+                        return b;
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int off, int len) throws IOException {
+                        int n = super.read(buffer, off, len);
+                        if (n > 0) {
+                            event.responseBytes += n;
+                        }
+                        return n;
+                    }
+
+                    @Override
+                    public long skip(long n) throws IOException {
+                        long skipped = super.skip(n);
+                        event.responseBytes += skipped;
+                        return skipped;
+                    }
+
+                    // sem mark/reset: releitura contaria bytes em dobro
+                    @Override
+                    public boolean markSupported() {
+                        return false;
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package br.com.consisa.gov.kb.client.movidesk;
+
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 🚚 Camada de transporte do MovideskClient (em cima do JDK HttpClient).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Compressão: envia Accept-Encoding: gzip, deflate e descompacta o corpo em
+ *   streaming (sem bufferizar). A descompressão do JdkClientHttpRequestFactory
+ *   fica desligada: ela remove o Content-Encoding e esconde os bytes no fio.
+ *   Brotli (br) não é anunciado: o JDK não tem decoder
+ * - Limite de conexões: no máximo N requisições em voo (HTTP/1.1 = N conexões);
+ *   a vaga é liberada quando a resposta é fechada. Sem vaga dentro do
+ *   acquire-timeout → IOException (vira ResourceAccessException / IO_ERROR)
+ * - Métricas: bytes no fio x decodificados por encoding, conexões em uso e
+ *   espera por vaga (KbMetrics)
+ *
+ * Deve ficar ANTES do MovideskTrafficInterceptor na cadeia: o evento JFR
+ * continua contando os bytes que passaram pelo fio (compactados).
+ */
+public class MovideskTransportInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final String IDENTITY = "identity";
+
+    private final boolean compression;
+    private final Semaphore permits;
+    private final Duration acquireTimeout;
+    private final KbMetrics metrics;
+
+    /**
+     * @param maxConnections máximo de requisições em voo (0 = sem limite)
+     */
+    public MovideskTransportInterceptor(boolean compression, int maxConnections, Duration acquireTimeout, KbMetrics metrics) {
+        this.compression = compression;
+        this.permits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        this.acquireTimeout = acquireTimeout;
+        this.metrics = metrics;
+        if (permits != null) {
+            metrics.movideskConnections(maxConnections, () -> maxConnections - permits.availablePermits());
+        }
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        Runnable release = acquire();
+        try {
+            if (compression && !request.getHeaders().containsHeader(HttpHeaders.ACCEPT_ENCODING)) {
+                request.getHeaders().set(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+            }
+            return new DecodingResponse(execution.execute(request, body), release);
+        } catch (IOException | RuntimeException ex) {
+            release.run();
+            throw ex;
+        }
+    }
+
+    private Runnable acquire() throws IOException {
+        if (permits == null) {
+            return () -> { };
+        }
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrompido aguardando conexão com o Movidesk", ex);
+        } finally {
+            metrics.movideskConnectionWait(System.nanoTime() - started);
+        }
+        if (!acquired) {
+            throw new IOException("Sem conexão livre com o Movidesk após " + acquireTimeout.toMillis() + "ms");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+    }
+
+    /**
+     * Resposta com corpo decodificado (headers sem Content-Encoding/Content-Length,
+     * que passam a não valer para o corpo entregue ao conversor).
+     */
+    private final class DecodingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Runnable release;
+        private final String encoding;
+        private final HttpHeaders headers;
+        private CountingStream wire;
+        private CountingStream decoded;
+
+        DecodingResponse(ClientHttpResponse delegate, Runnable release) {
+            this.delegate = delegate;
+            this.release = release;
+            String contentEncoding = delegate.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING);
+            this.encoding = contentEncoding == null ? IDENTITY : contentEncoding.trim().toLowerCase();
+            if (isDecoded()) {
+                this.headers = new HttpHeaders();
+                this.headers.putAll(delegate.getHeaders());
+                this.headers.remove(HttpHeaders.CONTENT_ENCODING);
+                this.headers.remove(HttpHeaders.CONTENT_LENGTH);
+            } else {
+                this.headers = delegate.getHeaders();
+            }
+        }
+
+        private boolean isDecoded() {
+            return "gzip".equals(encoding) || "deflate".equals(encoding);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            if (decoded == null) {
+                wire = new CountingStream(delegate.getBody());
+                InputStream body = switch (encoding) {
+                    case "gzip" -> gunzip(wire);
+                    case "deflate" -> new InflaterInputStream(wire);
+                    default -> wire;
+                };
+                decoded = body == wire ? wire : new CountingStream(body);
+            }
+            return decoded;
+        }
+
+        private static InputStream gunzip(InputStream in) throws IOException {
+            try {
+                return new GZIPInputStream(in);
+            } catch (EOFException ex) {
+                // corpo vazio (ex.: 204/304) com Content-Encoding: gzip
+                return InputStream.nullInputStream();
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                release.run();
+                if (wire != null) {
+                    metrics.movideskResponseBytes(encoding, wire.count, decoded.count);
+                }
+            }
+        }
+    }
+
+    private static final class CountingStream extends FilterInputStream {
+
+        private long count;
+
+        CountingStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            int n = super.read(buffer, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+
+        // sem mark/reset: releitura contaria bytes em dobro
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
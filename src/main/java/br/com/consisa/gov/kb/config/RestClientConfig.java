@@ -1,5 +1,12 @@
 package br.com.consisa.gov.kb.config;
 
+import br.com.consisa.gov.kb.client.movidesk.MovideskClientObservationConvention;
+import br.com.consisa.gov.kb.client.movidesk.MovideskTrafficInterceptor;
+import br.com.consisa.gov.kb.client.movidesk.MovideskTransportInterceptor;
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.JdkClientHttpRequestFactory;
@@ -7,27 +14,87 @@ import org.springframework.web.client.RestClient;
 
 import java.net.http.HttpClient;
 import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * 🌐 RestClient do Movidesk (JDK HttpClient).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - movidesk.http.version: HTTP_1_1 (padrão) ou HTTP_2 (multiplexa as chamadas
+ *   numa única conexão TLS; negociado via ALPN, cai para 1.1 se o servidor recusar)
+ * - movidesk.http.compression: gzip/deflate no corpo (MovideskTransportInterceptor)
+ * - movidesk.http.max-connections: requisições simultâneas (0 = sem limite);
+ *   acquire-timeout-ms é a espera máxima por vaga
+ * - movidesk.http.virtual-threads: executor do HttpClient em virtual threads
+ *
+ * Keep-alive: o pool de conexões do JDK HttpClient é por processo e só se
+ * ajusta por system property (-Djdk.httpclient.keepalive.timeout=<s>,
+ * -Djdk.httpclient.connectionPoolSize=<n>); padrão do JDK: 20 min e ilimitado.
+ */
 @Configuration
 public class RestClientConfig {
 
+    /**
+     * Executor do HttpClient fora do contexto: um bean Executor desligaria o
+     * applicationTaskExecutor do Spring Boot (SSE/async).
+     */
+    private final ExecutorService movideskHttpExecutor;
+
+    public RestClientConfig(@Value("${movidesk.http.virtual-threads:true}") boolean virtualThreads) {
+        this.movideskHttpExecutor = virtualThreads
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newCachedThreadPool();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        movideskHttpExecutor.shutdown();
+    }
+
+    /**
+     * @param baseUrl API do Movidesk (sobrescrever para apontar a um stand-in local em testes de carga)
+     * @param observationRegistry span http.client.requests + propagação do traceparent
+     */
     @Bean
-    public RestClient movideskRestClient() {
+    public RestClient movideskRestClient(
+            @Value("${movidesk.base-url:https://api.movidesk.com/public/v1}") String baseUrl,
+            @Value("${movidesk.http.version:HTTP_1_1}") HttpClient.Version version,
+            @Value("${movidesk.http.compression:true}") boolean compression,
+            @Value("${movidesk.http.max-connections:16}") int maxConnections,
+            @Value("${movidesk.http.acquire-timeout-ms:30000}") long acquireTimeoutMs,
+            @Value("${movidesk.http.connect-timeout-ms:10000}") long connectTimeoutMs,
+            @Value("${movidesk.http.read-timeout-ms:30000}") long readTimeoutMs,
+            ObservationRegistry observationRegistry,
+            KbMetrics metrics
+    ) {
 
         HttpClient httpClient = HttpClient.newBuilder()
-                // ✅ força HTTP/1.1 (evita alguns problemas de proxy/DNS com HTTP/2)
-                .version(HttpClient.Version.HTTP_1_1)
+                // ✅ HTTP/1.1 por padrão (evita alguns problemas de proxy/DNS com HTTP/2)
+                .version(version)
                 // ✅ timeout de conexão
-                .connectTimeout(Duration.ofSeconds(10))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(movideskHttpExecutor)
                 .build();
 
         JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
         // ✅ timeout de leitura (request/response)
-        factory.setReadTimeout(Duration.ofSeconds(30));
+        factory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        // ✅ descompressão fica no MovideskTransportInterceptor (mede bytes no fio x decodificados)
+        factory.enableCompression(false);
 
         return RestClient.builder()
                 .requestFactory(factory)
-                .baseUrl("https://api.movidesk.com/public/v1")
+                // ✅ compressão + limite de conexões (antes do JFR: ele conta bytes no fio)
+                .requestInterceptor(new MovideskTransportInterceptor(
+                        compression, maxConnections, Duration.ofMillis(acquireTimeoutMs), metrics))
+                // ✅ bytes/tempo até headers no evento JFR MovideskRequest
+                .requestInterceptor(new MovideskTrafficInterceptor())
+                // ✅ tracing (URL do span sem query: o token vai na query string)
+                .observationRegistry(observationRegistry)
+                .observationConvention(new MovideskClientObservationConvention())
+                .baseUrl(baseUrl)
                 .build();
     }
 }
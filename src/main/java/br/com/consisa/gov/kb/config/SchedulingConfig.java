@@ -0,0 +1,15 @@
+package br.com.consisa.gov.kb.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita @Scheduled para toda a aplicação.
+ *
+ * Antes dependia do KbSyncScheduler (condicional a app.sync.scheduler.enabled);
+ * jobs que não são de sync (métricas, governança) precisam rodar sempre.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,29 @@
+package br.com.consisa.gov.kb.config;
+
+import br.com.consisa.gov.kb.observability.JsonFileSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Exporters de spans adicionais.
+ *
+ * Todo bean SpanExporter entra no BatchSpanProcessor do OpenTelemetry
+ * (auto-configuração do Spring Boot), então exporters se combinam:
+ * - OTLP: management.opentelemetry.tracing.export.otlp.endpoint
+ * - arquivo JSON local: app.tracing.file.path
+ * - testes: InMemorySpanExporter / TestObservationRegistry
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.tracing.file.path")
+    public SpanExporter jsonFileSpanExporter(@Value("${app.tracing.file.path}") String path) {
+        return new JsonFileSpanExporter(Path.of(path));
+    }
+}
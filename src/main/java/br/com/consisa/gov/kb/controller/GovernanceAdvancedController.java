@@ -1,8 +1,7 @@
 package br.com.consisa.gov.kb.controller;
 
-import br.com.consisa.gov.kb.domain.KbArticle;
-import br.com.consisa.gov.kb.repository.KbArticleRepository;
-import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
+import br.com.consisa.gov.kb.service.GovernanceMetricsSnapshot;
+import br.com.consisa.gov.kb.service.GovernanceMetricsStore;
 import br.com.consisa.gov.kb.service.KbGovernanceReportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -34,7 +33,7 @@ import java.util.Map;
  * INTEGRAÇÃO:
  * -----------
  * - KbGovernanceReportService: Estatísticas e relatórios
- * - KbArticleRepository: Acesso direto aos artigos
+ * - GovernanceMetricsStore: Agregado pré-computado do dashboard
  */
 @RestController
 @RequestMapping("/kb/governance/advanced")
@@ -44,17 +43,14 @@ public class GovernanceAdvancedController {
     private static final Logger log = LoggerFactory.getLogger(GovernanceAdvancedController.class);
 
     private final KbGovernanceReportService reportService;
-    private final KbArticleRepository articleRepository;
-    private final KbGovernanceIssueRepository issueRepository;
+    private final GovernanceMetricsStore metricsStore;
 
     public GovernanceAdvancedController(
             KbGovernanceReportService reportService,
-            KbArticleRepository articleRepository,
-            KbGovernanceIssueRepository issueRepository
+            GovernanceMetricsStore metricsStore
     ) {
         this.reportService = reportService;
-        this.articleRepository = articleRepository;
-        this.issueRepository = issueRepository;
+        this.metricsStore = metricsStore;
     }
 
     // ==================== DASHBOARD CONSOLIDADO ====================
@@ -92,17 +88,18 @@ public class GovernanceAdvancedController {
         log.info("GET /kb/governance/advanced/dashboard");
 
         try {
-            // 1) Estatísticas gerais
-            Map<String, Object> stats = reportService.getSummaryStatistics();
+            // 1) Estatísticas gerais (agregado pré-computado, sem rodar a view por request)
+            GovernanceMetricsSnapshot metrics = metricsStore.current();
+            Map<String, Object> stats = metrics.articles().reportSummary();
 
             // 2) Monta dashboard
             Map<String, Object> dashboard = new HashMap<>();
 
             // Summary
             Map<String, Object> summary = new HashMap<>();
-            long totalArticles = articleRepository.count();
-            long articlesWithIssues = issueRepository.countDistinctArticlesWithIssues();
-            long articlesOk = Math.max(0, totalArticles - articlesWithIssues);
+            long totalArticles = metrics.articles().total();
+            long articlesWithIssues = metrics.articles().withIssues();
+            long articlesOk = metrics.articles().ok();
             summary.put("total", totalArticles);
             summary.put("iaReady", stats.get("iaReadyCount"));
             summary.put("withIssues", articlesWithIssues);
@@ -120,7 +117,7 @@ public class GovernanceAdvancedController {
             dashboard.put("byIssueType", byIssueType);
 
             // Contadores por sistema
-            List<Object[]> systemStats = articleRepository.countBySystemAndSyncStatus();
+            List<Object[]> systemStats = metrics.articles().bySystemAndSyncStatus();
             dashboard.put("bySystems", systemStats);
 
             // Timestamp
@@ -1,14 +1,19 @@
 package br.com.consisa.gov.kb.controller;
 
+import br.com.consisa.gov.kb.domain.GovernanceMetric;
 import br.com.consisa.gov.kb.domain.KbArticle;
 import br.com.consisa.gov.kb.domain.KbArticleVersion;
 import br.com.consisa.gov.kb.domain.KbGovernanceSnapshot;
+import br.com.consisa.gov.kb.service.GovernanceRollupService;
 import br.com.consisa.gov.kb.service.KbArticleVersionService;
 import br.com.consisa.gov.kb.service.KbGovernanceSnapshotService;
 import br.com.consisa.gov.kb.service.KbSearchService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 
@@ -22,6 +27,7 @@ import java.util.Map;
  * - GET /kb/analytics/system/{systemCode}/trend/{days} - Tendência por sistema
  * - GET /kb/analytics/compare/{days} - Comparação de períodos
  * - GET /kb/analytics/chart/{days} - Dados para gráficos
+ * - GET /kb/analytics/series?metric=...&from=...&to=... - Séries (rollups, pontos limitados)
  *
  * Busca:
  * - GET /kb/search?q={query}&limit={limit} - Busca global
@@ -41,15 +47,18 @@ import java.util.Map;
 public class KbAnalyticsController {
 
     private final KbGovernanceSnapshotService snapshotService;
+    private final GovernanceRollupService rollupService;
     private final KbSearchService searchService;
     private final KbArticleVersionService versionService;
 
     public KbAnalyticsController(
             KbGovernanceSnapshotService snapshotService,
+            GovernanceRollupService rollupService,
             KbSearchService searchService,
             KbArticleVersionService versionService
     ) {
         this.snapshotService = snapshotService;
+        this.rollupService = rollupService;
         this.searchService = searchService;
         this.versionService = versionService;
     }
@@ -105,6 +114,32 @@ public class KbAnalyticsController {
         return ResponseEntity.ok(chartData);
     }
 
+    /**
+     * GET /kb/analytics/series?metric=IA_READY_PCT&metric=OPEN_ISSUES_COUNT&from=2023-01-01&systemCode=NOTAON
+     * <p>
+     * Séries colunares das métricas (rollups diário/semanal/mensal).
+     * A resolução é escolhida pelo período; nunca passa de maxPoints pontos.
+     */
+    @GetMapping("/analytics/series")
+    public ResponseEntity<Map<GovernanceMetric, GovernanceRollupService.MetricSeries>> getSeries(
+            @RequestParam(name = "metric", required = false) List<GovernanceMetric> metrics,
+            @RequestParam(required = false) String systemCode,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer maxPoints
+    ) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusYears(1);
+        var series = rollupService.series(
+                systemCode,
+                metrics == null || metrics.isEmpty() ? EnumSet.allOf(GovernanceMetric.class) : metrics,
+                start,
+                end,
+                maxPoints != null ? maxPoints : rollupService.defaultMaxPoints()
+        );
+        return ResponseEntity.ok(series);
+    }
+
     // ======================
     // BUSCA
     // ======================
@@ -1,5 +1,7 @@
 package br.com.consisa.gov.kb.controller;
 
+import br.com.consisa.gov.kb.cache.ConditionalGet;
+import br.com.consisa.gov.kb.cache.DataDomain;
 import br.com.consisa.gov.kb.dto.KbArticleGovernanceReportDto;
 import br.com.consisa.gov.kb.service.KbGovernanceReportService;
 import org.springframework.http.ResponseEntity;
@@ -13,10 +15,12 @@ import java.util.Map;
  * Controller para relatório de governança dos manuais
  *
  * ✅ CORRIGIDO: Endpoints separados para evitar conflito de params
+ * 🏷️ ETag por versão de artigos/issues: 304 sem regenerar o relatório
  */
 @RestController
 @RequestMapping("/kb/governance/report")
 @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+@ConditionalGet({DataDomain.ARTICLES, DataDomain.ISSUES})
 public class KbGovernanceReportController {
 
     private final KbGovernanceReportService service;
@@ -1,10 +1,15 @@
 package br.com.consisa.gov.kb.controller;
 
+import br.com.consisa.gov.kb.controller.api.dto.JobResponse;
 import br.com.consisa.gov.kb.controller.dto.SyncConfigUpdateRequest;
 import br.com.consisa.gov.kb.domain.KbSyncConfig;
 import br.com.consisa.gov.kb.domain.KbSyncRun;
 import br.com.consisa.gov.kb.domain.SyncMode;
+import br.com.consisa.gov.kb.job.JobQueueService;
+import br.com.consisa.gov.kb.job.SyncJobHandler;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
 import br.com.consisa.gov.kb.service.KbSyncOrchestratorService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -15,18 +20,36 @@ import org.springframework.web.bind.annotation.*;
 public class KbSyncController {
 
     private final KbSyncOrchestratorService svc;
+    private final JobQueueService jobQueue;
+    private final ObjectMapper objectMapper;
 
-    public KbSyncController(KbSyncOrchestratorService svc) {
+    public KbSyncController(KbSyncOrchestratorService svc, JobQueueService jobQueue, ObjectMapper objectMapper) {
         this.svc = svc;
+        this.jobQueue = jobQueue;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Enfileira o sync: 202 com o job (GET /api/v1/jobs/{id}), 409 se já há sync.
+     */
     @PostMapping("/run")
-    public ResponseEntity<KbSyncRun> run(
+    public ResponseEntity<JobResponse> run(
             @RequestParam(defaultValue = "DELTA") String mode,
             @RequestParam(required = false) Integer daysBack
     ) {
         SyncMode resolvedMode = SyncMode.fromJson(mode);
-        return ResponseEntity.ok(svc.runNow(resolvedMode, daysBack));
+        if (svc.isRunning()) {
+            return ResponseEntity.status(409).build();
+        }
+        try {
+            QueuedJob job = jobQueue.enqueue(SyncJobHandler.JOB_NAME,
+                    SyncJobHandler.payload(objectMapper, resolvedMode, daysBack));
+            return ResponseEntity.accepted()
+                    .location(JobQueueService.location(job))
+                    .body(JobResponse.from(job, null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).build();
+        }
     }
 
     @GetMapping("/config")
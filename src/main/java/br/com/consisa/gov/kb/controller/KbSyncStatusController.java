@@ -1,11 +1,19 @@
 package br.com.consisa.gov.kb.controller;
 
+import br.com.consisa.gov.kb.controller.api.dto.JobResponse;
+import br.com.consisa.gov.kb.job.JobQueueService;
+import br.com.consisa.gov.kb.job.RetryFailedSyncJobHandler;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
 import br.com.consisa.gov.kb.scheduler.KbSyncScheduler;
 import br.com.consisa.gov.kb.service.KbFullSyncService;
 import br.com.consisa.gov.kb.service.KbSyncOrchestratorService;
-import org.springframework.data.domain.PageRequest;
+import br.com.consisa.gov.kb.service.SyncProgressBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -16,8 +24,9 @@ import java.util.Map;
  * ----------
  * GET  /kb/sync/status        - Status geral do sync
  * GET  /kb/sync/progress      - Progresso em tempo real
+ * GET  /kb/sync/progress/stream - Progresso via SSE (push, sem polling)
  * GET  /kb/sync/metrics       - Métricas do scheduler
- * POST /kb/sync/retry-failed  - Retry de artigos que falharam
+ * POST /kb/sync/retry-failed  - Retry de artigos que falharam (job na fila)
  *
  * USO:
  * ----
@@ -33,15 +42,24 @@ public class KbSyncStatusController {
     private final KbSyncOrchestratorService orchestrator;
     private final KbFullSyncService fullSync;
     private final KbSyncScheduler scheduler;
+    private final SyncProgressBroadcaster progressBroadcaster;
+    private final JobQueueService jobQueue;
+    private final ObjectMapper objectMapper;
 
     public KbSyncStatusController(
             KbSyncOrchestratorService orchestrator,
             KbFullSyncService fullSync,
-            KbSyncScheduler scheduler
+            KbSyncScheduler scheduler,
+            SyncProgressBroadcaster progressBroadcaster,
+            JobQueueService jobQueue,
+            ObjectMapper objectMapper
     ) {
         this.orchestrator = orchestrator;
         this.fullSync = fullSync;
         this.scheduler = scheduler;
+        this.progressBroadcaster = progressBroadcaster;
+        this.jobQueue = jobQueue;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -112,6 +130,19 @@ public class KbSyncStatusController {
         ));
     }
 
+    /**
+     * 📡 Progresso em tempo real via Server-Sent Events.
+     *
+     * GET /kb/sync/progress/stream
+     *
+     * Eventos: snapshot, started, progress (coalescido), errors, finished.
+     * Prefira este endpoint ao polling de /progress.
+     */
+    @GetMapping(value = "/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProgress() {
+        return progressBroadcaster.subscribe();
+    }
+
     /**
      * 📊 Métricas do scheduler.
      *
@@ -142,24 +173,31 @@ public class KbSyncStatusController {
      *
      * POST /kb/sync/retry-failed?limit=50
      *
-     * Tenta sincronizar novamente artigos que falharam.
+     * Enfileira o reprocessamento dos artigos em ERROR e responde 202
+     * com o job (progresso em GET /api/v1/jobs/{id}).
      *
      * Útil para:
      * - Recuperação após problemas temporários
      * - Reprocessamento manual
      * - Limpeza de erros
+     *
+     * Só ADMIN: dispara escrita em massa (igual a /kb/sync/full).
      */
     @PostMapping("/retry-failed")
-    public ResponseEntity<?> retryFailed(
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<JobResponse> retryFailed(
             @RequestParam(defaultValue = "50") int limit
     ) {
-        // TODO: Implementar no repository
-        // List<Long> failedIds = articleRepo.findFailedArticles(PageRequest.of(0, limit));
-
-        return ResponseEntity.ok(Map.of(
-                "message", "Feature em desenvolvimento",
-                "requestedLimit", limit
-        ));
+        try {
+            QueuedJob job = jobQueue.enqueue(RetryFailedSyncJobHandler.JOB_NAME,
+                    objectMapper.createObjectNode().put("limit", limit));
+            return ResponseEntity.accepted()
+                    .location(JobQueueService.location(job))
+                    .body(JobResponse.from(job, null));
+        } catch (IllegalStateException e) {
+            // retry anterior ainda na fila / rodando
+            return ResponseEntity.status(409).build();
+        }
     }
 
     /**
@@ -2,11 +2,10 @@ package br.com.consisa.gov.kb.controller.api;
 
 import br.com.consisa.gov.kb.controller.api.dto.DashboardSummaryResponse;
 import br.com.consisa.gov.kb.controller.api.dto.GovernanceDashboardResponse;
-import br.com.consisa.gov.kb.repository.KbArticleRepository;
-import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
-import br.com.consisa.gov.kb.repository.KbSystemRepository;
 import br.com.consisa.gov.kb.service.GovernanceDashboardService;
 import br.com.consisa.gov.kb.service.GovernanceLanguageService;
+import br.com.consisa.gov.kb.service.GovernanceMetricsSnapshot;
+import br.com.consisa.gov.kb.service.GovernanceMetricsStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
@@ -30,22 +29,16 @@ public class DashboardApiController {
 
     private static final Logger log = LoggerFactory.getLogger(DashboardApiController.class);
 
-    private final KbArticleRepository articleRepo;
-    private final KbGovernanceIssueRepository issueRepo;
-    private final KbSystemRepository systemRepo;
+    private final GovernanceMetricsStore metricsStore;
     private final GovernanceLanguageService languageService;
     private final GovernanceDashboardService governanceDashboardService;
 
     public DashboardApiController(
-            KbArticleRepository articleRepo,
-            KbGovernanceIssueRepository issueRepo,
-            KbSystemRepository systemRepo,
+            GovernanceMetricsStore metricsStore,
             GovernanceLanguageService languageService,
             GovernanceDashboardService governanceDashboardService
     ) {
-        this.articleRepo = articleRepo;
-        this.issueRepo = issueRepo;
-        this.systemRepo = systemRepo;
+        this.metricsStore = metricsStore;
         this.languageService = languageService;
         this.governanceDashboardService = governanceDashboardService;
     }
@@ -70,33 +63,33 @@ public class DashboardApiController {
     public ResponseEntity<DashboardSummaryResponse> getSummary() {
         log.info("GET /api/v1/dashboard/summary");
 
+        // Agregado pré-computado (sem query por request)
+        GovernanceMetricsSnapshot metrics = metricsStore.current();
+        GovernanceMetricsSnapshot.ArticleTotals articles = metrics.articles();
+
         // 1. Total de artigos (sem filtro de status)
-        long totalArticles = articleRepo.count();
+        long totalArticles = articles.total();
 
         // 2. Artigos com issues (distinct article_id em kb_governance_issue)
-        long articlesWithIssues = issueRepo.countDistinctArticlesWithIssues();
+        long articlesWithIssues = articles.withIssues();
 
         // 3. Artigos OK
-        long articlesOk = Math.max(0, totalArticles - articlesWithIssues);
+        long articlesOk = articles.ok();
 
         // 4. Total de issues (informativo)
-        long totalIssues = issueRepo.countTotalIssues();
+        long totalIssues = metrics.issues().total();
 
         // 4. Duplicados (quantidade de grupos de hashes duplicados)
-        List<String> duplicateHashes = articleRepo.findDuplicateContentHashes();
-        long duplicatesCount = duplicateHashes != null ? duplicateHashes.size() : 0L;
+        long duplicatesCount = articles.duplicateHashGroups();
 
         // 5. Por sistema (sem dados = lista vazia, não é erro)
-        List<Object[]> systemStats = articleRepo.countActiveBySystem();
-        List<DashboardSummaryResponse.BySystem> bySystem = systemStats != null
-                ? systemStats.stream()
-                    .map(row -> new DashboardSummaryResponse.BySystem(
-                            row[0] != null ? String.valueOf(row[0]) : "UNCLASSIFIED",
-                            row[1] != null ? String.valueOf(row[1]) : "Não classificado",
-                            row[2] != null ? ((Number) row[2]).longValue() : 0L
-                    ))
-                    .collect(Collectors.toList())
-                : List.of();
+        List<DashboardSummaryResponse.BySystem> bySystem = articles.activeBySystem().stream()
+                .map(row -> new DashboardSummaryResponse.BySystem(
+                        row.systemCode(),
+                        row.systemName(),
+                        row.total()
+                ))
+                .collect(Collectors.toList());
 
         // 6. Por status (baseado em artigos distintos, não total de issues)
         List<DashboardSummaryResponse.ByStatus> byStatus = List.of(
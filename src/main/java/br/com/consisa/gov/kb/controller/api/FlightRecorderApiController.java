@@ -0,0 +1,72 @@
+package br.com.consisa.gov.kb.controller.api;
+
+import br.com.consisa.gov.kb.observability.FlightRecorderService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 🎥 Flight Recorder API Controller (diagnóstico em produção)
+ *
+ * Endpoints:
+ * - GET /api/v1/admin/jfr/recording (status da gravação)
+ * - POST /api/v1/admin/jfr/recording?settings=default|profile (inicia)
+ * - GET /api/v1/admin/jfr/recording/dump (baixa o .jfr sem parar a gravação)
+ * - DELETE /api/v1/admin/jfr/recording (encerra)
+ */
+@RestController
+@RequestMapping("/api/v1/admin/jfr")
+@PreAuthorize("hasRole('ADMIN')")
+public class FlightRecorderApiController {
+
+    private final FlightRecorderService flightRecorder;
+
+    public FlightRecorderApiController(FlightRecorderService flightRecorder) {
+        this.flightRecorder = flightRecorder;
+    }
+
+    @GetMapping("/recording")
+    public FlightRecorderService.RecordingStatus status() {
+        return flightRecorder.status();
+    }
+
+    @PostMapping("/recording")
+    public FlightRecorderService.RecordingStatus start(@RequestParam(required = false) String settings) {
+        return flightRecorder.start(settings);
+    }
+
+    @GetMapping("/recording/dump")
+    public ResponseEntity<StreamingResponseBody> dump() throws IOException {
+        Path file = flightRecorder.dump();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .contentLength(Files.size(file))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+
+    @DeleteMapping("/recording")
+    public ResponseEntity<Void> stop() {
+        flightRecorder.stop();
+        return ResponseEntity.noContent().build();
+    }
+}
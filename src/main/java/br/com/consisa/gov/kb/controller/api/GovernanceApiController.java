@@ -1,5 +1,7 @@
 package br.com.consisa.gov.kb.controller.api;
 
+import br.com.consisa.gov.kb.cache.ConditionalGet;
+import br.com.consisa.gov.kb.cache.DataDomain;
 import br.com.consisa.gov.kb.controller.api.dto.GovernanceIssueAssignResponsibleRequest;
 import br.com.consisa.gov.kb.controller.api.dto.GovernanceIssueAssignRequest;
 import br.com.consisa.gov.kb.controller.api.dto.GovernanceIssueHistoryItemResponse;
@@ -417,6 +419,7 @@ public class GovernanceApiController {
      * GET /api/v1/governance/overview
      */
     @GetMapping("/overview")
+    @ConditionalGet(DataDomain.METRICS)
     @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER','ANALYST')")
     public ResponseEntity<GovernanceOverviewResponse> getOverview() {
@@ -427,6 +430,7 @@ public class GovernanceApiController {
      * GET /api/v1/governance/dashboard
      */
     @GetMapping("/dashboard")
+    @ConditionalGet({DataDomain.METRICS, DataDomain.TOP_ISSUES})
     @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public ResponseEntity<GovernanceManagementDashboardResponse> getManagementDashboard() {
@@ -434,10 +438,24 @@ public class GovernanceApiController {
         return ResponseEntity.ok(managementService.buildDashboard());
     }
 
+    /**
+     * GET /api/v1/governance/dashboard/top-critical?systemCode=CONSISANET
+     */
+    @GetMapping("/dashboard/top-critical")
+    @ConditionalGet(DataDomain.TOP_ISSUES)
+    @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+    public ResponseEntity<List<GovernanceManagementDashboardResponse.TopPriorityIssue>> getTopCriticalIssues(
+            @RequestParam(required = false) String systemCode
+    ) {
+        log.info("GET /api/v1/governance/dashboard/top-critical (systemCode={})", systemCode);
+        return ResponseEntity.ok(managementService.topCriticalIssues(systemCode));
+    }
+
     /**
      * GET /api/v1/governance/workload
      */
     @GetMapping("/workload")
+    @ConditionalGet({DataDomain.ISSUES, DataDomain.METRICS})
     @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     public ResponseEntity<List<GovernanceWorkloadResponse>> getWorkload() {
@@ -486,6 +504,7 @@ public class GovernanceApiController {
      * - Erro real = HTTP 500 (tratado pelo GlobalExceptionHandler)
      */
     @GetMapping("/duplicates")
+    @ConditionalGet(DataDomain.ARTICLES)
     @Transactional(readOnly = true)
     public ResponseEntity<List<DuplicateGroupDto>> getDuplicates() {
         log.info("GET /api/v1/governance/duplicates");
@@ -0,0 +1,60 @@
+package br.com.consisa.gov.kb.controller.api;
+
+import br.com.consisa.gov.kb.controller.api.dto.JobResponse;
+import br.com.consisa.gov.kb.job.JobQueueService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 📬 Jobs API Controller (fila de operações longas)
+ *
+ * Endpoints:
+ * - GET /api/v1/jobs?name=sync.run&limit=20 (mais recentes primeiro)
+ * - GET /api/v1/jobs/{id} (status, progresso, resultado)
+ * - POST /api/v1/jobs/{id}/cancel (QUEUED cancela na hora; RUNNING no próximo ponto de parada)
+ *
+ * Jobs são criados pelos endpoints que os disparam (sync, retry, import),
+ * que respondem 202 com o id e Location apontando para cá.
+ */
+@RestController
+@RequestMapping("/api/v1/jobs")
+@PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
+public class JobApiController {
+
+    private final JobQueueService jobQueue;
+
+    public JobApiController(JobQueueService jobQueue) {
+        this.jobQueue = jobQueue;
+    }
+
+    @GetMapping
+    public List<JobResponse> list(
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        return jobQueue.recent(name, limit).stream()
+                .map(job -> JobResponse.from(job, jobQueue.result(job)))
+                .toList();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> get(@PathVariable long id) {
+        return jobQueue.find(id)
+                .map(job -> ResponseEntity.ok(JobResponse.from(job, jobQueue.result(job))))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/cancel")
+    public ResponseEntity<JobResponse> cancel(@PathVariable long id) {
+        try {
+            return jobQueue.cancel(id)
+                    .map(job -> ResponseEntity.ok(JobResponse.from(job, jobQueue.result(job))))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).build();
+        }
+    }
+}
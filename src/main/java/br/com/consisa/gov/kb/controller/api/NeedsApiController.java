@@ -191,7 +191,7 @@ public class NeedsApiController {
     private NeedResponse mapNeed(DetectedNeed need) {
         FaqCluster cluster = clusterRepository.findById(need.getClusterId()).orElse(null);
         RecurrenceRule rule = ruleRepository.findById(need.getRuleId()).orElse(null);
-        long occurrences = clusterTicketRepository.countByClusterId(need.getClusterId());
+        long occurrences = cluster != null ? cluster.getTicketCount() : 0;
         OffsetDateTime lastOccurrenceAt = clusterTicketRepository.findLatestOccurrenceAtByClusterId(need.getClusterId());
         if (lastOccurrenceAt == null) {
             lastOccurrenceAt = need.getLastDetectedAt();
@@ -206,7 +206,8 @@ public class NeedsApiController {
                 lastOccurrenceAt,
                 need.getStatus(),
                 needType,
-                need.getExternalTicketId()
+                need.getExternalTicketId(),
+                needService.liveOccurrences(cluster, rule)
         );
     }
 
@@ -1,8 +1,11 @@
 package br.com.consisa.gov.kb.controller.api;
 
+import br.com.consisa.gov.kb.controller.api.dto.JobResponse;
 import br.com.consisa.gov.kb.controller.api.dto.SupportImportRequest;
-import br.com.consisa.gov.kb.controller.api.dto.SupportImportResponse;
-import br.com.consisa.gov.kb.service.SupportImportService;
+import br.com.consisa.gov.kb.job.JobQueueService;
+import br.com.consisa.gov.kb.job.SupportImportJobHandler;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -15,14 +18,19 @@ import java.time.ZoneOffset;
 @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
 public class SupportImportApiController {
 
-    private final SupportImportService importService;
+    private final JobQueueService jobQueue;
+    private final ObjectMapper objectMapper;
 
-    public SupportImportApiController(SupportImportService importService) {
-        this.importService = importService;
+    public SupportImportApiController(JobQueueService jobQueue, ObjectMapper objectMapper) {
+        this.jobQueue = jobQueue;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * Enfileira o import (202 com o job); contadores saem no resultado do job.
+     */
     @PostMapping("/import/run")
-    public ResponseEntity<SupportImportResponse> runImport(@RequestBody(required = false) SupportImportRequest request) {
+    public ResponseEntity<JobResponse> runImport(@RequestBody(required = false) SupportImportRequest request) {
         OffsetDateTime start = null;
         OffsetDateTime end = null;
         if (request != null) {
@@ -30,10 +38,18 @@ public class SupportImportApiController {
                 start = request.startDate().atStartOfDay().atOffset(ZoneOffset.UTC);
             }
             if (request.endDate() != null) {
-                end = request.endDate().plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusSeconds(1);
+                // fim inclusivo: meia-noite do dia seguinte (cobre o último segundo inteiro)
+                end = request.endDate().plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC);
             }
         }
-        var result = importService.runImport(start, end);
-        return ResponseEntity.ok(new SupportImportResponse(result.ticketsCreated(), result.ticketsUpdated(), result.messagesCreated()));
+        try {
+            QueuedJob job = jobQueue.enqueue(SupportImportJobHandler.JOB_NAME,
+                    SupportImportJobHandler.payload(objectMapper, start, end));
+            return ResponseEntity.accepted()
+                    .location(JobQueueService.location(job))
+                    .body(JobResponse.from(job, null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(409).build();
+        }
     }
 }
@@ -1,5 +1,6 @@
 package br.com.consisa.gov.kb.controller.api;
 
+import br.com.consisa.gov.kb.controller.api.dto.JobResponse;
 import br.com.consisa.gov.kb.controller.api.dto.SyncConfigResponse;
 import br.com.consisa.gov.kb.controller.api.dto.SyncConfigUpdateRequest;
 import br.com.consisa.gov.kb.controller.api.dto.SyncRunLatestResponse;
@@ -10,15 +11,22 @@ import br.com.consisa.gov.kb.domain.KbSyncConfig;
 import br.com.consisa.gov.kb.domain.KbSyncRun;
 import br.com.consisa.gov.kb.domain.SyncMode;
 import br.com.consisa.gov.kb.domain.SyncRunStatus;
+import br.com.consisa.gov.kb.job.JobQueueService;
+import br.com.consisa.gov.kb.job.SyncJobHandler;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
 import br.com.consisa.gov.kb.repository.KbSyncRunRepository;
 import br.com.consisa.gov.kb.service.GovernanceLanguageService;
 import br.com.consisa.gov.kb.service.KbSyncOrchestratorService;
+import br.com.consisa.gov.kb.service.SyncProgressBroadcaster;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -29,7 +37,8 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
  *
  * Endpoints:
  * - GET /api/v1/sync/runs (lista execuções)
- * - POST /api/v1/sync/runs (dispara sync)
+ * - POST /api/v1/sync/runs (enfileira sync → 202 com o job; ver /api/v1/jobs)
+ * - GET /api/v1/sync/runs/stream (progresso em tempo real via SSE)
  * - GET /api/v1/sync/config (busca config)
  * - PUT /api/v1/sync/config (atualiza config)
  */
@@ -43,15 +52,24 @@ public class SyncApiController {
     private final KbSyncOrchestratorService orchestratorService;
     private final KbSyncRunRepository syncRunRepo;
     private final GovernanceLanguageService languageService;
+    private final SyncProgressBroadcaster progressBroadcaster;
+    private final JobQueueService jobQueue;
+    private final ObjectMapper objectMapper;
 
     public SyncApiController(
             KbSyncOrchestratorService orchestratorService,
             KbSyncRunRepository syncRunRepo,
-            GovernanceLanguageService languageService
+            GovernanceLanguageService languageService,
+            SyncProgressBroadcaster progressBroadcaster,
+            JobQueueService jobQueue,
+            ObjectMapper objectMapper
     ) {
         this.orchestratorService = orchestratorService;
         this.syncRunRepo = syncRunRepo;
         this.languageService = languageService;
+        this.progressBroadcaster = progressBroadcaster;
+        this.jobQueue = jobQueue;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -86,7 +104,9 @@ public class SyncApiController {
     /**
      * POST /api/v1/sync/runs
      *
-     * Dispara execução de sync.
+     * Enfileira execução de sync e responde 202 na hora com o job
+     * (acompanhar em GET /api/v1/jobs/{id} ou pelo SSE /runs/stream).
+     * 409 se já há sync rodando ou na fila.
      *
      * Body (opcional):
      * {
@@ -96,7 +116,7 @@ public class SyncApiController {
      * }
      */
     @PostMapping("/runs")
-    public ResponseEntity<SyncRunResponse> triggerSync(
+    public ResponseEntity<JobResponse> triggerSync(
             @RequestBody(required = false) TriggerSyncRequest request
     ) {
         log.info("POST /api/v1/sync/runs");
@@ -119,18 +139,18 @@ public class SyncApiController {
                 daysBack = request.daysBack();
             }
 
-            log.info("🚀 Disparando sync: mode={} daysBack={}", mode, daysBack);
+            log.info("🚀 Enfileirando sync: mode={} daysBack={}", mode, daysBack);
 
-            KbSyncRun run = orchestratorService.runNow(mode, daysBack);
+            QueuedJob job = enqueueSync(mode, daysBack);
 
-            SyncRunResponse response = mapRunToDto(run);
+            log.info("✅ Sync enfileirado: job={}", job.id());
 
-            log.info("✅ Sync disparado: id={} status={}", run.getId(), run.getStatus());
-
-            return ResponseEntity.ok(response);
+            return ResponseEntity.accepted()
+                    .location(JobQueueService.location(job))
+                    .body(JobResponse.from(job, null));
 
         } catch (IllegalStateException e) {
-            // Sync já em execução
+            // Sync já em execução / na fila
             log.warn("⚠️ {}", e.getMessage());
             return ResponseEntity.status(409).build();  // 409 Conflict
 
@@ -142,6 +162,9 @@ public class SyncApiController {
 
     /**
      * POST /api/v1/sync/run?mode={FULL|INCREMENTAL|DELTA|DELTA_WINDOW}&daysBack={int}
+     *
+     * Enfileira o sync (202, status QUEUED, jobId); runId só existe quando
+     * o job começa (resultado do job).
      */
     @PostMapping("/run")
     public ResponseEntity<SyncRunStartResponse> runSync(
@@ -155,14 +178,17 @@ public class SyncApiController {
         log.info("POST /api/v1/sync/run mode={} daysBack={}", resolvedMode, safeDaysBack);
 
         try {
-            KbSyncRun run = orchestratorService.runNow(resolvedMode, safeDaysBack);
-            return ResponseEntity.ok(new SyncRunStartResponse(
-                    run.getId() != null ? run.getId().toString() : null,
-                    normalizeMode(run.getMode()),
-                    run.getStartedAt(),
-                    normalizeStatus(run.getStatus()),
-                    "Sync iniciado"
-            ));
+            QueuedJob job = enqueueSync(resolvedMode, safeDaysBack);
+            return ResponseEntity.accepted()
+                    .location(JobQueueService.location(job))
+                    .body(new SyncRunStartResponse(
+                            null,
+                            normalizeMode(resolvedMode),
+                            null,
+                            job.status(),
+                            "Sync enfileirado",
+                            String.valueOf(job.id())
+                    ));
         } catch (IllegalStateException ex) {
             log.warn("⚠️ {}", ex.getMessage());
             return ResponseEntity.status(409).body(new SyncRunStartResponse(
@@ -170,7 +196,8 @@ public class SyncApiController {
                     normalizeMode(resolvedMode),
                     null,
                     "FAILED",
-                    ex.getMessage()
+                    ex.getMessage(),
+                    null
             ));
         }
     }
@@ -201,6 +228,18 @@ public class SyncApiController {
                 )));
     }
 
+    /**
+     * GET /api/v1/sync/runs/stream
+     *
+     * Stream SSE com o progresso do sync (started, progress, errors, finished).
+     * Substitui o polling de /runs/latest durante a execução.
+     */
+    @GetMapping(value = "/runs/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRuns() {
+        log.info("GET /api/v1/sync/runs/stream");
+        return progressBroadcaster.subscribe();
+    }
+
     /**
      * GET /api/v1/sync/config
      *
@@ -274,6 +313,17 @@ public class SyncApiController {
         }
     }
 
+    /**
+     * Sync agendado rodando também conta como conflito: o job só ficaria
+     * em backoff esperando ele terminar.
+     */
+    private QueuedJob enqueueSync(SyncMode mode, Integer daysBack) {
+        if (orchestratorService.isRunning()) {
+            throw new IllegalStateException("Sync já em execução");
+        }
+        return jobQueue.enqueue(SyncJobHandler.JOB_NAME, SyncJobHandler.payload(objectMapper, mode, daysBack));
+    }
+
     // ======================
     // MAPPING
     // ======================
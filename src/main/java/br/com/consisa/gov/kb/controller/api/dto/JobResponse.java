@@ -0,0 +1,51 @@
+package br.com.consisa.gov.kb.controller.api.dto;
+
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.time.OffsetDateTime;
+
+/**
+ * DTO de job da fila (resposta 202 dos endpoints longos e GET /api/v1/jobs/{id}).
+ *
+ * status: QUEUED, RUNNING, SUCCESS, FAILED, CANCELLED
+ * nextAttemptAt: quando um job QUEUED (novo ou em backoff) pode rodar
+ */
+public record JobResponse(
+        String id,
+        String jobName,
+        String status,
+        int priority,
+        int attempts,
+        int maxAttempts,
+        OffsetDateTime createdAt,
+        OffsetDateTime startedAt,
+        OffsetDateTime finishedAt,
+        OffsetDateTime nextAttemptAt,
+        boolean cancelRequested,
+        Progress progress,
+        JsonNode result,
+        String error
+) {
+    public record Progress(Integer done, Integer total, String message) {
+    }
+
+    public static JobResponse from(QueuedJob job, JsonNode result) {
+        return new JobResponse(
+                String.valueOf(job.id()),
+                job.jobName(),
+                job.status(),
+                job.priority(),
+                job.attempts(),
+                job.maxAttempts(),
+                job.createdAt(),
+                "QUEUED".equals(job.status()) ? null : job.startedAt(),
+                job.finishedAt(),
+                "QUEUED".equals(job.status()) ? job.runAfter() : null,
+                job.cancelRequested(),
+                new Progress(job.progressDone(), job.progressTotal(), job.progressMessage()),
+                result,
+                job.lastError()
+        );
+    }
+}
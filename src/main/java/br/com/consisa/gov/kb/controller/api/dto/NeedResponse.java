@@ -10,6 +10,7 @@ public record NeedResponse(
         OffsetDateTime lastOccurrenceAt,
         String status,
         String needType,
-        String externalTicketId
+        String externalTicketId,
+        long windowOccurrences
 ) {
 }
@@ -7,6 +7,7 @@ public record SyncRunStartResponse(
         String mode,
         OffsetDateTime startedAt,
         String status,
-        String message
+        String message,
+        String jobId
 ) {
 }
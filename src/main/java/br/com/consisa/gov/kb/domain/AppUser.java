@@ -1,9 +1,11 @@
 package br.com.consisa.gov.kb.domain;
 
+import br.com.consisa.gov.kb.security.AppUserCacheListener;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -16,6 +18,7 @@ import java.util.Set;
 
 @Entity
 @Table(name = "app_user")
+@EntityListeners(AppUserCacheListener.class)
 public class AppUser {
 
     @Id
@@ -0,0 +1,107 @@
+package br.com.consisa.gov.kb.domain;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * 🔁 Anel de contadores diários (janela deslizante de ocorrências).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - {@link #DAYS} posições; o dia D ocupa a posição D.toEpochDay() % DAYS
+ * - lastDay = dia mais recente já gravado; ao avançar, as posições dos dias
+ *   pulados são zeradas (é assim que os buckets expiram)
+ * - Ocorrência mais antiga que lastDay - DAYS não cabe no anel e é ignorada
+ * - Contagem na janela soma no máximo DAYS posições: custo constante por
+ *   cluster, independente da quantidade de tickets
+ *
+ * Persistido em faq_cluster (recent_daily_counts, recent_counts_day).
+ */
+public final class DailyCountRing {
+
+    /** Maior janela atendida pelo anel (window_days maiores são limitados a este valor). */
+    public static final int DAYS = 120;
+
+    private final Integer[] counts;
+    private LocalDate lastDay;
+
+    public DailyCountRing(Integer[] counts, LocalDate lastDay) {
+        if (counts == null || counts.length != DAYS || lastDay == null) {
+            this.counts = new Integer[DAYS];
+            Arrays.fill(this.counts, 0);
+            this.lastDay = null;
+        } else {
+            this.counts = counts.clone();
+            this.lastDay = lastDay;
+        }
+    }
+
+    /**
+     * Conta uma ocorrência no dia informado.
+     *
+     * @return false se o dia já saiu do anel
+     */
+    public boolean record(LocalDate day) {
+        if (lastDay == null) {
+            lastDay = day;
+        } else if (day.isAfter(lastDay)) {
+            advanceTo(day);
+        } else if (!day.isAfter(lastDay.minusDays(DAYS))) {
+            return false;
+        }
+        int slot = slot(day);
+        counts[slot] = value(slot) + 1;
+        return true;
+    }
+
+    /**
+     * Ocorrências nos últimos windowDays dias até today (inclusive).
+     */
+    public int countInWindow(LocalDate today, int windowDays) {
+        if (lastDay == null || windowDays <= 0) {
+            return 0;
+        }
+        int window = Math.min(windowDays, DAYS);
+        LocalDate oldestKept = lastDay.minusDays(DAYS - 1L);
+        int total = 0;
+        for (int i = 0; i < window; i++) {
+            LocalDate day = today.minusDays(i);
+            if (day.isAfter(lastDay)) {
+                continue;
+            }
+            if (day.isBefore(oldestKept)) {
+                break;
+            }
+            total += value(slot(day));
+        }
+        return total;
+    }
+
+    public Integer[] counts() {
+        return counts.clone();
+    }
+
+    public LocalDate lastDay() {
+        return lastDay;
+    }
+
+    private void advanceTo(LocalDate day) {
+        long gap = day.toEpochDay() - lastDay.toEpochDay();
+        if (gap >= DAYS) {
+            Arrays.fill(counts, 0);
+        } else {
+            for (long i = 1; i <= gap; i++) {
+                counts[slot(lastDay.plusDays(i))] = 0;
+            }
+        }
+        lastDay = day;
+    }
+
+    private int value(int slot) {
+        return counts[slot] == null ? 0 : counts[slot];
+    }
+
+    private static int slot(LocalDate day) {
+        return Math.floorMod(day.toEpochDay(), DAYS);
+    }
+}
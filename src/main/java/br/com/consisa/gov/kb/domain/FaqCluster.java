@@ -1,7 +1,10 @@
 package br.com.consisa.gov.kb.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 
@@ -29,6 +32,24 @@ public class FaqCluster {
     @Column(name = "ticket_count", nullable = false)
     private int ticketCount;
 
+    /**
+     * Ocorrências por dia (anel de {@link DailyCountRing#DAYS} posições),
+     * atualizado na importação de suporte.
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "recent_daily_counts", columnDefinition = "integer[]")
+    private Integer[] recentDailyCounts;
+
+    @Column(name = "recent_counts_day")
+    private LocalDate recentCountsDay;
+
+    /**
+     * Assinatura MinHash do texto representativo (ticket que criou o cluster).
+     */
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "minhash_signature", columnDefinition = "integer[]")
+    private Integer[] minhashSignature;
+
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt;
 
@@ -61,6 +82,19 @@ public class FaqCluster {
     public int getTicketCount() { return ticketCount; }
     public void setTicketCount(int ticketCount) { this.ticketCount = ticketCount; }
 
+    /**
+     * Ocorrências nos últimos windowDays dias (sem consultar faq_cluster_ticket).
+     */
+    public int occurrencesInWindow(LocalDate today, int windowDays) {
+        return new DailyCountRing(recentDailyCounts, recentCountsDay).countInWindow(today, windowDays);
+    }
+
+    public Integer[] getRecentDailyCounts() { return recentDailyCounts; }
+    public LocalDate getRecentCountsDay() { return recentCountsDay; }
+
+    public Integer[] getMinhashSignature() { return minhashSignature; }
+    public void setMinhashSignature(Integer[] minhashSignature) { this.minhashSignature = minhashSignature; }
+
     public OffsetDateTime getCreatedAt() { return createdAt; }
     public OffsetDateTime getUpdatedAt() { return updatedAt; }
 }
@@ -0,0 +1,40 @@
+package br.com.consisa.gov.kb.domain;
+
+import java.util.function.Function;
+
+/**
+ * 📈 Métricas de governança armazenadas na série temporal (rollups).
+ *
+ * Cada métrica é extraída de um {@link KbGovernanceSnapshot} diário e vira
+ * uma série por escopo (global ou sistema) em {@link KbGovernanceMetricRollup}.
+ */
+public enum GovernanceMetric {
+    TOTAL_ARTICLES(s -> toDouble(s.getTotalArticles())),
+    IA_READY_COUNT(s -> toDouble(s.getIaReadyCount())),
+    IA_READY_PCT(KbGovernanceSnapshot::getIaReadyPercentage),
+    AVG_QUALITY_SCORE(KbGovernanceSnapshot::getAvgQualityScore),
+    EMPTY_COUNT(s -> toDouble(s.getEmptyCount())),
+    SHORT_COUNT(s -> toDouble(s.getShortCount())),
+    DUPLICATE_COUNT(s -> toDouble(s.getDuplicateCount())),
+    NO_STRUCTURE_COUNT(s -> toDouble(s.getNoStructureCount())),
+    OPEN_ISSUES_COUNT(s -> toDouble(s.getOpenIssuesCount())),
+    PENDING_ASSIGNMENTS(s -> toDouble(s.getPendingAssignments())),
+    COMPLETED_ASSIGNMENTS(s -> toDouble(s.getCompletedAssignments()));
+
+    private final Function<KbGovernanceSnapshot, Double> extractor;
+
+    GovernanceMetric(Function<KbGovernanceSnapshot, Double> extractor) {
+        this.extractor = extractor;
+    }
+
+    /**
+     * Valor da métrica no snapshot (null = não medido).
+     */
+    public Double valueOf(KbGovernanceSnapshot snapshot) {
+        return extractor.apply(snapshot);
+    }
+
+    private static Double toDouble(Integer value) {
+        return value == null ? null : value.doubleValue();
+    }
+}
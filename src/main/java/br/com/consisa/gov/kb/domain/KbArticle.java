@@ -1,5 +1,7 @@
 package br.com.consisa.gov.kb.domain;
 
+import br.com.consisa.gov.kb.cache.DataVersionEntityListener;
+import br.com.consisa.gov.kb.service.GovernanceCounterEntityListener;
 import jakarta.persistence.*;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
@@ -17,6 +19,7 @@ import java.time.ZoneOffset;
  * - Manter histórico mínimo de sincronização
  */
 @Entity
+@EntityListeners({DataVersionEntityListener.class, GovernanceCounterEntityListener.class})
 @Table(name = "kb_article")
 public class KbArticle {
 
@@ -112,6 +115,13 @@ public class KbArticle {
     @Column(name = "source_url", nullable = false)
     private String sourceUrl;
 
+    /**
+     * ETag da última resposta de GET /article/{id} (If-None-Match no
+     * próximo sync). Null quando o Movidesk não devolve ETag.
+     */
+    @Column(name = "source_etag", length = 200)
+    private String sourceEtag;
+
     /**
      * Sistema de origem do artigo.
      * Ex: "movidesk"
@@ -231,6 +241,9 @@ public class KbArticle {
     public Long getRevisionId() { return revisionId; }
     public void setRevisionId(Long revisionId) { this.revisionId = revisionId; }
 
+    public String getSourceEtag() { return sourceEtag; }
+    public void setSourceEtag(String sourceEtag) { this.sourceEtag = sourceEtag; }
+
     public String getReadingTime() { return readingTime; }
     public void setReadingTime(String readingTime) { this.readingTime = readingTime; }
 
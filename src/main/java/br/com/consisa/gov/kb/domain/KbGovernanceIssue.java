@@ -1,5 +1,7 @@
 package br.com.consisa.gov.kb.domain;
 
+import br.com.consisa.gov.kb.cache.DataVersionEntityListener;
+import br.com.consisa.gov.kb.service.GovernanceCounterEntityListener;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
 import org.hibernate.annotations.JdbcTypeCode;
@@ -14,6 +16,7 @@ import java.time.OffsetDateTime;
  * Ex: conteúdo incompleto, duplicado, desatualizado, inconsistente.
  */
 @Entity
+@EntityListeners({DataVersionEntityListener.class, GovernanceCounterEntityListener.class})
 @Table(name = "kb_governance_issue")
 public class KbGovernanceIssue {
 
@@ -0,0 +1,156 @@
+package br.com.consisa.gov.kb.domain;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * 📈 ROLLUP DE MÉTRICA DE GOVERNANÇA (série temporal colunar)
+ *
+ * Uma linha = um bloco de buckets de UMA métrica em UM escopo:
+ * (resolução, escopo, métrica, início do bloco) → arrays por bucket.
+ *
+ * Ex.: DAY / CONSISANET / IA_READY_PCT / 2026-01-01 guarda os 31 dias de
+ * janeiro; MONTH / __GLOBAL__ / TOTAL_ARTICLES / 2026-01-01 guarda os 12 meses.
+ *
+ * ARRAYS (mesmo tamanho, posição = {@link RollupResolution#indexOf}):
+ * -------------------------------------------------------------------
+ * - avg / min / max / last: agregados dos valores diários do bucket
+ * - samples: quantos dias entraram no bucket (0 = sem dado, valores null)
+ */
+@Entity
+@Table(name = "kb_governance_metric_rollup",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"resolution", "scope", "metric", "block_start"}))
+public class KbGovernanceMetricRollup {
+
+    /** Escopo das métricas globais (mesma convenção do índice único de snapshots). */
+    public static final String GLOBAL_SCOPE = "__GLOBAL__";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 10)
+    private RollupResolution resolution;
+
+    @Column(name = "scope", nullable = false, length = 60)
+    private String scope;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", nullable = false, length = 40)
+    private GovernanceMetric metric;
+
+    @Column(name = "block_start", nullable = false)
+    private LocalDate blockStart;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "avg_values", nullable = false, columnDefinition = "double precision[]")
+    private Double[] avgValues;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "min_values", nullable = false, columnDefinition = "double precision[]")
+    private Double[] minValues;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "max_values", nullable = false, columnDefinition = "double precision[]")
+    private Double[] maxValues;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "last_values", nullable = false, columnDefinition = "double precision[]")
+    private Double[] lastValues;
+
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "samples", nullable = false, columnDefinition = "integer[]")
+    private Integer[] samples;
+
+    @Column(name = "updated_at", nullable = false)
+    private OffsetDateTime updatedAt;
+
+    protected KbGovernanceMetricRollup() {
+    }
+
+    public KbGovernanceMetricRollup(RollupResolution resolution, String scope, GovernanceMetric metric, LocalDate blockStart) {
+        this.resolution = resolution;
+        this.scope = scope;
+        this.metric = metric;
+        this.blockStart = blockStart;
+
+        int size = resolution.bucketsPerBlock(blockStart);
+        this.avgValues = new Double[size];
+        this.minValues = new Double[size];
+        this.maxValues = new Double[size];
+        this.lastValues = new Double[size];
+        this.samples = new Integer[size];
+        Arrays.fill(this.samples, 0);
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void touch() {
+        updatedAt = OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    // ========================================
+    // MÉTODOS DE NEGÓCIO
+    // ========================================
+
+    /**
+     * Grava o agregado de um bucket (substitui o anterior: recálculo é idempotente).
+     */
+    public void setBucket(int index, double avg, double min, double max, double last, int sampleCount) {
+        // arrays vindos do banco podem ser imutáveis/compartilhados: copia antes de alterar
+        avgValues = copyWith(avgValues, index, avg);
+        minValues = copyWith(minValues, index, min);
+        maxValues = copyWith(maxValues, index, max);
+        lastValues = copyWith(lastValues, index, last);
+        Integer[] counts = samples.clone();
+        counts[index] = sampleCount;
+        samples = counts;
+    }
+
+    public boolean hasBucket(int index) {
+        return index < samples.length && samples[index] != null && samples[index] > 0;
+    }
+
+    public int bucketCount() {
+        return samples.length;
+    }
+
+    private static Double[] copyWith(Double[] values, int index, double value) {
+        Double[] copy = values.clone();
+        copy[index] = value;
+        return copy;
+    }
+
+    // ========================================
+    // GETTERS
+    // ========================================
+
+    public Long getId() { return id; }
+
+    public RollupResolution getResolution() { return resolution; }
+
+    public String getScope() { return scope; }
+
+    public GovernanceMetric getMetric() { return metric; }
+
+    public LocalDate getBlockStart() { return blockStart; }
+
+    public Double getAvg(int index) { return avgValues[index]; }
+
+    public Double getMin(int index) { return minValues[index]; }
+
+    public Double getMax(int index) { return maxValues[index]; }
+
+    public Double getLast(int index) { return lastValues[index]; }
+
+    public int getSamples(int index) { return samples[index] == null ? 0 : samples[index]; }
+
+    public OffsetDateTime getUpdatedAt() { return updatedAt; }
+}
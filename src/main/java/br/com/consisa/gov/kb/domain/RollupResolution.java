@@ -0,0 +1,83 @@
+package br.com.consisa.gov.kb.domain;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 🗓️ Resolução dos rollups de governança.
+ *
+ * Cada linha de {@link KbGovernanceMetricRollup} guarda um BLOCO de buckets
+ * em arrays (posição = índice do bucket no bloco):
+ *
+ * - DAY:   bloco = mês, bucket = dia       (28-31 posições)
+ * - WEEK:  bloco = ano, bucket = semana    (até 53 posições, semana começa na segunda)
+ * - MONTH: bloco = ano, bucket = mês       (12 posições)
+ */
+public enum RollupResolution {
+    DAY,
+    WEEK,
+    MONTH;
+
+    /** Início do bucket que contém a data. */
+    public LocalDate bucketStartOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    /** Início do bucket seguinte. */
+    public LocalDate nextBucket(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.plusDays(1);
+            case WEEK -> bucketStart.plusWeeks(1);
+            case MONTH -> bucketStart.plusMonths(1);
+        };
+    }
+
+    /** Início do bloco (linha) que guarda o bucket. */
+    public LocalDate blockStartOf(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.withDayOfMonth(1);
+            case WEEK, MONTH -> bucketStart.withDayOfYear(1);
+        };
+    }
+
+    /** Posição do bucket dentro do bloco. */
+    public int indexOf(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart.getDayOfMonth() - 1;
+            case WEEK -> (bucketStart.getDayOfYear() - 1) / 7;
+            case MONTH -> bucketStart.getMonthValue() - 1;
+        };
+    }
+
+    /** Início do bucket na posição informada do bloco. */
+    public LocalDate bucketAt(LocalDate blockStart, int index) {
+        return switch (this) {
+            case DAY -> blockStart.plusDays(index);
+            case WEEK -> blockStart.with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY)).plusWeeks(index);
+            case MONTH -> blockStart.plusMonths(index);
+        };
+    }
+
+    /** Quantidade de posições do bloco. */
+    public int bucketsPerBlock(LocalDate blockStart) {
+        return switch (this) {
+            case DAY -> blockStart.lengthOfMonth();
+            case WEEK -> 53;
+            case MONTH -> 12;
+        };
+    }
+
+    /** Tamanho aproximado do bucket em dias (escolha de resolução). */
+    public int approxDays() {
+        return switch (this) {
+            case DAY -> 1;
+            case WEEK -> 7;
+            case MONTH -> 30;
+        };
+    }
+}
@@ -1,17 +1,25 @@
 package br.com.consisa.gov.kb.governance;
 
 import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.observability.KbTracing;
+import br.com.consisa.gov.kb.observability.jfr.DetectorEvent;
 import br.com.consisa.gov.kb.repository.KbArticleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ClassUtils;
 
 import java.util.List;
 
 /**
  * Orquestrador dos detectores de governança.
+ *
+ * Cada detector é medido em kb.governance.detector{detector=NomeDaClasse}
+ * e emite o evento JFR Detector e o span kb.detector (com o id do artigo,
+ * sem timer próprio: uma série por detector).
  */
 @Service
 public class GovernancePipelineService {
@@ -20,13 +28,24 @@ public class GovernancePipelineService {
 
     private final KbArticleRepository articleRepository;
     private final List<KbGovernanceDetector> detectors;
+    private final List<String> detectorNames;
+    private final KbMetrics metrics;
+    private final KbTracing tracing;
 
     public GovernancePipelineService(
             KbArticleRepository articleRepository,
-            List<KbGovernanceDetector> detectors
+            List<KbGovernanceDetector> detectors,
+            KbMetrics metrics,
+            KbTracing tracing
     ) {
         this.articleRepository = articleRepository;
         this.detectors = detectors;
+        // nome da classe real (detectores @Transactional chegam como proxy)
+        this.detectorNames = detectors.stream()
+                .map(d -> ClassUtils.getUserClass(d).getSimpleName())
+                .toList();
+        this.metrics = metrics;
+        this.tracing = tracing;
     }
 
     @Transactional
@@ -35,8 +54,22 @@ public class GovernancePipelineService {
             return;
         }
 
-        for (KbGovernanceDetector detector : detectors) {
-            detector.analyze(article);
+        for (int i = 0; i < detectors.size(); i++) {
+            KbGovernanceDetector detector = detectors.get(i);
+            DetectorEvent event = new DetectorEvent();
+            event.begin();
+            long started = System.nanoTime();
+            try {
+                tracing.detector(detectorNames.get(i), article.getId(), () -> detector.analyze(article));
+            } finally {
+                metrics.detector(detectorNames.get(i), System.nanoTime() - started);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.detector = detectorNames.get(i);
+                    event.articleId = article.getId();
+                    event.commit();
+                }
+            }
         }
     }
 
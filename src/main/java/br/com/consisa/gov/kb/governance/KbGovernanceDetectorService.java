@@ -2,6 +2,9 @@ package br.com.consisa.gov.kb.governance;
 
 import br.com.consisa.gov.kb.domain.KbArticle;
 import br.com.consisa.gov.kb.governance.detector.DuplicateContentDetector;
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.observability.KbTracing;
+import br.com.consisa.gov.kb.observability.jfr.DetectorEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -29,13 +32,19 @@ public class KbGovernanceDetectorService {
 
     private final GovernancePipelineService pipelineService;
     private final DuplicateContentDetector duplicate;
+    private final KbMetrics metrics;
+    private final KbTracing tracing;
 
     public KbGovernanceDetectorService(
             GovernancePipelineService pipelineService,
-            DuplicateContentDetector duplicate
+            DuplicateContentDetector duplicate,
+            KbMetrics metrics,
+            KbTracing tracing
     ) {
         this.pipelineService = pipelineService;
         this.duplicate = duplicate;
+        this.metrics = metrics;
+        this.tracing = tracing;
     }
 
     /**
@@ -70,7 +79,16 @@ public class KbGovernanceDetectorService {
      */
     @Transactional
     public int analyzeAllDuplicates() {
-        return duplicate.analyzeAllDuplicates();
+        DetectorEvent event = new DetectorEvent();
+        event.begin();
+        long started = System.nanoTime();
+        try {
+            return tracing.detector("DuplicateContentDetector.global", null, duplicate::analyzeAllDuplicates);
+        } finally {
+            metrics.detector("DuplicateContentDetector.global", System.nanoTime() - started);
+            event.detector = "DuplicateContentDetector.global";
+            event.commit();
+        }
     }
 
     /**
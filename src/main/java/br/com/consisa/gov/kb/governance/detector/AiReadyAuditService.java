@@ -51,6 +51,44 @@ public class AiReadyAuditService {
             return;
         }
 
+        AiReadyChecklist checklist = evaluate(article);
+        List<String> missing = checklist.missing();
+        boolean passed = checklist.passed();
+
+        ObjectNode details = objectMapper.createObjectNode();
+        details.put("rulesCount", checklist.rulesCount());
+        details.put("stepsCount", checklist.stepsCount());
+        details.put("faqCount", checklist.faqCount());
+        details.put("intentCount", checklist.intentCount());
+        details.put("emailsDetected", checklist.emailsDetected());
+
+        KbArticleAiAudit audit = auditRepository.findByArticleId(article.getId())
+                .orElseGet(KbArticleAiAudit::new);
+        audit.setArticleId(article.getId());
+        audit.setPassed(passed);
+        audit.setScore(checklist.score());
+        audit.setMissingSections(String.join(", ", missing));
+        audit.setDetailsJson(details);
+        audit.setAuditedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        auditRepository.save(audit);
+
+        if (!passed) {
+            issueService.open(
+                    article.getId(),
+                    KbGovernanceIssueType.NOT_AI_READY,
+                    GovernanceSeverity.WARN,
+                    "Checklist IA-ready incompleto: " + String.join(", ", missing),
+                    details
+            );
+        } else {
+            workflowService.updateStatusIfOpen(article.getId(), KbGovernanceIssueType.NOT_AI_READY, GovernanceIssueStatus.RESOLVED, "ai-audit");
+        }
+    }
+
+    /**
+     * Checklist IA-ready do artigo (só CPU: sem banco, sem issues).
+     */
+    public AiReadyChecklist evaluate(KbArticle article) {
         String raw = buildRawContent(article);
         String normalized = raw.toLowerCase(Locale.ROOT);
 
@@ -91,36 +129,8 @@ public class AiReadyAuditService {
         boolean hasIntent = intentCount >= 3;
         score += mark("intenções ia (>=3)", hasIntent, missing);
 
-        boolean passed = missing.isEmpty();
-
-        ObjectNode details = objectMapper.createObjectNode();
-        details.put("rulesCount", rulesCount);
-        details.put("stepsCount", stepsCount);
-        details.put("faqCount", faqCount);
-        details.put("intentCount", intentCount);
-        details.put("emailsDetected", countMatches(EMAIL, raw));
-
-        KbArticleAiAudit audit = auditRepository.findByArticleId(article.getId())
-                .orElseGet(KbArticleAiAudit::new);
-        audit.setArticleId(article.getId());
-        audit.setPassed(passed);
-        audit.setScore(score);
-        audit.setMissingSections(String.join(", ", missing));
-        audit.setDetailsJson(details);
-        audit.setAuditedAt(OffsetDateTime.now(ZoneOffset.UTC));
-        auditRepository.save(audit);
-
-        if (!passed) {
-            issueService.open(
-                    article.getId(),
-                    KbGovernanceIssueType.NOT_AI_READY,
-                    GovernanceSeverity.WARN,
-                    "Checklist IA-ready incompleto: " + String.join(", ", missing),
-                    details
-            );
-        } else {
-            workflowService.updateStatusIfOpen(article.getId(), KbGovernanceIssueType.NOT_AI_READY, GovernanceIssueStatus.RESOLVED, "ai-audit");
-        }
+        return new AiReadyChecklist(score, missing, rulesCount, stepsCount, faqCount, intentCount,
+                countMatches(EMAIL, raw));
     }
 
     private int mark(String label, boolean ok, List<String> missing) {
@@ -197,4 +207,18 @@ public class AiReadyAuditService {
         }
         return count;
     }
+
+    public record AiReadyChecklist(
+            int score,
+            List<String> missing,
+            int rulesCount,
+            int stepsCount,
+            int faqCount,
+            int intentCount,
+            int emailsDetected
+    ) {
+        public boolean passed() {
+            return missing.isEmpty();
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package br.com.consisa.gov.kb.job;
+
+/**
+ * Lançada no ponto de cancelamento de um job; o worker grava CANCELLED
+ * (sem retry).
+ */
+public class JobCancelledException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JobCancelledException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.consisa.gov.kb.job;
+
+/**
+ * Canal entre o job em execução e a fila: progresso e cancelamento.
+ *
+ * Progresso fica em memória e é gravado pelo heartbeat do worker
+ * (não custa um UPDATE por item processado).
+ */
+public interface JobContext {
+
+    /**
+     * Contexto para execuções fora da fila (sem progresso nem cancelamento).
+     */
+    JobContext NONE = new JobContext() {
+        @Override
+        public void progress(int done, int total, String message) {
+        }
+
+        @Override
+        public boolean isCancelRequested() {
+            return false;
+        }
+    };
+
+    void progress(int done, int total, String message);
+
+    boolean isCancelRequested();
+
+    /**
+     * Ponto de cancelamento: chamar entre etapas do job.
+     *
+     * @throws JobCancelledException se o cancelamento foi pedido
+     */
+    default void checkCancelled() {
+        if (isCancelRequested()) {
+            throw new JobCancelledException("Job cancelado");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.consisa.gov.kb.job;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Executor de um tipo de job da fila (um bean por {@link #jobName()}).
+ */
+public interface JobHandler {
+
+    int PRIORITY_LOW = 0;
+    int PRIORITY_NORMAL = 5;
+    int PRIORITY_HIGH = 10;
+
+    /**
+     * Nome gravado em job_run.job_name.
+     */
+    String jobName();
+
+    /**
+     * Prioridade padrão no enqueue (maior roda antes).
+     */
+    default int priority() {
+        return PRIORITY_NORMAL;
+    }
+
+    /**
+     * Tentativas antes de o job terminar FAILED (1 = sem retry).
+     */
+    default int maxAttempts() {
+        return 3;
+    }
+
+    /**
+     * Executa o job. Exceção = tentativa falhou (volta para a fila com backoff).
+     *
+     * @param payload parâmetros gravados no enqueue
+     * @return resultado gravado em details_json (pode ser null)
+     */
+    JsonNode run(JsonNode payload, JobContext context) throws Exception;
+}
@@ -0,0 +1,139 @@
+package br.com.consisa.gov.kb.job;
+
+import br.com.consisa.gov.kb.repository.JobQueueRepository;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 📬 Fila persistente de jobs (job_run): operações longas saem da thread HTTP.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * 1. Controller chama {@link #enqueue} → linha QUEUED, devolve o id na hora
+ * 2. {@link JobWorker} (threads próprias, em todas as réplicas) reivindica
+ *    por prioridade e executa o {@link JobHandler} do job_name
+ * 3. Falha → volta para a fila com backoff exponencial até max-attempts
+ * 4. {@link #cancel}: QUEUED cancela na hora; RUNNING é cancelado no
+ *    próximo ponto de cancelamento do job
+ *
+ * Um job aberto (QUEUED/RUNNING) por job_name: clique duplo ou dois
+ * usuários disparando o mesmo sync recebem 409 em vez de enfileirar
+ * trabalho repetido.
+ */
+@Service
+public class JobQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobQueueService.class);
+
+    private final JobQueueRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, JobHandler> handlers;
+
+    public JobQueueService(JobQueueRepository repository, ObjectMapper objectMapper, List<JobHandler> handlers) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers.stream().collect(Collectors.toMap(JobHandler::jobName, Function.identity()));
+    }
+
+    /**
+     * Enfileira com a prioridade padrão do handler.
+     *
+     * Transacional aqui também: a chamada ao overload abaixo é interna (não
+     * passa pelo proxy) e o advisory lock só vale até o fim da transação.
+     */
+    @Transactional
+    public QueuedJob enqueue(String jobName, JsonNode payload) {
+        return enqueue(jobName, payload, handler(jobName).priority());
+    }
+
+    /**
+     * @throws IllegalArgumentException job_name sem handler
+     * @throws IllegalStateException já existe job aberto com o mesmo job_name
+     */
+    @Transactional
+    public QueuedJob enqueue(String jobName, JsonNode payload, int priority) {
+        JobHandler handler = handler(jobName);
+        repository.lockEnqueue();
+        if (repository.hasOpen(jobName)) {
+            throw new IllegalStateException("Job " + jobName + " já está na fila ou em execução");
+        }
+        QueuedJob job = repository.insert(jobName, priority, write(payload), Math.max(1, handler.maxAttempts()));
+        log.info("📬 Job {} enfileirado: id={} prioridade={}", jobName, job.id(), priority);
+        return job;
+    }
+
+    public Optional<QueuedJob> find(long id) {
+        return repository.findById(id);
+    }
+
+    public List<QueuedJob> recent(String jobName, int limit) {
+        return repository.findRecent(jobName, Math.clamp(limit, 1, 200));
+    }
+
+    /**
+     * @return job após o pedido (vazio se não existe)
+     * @throws IllegalStateException job já terminou
+     */
+    public Optional<QueuedJob> cancel(long id) {
+        Optional<QueuedJob> job = repository.findById(id);
+        if (job.isEmpty()) {
+            return job;
+        }
+        if (repository.requestCancel(id).isEmpty()) {
+            throw new IllegalStateException("Job " + id + " já terminou (" + job.get().status() + ")");
+        }
+        log.info("🛑 Cancelamento pedido para o job {} ({})", id, job.get().jobName());
+        return repository.findById(id);
+    }
+
+    /**
+     * Resultado gravado pelo handler (details_json); null enquanto não terminou.
+     */
+    public JsonNode result(QueuedJob job) {
+        return job.detailsJson() == null ? null : read(job.detailsJson());
+    }
+
+    /**
+     * Location das respostas 202 dos endpoints que enfileiram.
+     */
+    public static URI location(QueuedJob job) {
+        return URI.create("/api/v1/jobs/" + job.id());
+    }
+
+    JobHandler handler(String jobName) {
+        JobHandler handler = handlers.get(jobName);
+        if (handler == null) {
+            throw new IllegalArgumentException("Job desconhecido: " + jobName);
+        }
+        return handler;
+    }
+
+    JsonNode read(String json) {
+        try {
+            return json == null ? objectMapper.nullNode() : objectMapper.readTree(json);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("JSON inválido no job_run: " + ex.getOriginalMessage(), ex);
+        }
+    }
+
+    String write(JsonNode node) {
+        try {
+            return node == null || node.isNull() ? null : objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("JSON inválido para o job_run: " + ex.getOriginalMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package br.com.consisa.gov.kb.job;
+
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.observability.KbTracing;
+import br.com.consisa.gov.kb.repository.JobQueueRepository;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 👷 Worker da fila de jobs: roda em TODAS as réplicas.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - app.jobs.workers threads próprias: nem o pool do Tomcat nem o do
+ *   @Scheduled ficam presos em sync de horas
+ * - Cada thread: reivindica o job de maior prioridade → executa o handler →
+ *   grava SUCCESS / CANCELLED / volta para a fila com backoff / FAILED
+ * - Heartbeat (thread única, a cada heartbeat-ms) renova o lease dos jobs
+ *   em execução, grava o progresso e traz o pedido de cancelamento
+ * - Réplica caiu: lease vence e outra réplica reivindica o job
+ *
+ * Backoff: backoff-base-seconds × 2^(tentativa-1), até backoff-max-seconds.
+ */
+@Component
+@ConditionalOnProperty(name = "app.jobs.enabled", havingValue = "true", matchIfMissing = true)
+public class JobWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(JobWorker.class);
+
+    private final JobQueueService queue;
+    private final JobQueueRepository repository;
+    private final KbTracing tracing;
+    private final KbMetrics metrics;
+    private final String nodeId;
+    private final int workers;
+    private final long pollMs;
+    private final Duration lease;
+    private final long heartbeatMs;
+    private final long backoffBaseSeconds;
+    private final long backoffMaxSeconds;
+
+    private final Map<Long, RunningJob> inFlight = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private ExecutorService executor;
+    private ScheduledExecutorService heartbeats;
+
+    public JobWorker(
+            JobQueueService queue,
+            JobQueueRepository repository,
+            KbTracing tracing,
+            KbMetrics metrics,
+            @Value("${app.jobs.node-id:${HOSTNAME:}}") String nodeId,
+            @Value("${app.jobs.workers:2}") int workers,
+            @Value("${app.jobs.poll-ms:2000}") long pollMs,
+            @Value("${app.jobs.lease-seconds:120}") long leaseSeconds,
+            @Value("${app.jobs.heartbeat-ms:10000}") long heartbeatMs,
+            @Value("${app.jobs.backoff-base-seconds:30}") long backoffBaseSeconds,
+            @Value("${app.jobs.backoff-max-seconds:1800}") long backoffMaxSeconds
+    ) {
+        this.queue = queue;
+        this.repository = repository;
+        this.tracing = tracing;
+        this.metrics = metrics;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? "node-" + UUID.randomUUID() : nodeId;
+        this.workers = Math.max(1, workers);
+        this.pollMs = Math.max(100, pollMs);
+        this.lease = Duration.ofSeconds(Math.max(30, leaseSeconds));
+        // heartbeat bem antes do lease vencer
+        this.heartbeatMs = Math.clamp(heartbeatMs, 1000, this.lease.toMillis() / 3);
+        this.backoffBaseSeconds = Math.max(1, backoffBaseSeconds);
+        this.backoffMaxSeconds = Math.max(this.backoffBaseSeconds, backoffMaxSeconds);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        executor = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("kb-job-worker-", 0).daemon(true).factory());
+        for (int i = 0; i < workers; i++) {
+            String owner = nodeId + "#" + i;
+            executor.submit(() -> loop(owner));
+        }
+        heartbeats = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("kb-job-heartbeat").daemon(true).factory());
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        log.info("👷 Fila de jobs: {} worker(s) na réplica {}", workers, nodeId);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (heartbeats != null) {
+            heartbeats.shutdownNow();
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+            // job interrompido volta para a fila quando o lease vencer
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void loop(String owner) {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (!workOnce(owner)) {
+                    repository.closeExpired();
+                    Thread.sleep(pollMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Worker de jobs: {}", e.getMessage(), e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * @return false quando não havia job disponível
+     */
+    boolean workOnce(String owner) {
+        Optional<QueuedJob> claimed = repository.claim(owner, lease);
+        if (claimed.isEmpty()) {
+            return false;
+        }
+        QueuedJob job = claimed.get();
+        if (job.runAfter() != null) {
+            metrics.jobQueueWait(job.jobName(), Duration.between(job.runAfter(), OffsetDateTime.now()).toMillis());
+        }
+        tracing.job(job.jobName(), () -> execute(job, owner));
+        return true;
+    }
+
+    private void execute(QueuedJob job, String owner) {
+        RunningJob context = new RunningJob(job, owner);
+        inFlight.put(job.id(), context);
+        long start = System.nanoTime();
+        String outcome;
+        try {
+            log.info("▶️ Job {} id={} (tentativa {}/{})", job.jobName(), job.id(), job.attempts(), job.maxAttempts());
+            JsonNode details = queue.handler(job.jobName()).run(queue.read(job.payloadJson()), context);
+            detach(context);
+            repository.complete(job.id(), owner, queue.write(details));
+            outcome = "success";
+            log.info("✅ Job {} id={} concluído", job.jobName(), job.id());
+        } catch (JobCancelledException e) {
+            detach(context);
+            repository.cancelled(job.id(), owner, e.getMessage());
+            outcome = "cancelled";
+            log.info("🛑 Job {} id={} cancelado", job.jobName(), job.id());
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            detach(context);
+            Duration backoff = backoff(job.attempts());
+            String status = repository.fail(job.id(), owner, describe(e), backoff).orElse("LOST");
+            outcome = "QUEUED".equals(status) ? "retry" : "failed";
+            if ("QUEUED".equals(status)) {
+                log.warn("⚠️ Job {} id={} falhou (tentativa {}/{}), nova tentativa em {}s: {}",
+                        job.jobName(), job.id(), job.attempts(), job.maxAttempts(), backoff.toSeconds(), e.getMessage());
+            } else {
+                log.error("❌ Job {} id={} falhou ({}): {}", job.jobName(), job.id(), status, e.getMessage(), e);
+            }
+        } finally {
+            inFlight.remove(job.id());
+        }
+        metrics.jobRun(job.jobName(), outcome, System.nanoTime() - start);
+    }
+
+    private void heartbeat() {
+        inFlight.values().forEach(context -> {
+            try {
+                flush(context);
+            } catch (Exception e) {
+                log.warn("⚠️ Heartbeat do job {}: {}", context.job.id(), e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Tira o job do heartbeat e grava o progresso final antes do resultado.
+     */
+    private void detach(RunningJob context) {
+        inFlight.remove(context.job.id());
+        flush(context);
+    }
+
+    /**
+     * Renova o lease, grava o progresso e lê o pedido de cancelamento.
+     */
+    private void flush(RunningJob context) {
+        Optional<Boolean> cancel = repository.heartbeat(context.job.id(), context.owner, lease,
+                context.done, context.total, context.message);
+        if (cancel.isEmpty() && inFlight.containsKey(context.job.id())) {
+            // lease perdido: outra réplica assumiu, o resultado desta não vale mais
+            log.warn("⚠️ Job {} id={} perdeu o lease", context.job.jobName(), context.job.id());
+            context.cancelRequested = true;
+        } else {
+            cancel.ifPresent(requested -> context.cancelRequested = requested);
+        }
+    }
+
+    Duration backoff(int attempt) {
+        long factor = 1L << Math.clamp(attempt - 1, 0, 20);
+        return Duration.ofSeconds(Math.min(backoffMaxSeconds, backoffBaseSeconds * factor));
+    }
+
+    private static String describe(Exception e) {
+        String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        return message.length() > 400 ? message.substring(0, 400) : message;
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Estado em memória de um job em execução (lido pelo heartbeat).
+     */
+    private static final class RunningJob implements JobContext {
+
+        private final QueuedJob job;
+        private final String owner;
+        private volatile Integer done;
+        private volatile Integer total;
+        private volatile String message;
+        private volatile boolean cancelRequested;
+
+        private RunningJob(QueuedJob job, String owner) {
+            this.job = job;
+            this.owner = owner;
+            this.done = job.progressDone();
+            this.total = job.progressTotal();
+            this.message = job.progressMessage();
+            this.cancelRequested = job.cancelRequested();
+        }
+
+        @Override
+        public void progress(int done, int total, String message) {
+            this.done = done;
+            this.total = total;
+            this.message = message;
+        }
+
+        @Override
+        public boolean isCancelRequested() {
+            return cancelRequested;
+        }
+    }
+}
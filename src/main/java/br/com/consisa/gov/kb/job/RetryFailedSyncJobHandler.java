@@ -0,0 +1,117 @@
+package br.com.consisa.gov.kb.job;
+
+import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.governance.KbGovernanceDetectorService;
+import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.service.GovernanceMetricsStore;
+import br.com.consisa.gov.kb.service.KbArticleSyncService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 🔁 Job "sync.retry-failed": ressincroniza artigos com syncStatus ERROR.
+ *
+ * Payload: {"limit": 50}
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Busca até limit artigos em ERROR (mais recentes primeiro)
+ * - Sync completo de cada um (sem GET condicional: o que falhou foi o
+ *   último sync) + detectores de governança do artigo
+ * - Falha de um artigo não derruba o job; o job não tem retry próprio
+ *   (rodar de novo pega o que continuar em ERROR)
+ * - Prioridade alta: lote pequeno e interativo, passa na frente de import
+ */
+@Component
+public class RetryFailedSyncJobHandler implements JobHandler {
+
+    private static final Logger log = LoggerFactory.getLogger(RetryFailedSyncJobHandler.class);
+
+    public static final String JOB_NAME = "sync.retry-failed";
+
+    private final KbArticleRepository articleRepo;
+    private final KbArticleSyncService articleSyncService;
+    private final KbGovernanceDetectorService governanceDetector;
+    private final GovernanceMetricsStore metricsStore;
+    private final ObjectMapper objectMapper;
+
+    public RetryFailedSyncJobHandler(
+            KbArticleRepository articleRepo,
+            KbArticleSyncService articleSyncService,
+            KbGovernanceDetectorService governanceDetector,
+            GovernanceMetricsStore metricsStore,
+            ObjectMapper objectMapper
+    ) {
+        this.articleRepo = articleRepo;
+        this.articleSyncService = articleSyncService;
+        this.governanceDetector = governanceDetector;
+        this.metricsStore = metricsStore;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String jobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public int priority() {
+        return PRIORITY_HIGH;
+    }
+
+    @Override
+    public int maxAttempts() {
+        return 1;
+    }
+
+    @Override
+    public JsonNode run(JsonNode payload, JobContext context) {
+        int limit = Math.clamp(payload.path("limit").asInt(50), 1, 1000);
+        List<Long> ids = articleRepo.findFailedArticles(PageRequest.of(0, limit));
+
+        int recovered = 0;
+        int notFound = 0;
+        int failed = 0;
+        try {
+            for (int i = 0; i < ids.size(); i++) {
+                context.checkCancelled();
+                long id = ids.get(i);
+                try {
+                    KbArticle article = articleSyncService.sync(id);
+                    if (article == null) {
+                        notFound++;
+                    } else {
+                        recovered++;
+                        governanceDetector.analyzeArticle(article);
+                    }
+                } catch (Exception ex) {
+                    failed++;
+                    log.warn("⚠️ Retry do artigo {} falhou: {}", id, ex.getMessage());
+                }
+                context.progress(i + 1, ids.size(), "Artigos reprocessados");
+            }
+        } finally {
+            if (recovered + notFound > 0) {
+                metricsStore.markStale();
+            }
+        }
+
+        log.info("🔁 Retry de falhas: {} artigos, {} recuperados, {} não encontrados, {} ainda com erro",
+                ids.size(), recovered, notFound, failed);
+
+        ObjectNode details = objectMapper.createObjectNode();
+        details.put("requestedLimit", limit);
+        details.put("candidates", ids.size());
+        details.put("recovered", recovered);
+        details.put("notFound", notFound);
+        details.put("failed", failed);
+        return details;
+    }
+}
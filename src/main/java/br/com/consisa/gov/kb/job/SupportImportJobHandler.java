@@ -0,0 +1,66 @@
+package br.com.consisa.gov.kb.job;
+
+import br.com.consisa.gov.kb.service.SupportImportService;
+import br.com.consisa.gov.kb.service.SupportImportService.ImportResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 📥 Job "support.import": import de tickets de suporte pela API.
+ *
+ * Payload: {"start": "2026-01-01T00:00Z", "end": "2026-02-01T00:00Z"} (ambos opcionais, inclusivos)
+ *
+ * Retry é barato: o {@link SupportImportService} retoma do checkpoint
+ * (linha "support-import" do job_run) e pula as janelas já gravadas.
+ * Prioridade baixa: import de meses não deve atrasar sync manual.
+ */
+@Component
+public class SupportImportJobHandler implements JobHandler {
+
+    public static final String JOB_NAME = "support.import";
+
+    private final SupportImportService importService;
+    private final ObjectMapper objectMapper;
+
+    public SupportImportJobHandler(SupportImportService importService, ObjectMapper objectMapper) {
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+    }
+
+    public static JsonNode payload(ObjectMapper objectMapper, OffsetDateTime start, OffsetDateTime end) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("start", start == null ? null : start.toString());
+        payload.put("end", end == null ? null : end.toString());
+        return payload;
+    }
+
+    @Override
+    public String jobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public int priority() {
+        return PRIORITY_LOW;
+    }
+
+    @Override
+    public JsonNode run(JsonNode payload, JobContext context) {
+        ImportResult result = importService.runImport(date(payload, "start"), date(payload, "end"), context);
+
+        ObjectNode details = objectMapper.createObjectNode();
+        details.put("ticketsCreated", result.ticketsCreated());
+        details.put("ticketsUpdated", result.ticketsUpdated());
+        details.put("messagesCreated", result.messagesCreated());
+        return details;
+    }
+
+    private static OffsetDateTime date(JsonNode payload, String field) {
+        JsonNode node = payload.get(field);
+        return node == null || node.isNull() ? null : OffsetDateTime.parse(node.asText());
+    }
+}
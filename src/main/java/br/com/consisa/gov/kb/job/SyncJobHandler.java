@@ -0,0 +1,69 @@
+package br.com.consisa.gov.kb.job;
+
+import br.com.consisa.gov.kb.domain.KbSyncRun;
+import br.com.consisa.gov.kb.domain.SyncMode;
+import br.com.consisa.gov.kb.service.KbSyncOrchestratorService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🔄 Job "sync.run": sync manual disparado pela API.
+ *
+ * Payload: {"mode": "DELTA", "daysBack": 2}
+ * Resultado: id, status e contadores do kb_sync_run.
+ *
+ * Sync agendado em andamento ("Sync já em execução") conta como falha e
+ * volta para a fila com backoff. Cancelamento só antes de começar: o sync
+ * em si não tem ponto de parada.
+ */
+@Component
+public class SyncJobHandler implements JobHandler {
+
+    public static final String JOB_NAME = "sync.run";
+
+    private final KbSyncOrchestratorService orchestrator;
+    private final ObjectMapper objectMapper;
+
+    public SyncJobHandler(KbSyncOrchestratorService orchestrator, ObjectMapper objectMapper) {
+        this.orchestrator = orchestrator;
+        this.objectMapper = objectMapper;
+    }
+
+    public static JsonNode payload(ObjectMapper objectMapper, SyncMode mode, Integer daysBack) {
+        ObjectNode payload = objectMapper.createObjectNode();
+        payload.put("mode", mode.name());
+        if (daysBack != null) {
+            payload.put("daysBack", daysBack);
+        }
+        return payload;
+    }
+
+    @Override
+    public String jobName() {
+        return JOB_NAME;
+    }
+
+    @Override
+    public JsonNode run(JsonNode payload, JobContext context) {
+        context.checkCancelled();
+        SyncMode mode = SyncMode.valueOf(payload.path("mode").asText(SyncMode.DELTA.name()));
+        Integer daysBack = payload.hasNonNull("daysBack") ? payload.get("daysBack").asInt() : null;
+
+        context.progress(0, 1, "Sync " + mode + " em execução");
+        KbSyncRun run = orchestrator.runNow(mode, daysBack);
+        context.progress(1, 1, "Sync " + mode + " " + run.getStatus());
+
+        ObjectNode details = objectMapper.createObjectNode();
+        details.put("syncRunId", run.getId());
+        details.put("mode", String.valueOf(run.getMode()));
+        details.put("status", String.valueOf(run.getStatus()));
+        details.put("synced", run.getSyncedCount());
+        details.put("updated", run.getUpdatedCount());
+        details.put("skipped", run.getSkippedCount());
+        details.put("notFound", run.getNotFoundCount());
+        details.put("errors", run.getErrorCount());
+        return details;
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.consisa.gov.kb.observability;
 
+import io.micrometer.common.KeyValue;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,10 +8,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.MDC;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 
 import java.io.IOException;
 import java.util.UUID;
 
+/**
+ * 🔗 Correlation id por requisição (header X-Correlation-Id → MDC → resposta).
+ *
+ * O id também vai como atributo (correlation.id) do span HTTP do servidor,
+ * então dá para achar o trace a partir do header informado pelo cliente.
+ * Jobs agendados recebem o mesmo MDC via KbTracing.job.
+ */
 @Component
 public class CorrelationIdFilter extends OncePerRequestFilter {
 
@@ -28,6 +37,9 @@ public class CorrelationIdFilter extends OncePerRequestFilter {
 
         MDC.put(MDC_KEY, correlationId);
         response.setHeader(CORRELATION_ID_HEADER, correlationId);
+        String id = correlationId;
+        ServerHttpObservationFilter.findObservationContext(request)
+                .ifPresent(context -> context.addHighCardinalityKeyValue(KeyValue.of("correlation.id", id)));
 
         try {
             filterChain.doFilter(request, response);
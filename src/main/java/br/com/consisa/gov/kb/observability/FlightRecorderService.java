@@ -0,0 +1,155 @@
+package br.com.consisa.gov.kb.observability;
+
+import br.com.consisa.gov.kb.observability.jfr.ArticleSyncEvent;
+import br.com.consisa.gov.kb.observability.jfr.DetectorEvent;
+import br.com.consisa.gov.kb.observability.jfr.GovernanceIssueOpenEvent;
+import br.com.consisa.gov.kb.observability.jfr.MovideskRequestEvent;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 🎥 Gravação JFR (JDK Flight Recorder) sob demanda ou contínua.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Uma gravação por nó, em buffer circular (max-age / max-size)
+ * - Eventos do JDK conforme o settings (default ≈ 1% de overhead, profile mais detalhado)
+ *   + eventos da aplicação: MovideskRequest, ArticleSync, Detector, GovernanceIssueOpen
+ * - Dump copia o buffer atual para um .jfr sem parar a gravação (abrir no JMC / jfr print)
+ * - app.jfr.always-on=true inicia a gravação no startup
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final String RECORDING_NAME = "kb-governance";
+
+    public record RecordingStatus(
+            boolean running,
+            String settings,
+            Instant startedAt,
+            Duration maxAge,
+            long maxSizeBytes,
+            long sizeBytes
+    ) {
+    }
+
+    private final boolean alwaysOn;
+    private final String defaultSettings;
+    private final Duration maxAge;
+    private final long maxSizeBytes;
+
+    private Recording recording;
+    private String settings;
+
+    public FlightRecorderService(
+            @Value("${app.jfr.always-on:false}") boolean alwaysOn,
+            @Value("${app.jfr.settings:default}") String defaultSettings,
+            @Value("${app.jfr.max-age-minutes:30}") long maxAgeMinutes,
+            @Value("${app.jfr.max-size-mb:100}") long maxSizeMb
+    ) {
+        this.alwaysOn = alwaysOn;
+        this.defaultSettings = defaultSettings;
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startIfAlwaysOn() {
+        if (alwaysOn) {
+            start(null);
+        }
+    }
+
+    /**
+     * Inicia a gravação.
+     *
+     * @param settingsName "default" ou "profile" (null = app.jfr.settings)
+     * @throws IllegalStateException se já houver gravação ativa
+     * @throws IllegalArgumentException se o settings não existir
+     */
+    public synchronized RecordingStatus start(String settingsName) {
+        if (isRunning()) {
+            throw new IllegalStateException("Gravação JFR já está ativa desde " + recording.getStartTime());
+        }
+        String name = settingsName == null || settingsName.isBlank() ? defaultSettings : settingsName;
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(name);
+        } catch (IOException | ParseException ex) {
+            throw new IllegalArgumentException("Settings JFR inválido: " + name, ex);
+        }
+
+        Recording created = new Recording(configuration);
+        created.setName(RECORDING_NAME);
+        created.setToDisk(true);
+        created.setMaxAge(maxAge);
+        created.setMaxSize(maxSizeBytes);
+        created.enable(MovideskRequestEvent.class);
+        created.enable(ArticleSyncEvent.class);
+        created.enable(DetectorEvent.class);
+        created.enable(GovernanceIssueOpenEvent.class);
+        created.start();
+
+        recording = created;
+        settings = name;
+        log.info("🎥 Gravação JFR iniciada. settings={} maxAge={} maxSize={}MB",
+                name, maxAge, maxSizeBytes / (1024 * 1024));
+        return status();
+    }
+
+    public synchronized RecordingStatus status() {
+        if (!isRunning()) {
+            return new RecordingStatus(false, null, null, maxAge, maxSizeBytes, 0);
+        }
+        return new RecordingStatus(true, settings, recording.getStartTime(), maxAge, maxSizeBytes, recording.getSize());
+    }
+
+    /**
+     * Copia o conteúdo atual da gravação para um arquivo temporário
+     * (quem chama apaga o arquivo depois de enviar).
+     *
+     * @throws IllegalStateException se não houver gravação ativa
+     */
+    public synchronized Path dump() throws IOException {
+        if (!isRunning()) {
+            throw new IllegalStateException("Nenhuma gravação JFR ativa");
+        }
+        Path file = Files.createTempFile(RECORDING_NAME + "-", ".jfr");
+        recording.dump(file);
+        log.info("🎥 Dump JFR gerado. file={} size={}B", file, Files.size(file));
+        return file;
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+        recording.close();
+        recording = null;
+        settings = null;
+        log.info("🎥 Gravação JFR encerrada.");
+    }
+
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+}
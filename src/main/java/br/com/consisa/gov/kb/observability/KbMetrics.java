@@ -0,0 +1,215 @@
+package br.com.consisa.gov.kb.observability;
+
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+import br.com.consisa.gov.kb.domain.SyncMode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+
+/**
+ * 📈 Métricas de negócio/IO da aplicação (Micrometer → actuator/prometheus).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Um método por evento medido; nomes e tags ficam só aqui
+ * - Timers de IO e latência publicam histograma (buckets no Prometheus),
+ *   então p95/p99 saem por {@code histogram_quantile} agregando réplicas
+ * - Tags têm cardinalidade fechada (endpoint fixo, modo, detector, tipo de issue):
+ *   nunca IDs de artigo/ticket
+ *
+ * METRICS:
+ * --------
+ * - kb.movidesk.requests{endpoint,status}: cada chamada HTTP ao Movidesk
+ * - kb.movidesk.rate.limit.wait: espera no limitador da API de tickets
+ * - kb.movidesk.response.bytes{encoding,layer}: corpo no fio (wire) x decodificado
+ * - kb.movidesk.connections.active/max, kb.movidesk.connection.wait: limite de conexões
+ * - kb.sync.articles{mode,result}: throughput de artigos por modo de sync
+ * - kb.sync.page{mode} / kb.sync.run{mode,status}: duração de página e execução
+ * - kb.governance.detector{detector}: latência por detector
+ * - kb.governance.issues{type,result}: issues criadas/reabertas/atualizadas
+ * - kb.search{variant} / kb.search.results{variant}: latência e tamanho do resultado
+ * - kb.jobs.run{job,outcome} / kb.jobs.queue.wait{job}: execução e espera na fila de jobs
+ *
+ * Fila de auditoria e scheduler publicam os próprios gauges (MeterBinder).
+ */
+@Component
+public class KbMetrics {
+
+    /** Status usado quando a chamada falhou sem resposta HTTP (timeout, DNS, conexão). */
+    public static final String STATUS_IO_ERROR = "IO_ERROR";
+
+    private final MeterRegistry registry;
+
+    public KbMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // ======================
+    // MOVIDESK
+    // ======================
+
+    public void movideskRequest(String endpoint, String status, long nanos) {
+        Timer.builder("kb.movidesk.requests")
+                .description("Chamadas HTTP à API do Movidesk")
+                .tag("endpoint", endpoint)
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void movideskRateLimitWait(long nanos) {
+        Timer.builder("kb.movidesk.rate.limit.wait")
+                .description("Espera no limitador de requisições da API de tickets")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param encoding gzip | deflate | identity
+     */
+    public void movideskResponseBytes(String encoding, long wireBytes, long decodedBytes) {
+        responseBytes(encoding, "wire").record(wireBytes);
+        responseBytes(encoding, "decoded").record(decodedBytes);
+    }
+
+    private DistributionSummary responseBytes(String encoding, String layer) {
+        return DistributionSummary.builder("kb.movidesk.response.bytes")
+                .description("Tamanho do corpo das respostas do Movidesk")
+                .baseUnit("bytes")
+                .tag("encoding", encoding)
+                .tag("layer", layer)
+                .register(registry);
+    }
+
+    public void movideskConnections(int max, IntSupplier active) {
+        Gauge.builder("kb.movidesk.connections.active", active::getAsInt)
+                .description("Requisições ao Movidesk em voo (HTTP/1.1: conexões em uso)")
+                .register(registry);
+        Gauge.builder("kb.movidesk.connections.max", () -> max)
+                .description("Limite de requisições simultâneas ao Movidesk")
+                .register(registry);
+    }
+
+    public void movideskConnectionWait(long nanos) {
+        Timer.builder("kb.movidesk.connection.wait")
+                .description("Espera por vaga no limite de conexões com o Movidesk")
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ======================
+    // SYNC
+    // ======================
+
+    /**
+     * @param result success | failed | not_found
+     */
+    public void syncArticle(SyncMode mode, String result) {
+        Counter.builder("kb.sync.articles")
+                .description("Artigos processados pelo sync")
+                .tag("mode", tag(mode))
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    public void syncPage(SyncMode mode, long millis) {
+        Timer.builder("kb.sync.page")
+                .description("Processamento de uma página do sync")
+                .tag("mode", tag(mode))
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    public void syncRun(SyncMode mode, String status, long millis) {
+        Timer.builder("kb.sync.run")
+                .description("Execução completa do sync")
+                .tag("mode", tag(mode))
+                .tag("status", status)
+                .register(registry)
+                .record(millis, TimeUnit.MILLISECONDS);
+    }
+
+    // ======================
+    // JOBS
+    // ======================
+
+    /**
+     * @param outcome success | retry | failed | cancelled
+     */
+    public void jobRun(String job, String outcome, long nanos) {
+        Timer.builder("kb.jobs.run")
+                .description("Execução de job da fila")
+                .tag("job", job)
+                .tag("outcome", outcome)
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Tempo entre o job ficar disponível (run_after) e um worker pegá-lo.
+     */
+    public void jobQueueWait(String job, long millis) {
+        Timer.builder("kb.jobs.queue.wait")
+                .description("Espera de job na fila até um worker livre")
+                .tag("job", job)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(Math.max(0, millis), TimeUnit.MILLISECONDS);
+    }
+
+    // ======================
+    // GOVERNANÇA
+    // ======================
+
+    public void detector(String detector, long nanos) {
+        Timer.builder("kb.governance.detector")
+                .description("Latência de detector de governança")
+                .tag("detector", detector)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param result created | reopened | refreshed
+     */
+    public void governanceIssue(KbGovernanceIssueType type, String result) {
+        Counter.builder("kb.governance.issues")
+                .description("Issues de governança abertas pelos detectores")
+                .tag("type", type == null ? "UNKNOWN" : type.name())
+                .tag("result", result)
+                .register(registry)
+                .increment();
+    }
+
+    // ======================
+    // BUSCA
+    // ======================
+
+    public void search(String variant, long nanos, int results) {
+        Timer.builder("kb.search")
+                .description("Latência da busca full-text")
+                .tag("variant", variant)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("kb.search.results")
+                .description("Resultados retornados pela busca")
+                .tag("variant", variant)
+                .register(registry)
+                .record(results);
+    }
+
+    private static String tag(SyncMode mode) {
+        return mode == null ? "UNKNOWN" : mode.name();
+    }
+}
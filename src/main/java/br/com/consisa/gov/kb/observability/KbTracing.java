@@ -0,0 +1,149 @@
+package br.com.consisa.gov.kb.observability;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * 🧵 Spans da aplicação (Micrometer Observation → Micrometer Tracing → OpenTelemetry).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Um método por tipo de span; nomes e chaves ficam só aqui (como no KbMetrics)
+ * - Chaves low cardinality (stage, detector, repository.method) também viram tags
+ *   do timer da observation; IDs (artigo) vão só no span (high cardinality)
+ * - {@link #SPAN_ONLY}: observations sem timer (ver SpanOnlyMeterObservationHandler);
+ *   a duração já é medida pelo KbMetrics, com as tags de negócio
+ * - Jobs agendados abrem o span raiz e publicam correlationId no MDC
+ *   (= traceId quando há tracer), igual ao que o CorrelationIdFilter faz no HTTP
+ * - Exporters: qualquer SpanExporter registrado como bean (OTLP com endpoint
+ *   configurado, arquivo JSON via app.tracing.file.path, em memória nos testes)
+ *
+ * SPANS:
+ * ------
+ * - kb.job{job}: execução de job agendado (scheduler)
+ * - kb.sync.execution{mode}: execução de sync (timer: kb.sync.run)
+ * - kb.sync.stage{stage}: etapa do sync (full, delta, detect-deleted, governance)
+ * - kb.sync.article: sync de UM artigo (article.id)
+ * - kb.detector{detector}: detector de governança, article.id (timer: kb.governance.detector)
+ * - kb.repository{repository.method}: chamada de repositório Spring Data
+ * - http.client.requests: chamadas ao Movidesk (RestClient, com traceparent)
+ */
+@Component
+public class KbTracing {
+
+    static final String SYNC_EXECUTION = "kb.sync.execution";
+    static final String DETECTOR = "kb.detector";
+
+    /** Observations que só geram span: o timer equivalente vem do KbMetrics. */
+    static final Set<String> SPAN_ONLY = Set.of(SYNC_EXECUTION, DETECTOR);
+
+    private final ObservationRegistry registry;
+    private final Tracer tracer;
+
+    public KbTracing(ObservationRegistry registry, Tracer tracer) {
+        this.registry = registry;
+        this.tracer = tracer;
+    }
+
+    // ======================
+    // JOBS
+    // ======================
+
+    /**
+     * Executa um job agendado como raiz de trace, com correlationId no MDC.
+     */
+    public void job(String job, Runnable body) {
+        Observation observation = Observation.createNotStarted("kb.job", registry)
+                .lowCardinalityKeyValue("job", job)
+                .start();
+        String previous = MDC.get(CorrelationIdFilter.MDC_KEY);
+        Observation.Scope scope = observation.openScope();
+        try {
+            MDC.put(CorrelationIdFilter.MDC_KEY, currentTraceId());
+            body.run();
+        } catch (RuntimeException ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            scope.close();
+            restoreCorrelationId(previous);
+            observation.stop();
+        }
+    }
+
+    // ======================
+    // SYNC
+    // ======================
+
+    public <T> T syncExecution(String mode, Supplier<T> body) {
+        return Observation.createNotStarted(SYNC_EXECUTION, registry)
+                .lowCardinalityKeyValue("mode", mode)
+                .observe(body);
+    }
+
+    public <T> T syncStage(String stage, Supplier<T> body) {
+        return Observation.createNotStarted("kb.sync.stage", registry)
+                .lowCardinalityKeyValue("stage", stage)
+                .observe(body);
+    }
+
+    public <T> T syncArticle(long articleId, Supplier<T> body) {
+        return Observation.createNotStarted("kb.sync.article", registry)
+                .highCardinalityKeyValue("article.id", String.valueOf(articleId))
+                .observe(body);
+    }
+
+    // ======================
+    // GOVERNANÇA
+    // ======================
+
+    public void detector(String detector, Long articleId, Runnable body) {
+        detectorObservation(detector, articleId).observe(body);
+    }
+
+    public <T> T detector(String detector, Long articleId, Supplier<T> body) {
+        return detectorObservation(detector, articleId).observe(body);
+    }
+
+    private Observation detectorObservation(String detector, Long articleId) {
+        return Observation.createNotStarted(DETECTOR, registry)
+                .lowCardinalityKeyValue("detector", detector)
+                .highCardinalityKeyValue("article.id", articleId == null ? "none" : articleId.toString());
+    }
+
+    // ======================
+    // REPOSITÓRIOS
+    // ======================
+
+    /**
+     * Observation (não iniciada) de uma chamada de repositório: quem chama
+     * controla start/stop porque o corpo pode lançar Throwable.
+     */
+    public Observation repository(String repository, String method) {
+        return Observation.createNotStarted("kb.repository", registry)
+                .lowCardinalityKeyValue(KeyValue.of("repository.method", repository + "." + method));
+    }
+
+    private String currentTraceId() {
+        Span span = tracer.currentSpan();
+        String traceId = span == null ? null : span.context().traceId();
+        return traceId == null || traceId.isBlank() ? UUID.randomUUID().toString() : traceId;
+    }
+
+    private static void restoreCorrelationId(String previous) {
+        if (previous == null) {
+            MDC.remove(CorrelationIdFilter.MDC_KEY);
+        } else {
+            MDC.put(CorrelationIdFilter.MDC_KEY, previous);
+        }
+    }
+}
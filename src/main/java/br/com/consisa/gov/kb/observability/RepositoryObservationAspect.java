@@ -0,0 +1,61 @@
+package br.com.consisa.gov.kb.observability;
+
+import io.micrometer.observation.Observation;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🗄️ Span por chamada de repositório Spring Data (kb.repository{repository.method}).
+ *
+ * Nome do repositório = interface da aplicação (não CrudRepository/JpaRepository),
+ * resolvido uma vez por classe de proxy.
+ * Desligável com app.tracing.repository-spans.enabled=false.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "app.tracing.repository-spans.enabled", havingValue = "true", matchIfMissing = true)
+public class RepositoryObservationAspect {
+
+    private static final String APP_PACKAGE = "br.com.consisa.gov.kb";
+
+    private final KbTracing tracing;
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    public RepositoryObservationAspect(KbTracing tracing) {
+        this.tracing = tracing;
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object observe(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object target = joinPoint.getTarget();
+        String repository = repositoryNames.computeIfAbsent(target.getClass(), type -> resolveName(target));
+
+        Observation observation = tracing.repository(repository, joinPoint.getSignature().getName()).start();
+        Observation.Scope scope = observation.openScope();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            observation.error(ex);
+            throw ex;
+        } finally {
+            scope.close();
+            observation.stop();
+        }
+    }
+
+    private static String resolveName(Object target) {
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(target)) {
+            if (type.getName().startsWith(APP_PACKAGE)) {
+                return type.getSimpleName();
+            }
+        }
+        return target.getClass().getSimpleName();
+    }
+}
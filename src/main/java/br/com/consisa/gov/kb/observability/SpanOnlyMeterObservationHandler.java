@@ -0,0 +1,29 @@
+package br.com.consisa.gov.kb.observability;
+
+import io.micrometer.core.instrument.observation.MeterObservationHandler;
+import io.micrometer.observation.Observation;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🔇 Handler de métricas "vazio" para as observations de {@link KbTracing#SPAN_ONLY}.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - O Spring Boot agrupa os MeterObservationHandler num
+ *   FirstMatchingCompositeObservationHandler: só o primeiro que aceita o
+ *   contexto é chamado
+ * - Este vem antes do DefaultMeterObservationHandler e aceita apenas os nomes
+ *   de SPAN_ONLY, sem registrar nada: nenhum timer/long task timer para eles
+ * - O handler de tracing é outro grupo: o span continua sendo criado
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SpanOnlyMeterObservationHandler implements MeterObservationHandler<Observation.Context> {
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return KbTracing.SPAN_ONLY.contains(context.getName());
+    }
+}
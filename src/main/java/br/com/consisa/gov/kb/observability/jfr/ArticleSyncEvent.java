@@ -0,0 +1,33 @@
+package br.com.consisa.gov.kb.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 🎥 Evento JFR: sync de UM artigo (KbArticleSyncService.sync).
+ *
+ * Os eventos de Movidesk, detectores e issues da mesma thread ficam aninhados
+ * nele; o flush do Hibernate acontece no commit, logo após o fim do evento.
+ */
+@Name("br.com.consisa.gov.kb.ArticleSync")
+@Label("Article Sync")
+@Category({"KB Governance", "Sync"})
+@Description("Sincronização individual de artigo")
+@StackTrace(false)
+public class ArticleSyncEvent extends Event {
+
+    @Label("Article Id")
+    public long articleId;
+
+    @Label("Status")
+    @Description("OK, NOT_FOUND ou ERROR")
+    public String status;
+
+    @Label("Content Length")
+    @Description("Tamanho de contentHtml + contentText (caracteres); bytes trafegados ficam no MovideskRequest")
+    public long contentLength;
+}
@@ -0,0 +1,31 @@
+package br.com.consisa.gov.kb.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 🎥 Evento JFR: um detector de governança analisando um artigo.
+ *
+ * Roda N detectores × artigo: o threshold padrão de 1 ms mantém o volume
+ * baixo em gravação contínua (ajustável pelo .jfc / settings da gravação).
+ */
+@Name("br.com.consisa.gov.kb.Detector")
+@Label("Governance Detector")
+@Category({"KB Governance", "Governance"})
+@Description("Execução de KbGovernanceDetector.analyze")
+@Threshold("1 ms")
+@StackTrace(false)
+public class DetectorEvent extends Event {
+
+    @Label("Detector")
+    public String detector;
+
+    @Label("Article Id")
+    @Description("0 para execuções globais")
+    public long articleId;
+}
@@ -0,0 +1,31 @@
+package br.com.consisa.gov.kb.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * 🎥 Evento JFR: KbGovernanceIssueService.open (consulta + save + histórico).
+ */
+@Name("br.com.consisa.gov.kb.GovernanceIssueOpen")
+@Label("Governance Issue Open")
+@Category({"KB Governance", "Governance"})
+@Description("Abertura/atualização idempotente de issue de governança")
+@Threshold("1 ms")
+@StackTrace(false)
+public class GovernanceIssueOpenEvent extends Event {
+
+    @Label("Article Id")
+    public long articleId;
+
+    @Label("Issue Type")
+    public String issueType;
+
+    @Label("Result")
+    @Description("created, reopened ou refreshed")
+    public String result;
+}
@@ -0,0 +1,56 @@
+package br.com.consisa.gov.kb.observability.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 🎥 Evento JFR: uma chamada ao Movidesk (HTTP + leitura/mapeamento do JSON).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Aberto/commitado por MovideskClient.exchange (duração = chamada inteira)
+ * - Viaja como atributo da requisição até o MovideskTrafficInterceptor,
+ *   que preenche bytes enviados/recebidos e o tempo até os headers
+ * - duração - timeToHeaders ≈ transferência do corpo + desserialização
+ */
+@Name(MovideskRequestEvent.NAME)
+@Label("Movidesk Request")
+@Category({"KB Governance", "Movidesk"})
+@Description("Chamada HTTP à API do Movidesk")
+@StackTrace(false)
+public class MovideskRequestEvent extends Event {
+
+    public static final String NAME = "br.com.consisa.gov.kb.MovideskRequest";
+
+    /** Chave do atributo de requisição (RestClient) que carrega o evento. */
+    public static final String ATTRIBUTE = MovideskRequestEvent.class.getName();
+
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Article Id")
+    @Description("0 quando a chamada não é de um artigo")
+    public long articleId;
+
+    @Label("Status")
+    @Description("Status HTTP, IO_ERROR ou ERROR")
+    public String status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes;
+
+    @Label("Time To Headers")
+    @Timespan(Timespan.NANOSECONDS)
+    public long timeToHeaders;
+}
@@ -0,0 +1,55 @@
+package br.com.consisa.gov.kb.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Inserção de audit_log em batch JDBC (uma ida ao banco por lote do writer assíncrono).
+ */
+@Repository
+public class AuditLogBatchRepository {
+
+    private static final String INSERT = """
+            INSERT INTO audit_log (
+                user_id, action, entity_type, entity_id, old_value, new_value, correlation_id, created_at
+            )
+            VALUES (?, ?, ?, ?, CAST(? AS JSONB), CAST(? AS JSONB), ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditLogBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertAll(List<AuditLogRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, row.userId());
+            ps.setString(2, row.action());
+            ps.setString(3, row.entityType());
+            ps.setString(4, row.entityId());
+            ps.setString(5, row.oldValueJson());
+            ps.setString(6, row.newValueJson());
+            ps.setString(7, row.correlationId());
+            ps.setObject(8, row.createdAt());
+        });
+    }
+
+    public record AuditLogRow(
+            String userId,
+            String action,
+            String entityType,
+            String entityId,
+            String oldValueJson,
+            String newValueJson,
+            String correlationId,
+            OffsetDateTime createdAt
+    ) {
+    }
+}
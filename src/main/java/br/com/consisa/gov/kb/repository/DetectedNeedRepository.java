@@ -2,6 +2,9 @@ package br.com.consisa.gov.kb.repository;
 
 import br.com.consisa.gov.kb.domain.DetectedNeed;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -9,4 +12,36 @@ public interface DetectedNeedRepository extends JpaRepository<DetectedNeed, Long
     Optional<DetectedNeed> findByClusterIdAndRuleId(Long clusterId, Long ruleId);
 
     long countByStatus(String status);
+
+    /**
+     * Necessidades recorrentes = detectadas por regra com threshold > 1.
+     */
+    @Query("SELECT COUNT(n) FROM DetectedNeed n, RecurrenceRule r WHERE r.id = n.ruleId AND r.thresholdCount > 1")
+    long countRecurringNeeds();
+
+    /**
+     * Upsert em lote dos pares (cluster, regra) que atingiram o threshold.
+     *
+     * COMO FUNCIONA:
+     * --------------
+     * - Pares chegam como arrays paralelos ('{1,2,3}') e viram linhas via unnest
+     * - Need novo nasce OPEN/PENDING
+     * - Need existente só renova last_detected_at se o cooldown da regra já passou
+     *   (condição no ON CONFLICT ... WHERE)
+     *
+     * @return quantidade de needs criados ou renovados
+     */
+    @Modifying
+    @Query(value = """
+        INSERT INTO detected_need (cluster_id, rule_id, status, task_status, last_detected_at, created_at, updated_at)
+        SELECT h.cluster_id, h.rule_id, 'OPEN', 'PENDING', NOW(), NOW(), NOW()
+        FROM unnest(CAST(:clusterIds AS BIGINT[]), CAST(:ruleIds AS BIGINT[])) AS h(cluster_id, rule_id)
+        ON CONFLICT (cluster_id, rule_id) DO UPDATE
+            SET last_detected_at = EXCLUDED.last_detected_at,
+                updated_at = EXCLUDED.updated_at
+            WHERE detected_need.last_detected_at
+                  + make_interval(hours => (SELECT r.cooldown_hours FROM recurrence_rule r WHERE r.id = detected_need.rule_id))
+                  <= EXCLUDED.last_detected_at
+        """, nativeQuery = true)
+    int upsertDetectedNeeds(@Param("clusterIds") String clusterIds, @Param("ruleIds") String ruleIds);
 }
@@ -2,9 +2,78 @@ package br.com.consisa.gov.kb.repository;
 
 import br.com.consisa.gov.kb.domain.FaqCluster;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface FaqClusterRepository extends JpaRepository<FaqCluster, Long> {
     Optional<FaqCluster> findByFingerprint(String fingerprint);
+
+    /**
+     * Só o anel de contadores (sem textos) dos clusters com atividade recente.
+     */
+    List<RecentCountsView> findByRecentCountsDayGreaterThanEqual(LocalDate since);
+
+    interface RecentCountsView {
+        Long getId();
+
+        Integer[] getRecentDailyCounts();
+
+        LocalDate getRecentCountsDay();
+    }
+
+    // ========================================
+    // SIMILARIDADE (MinHash/LSH)
+    // ========================================
+
+    /**
+     * Clusters que compartilham ao menos uma banda LSH, mais bandas em comum primeiro.
+     */
+    @Query(value = """
+        SELECT b.cluster_id
+        FROM faq_cluster_lsh_band b
+        WHERE b.band_key = ANY(CAST(:bandKeys AS BIGINT[]))
+        GROUP BY b.cluster_id
+        ORDER BY COUNT(*) DESC, b.cluster_id
+        LIMIT :limit
+        """, nativeQuery = true)
+    List<Long> findCandidateIdsByBandKeys(@Param("bandKeys") String bandKeys, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+        INSERT INTO faq_cluster_lsh_band (band_key, cluster_id)
+        SELECT k, :clusterId
+        FROM unnest(CAST(:bandKeys AS BIGINT[])) AS k
+        ON CONFLICT DO NOTHING
+        """, nativeQuery = true)
+    int insertBandKeys(@Param("clusterId") Long clusterId, @Param("bandKeys") String bandKeys);
+
+    @Modifying
+    @Query(value = "UPDATE faq_cluster SET minhash_signature = CAST(:signature AS INTEGER[]) WHERE id = :clusterId",
+            nativeQuery = true)
+    int updateSignature(@Param("clusterId") Long clusterId, @Param("signature") String signature);
+
+    List<SignatureView> findByIdIn(Collection<Long> ids);
+
+    interface SignatureView {
+        Long getId();
+
+        Integer[] getMinhashSignature();
+    }
+
+    /**
+     * Próximo lote de clusters ainda sem assinatura (criados antes do agrupamento por similaridade).
+     */
+    List<PendingSignatureView> findTop500ByMinhashSignatureIsNullOrderByIdAsc();
+
+    interface PendingSignatureView {
+        Long getId();
+
+        String getNormalizedText();
+    }
 }
@@ -0,0 +1,253 @@
+package br.com.consisa.gov.kb.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository da fila de jobs (colunas de fila do job_run).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - claim: UPDATE do próximo job QUEUED vencido (ou RUNNING com lease
+ *   vencido) escolhido com FOR UPDATE SKIP LOCKED, por prioridade
+ * - heartbeat/complete/fail/cancelled só valem para quem detém o lease
+ *   (claimed_by); quem perdeu o lease não sobrescreve o resultado
+ * - fail devolve o job para a fila com run_after = agora + backoff
+ *   enquanto houver tentativas
+ *
+ * Usa JdbcTemplate: SKIP LOCKED, RETURNING e jsonb não têm equivalente
+ * em JPQL. O JobRun (JPA) continua mapeando só as colunas originais.
+ */
+@Repository
+public class JobQueueRepository {
+
+    private static final String COLUMNS = """
+            id, job_name, status, priority, payload_json::text AS payload_json, details_json::text AS details_json,
+            attempts, max_attempts, created_at, started_at, finished_at, run_after, cancel_requested,
+            progress_done, progress_total, progress_message, last_error
+            """;
+
+    private static final RowMapper<QueuedJob> MAPPER = (rs, i) -> new QueuedJob(
+            rs.getLong("id"),
+            rs.getString("job_name"),
+            rs.getString("status"),
+            rs.getInt("priority"),
+            rs.getString("payload_json"),
+            rs.getString("details_json"),
+            rs.getInt("attempts"),
+            rs.getInt("max_attempts"),
+            rs.getObject("created_at", OffsetDateTime.class),
+            rs.getObject("started_at", OffsetDateTime.class),
+            rs.getObject("finished_at", OffsetDateTime.class),
+            rs.getObject("run_after", OffsetDateTime.class),
+            rs.getBoolean("cancel_requested"),
+            (Integer) rs.getObject("progress_done"),
+            (Integer) rs.getObject("progress_total"),
+            rs.getString("progress_message"),
+            rs.getString("last_error"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobQueueRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Linha do job_run vista pela fila.
+     *
+     * @param payloadJson parâmetros do job (JSON)
+     * @param detailsJson resultado do job (JSON)
+     */
+    public record QueuedJob(long id, String jobName, String status, int priority,
+                            String payloadJson, String detailsJson,
+                            int attempts, int maxAttempts,
+                            OffsetDateTime createdAt, OffsetDateTime startedAt, OffsetDateTime finishedAt,
+                            OffsetDateTime runAfter, boolean cancelRequested,
+                            Integer progressDone, Integer progressTotal, String progressMessage,
+                            String lastError) {
+    }
+
+    /**
+     * Serializa enfileiramentos entre réplicas (lock até o fim da transação).
+     */
+    public void lockEnqueue() {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext('job_run_enqueue'))", rs -> { });
+    }
+
+    /**
+     * Existe job do tipo na fila ou rodando (com lease)?
+     */
+    public boolean hasOpen(String jobName) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM job_run
+                    WHERE job_name = ?
+                      AND (status = 'QUEUED' OR (status = 'RUNNING' AND claimed_by IS NOT NULL))
+                )
+                """, Boolean.class, jobName));
+    }
+
+    public QueuedJob insert(String jobName, int priority, String payloadJson, int maxAttempts) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO job_run (job_name, status, priority, payload_json, max_attempts, run_after, started_at)
+                VALUES (?, 'QUEUED', ?, ?::jsonb, ?, NOW(), NOW())
+                RETURNING %s
+                """.formatted(COLUMNS), MAPPER, jobName, priority, payloadJson, maxAttempts);
+    }
+
+    /**
+     * Reivindica o próximo job disponível por {@code lease}.
+     */
+    @Transactional
+    public Optional<QueuedJob> claim(String node, Duration lease) {
+        List<QueuedJob> claimed = jdbcTemplate.query("""
+                UPDATE job_run j
+                SET status = 'RUNNING',
+                    claimed_by = ?,
+                    lease_until = NOW() + make_interval(secs => ?),
+                    attempts = j.attempts + 1,
+                    started_at = NOW(),
+                    finished_at = NULL
+                WHERE j.id = (
+                    SELECT id
+                    FROM job_run
+                    WHERE (status = 'QUEUED' AND run_after <= NOW())
+                       OR (status = 'RUNNING' AND lease_until < NOW()
+                           AND attempts < max_attempts AND NOT cancel_requested)
+                    ORDER BY priority DESC, run_after, id
+                    LIMIT 1
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING %s
+                """.formatted(COLUMNS), MAPPER, node, lease.toSeconds());
+        return claimed.stream().findFirst();
+    }
+
+    /**
+     * Jobs com lease vencido que não podem mais ser reivindicados
+     * (sem tentativas ou com cancelamento pedido) → FAILED / CANCELLED.
+     */
+    @Transactional
+    public int closeExpired() {
+        return jdbcTemplate.update("""
+                UPDATE job_run
+                SET status = CASE WHEN cancel_requested THEN 'CANCELLED' ELSE 'FAILED' END,
+                    last_error = COALESCE(last_error, 'Lease expirado sem conclusão'),
+                    claimed_by = NULL,
+                    lease_until = NULL,
+                    finished_at = NOW()
+                WHERE status = 'RUNNING'
+                  AND lease_until < NOW()
+                  AND (attempts >= max_attempts OR cancel_requested)
+                """);
+    }
+
+    /**
+     * Renova o lease e grava o progresso.
+     *
+     * @return cancelamento pedido? (vazio se o lease foi perdido)
+     */
+    @Transactional
+    public Optional<Boolean> heartbeat(long id, String node, Duration lease,
+                                       Integer done, Integer total, String message) {
+        List<Boolean> cancel = jdbcTemplate.queryForList("""
+                UPDATE job_run
+                SET lease_until = NOW() + make_interval(secs => ?),
+                    progress_done = ?,
+                    progress_total = ?,
+                    progress_message = LEFT(?, 400)
+                WHERE id = ? AND claimed_by = ? AND status = 'RUNNING'
+                RETURNING cancel_requested
+                """, Boolean.class, lease.toSeconds(), done, total, message, id, node);
+        return cancel.stream().findFirst();
+    }
+
+    @Transactional
+    public boolean complete(long id, String node, String detailsJson) {
+        return finish(id, node, "SUCCESS", detailsJson, null);
+    }
+
+    @Transactional
+    public boolean cancelled(long id, String node, String error) {
+        return finish(id, node, "CANCELLED", null, error);
+    }
+
+    private boolean finish(long id, String node, String status, String detailsJson, String error) {
+        return jdbcTemplate.update("""
+                UPDATE job_run
+                SET status = ?,
+                    details_json = COALESCE(?::jsonb, details_json),
+                    last_error = LEFT(?, 400),
+                    claimed_by = NULL,
+                    lease_until = NULL,
+                    finished_at = NOW()
+                WHERE id = ? AND claimed_by = ? AND status = 'RUNNING'
+                """, status, detailsJson, error, id, node) > 0;
+    }
+
+    /**
+     * Devolve o job para a fila depois de {@code backoff}, ou FAILED
+     * sem tentativas restantes.
+     *
+     * @return status gravado (vazio se o lease foi perdido)
+     */
+    @Transactional
+    public Optional<String> fail(long id, String node, String error, Duration backoff) {
+        List<String> status = jdbcTemplate.queryForList("""
+                UPDATE job_run
+                SET status = CASE WHEN attempts >= max_attempts THEN 'FAILED' ELSE 'QUEUED' END,
+                    run_after = NOW() + make_interval(secs => ?),
+                    last_error = LEFT(?, 400),
+                    claimed_by = NULL,
+                    lease_until = NULL,
+                    finished_at = CASE WHEN attempts >= max_attempts THEN NOW() END
+                WHERE id = ? AND claimed_by = ? AND status = 'RUNNING'
+                RETURNING status
+                """, String.class, backoff.toSeconds(), error, id, node);
+        return status.stream().findFirst();
+    }
+
+    /**
+     * Pede o cancelamento: job QUEUED é cancelado na hora; RUNNING só é
+     * marcado (o worker encerra na próxima verificação).
+     *
+     * @return status após o pedido (vazio se o job não está aberto)
+     */
+    @Transactional
+    public Optional<String> requestCancel(long id) {
+        List<String> status = jdbcTemplate.queryForList("""
+                UPDATE job_run
+                SET cancel_requested = TRUE,
+                    status = CASE WHEN status = 'QUEUED' THEN 'CANCELLED' ELSE status END,
+                    finished_at = CASE WHEN status = 'QUEUED' THEN NOW() ELSE finished_at END
+                WHERE id = ?
+                  AND (status = 'QUEUED' OR (status = 'RUNNING' AND claimed_by IS NOT NULL))
+                RETURNING status
+                """, String.class, id);
+        return status.stream().findFirst();
+    }
+
+    public Optional<QueuedJob> findById(long id) {
+        return jdbcTemplate.query("SELECT " + COLUMNS + " FROM job_run WHERE id = ?", MAPPER, id)
+                .stream().findFirst();
+    }
+
+    /**
+     * Jobs mais recentes primeiro; {@code jobName} null = todos.
+     */
+    public List<QueuedJob> findRecent(String jobName, int limit) {
+        return jdbcTemplate.query("""
+                SELECT %s FROM job_run
+                WHERE (CAST(? AS VARCHAR) IS NULL OR job_name = ?)
+                ORDER BY id DESC
+                LIMIT ?
+                """.formatted(COLUMNS), MAPPER, jobName, jobName, limit);
+    }
+}
@@ -3,5 +3,9 @@ package br.com.consisa.gov.kb.repository;
 import br.com.consisa.gov.kb.domain.JobRun;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    Optional<JobRun> findTopByJobNameOrderByIdDesc(String jobName);
 }
@@ -1,6 +1,7 @@
 package br.com.consisa.gov.kb.repository;
 
 import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.repository.projection.ArticleRevision;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * ✅ VERSÃO MELHORADA com queries adicionais para sync
@@ -124,6 +126,40 @@ public interface KbArticleRepository extends JpaRepository<KbArticle, Long> {
     // ✅ NOVAS QUERIES (V2)
     // =========================
 
+    /**
+     * Versão salva do artigo (revisão, ETag, updatedDate, menu/sistema) sem o conteúdo.
+     */
+    @Query("""
+        select new br.com.consisa.gov.kb.repository.projection.ArticleRevision(
+            a.id, a.revisionId, a.sourceEtag, a.updatedDate,
+            a.sourceMenuId, a.sourceMenuName, s.id)
+        from KbArticle a
+        left join a.system s
+        where a.id = :id
+    """)
+    Optional<ArticleRevision> findRevisionById(@Param("id") Long id);
+
+    /**
+     * 👀 Marca artigo inalterado como visto (sync condicional), sem carregar
+     * nem regravar a entidade.
+     *
+     * Mantém o artigo fora do markMissingArticles e só mexe em visto/status/ETag:
+     * conteúdo, hash e fetchedAt continuam os do último download.
+     */
+    @Modifying
+    @Query("""
+        update KbArticle a
+        set a.lastSeenAt = :seenAt,
+            a.syncState = 'UNCHANGED',
+            a.syncStatus = 'OK',
+            a.syncErrorMessage = null,
+            a.sourceEtag = coalesce(:etag, a.sourceEtag)
+        where a.id = :id
+    """)
+    int markUnchanged(@Param("id") Long id,
+                      @Param("seenAt") OffsetDateTime seenAt,
+                      @Param("etag") String etag);
+
     /**
      * 🗑️ Marca artigos como MISSING quando não foram vistos há muito tempo.
      *
@@ -283,6 +319,26 @@ public interface KbArticleRepository extends JpaRepository<KbArticle, Long> {
         """, nativeQuery = true)
     List<Object[]> countActiveBySystem();
 
+    /**
+     * Sistema de um artigo ATIVO (usado para ajustar agregados por sistema).
+     * Artigo inativo = vazio (não entra nas contagens por sistema).
+     */
+    interface ArticleSystemRef {
+        String getSystemCode();
+        String getSystemName();
+    }
+
+    @Query(value = """
+        SELECT
+          COALESCE(s.code, 'UNCLASSIFIED') AS systemCode,
+          COALESCE(s.name, 'Não classificado') AS systemName
+        FROM kb_article a
+        LEFT JOIN kb_system s ON s.id = a.system_id
+        WHERE a.id = :articleId
+          AND a.article_status = 1
+        """, nativeQuery = true)
+    java.util.Optional<ArticleSystemRef> findActiveSystemRef(@Param("articleId") Long articleId);
+
     /**
      * Contagem por governance_status (PENDING/APPROVED/REJECTED)
      * Retorna linhas: status, count
@@ -0,0 +1,311 @@
+package br.com.consisa.gov.kb.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository dos contadores incrementais de governança (V15).
+ *
+ * Tabelas:
+ * - kb_article_quality_flags: contribuição atual de cada artigo
+ * - kb_governance_system_counter: soma das contribuições por sistema
+ *
+ * Usa SQL nativo (PostgreSQL) porque tudo é set-based: subtrai a
+ * contribuição antiga, recalcula o artigo pela view e soma a nova.
+ */
+@Repository
+public class KbGovernanceCounterRepository {
+
+    /** Serializa ajustes entre instâncias (delta concorrente contaria em dobro). */
+    private static final String LOCK_SQL =
+            "SELECT COUNT(*) FROM (SELECT pg_advisory_xact_lock(hashtext('kb_governance_system_counter'))) l";
+
+    private static final String FLAG_COLUMNS = """
+            article_id, system_code, content_hash,
+            is_empty, is_too_short, is_duplicate, lacks_min_structure, is_ia_ready,
+            header_count, open_issues, computed_at
+            """;
+
+    private static final String FLAG_SELECT = """
+            SELECT
+                r.article_id,
+                r.system_code,
+                r.content_hash,
+                COALESCE(r.is_empty, FALSE),
+                COALESCE(r.is_too_short, FALSE),
+                COALESCE(r.is_duplicate_same_system, FALSE),
+                COALESCE(r.lacks_min_structure, FALSE),
+                NOT (COALESCE(r.is_empty, FALSE)
+                     OR COALESCE(r.is_duplicate_same_system, FALSE)
+                     OR COALESCE(r.lacks_min_structure, FALSE)),
+                COALESCE(r.header_count, 0),
+                (
+                    SELECT COUNT(*)
+                    FROM kb_governance_issue i
+                    WHERE i.article_id = r.article_id
+                      AND i.status NOT IN ('RESOLVED', 'IGNORED')
+                ),
+                NOW()
+            FROM kb_article_governance_report r
+            """;
+
+    private static final String COUNTER_AGGREGATE = """
+            SELECT
+                system_code,
+                COUNT(*) AS total_articles,
+                COUNT(*) FILTER (WHERE is_ia_ready) AS ia_ready_count,
+                COUNT(*) FILTER (WHERE is_empty) AS empty_count,
+                COUNT(*) FILTER (WHERE is_too_short) AS short_count,
+                COUNT(*) FILTER (WHERE is_duplicate) AS duplicate_count,
+                COUNT(*) FILTER (WHERE lacks_min_structure) AS no_structure_count,
+                COALESCE(SUM(header_count) FILTER (WHERE is_ia_ready), 0) AS ia_ready_header_sum,
+                COALESCE(SUM(open_issues), 0) AS open_issues_count
+            FROM kb_article_quality_flags
+            """;
+
+    private static final String COUNTER_COLUMNS = """
+            system_code, total_articles, ia_ready_count, empty_count, short_count,
+            duplicate_count, no_structure_count, ia_ready_header_sum, open_issues_count
+            """;
+
+    private static final String SNAPSHOT_UPSERT = """
+            ON CONFLICT (snapshot_date, (COALESCE(system_code, '__GLOBAL__'))) DO UPDATE SET
+                total_articles        = EXCLUDED.total_articles,
+                ia_ready_count        = EXCLUDED.ia_ready_count,
+                avg_quality_score     = EXCLUDED.avg_quality_score,
+                empty_count           = EXCLUDED.empty_count,
+                short_count           = EXCLUDED.short_count,
+                duplicate_count       = EXCLUDED.duplicate_count,
+                no_structure_count    = EXCLUDED.no_structure_count,
+                open_issues_count     = EXCLUDED.open_issues_count,
+                pending_assignments   = EXCLUDED.pending_assignments,
+                completed_assignments = EXCLUDED.completed_assignments,
+                unclassified_count    = EXCLUDED.unclassified_count,
+                created_at            = NOW()
+            """;
+
+    private final EntityManager entityManager;
+
+    public KbGovernanceCounterRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // ======================
+    // AJUSTE POR DELTA
+    // ======================
+
+    /**
+     * Recalcula a contribuição dos artigos informados e ajusta os contadores.
+     *
+     * COMO FUNCIONA:
+     * --------------
+     * 1. Expande o lote com artigos que compartilham o hash (antigo ou atual):
+     *    a flag de duplicado de um depende dos outros
+     * 2. Subtrai dos contadores o que estava em kb_article_quality_flags
+     * 3. Recalcula as flags pela view (artigo inativo/removido some da view)
+     * 4. Soma a nova contribuição (upsert por system_code)
+     *
+     * @return quantidade de artigos recalculados (lote expandido)
+     */
+    @Transactional
+    public int refreshArticles(Collection<Long> articleIds) {
+        if (articleIds.isEmpty()) {
+            return 0;
+        }
+
+        entityManager.createNativeQuery(LOCK_SQL).getSingleResult();
+
+        List<Long> ids = expandWithHashNeighbours(articleIds);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        entityManager.createNativeQuery("""
+                UPDATE kb_governance_system_counter c SET
+                    total_articles      = c.total_articles      - d.total_articles,
+                    ia_ready_count      = c.ia_ready_count      - d.ia_ready_count,
+                    empty_count         = c.empty_count         - d.empty_count,
+                    short_count         = c.short_count         - d.short_count,
+                    duplicate_count     = c.duplicate_count     - d.duplicate_count,
+                    no_structure_count  = c.no_structure_count  - d.no_structure_count,
+                    ia_ready_header_sum = c.ia_ready_header_sum - d.ia_ready_header_sum,
+                    open_issues_count   = c.open_issues_count   - d.open_issues_count,
+                    updated_at          = NOW()
+                FROM (
+                """ + COUNTER_AGGREGATE + """
+                    WHERE article_id IN (:ids)
+                    GROUP BY system_code
+                ) d
+                WHERE c.system_code = d.system_code
+                """)
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        entityManager.createNativeQuery("DELETE FROM kb_article_quality_flags WHERE article_id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        entityManager.createNativeQuery(
+                        "INSERT INTO kb_article_quality_flags (" + FLAG_COLUMNS + ") "
+                                + FLAG_SELECT + " WHERE r.article_id IN (:ids)")
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        entityManager.createNativeQuery(
+                        "INSERT INTO kb_governance_system_counter (" + COUNTER_COLUMNS + ") "
+                                + COUNTER_AGGREGATE + """
+                                WHERE article_id IN (:ids)
+                                GROUP BY system_code
+                                ON CONFLICT (system_code) DO UPDATE SET
+                                    total_articles      = kb_governance_system_counter.total_articles      + EXCLUDED.total_articles,
+                                    ia_ready_count      = kb_governance_system_counter.ia_ready_count      + EXCLUDED.ia_ready_count,
+                                    empty_count         = kb_governance_system_counter.empty_count         + EXCLUDED.empty_count,
+                                    short_count         = kb_governance_system_counter.short_count         + EXCLUDED.short_count,
+                                    duplicate_count     = kb_governance_system_counter.duplicate_count     + EXCLUDED.duplicate_count,
+                                    no_structure_count  = kb_governance_system_counter.no_structure_count  + EXCLUDED.no_structure_count,
+                                    ia_ready_header_sum = kb_governance_system_counter.ia_ready_header_sum + EXCLUDED.ia_ready_header_sum,
+                                    open_issues_count   = kb_governance_system_counter.open_issues_count   + EXCLUDED.open_issues_count,
+                                    updated_at          = NOW()
+                                """)
+                .setParameter("ids", ids)
+                .executeUpdate();
+
+        return ids.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> expandWithHashNeighbours(Collection<Long> articleIds) {
+        List<Number> rows = entityManager.createNativeQuery("""
+                SELECT a.id
+                FROM kb_article a
+                WHERE a.id IN (:ids)
+                   OR a.content_hash IN (
+                        SELECT a2.content_hash FROM kb_article a2
+                        WHERE a2.id IN (:ids) AND a2.content_hash <> ''
+                        UNION
+                        SELECT f.content_hash FROM kb_article_quality_flags f
+                        WHERE f.article_id IN (:ids) AND f.content_hash <> ''
+                   )
+                UNION
+                SELECT f.article_id
+                FROM kb_article_quality_flags f
+                WHERE f.article_id IN (:ids)
+                """)
+                .setParameter("ids", articleIds)
+                .getResultList();
+        return rows.stream().map(Number::longValue).toList();
+    }
+
+    // ======================
+    // RECONSTRUÇÃO
+    // ======================
+
+    /**
+     * Há artigos mas nenhum contador (base carregada fora do sync, ex.: carga em massa).
+     */
+    public boolean isEmptyWithArticles() {
+        Object result = entityManager.createNativeQuery("""
+                SELECT NOT EXISTS (SELECT 1 FROM kb_governance_system_counter)
+                   AND EXISTS (SELECT 1 FROM kb_article)
+                """).getSingleResult();
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Recalcula tudo a partir da view (corrige deriva de deltas perdidos).
+     *
+     * @return quantidade de artigos contabilizados
+     */
+    @Transactional
+    public int rebuildAll() {
+        entityManager.createNativeQuery(LOCK_SQL).getSingleResult();
+
+        entityManager.createNativeQuery("DELETE FROM kb_article_quality_flags").executeUpdate();
+        int articles = entityManager.createNativeQuery(
+                        "INSERT INTO kb_article_quality_flags (" + FLAG_COLUMNS + ") " + FLAG_SELECT)
+                .executeUpdate();
+
+        entityManager.createNativeQuery("DELETE FROM kb_governance_system_counter").executeUpdate();
+        entityManager.createNativeQuery(
+                        "INSERT INTO kb_governance_system_counter (" + COUNTER_COLUMNS + ") "
+                                + COUNTER_AGGREGATE + " GROUP BY system_code")
+                .executeUpdate();
+
+        return articles;
+    }
+
+    // ======================
+    // SNAPSHOT
+    // ======================
+
+    /**
+     * Grava os snapshots do dia direto dos contadores (global + sistemas ativos).
+     *
+     * Custo proporcional à quantidade de SISTEMAS, não de artigos.
+     * Reexecutar no mesmo dia sobrescreve (upsert em uq_snapshot_date_system).
+     *
+     * @return quantidade de linhas gravadas
+     */
+    @Transactional
+    public int insertDailySnapshots(LocalDate date) {
+        int systems = entityManager.createNativeQuery("""
+                INSERT INTO kb_governance_snapshot (
+                    snapshot_date, system_code, total_articles, ia_ready_count, avg_quality_score,
+                    empty_count, short_count, duplicate_count, no_structure_count,
+                    open_issues_count, pending_assignments, completed_assignments
+                )
+                SELECT
+                    :date,
+                    s.code,
+                    COALESCE(c.total_articles, 0),
+                    COALESCE(c.ia_ready_count, 0),
+                    CASE WHEN COALESCE(c.total_articles, 0) > 0
+                         THEN ROUND(c.ia_ready_count * 100.0 / c.total_articles, 2)
+                         ELSE 0 END,
+                    COALESCE(c.empty_count, 0),
+                    COALESCE(c.short_count, 0),
+                    COALESCE(c.duplicate_count, 0),
+                    COALESCE(c.no_structure_count, 0),
+                    COALESCE(c.open_issues_count, 0),
+                    0,
+                    0
+                FROM kb_system s
+                LEFT JOIN kb_governance_system_counter c ON c.system_code = s.code
+                WHERE s.is_active = TRUE
+                """ + SNAPSHOT_UPSERT)
+                .setParameter("date", date)
+                .executeUpdate();
+
+        int global = entityManager.createNativeQuery("""
+                INSERT INTO kb_governance_snapshot (
+                    snapshot_date, system_code, total_articles, ia_ready_count, avg_quality_score,
+                    empty_count, short_count, duplicate_count, no_structure_count,
+                    open_issues_count, pending_assignments, completed_assignments, unclassified_count
+                )
+                SELECT
+                    :date,
+                    NULL,
+                    COALESCE(SUM(c.total_articles), 0),
+                    COALESCE(SUM(c.ia_ready_count), 0),
+                    ROUND(LEAST(COALESCE(SUM(c.ia_ready_header_sum) * 10.0 / NULLIF(SUM(c.ia_ready_count), 0), 0), 100), 2),
+                    COALESCE(SUM(c.empty_count), 0),
+                    COALESCE(SUM(c.short_count), 0),
+                    COALESCE(SUM(c.duplicate_count), 0),
+                    COALESCE(SUM(c.no_structure_count), 0),
+                    COALESCE(SUM(c.open_issues_count), 0),
+                    (SELECT COUNT(*) FROM kb_article_assignment WHERE status = 'PENDING'),
+                    (SELECT COUNT(*) FROM kb_article_assignment WHERE status = 'COMPLETED'),
+                    COALESCE(SUM(c.total_articles) FILTER (WHERE c.system_code = 'GERAL'), 0)
+                FROM kb_governance_system_counter c
+                """ + SNAPSHOT_UPSERT)
+                .setParameter("date", date)
+                .executeUpdate();
+
+        return systems + global;
+    }
+}
@@ -0,0 +1,55 @@
+package br.com.consisa.gov.kb.repository;
+
+import br.com.consisa.gov.kb.domain.GovernanceMetric;
+import br.com.consisa.gov.kb.domain.KbGovernanceMetricRollup;
+import br.com.consisa.gov.kb.domain.RollupResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository dos rollups de métricas de governança
+ */
+@Repository
+public interface KbGovernanceMetricRollupRepository extends JpaRepository<KbGovernanceMetricRollup, Long> {
+
+    /**
+     * Todos os blocos (escopos × métricas) de uma resolução nos inícios informados
+     */
+    List<KbGovernanceMetricRollup> findByResolutionAndBlockStartIn(
+            RollupResolution resolution,
+            Collection<LocalDate> blockStarts
+    );
+
+    /**
+     * Blocos de um escopo para montar séries (poucas linhas por consulta)
+     */
+    @Query("""
+        SELECT r FROM KbGovernanceMetricRollup r
+        WHERE r.resolution = :resolution
+          AND r.scope = :scope
+          AND r.metric IN :metrics
+          AND r.blockStart BETWEEN :fromBlock AND :toBlock
+        ORDER BY r.blockStart
+    """)
+    List<KbGovernanceMetricRollup> findSeriesBlocks(
+            @Param("resolution") RollupResolution resolution,
+            @Param("scope") String scope,
+            @Param("metrics") Collection<GovernanceMetric> metrics,
+            @Param("fromBlock") LocalDate fromBlock,
+            @Param("toBlock") LocalDate toBlock
+    );
+
+    /**
+     * Retenção: remove blocos antigos de uma resolução
+     */
+    @Modifying
+    @Query("DELETE FROM KbGovernanceMetricRollup r WHERE r.resolution = :resolution AND r.blockStart < :before")
+    int deleteBlocksBefore(@Param("resolution") RollupResolution resolution, @Param("before") LocalDate before);
+}
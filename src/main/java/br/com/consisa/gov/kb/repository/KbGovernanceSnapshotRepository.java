@@ -128,6 +128,16 @@ public interface KbGovernanceSnapshotRepository extends JpaRepository<KbGovernan
      */
     void deleteBySnapshotDateBefore(LocalDate date);
 
+    /**
+     * Datas com snapshot anteriores ao corte (consolidação em rollups antes da retenção)
+     */
+    @Query("""
+        SELECT DISTINCT s.snapshotDate FROM KbGovernanceSnapshot s
+        WHERE s.snapshotDate < :before
+        ORDER BY s.snapshotDate
+    """)
+    List<LocalDate> findSnapshotDatesBefore(@Param("before") LocalDate before);
+
     /**
      * Verifica se já existe snapshot
      */
@@ -0,0 +1,262 @@
+package br.com.consisa.gov.kb.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository das unidades de trabalho do sync distribuído (kb_sync_work_unit).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - claim: UPDATE da próxima unidade PENDING (ou CLAIMED com lease vencido)
+ *   escolhida com FOR UPDATE SKIP LOCKED: réplicas concorrentes nunca pegam
+ *   a mesma unidade nem esperam umas pelas outras
+ * - complete/fail só valem para quem ainda detém o lease (claimed_by)
+ * - closeRunIfDone: trava a linha do kb_sync_run antes de contar as unidades
+ *   abertas; duas réplicas terminando as últimas unidades ao mesmo tempo
+ *   são serializadas e só a última fecha o run
+ *
+ * Usa JdbcTemplate (mesma transação JPA): SKIP LOCKED, arrays e RETURNING
+ * não têm equivalente em JPQL.
+ */
+@Repository
+public class KbSyncWorkUnitRepository {
+
+    public static final String KIND_PAGE = "PAGE";
+    public static final String KIND_IDS = "IDS";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public KbSyncWorkUnitRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Unidade reivindicada.
+     *
+     * @param articleIds ids do lote (IDS) ou vazio (PAGE)
+     */
+    public record WorkUnit(long id, long runId, String kind, Integer pageNumber, Integer pageSize,
+                           List<Long> articleIds, int attempts) {
+    }
+
+    /**
+     * Contadores de uma unidade concluída.
+     */
+    public record UnitCounts(int synced, int updated, int skipped, int notFound, int errors) {
+    }
+
+    /**
+     * Serializa o planejamento de runs entre réplicas (lock até o fim da transação).
+     */
+    public void lockPlanning() {
+        jdbcTemplate.query("SELECT pg_advisory_xact_lock(hashtext('kb_sync_work_plan'))", rs -> { });
+    }
+
+    /**
+     * @param plannedTotal totalSize da busca no planejamento (ver {@link #listingChanged})
+     */
+    public void insertPages(long runId, int pages, int pageSize, int plannedTotal) {
+        jdbcTemplate.update("""
+                INSERT INTO kb_sync_work_unit (run_id, kind, page_number, page_size, planned_total)
+                SELECT ?, 'PAGE', p, ?, ? FROM generate_series(0, ? - 1) AS p
+                """, runId, pageSize, plannedTotal, pages);
+    }
+
+    /**
+     * Total da busca visto ao processar a página.
+     */
+    public void recordListedTotal(long unitId, Integer listedTotal) {
+        jdbcTemplate.update("UPDATE kb_sync_work_unit SET listed_total = ? WHERE id = ?", listedTotal, unitId);
+    }
+
+    /**
+     * Alguma página do run viu um total diferente do planejado? Com as
+     * páginas deslocadas, artigos vivos podem não ter sido visitados.
+     */
+    public boolean listingChanged(long runId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("""
+                SELECT EXISTS (
+                    SELECT 1 FROM kb_sync_work_unit
+                    WHERE run_id = ? AND kind = 'PAGE'
+                      AND listed_total IS DISTINCT FROM planned_total
+                )
+                """, Boolean.class, runId));
+    }
+
+    public void insertIdBatches(long runId, List<List<Long>> batches) {
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO kb_sync_work_unit (run_id, kind, article_ids)
+                VALUES (?, 'IDS', ?)
+                """, batches, batches.size(), (ps, ids) -> {
+            ps.setLong(1, runId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+        });
+    }
+
+    /**
+     * Reivindica a próxima unidade disponível por {@code lease}.
+     * Unidades que já estouraram {@code maxAttempts} ficam de fora
+     * (são marcadas FAILED por {@link #failExhausted}).
+     */
+    @Transactional
+    public Optional<WorkUnit> claim(String node, Duration lease, int maxAttempts) {
+        List<WorkUnit> claimed = jdbcTemplate.query("""
+                UPDATE kb_sync_work_unit u
+                SET status = 'CLAIMED',
+                    claimed_by = ?,
+                    lease_until = NOW() + make_interval(secs => ?),
+                    attempts = u.attempts + 1
+                WHERE u.id = (
+                    SELECT id
+                    FROM kb_sync_work_unit
+                    WHERE (status = 'PENDING' OR (status = 'CLAIMED' AND lease_until < NOW()))
+                      AND attempts < ?
+                    ORDER BY id
+                    LIMIT 1
+                    FOR UPDATE SKIP LOCKED
+                )
+                RETURNING u.id, u.run_id, u.kind, u.page_number, u.page_size, u.article_ids, u.attempts
+                """,
+                (rs, i) -> {
+                    Array ids = rs.getArray("article_ids");
+                    return new WorkUnit(
+                            rs.getLong("id"),
+                            rs.getLong("run_id"),
+                            rs.getString("kind"),
+                            (Integer) rs.getObject("page_number"),
+                            (Integer) rs.getObject("page_size"),
+                            ids == null ? List.of() : List.of((Long[]) ids.getArray()),
+                            rs.getInt("attempts"));
+                },
+                node, lease.toSeconds(), maxAttempts);
+        return claimed.stream().findFirst();
+    }
+
+    /**
+     * Unidades com lease vencido e sem tentativas restantes → FAILED.
+     *
+     * @return ids dos runs afetados (candidatos a fechar)
+     */
+    @Transactional
+    public List<Long> failExhausted(int maxAttempts) {
+        return jdbcTemplate.queryForList("""
+                UPDATE kb_sync_work_unit
+                SET status = 'FAILED',
+                    last_error = COALESCE(last_error, 'Lease expirado sem conclusão'),
+                    finished_at = NOW()
+                WHERE status = 'CLAIMED'
+                  AND lease_until < NOW()
+                  AND attempts >= ?
+                RETURNING run_id
+                """, Long.class, maxAttempts);
+    }
+
+    /**
+     * Marca a unidade como concluída e fecha o run se ela era a última.
+     *
+     * @return status final do run quando esta chamada o fechou
+     */
+    @Transactional
+    public Optional<String> complete(WorkUnit unit, String node, UnitCounts counts) {
+        int updated = jdbcTemplate.update("""
+                UPDATE kb_sync_work_unit
+                SET status = 'DONE',
+                    synced_count = ?, updated_count = ?, skipped_count = ?,
+                    not_found_count = ?, error_count = ?,
+                    lease_until = NULL,
+                    finished_at = NOW()
+                WHERE id = ? AND claimed_by = ? AND status = 'CLAIMED'
+                """,
+                counts.synced(), counts.updated(), counts.skipped(), counts.notFound(), counts.errors(),
+                unit.id(), node);
+        if (updated == 0) {
+            // lease venceu e outra réplica reivindicou: o resultado dela vale
+            return Optional.empty();
+        }
+        return closeRunIfDone(unit.runId());
+    }
+
+    /**
+     * Devolve a unidade para a fila (ou FAILED, sem tentativas restantes).
+     *
+     * @return status final do run quando esta chamada o fechou
+     */
+    @Transactional
+    public Optional<String> fail(WorkUnit unit, String node, String error, int maxAttempts) {
+        int updated = jdbcTemplate.update("""
+                UPDATE kb_sync_work_unit
+                SET status = CASE WHEN attempts >= ? THEN 'FAILED' ELSE 'PENDING' END,
+                    last_error = ?,
+                    claimed_by = NULL,
+                    lease_until = NULL,
+                    finished_at = CASE WHEN attempts >= ? THEN NOW() END
+                WHERE id = ? AND claimed_by = ? AND status = 'CLAIMED'
+                """, maxAttempts, error, maxAttempts, unit.id(), node);
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        return closeRunIfDone(unit.runId());
+    }
+
+    /**
+     * Fecha o run (SUCCESS, ou FAILED se alguma unidade falhou) quando não
+     * resta unidade aberta. Contadores do run = soma das unidades.
+     *
+     * @return status gravado, se esta chamada fechou o run
+     */
+    @Transactional
+    public Optional<String> closeRunIfDone(long runId) {
+        // trava o run: fechamentos concorrentes ficam em fila e o próximo
+        // statement já enxerga as unidades que a outra réplica concluiu
+        List<Long> locked = jdbcTemplate.queryForList(
+                "SELECT id FROM kb_sync_run WHERE id = ? AND status = 'RUNNING' FOR UPDATE", Long.class, runId);
+        if (locked.isEmpty()) {
+            return Optional.empty();
+        }
+        List<String> closed = jdbcTemplate.queryForList("""
+                UPDATE kb_sync_run r
+                SET status = CASE WHEN s.failed > 0 THEN 'FAILED' ELSE 'SUCCESS' END,
+                    finished_at = NOW(),
+                    duration_ms = (EXTRACT(EPOCH FROM (NOW() - r.started_at)) * 1000)::BIGINT,
+                    synced_count = s.synced,
+                    updated_count = s.updated,
+                    skipped_count = s.skipped,
+                    not_found_count = s.not_found,
+                    error_count = s.errors,
+                    note = CASE WHEN s.failed > 0
+                                THEN s.failed || ' de ' || s.total || ' unidades de trabalho falharam'
+                                ELSE r.note END
+                FROM (
+                    SELECT COUNT(*) AS total,
+                           COUNT(*) FILTER (WHERE status IN ('PENDING', 'CLAIMED')) AS open,
+                           COUNT(*) FILTER (WHERE status = 'FAILED') AS failed,
+                           COALESCE(SUM(synced_count), 0) AS synced,
+                           COALESCE(SUM(updated_count), 0) AS updated,
+                           COALESCE(SUM(skipped_count), 0) AS skipped,
+                           COALESCE(SUM(not_found_count), 0) AS not_found,
+                           COALESCE(SUM(error_count), 0) AS errors
+                    FROM kb_sync_work_unit
+                    WHERE run_id = ?
+                ) s
+                WHERE r.id = ? AND s.open = 0
+                RETURNING r.status
+                """, String.class, runId, runId);
+        return closed.stream().findFirst();
+    }
+
+    /**
+     * Existe unidade aberta (PENDING/CLAIMED) em algum run?
+     */
+    public boolean hasOpenUnits() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM kb_sync_work_unit WHERE status IN ('PENDING', 'CLAIMED'))",
+                Boolean.class));
+    }
+}
@@ -7,4 +7,6 @@ import java.util.List;
 
 public interface RecurrenceRuleRepository extends JpaRepository<RecurrenceRule, Long> {
     List<RecurrenceRule> findByActiveTrue();
+
+    boolean existsByActiveTrue();
 }
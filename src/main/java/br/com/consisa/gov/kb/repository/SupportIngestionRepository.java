@@ -0,0 +1,333 @@
+package br.com.consisa.gov.kb.repository;
+
+import br.com.consisa.gov.kb.domain.DailyCountRing;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Repository da importação de suporte em lote (Movidesk → support_ticket/faq_cluster).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Chaves existentes resolvidas com UMA consulta = ANY(array) por lote
+ * - Tickets, mensagens e vínculos gravados em batch JDBC com
+ *   INSERT ... ON CONFLICT nos índices únicos (mensagem/vínculo repetido = no-op)
+ * - Contadores do cluster: ticket_count = ticket_count + n e o anel diário
+ *   ({@link DailyCountRing}) atualizados uma vez por cluster por lote, só
+ *   com os vínculos que o INSERT ... RETURNING confirmou como novos
+ *
+ * Usa JdbcTemplate (mesma transação JPA) porque o JPA faria um
+ * SELECT + INSERT/UPDATE por linha.
+ */
+@Repository
+public class SupportIngestionRepository {
+
+    private static final String UPSERT_TICKET = """
+            INSERT INTO support_ticket (
+                external_ticket_id, protocol, subject, status, requester, owner_team,
+                origin_created_at, origin_updated_at, last_message_at, created_at, updated_at
+            )
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, NOW(), NOW())
+            ON CONFLICT (external_ticket_id) DO UPDATE
+                SET protocol = EXCLUDED.protocol,
+                    subject = EXCLUDED.subject,
+                    status = EXCLUDED.status,
+                    requester = EXCLUDED.requester,
+                    owner_team = EXCLUDED.owner_team,
+                    origin_created_at = COALESCE(EXCLUDED.origin_created_at, support_ticket.origin_created_at),
+                    origin_updated_at = COALESCE(EXCLUDED.origin_updated_at, support_ticket.origin_updated_at),
+                    last_message_at = COALESCE(EXCLUDED.last_message_at, support_ticket.last_message_at),
+                    updated_at = NOW()
+                WHERE (support_ticket.protocol, support_ticket.subject, support_ticket.status,
+                       support_ticket.requester, support_ticket.owner_team, support_ticket.origin_updated_at)
+                      IS DISTINCT FROM
+                      (EXCLUDED.protocol, EXCLUDED.subject, EXCLUDED.status,
+                       EXCLUDED.requester, EXCLUDED.owner_team,
+                       COALESCE(EXCLUDED.origin_updated_at, support_ticket.origin_updated_at))
+            """;
+
+    private static final String INSERT_MESSAGE = """
+            INSERT INTO support_ticket_message (
+                ticket_id, direction, author, content, content_html, external_message_key, created_at
+            )
+            VALUES (?, ?, ?, ?, ?, ?, NOW())
+            ON CONFLICT (external_message_key) DO NOTHING
+            """;
+
+    private static final String INSERT_CLUSTER = """
+            INSERT INTO faq_cluster (fingerprint, normalized_text, sample_text, ticket_count,
+                                     minhash_signature, created_at, updated_at)
+            VALUES (?, ?, ?, 0, ?, NOW(), NOW())
+            ON CONFLICT (fingerprint) DO NOTHING
+            RETURNING id
+            """;
+
+    private static final String INSERT_LINKS = """
+            INSERT INTO faq_cluster_ticket (cluster_id, ticket_id, created_at)
+            SELECT l.cluster_id, l.ticket_id, NOW()
+            FROM unnest(?::bigint[], ?::bigint[]) AS l(cluster_id, ticket_id)
+            ON CONFLICT (cluster_id, ticket_id) DO NOTHING
+            RETURNING cluster_id, ticket_id
+            """;
+
+    private static final String ADD_OCCURRENCES = """
+            UPDATE faq_cluster
+            SET ticket_count = ticket_count + ?,
+                recent_daily_counts = ?,
+                recent_counts_day = ?,
+                updated_at = NOW()
+            WHERE id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SupportIngestionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // ========================================
+    // TICKETS / MENSAGENS
+    // ========================================
+
+    /**
+     * external_ticket_id → id dos tickets já gravados.
+     */
+    public Map<String, Long> findTicketIds(Collection<String> externalTicketIds) {
+        Map<String, Long> ids = new HashMap<>();
+        if (externalTicketIds.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(
+                "SELECT external_ticket_id, id FROM support_ticket WHERE external_ticket_id = ANY(?)",
+                ps -> ps.setArray(1, textArray(ps, externalTicketIds)),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    /**
+     * Insere tickets novos e atualiza os existentes que mudaram (sem tocar nos iguais).
+     */
+    public void upsertTickets(List<TicketRow> tickets) {
+        jdbcTemplate.batchUpdate(UPSERT_TICKET, tickets, tickets.size(), (ps, t) -> {
+            ps.setString(1, t.externalTicketId());
+            ps.setString(2, t.protocol());
+            ps.setString(3, t.subject());
+            ps.setString(4, t.status());
+            ps.setString(5, t.requester());
+            ps.setString(6, t.ownerTeam());
+            setTimestamp(ps, 7, t.originCreatedAt());
+            setTimestamp(ps, 8, t.originUpdatedAt());
+            setTimestamp(ps, 9, t.lastMessageAt());
+        });
+    }
+
+    /**
+     * @return mensagens efetivamente inseridas (chave repetida é ignorada)
+     */
+    public int insertMessages(List<MessageRow> messages) {
+        if (messages.isEmpty()) {
+            return 0;
+        }
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_MESSAGE, messages, messages.size(), (ps, m) -> {
+            ps.setLong(1, m.ticketId());
+            ps.setString(2, m.direction());
+            ps.setString(3, m.author());
+            ps.setString(4, m.content());
+            ps.setString(5, m.contentHtml());
+            ps.setString(6, m.externalMessageKey());
+        });
+        return affected(counts);
+    }
+
+    // ========================================
+    // CLUSTERS
+    // ========================================
+
+    /**
+     * Tickets do lote que já pertencem a algum cluster.
+     * (idx_faq_cluster_ticket_ticket: o único índice que começa por ticket_id)
+     */
+    public Set<Long> findLinkedTicketIds(Collection<Long> ticketIds) {
+        Set<Long> linked = new HashSet<>();
+        if (ticketIds.isEmpty()) {
+            return linked;
+        }
+        jdbcTemplate.query(
+                "SELECT DISTINCT ticket_id FROM faq_cluster_ticket WHERE ticket_id = ANY(?)",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", ticketIds.toArray())),
+                rs -> {
+                    linked.add(rs.getLong(1));
+                });
+        return linked;
+    }
+
+    public Map<String, Long> findClusterIdsByFingerprint(Collection<String> fingerprints) {
+        Map<String, Long> ids = new HashMap<>();
+        if (fingerprints.isEmpty()) {
+            return ids;
+        }
+        jdbcTemplate.query(
+                "SELECT fingerprint, id FROM faq_cluster WHERE fingerprint = ANY(?)",
+                ps -> ps.setArray(1, textArray(ps, fingerprints)),
+                rs -> {
+                    ids.put(rs.getString(1), rs.getLong(2));
+                });
+        return ids;
+    }
+
+    /**
+     * Cria o cluster (já com assinatura MinHash); se outro import criou o mesmo
+     * fingerprint no meio tempo, devolve o existente.
+     */
+    public long insertCluster(String fingerprint, String normalizedText, String sampleText, int[] signature) {
+        Integer[] boxed = new Integer[signature.length];
+        for (int i = 0; i < signature.length; i++) {
+            boxed[i] = signature[i];
+        }
+        List<Long> created = jdbcTemplate.query(INSERT_CLUSTER, ps -> {
+            ps.setString(1, fingerprint);
+            ps.setString(2, normalizedText);
+            ps.setString(3, sampleText);
+            ps.setArray(4, ps.getConnection().createArrayOf("integer", boxed));
+        }, (rs, rowNum) -> rs.getLong(1));
+        if (!created.isEmpty()) {
+            return created.get(0);
+        }
+        return jdbcTemplate.queryForObject("SELECT id FROM faq_cluster WHERE fingerprint = ?", Long.class, fingerprint);
+    }
+
+    /**
+     * @return vínculos efetivamente inseridos: vínculo que já existia (ou que
+     * um import concorrente gravou antes) não volta e não deve ser contado
+     */
+    public Set<ClusterLink> insertLinks(List<ClusterLink> links) {
+        Set<ClusterLink> inserted = new HashSet<>();
+        if (links.isEmpty()) {
+            return inserted;
+        }
+        jdbcTemplate.query(INSERT_LINKS,
+                ps -> {
+                    ps.setArray(1, ps.getConnection().createArrayOf("bigint",
+                            links.stream().map(ClusterLink::clusterId).toArray()));
+                    ps.setArray(2, ps.getConnection().createArrayOf("bigint",
+                            links.stream().map(ClusterLink::ticketId).toArray()));
+                },
+                rs -> {
+                    inserted.add(new ClusterLink(rs.getLong(1), rs.getLong(2)));
+                });
+        return inserted;
+    }
+
+    /**
+     * Soma as ocorrências do lote em cada cluster (total + anel diário).
+     * As linhas ficam travadas (FOR UPDATE) até o fim da transação: imports
+     * concorrentes não perdem incremento do anel.
+     */
+    public void addOccurrences(Map<Long, List<LocalDate>> daysByCluster) {
+        if (daysByCluster.isEmpty()) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query("""
+                        SELECT id, recent_daily_counts, recent_counts_day
+                        FROM faq_cluster
+                        WHERE id = ANY(?)
+                        ORDER BY id
+                        FOR UPDATE
+                        """,
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", daysByCluster.keySet().toArray())),
+                rs -> {
+                    long id = rs.getLong(1);
+                    Array counts = rs.getArray(2);
+                    Date lastDay = rs.getDate(3);
+                    DailyCountRing ring = new DailyCountRing(
+                            counts == null ? null : (Integer[]) counts.getArray(),
+                            lastDay == null ? null : lastDay.toLocalDate());
+                    List<LocalDate> days = daysByCluster.get(id);
+                    days.forEach(ring::record);
+                    updates.add(new Object[]{id, days.size(), ring.counts(), ring.lastDay()});
+                });
+
+        jdbcTemplate.batchUpdate(ADD_OCCURRENCES, updates, updates.size(), (ps, u) -> {
+            ps.setInt(1, (Integer) u[1]);
+            ps.setArray(2, ps.getConnection().createArrayOf("integer", (Integer[]) u[2]));
+            ps.setObject(3, u[3], Types.DATE);
+            ps.setLong(4, (Long) u[0]);
+        });
+    }
+
+    // ========================================
+    // HELPERS
+    // ========================================
+
+    private static Array textArray(PreparedStatement ps, Collection<String> values) throws SQLException {
+        return ps.getConnection().createArrayOf("text", values.toArray());
+    }
+
+    private static void setTimestamp(PreparedStatement ps, int index, OffsetDateTime value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.TIMESTAMP_WITH_TIMEZONE);
+        } else {
+            ps.setObject(index, value);
+        }
+    }
+
+    private static int affected(int[][] counts) {
+        int total = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                if (count > 0) {
+                    total += count;
+                }
+            }
+        }
+        return total;
+    }
+
+    // ========================================
+    // LINHAS
+    // ========================================
+
+    public record TicketRow(
+            String externalTicketId,
+            String protocol,
+            String subject,
+            String status,
+            String requester,
+            String ownerTeam,
+            OffsetDateTime originCreatedAt,
+            OffsetDateTime originUpdatedAt,
+            OffsetDateTime lastMessageAt
+    ) {
+    }
+
+    public record MessageRow(
+            long ticketId,
+            String direction,
+            String author,
+            String content,
+            String contentHtml,
+            String externalMessageKey
+    ) {
+    }
+
+    public record ClusterLink(long clusterId, long ticketId) {
+    }
+}
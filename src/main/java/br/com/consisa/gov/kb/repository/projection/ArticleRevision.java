@@ -0,0 +1,20 @@
+package br.com.consisa.gov.kb.repository.projection;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Versão salva de um artigo (sync condicional), sem carregar o conteúdo.
+ *
+ * Leva também a classificação salva (menu/sistema): artigo inalterado só é
+ * carregado e reclassificado se o menu da busca for outro.
+ */
+public record ArticleRevision(
+        long id,
+        Long revisionId,
+        String sourceEtag,
+        OffsetDateTime updatedDate,
+        Long sourceMenuId,
+        String sourceMenuName,
+        Long systemId
+) {
+}
@@ -1,6 +1,7 @@
 package br.com.consisa.gov.kb.scheduler;
 
 import br.com.consisa.gov.kb.governance.KbGovernanceDetectorService;
+import br.com.consisa.gov.kb.observability.KbTracing;
 import br.com.consisa.gov.kb.repository.KbArticleRepository;
 import br.com.consisa.gov.kb.service.KbGovernanceSnapshotService;
 import org.slf4j.Logger;
@@ -48,15 +49,18 @@ public class KbGovernanceScheduler {
     private final KbArticleRepository articleRepo;
     private final KbGovernanceDetectorService detectorService;
     private final KbGovernanceSnapshotService snapshotService;
+    private final KbTracing tracing;
 
     public KbGovernanceScheduler(
             KbArticleRepository articleRepo,
             KbGovernanceDetectorService detectorService,
-            KbGovernanceSnapshotService snapshotService
+            KbGovernanceSnapshotService snapshotService,
+            KbTracing tracing
     ) {
         this.articleRepo = articleRepo;
         this.detectorService = detectorService;
         this.snapshotService = snapshotService;
+        this.tracing = tracing;
     }
 
     // ======================
@@ -76,6 +80,10 @@ public class KbGovernanceScheduler {
      */
     @Scheduled(cron = "0 0 2 * * MON-FRI", zone = "America/Sao_Paulo")
     public void runDailyGovernanceAnalysis() {
+        tracing.job("governanceDaily", this::dailyGovernanceAnalysis);
+    }
+
+    private void dailyGovernanceAnalysis() {
         OffsetDateTime started = OffsetDateTime.now(ZoneOffset.UTC);
 
         log.info("🌙 ========================================");
@@ -116,6 +124,10 @@ public class KbGovernanceScheduler {
      */
     @Scheduled(cron = "0 0 3 * * SUN", zone = "America/Sao_Paulo")
     public void runWeeklyFullAnalysis() {
+        tracing.job("governanceWeekly", this::weeklyFullAnalysis);
+    }
+
+    private void weeklyFullAnalysis() {
         OffsetDateTime started = OffsetDateTime.now(ZoneOffset.UTC);
 
         log.info("📅 ========================================");
@@ -2,12 +2,15 @@ package br.com.consisa.gov.kb.scheduler;
 
 import br.com.consisa.gov.kb.domain.KbSyncConfig;
 import br.com.consisa.gov.kb.domain.SyncMode;
+import br.com.consisa.gov.kb.observability.KbTracing;
 import br.com.consisa.gov.kb.service.KbSyncOrchestratorService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.core.env.Environment;
@@ -45,15 +48,19 @@ import java.util.Arrays;
  * ----------------------
  * - Horário comercial: intervalo da config
  * - Fora do horário: intervalo * 2 (menos frequente)
+ *
+ * MÉTRICAS (Micrometer):
+ * ----------------------
+ * - kb.sync.scheduler.consecutive.failures
+ * - kb.sync.scheduler.last.success / last.failure (epoch em segundos)
  */
-@EnableScheduling
 @Component
 @ConditionalOnProperty(
         name = "app.sync.scheduler.enabled",
         havingValue = "true",
         matchIfMissing = false
 )
-public class KbSyncScheduler {
+public class KbSyncScheduler implements MeterBinder {
 
     private static final Logger log = LoggerFactory.getLogger(KbSyncScheduler.class);
 
@@ -66,16 +73,18 @@ public class KbSyncScheduler {
     private static final int SATURDAY_END_HOUR = 12;
 
     // 📊 Métricas
-    private OffsetDateTime lastSuccessfulRun;
-    private OffsetDateTime lastFailedRun;
-    private int consecutiveFailures = 0;
+    private volatile OffsetDateTime lastSuccessfulRun;
+    private volatile OffsetDateTime lastFailedRun;
+    private volatile int consecutiveFailures = 0;
 
     private final KbSyncOrchestratorService svc;
     private final Environment environment;
+    private final KbTracing tracing;
 
-    public KbSyncScheduler(KbSyncOrchestratorService svc, Environment environment) {
+    public KbSyncScheduler(KbSyncOrchestratorService svc, Environment environment, KbTracing tracing) {
         this.svc = svc;
         this.environment = environment;
+        this.tracing = tracing;
     }
 
     @jakarta.annotation.PostConstruct
@@ -130,8 +139,8 @@ public class KbSyncScheduler {
                 return; // ainda não é hora
             }
 
-            // 5) Executa sync
-            executeSyncSafely(cfg);
+            // 5) Executa sync (trace raiz + correlationId nos logs)
+            tracing.job("kbSyncScheduler", () -> executeSyncSafely(cfg));
 
         } catch (Exception e) {
             log.error("❌ Erro no scheduler tick: {}", e.getMessage(), e);
@@ -232,6 +241,25 @@ public class KbSyncScheduler {
     // API de Métricas
     // ======================
 
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("kb.sync.scheduler.consecutive.failures", this, s -> s.consecutiveFailures)
+                .description("Falhas consecutivas do scheduler de sync")
+                .register(registry);
+        Gauge.builder("kb.sync.scheduler.last.success", this, s -> epochSeconds(s.lastSuccessfulRun))
+                .description("Último sync agendado com sucesso (epoch s)")
+                .baseUnit("seconds")
+                .register(registry);
+        Gauge.builder("kb.sync.scheduler.last.failure", this, s -> epochSeconds(s.lastFailedRun))
+                .description("Último sync agendado com falha (epoch s)")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    private static double epochSeconds(OffsetDateTime instant) {
+        return instant == null ? Double.NaN : instant.toEpochSecond();
+    }
+
     /**
      * 📊 Retorna métricas do scheduler.
      */
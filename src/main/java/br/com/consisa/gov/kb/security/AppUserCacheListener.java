@@ -0,0 +1,30 @@
+package br.com.consisa.gov.kb.security;
+
+import br.com.consisa.gov.kb.domain.AppUser;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que invalida o {@link AuthenticationCache} quando um usuário muda.
+ *
+ * Registrado via {@code @EntityListeners} em AppUser. Mudanças só na coleção
+ * de roles disparam @PostUpdate apenas se algum campo da entidade também
+ * mudar (ex.: updatedAt); updates em massa/SQL nativo devem chamar
+ * {@link AuthenticationCache#invalidateUserAfterCommit(Long)}.
+ */
+@Component
+public class AppUserCacheListener {
+
+    private final AuthenticationCache authenticationCache;
+
+    public AppUserCacheListener(AuthenticationCache authenticationCache) {
+        this.authenticationCache = authenticationCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void changed(AppUser user) {
+        authenticationCache.invalidateUserAfterCommit(user.getId());
+    }
+}
@@ -0,0 +1,213 @@
+package br.com.consisa.gov.kb.security;
+
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 🔐 Cache de autenticação do {@link JwtAuthenticationFilter}.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Tokens: chave = SHA-256 do token, valor = userId/e-mail já verificados.
+ *   A assinatura (HMAC) é checada uma única vez; a entrada vale até o
+ *   {@code exp} do próprio token
+ * - Principals: chave = e-mail, valor = {@link AppUserPrincipal} carregado
+ *   do banco, válido por principal-ttl-seconds
+ * - Invalidação: desativar usuário / trocar roles via JPA remove as entradas
+ *   do usuário no commit ({@link AppUserCacheListener}); updates por SQL
+ *   devem chamar {@link #invalidateUserAfterCommit(Long)} — no pior caso o
+ *   TTL do principal limita o tempo com dados antigos
+ *
+ * Cache por instância: em várias réplicas a invalidação é local e o TTL
+ * curto é o que garante a convergência.
+ */
+@Component
+public class AuthenticationCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível", ex);
+        }
+    });
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, CachedPrincipal> principals = new ConcurrentHashMap<>();
+    private final int maxTokens;
+    private final long principalTtlMillis;
+    private final Clock clock;
+
+    @Autowired
+    public AuthenticationCache(
+            @Value("${app.security.auth-cache.max-tokens:10000}") int maxTokens,
+            @Value("${app.security.auth-cache.principal-ttl-seconds:30}") long principalTtlSeconds
+    ) {
+        this(maxTokens, Duration.ofSeconds(principalTtlSeconds), Clock.systemUTC());
+    }
+
+    AuthenticationCache(int maxTokens, Duration principalTtl, Clock clock) {
+        this.maxTokens = Math.max(0, maxTokens);
+        this.principalTtlMillis = Math.max(0, principalTtl.toMillis());
+        this.clock = clock;
+    }
+
+    // ======================
+    // TOKENS
+    // ======================
+
+    /**
+     * Token já verificado e ainda não expirado; vazio = verificar (HMAC) e chamar {@link #putToken}.
+     */
+    public Optional<VerifiedToken> findToken(String token) {
+        String key = digest(token);
+        VerifiedToken cached = tokens.get(key);
+        if (cached == null) {
+            return Optional.empty();
+        }
+        if (clock.millis() >= cached.expiresAtMillis()) {
+            tokens.remove(key, cached);
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    /**
+     * Guarda o resultado de uma verificação bem-sucedida (tokens sem exp não são guardados).
+     */
+    public VerifiedToken putToken(String token, Claims claims) {
+        Long userId = parseUserId(claims.getSubject());
+        String email = claims.get("email", String.class);
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : 0L;
+        VerifiedToken verified = new VerifiedToken(userId, email, expiresAt);
+
+        if (expiresAt > clock.millis() && hasRoomForToken()) {
+            tokens.put(digest(token), verified);
+        }
+        return verified;
+    }
+
+    private boolean hasRoomForToken() {
+        if (tokens.size() < maxTokens) {
+            return true;
+        }
+        long now = clock.millis();
+        tokens.values().removeIf(t -> now >= t.expiresAtMillis());
+        // cheio só de tokens válidos: segue sem cache em vez de descartar tudo
+        return tokens.size() < maxTokens;
+    }
+
+    // ======================
+    // PRINCIPALS
+    // ======================
+
+    /**
+     * Principal do cache ou carregado por {@code loader} (exceções do loader não são cacheadas).
+     */
+    public AppUserPrincipal principal(String email, Function<String, AppUserPrincipal> loader) {
+        long now = clock.millis();
+        CachedPrincipal cached = principals.get(email);
+        if (cached != null && now - cached.loadedAtMillis() < principalTtlMillis) {
+            return cached.principal();
+        }
+        AppUserPrincipal loaded = loader.apply(email);
+        if (principalTtlMillis > 0) {
+            principals.put(email, new CachedPrincipal(loaded, now));
+        }
+        return loaded;
+    }
+
+    // ======================
+    // INVALIDAÇÃO
+    // ======================
+
+    /**
+     * Remove tokens e principal do usuário imediatamente.
+     */
+    public void invalidateUser(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        tokens.values().removeIf(t -> userId.equals(t.userId()));
+        principals.values().removeIf(p -> userId.equals(p.principal().getId()));
+    }
+
+    /**
+     * Remove no commit da transação corrente (ou já, se não houver transação):
+     * invalidar antes do commit deixaria outra requisição recarregar o estado antigo.
+     */
+    public void invalidateUserAfterCommit(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidateUser(userId);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> pending = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Set<Long> userIds = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, userIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userIds.forEach(AuthenticationCache.this::invalidateUser);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuthenticationCache.this);
+                }
+            });
+            pending = userIds;
+        }
+        pending.add(userId);
+    }
+
+    public void invalidateAll() {
+        tokens.clear();
+        principals.clear();
+    }
+
+    private static String digest(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static Long parseUserId(String subject) {
+        try {
+            return subject != null ? Long.valueOf(subject) : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * @param expiresAtMillis claim {@code exp} em epoch millis
+     */
+    public record VerifiedToken(Long userId, String email, long expiresAtMillis) {
+    }
+
+    private record CachedPrincipal(AppUserPrincipal principal, long loadedAtMillis) {
+    }
+}
@@ -1,6 +1,6 @@
 package br.com.consisa.gov.kb.security;
 
-import io.jsonwebtoken.Claims;
+import br.com.consisa.gov.kb.security.AuthenticationCache.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,16 +13,28 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
+/**
+ * Autenticação por Bearer token.
+ *
+ * Caminho quente: digest do token → {@link AuthenticationCache} (sem HMAC)
+ * → principal em cache (sem consulta a app_user/app_user_role). Só o
+ * primeiro uso de cada token verifica a assinatura, e uma única vez.
+ */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final AppUserDetailsService userDetailsService;
+    private final AuthenticationCache authenticationCache;
 
-    public JwtAuthenticationFilter(JwtService jwtService, AppUserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService,
+                                   AppUserDetailsService userDetailsService,
+                                   AuthenticationCache authenticationCache) {
         this.jwtService = jwtService;
         this.userDetailsService = userDetailsService;
+        this.authenticationCache = authenticationCache;
     }
 
     @Override
@@ -36,19 +48,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String token = header.substring(7);
-        if (!jwtService.isTokenValid(token)) {
+        Optional<VerifiedToken> verified = authenticationCache.findToken(token)
+                .or(() -> jwtService.verify(token).map(claims -> authenticationCache.putToken(token, claims)));
+        if (verified.isEmpty()) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        Claims claims = jwtService.parseClaims(token);
-        String email = claims.get("email", String.class);
+        String email = verified.get().email();
         if (email == null || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        AppUserPrincipal userDetails = (AppUserPrincipal) userDetailsService.loadUserByUsername(email);
+        AppUserPrincipal userDetails = authenticationCache.principal(
+                email,
+                username -> (AppUserPrincipal) userDetailsService.loadUserByUsername(username)
+        );
+        if (!userDetails.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
         UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                 userDetails,
                 null,
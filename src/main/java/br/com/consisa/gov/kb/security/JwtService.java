@@ -1,6 +1,7 @@
 package br.com.consisa.gov.kb.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -12,6 +13,7 @@ import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 import java.nio.charset.StandardCharsets;
 
 @Service
@@ -47,6 +49,17 @@ public class JwtService {
                 .getPayload();
     }
 
+    /**
+     * Verifica assinatura/expiração uma única vez e devolve as claims (vazio se inválido).
+     */
+    public Optional<Claims> verify(String token) {
+        try {
+            return Optional.of(parseClaims(token));
+        } catch (JwtException | IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
     public boolean isTokenValid(String token) {
         try {
             parseClaims(token);
@@ -1,45 +1,36 @@
 package br.com.consisa.gov.kb.service;
 
-import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
-import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
 import br.com.consisa.gov.kb.dto.DashboardSummaryDto;
-import br.com.consisa.gov.kb.repository.KbArticleRepository;
-import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
 public class DashboardService {
 
-    private final KbArticleRepository articleRepo;
-    private final KbGovernanceIssueRepository issueRepo;
+    private final GovernanceMetricsStore metricsStore;
 
-    public DashboardService(KbArticleRepository articleRepo, KbGovernanceIssueRepository issueRepo) {
-        this.articleRepo = articleRepo;
-        this.issueRepo = issueRepo;
+    public DashboardService(GovernanceMetricsStore metricsStore) {
+        this.metricsStore = metricsStore;
     }
 
-    @Transactional(readOnly = true)
     public DashboardSummaryDto getSummary() {
-        long totalArticles = articleRepo.count();
+        GovernanceMetricsSnapshot metrics = metricsStore.current();
+        GovernanceMetricsSnapshot.ArticleTotals articles = metrics.articles();
 
-        long articlesWithIssues = issueRepo.countDistinctArticlesWithIssues();
-        long articlesOk = Math.max(0, totalArticles - articlesWithIssues);
-        long totalIssues = issueRepo.countTotalIssues();
+        long totalArticles = articles.total();
+        long articlesWithIssues = articles.withIssues();
+        long articlesOk = articles.ok();
+        long totalIssues = metrics.issues().total();
 
         // Duplicados = issues abertas do tipo DUPLICATE_CONTENT (alinha com teu detector)
-        long duplicatesCount = issueRepo.countByStatusAndIssueType(
-                GovernanceIssueStatus.OPEN,
-                KbGovernanceIssueType.DUPLICATE_CONTENT
-        );
+        long duplicatesCount = articles.openDuplicateIssues();
 
-        List<DashboardSummaryDto.BySystem> bySystem = articleRepo.countActiveBySystem().stream()
+        List<DashboardSummaryDto.BySystem> bySystem = articles.activeBySystem().stream()
                 .map(r -> new DashboardSummaryDto.BySystem(
-                        String.valueOf(r[0]),
-                        String.valueOf(r[1]),
-                        ((Number) r[2]).longValue()
+                        r.systemCode(),
+                        r.systemName(),
+                        r.total()
                 ))
                 .toList();
 
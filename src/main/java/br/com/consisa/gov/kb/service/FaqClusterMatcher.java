@@ -0,0 +1,138 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.repository.FaqClusterRepository;
+import br.com.consisa.gov.kb.repository.FaqClusterRepository.PendingSignatureView;
+import br.com.consisa.gov.kb.repository.FaqClusterRepository.SignatureView;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+/**
+ * 🧲 Agrupamento de tickets por similaridade (MinHash + LSH).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Cada cluster guarda a assinatura do ticket que o criou e suas
+ *   {@link TicketMinHash#BANDS} chaves de banda em faq_cluster_lsh_band
+ * - Ticket novo: calcula a assinatura, busca só os clusters que compartilham
+ *   banda (índice por band_key, limitado a max-candidates) e escolhe o de
+ *   maior Jaccard estimado, se passar do similarity-threshold
+ * - Custo por ticket independe do total de clusters: BANDS lookups no índice
+ *   + comparação com poucos candidatos
+ * - O representativo não muda com novos tickets: o cluster não "deriva"
+ *   e o índice não precisa ser reescrito
+ */
+@Service
+public class FaqClusterMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(FaqClusterMatcher.class);
+
+    private final FaqClusterRepository clusterRepository;
+    private final double similarityThreshold;
+    private final int maxCandidates;
+
+    public FaqClusterMatcher(
+            FaqClusterRepository clusterRepository,
+            @Value("${app.support.clustering.similarity-threshold:0.5}") double similarityThreshold,
+            @Value("${app.support.clustering.max-candidates:50}") int maxCandidates
+    ) {
+        this.clusterRepository = clusterRepository;
+        this.similarityThreshold = similarityThreshold;
+        this.maxCandidates = Math.max(1, maxCandidates);
+    }
+
+    public int[] signature(String normalized) {
+        return TicketMinHash.signature(normalized);
+    }
+
+    /**
+     * Cluster mais parecido com a assinatura, se algum passar do threshold.
+     */
+    public Optional<Long> findNearest(int[] signature) {
+        long[] bandKeys = TicketMinHash.bandKeys(signature);
+        if (bandKeys.length == 0) {
+            return Optional.empty();
+        }
+        List<Long> candidates = clusterRepository.findCandidateIdsByBandKeys(toArrayLiteral(bandKeys), maxCandidates);
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Long best = null;
+        double bestSimilarity = similarityThreshold;
+        for (SignatureView candidate : clusterRepository.findByIdIn(candidates)) {
+            double similarity = TicketMinHash.similarity(signature, unbox(candidate.getMinhashSignature()));
+            if (similarity >= bestSimilarity && (best == null || similarity > bestSimilarity || candidate.getId() < best)) {
+                best = candidate.getId();
+                bestSimilarity = similarity;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * Publica no índice LSH o cluster recém-criado (assinatura já gravada na linha).
+     */
+    public void indexBands(Long clusterId, int[] signature) {
+        long[] bandKeys = TicketMinHash.bandKeys(signature);
+        if (bandKeys.length > 0) {
+            clusterRepository.insertBandKeys(clusterId, toArrayLiteral(bandKeys));
+        }
+    }
+
+    /**
+     * Indexa clusters anteriores ao agrupamento por similaridade (texto
+     * normalizado já gravado), em lotes, até não restar nenhum sem assinatura.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @SchedulerLock(name = "faqClusterSignatureBackfill", lockAtMostFor = "PT30M")
+    @Transactional
+    public void backfillSignatures() {
+        int indexed = 0;
+        List<PendingSignatureView> batch;
+        while (!(batch = clusterRepository.findTop500ByMinhashSignatureIsNullOrderByIdAsc()).isEmpty()) {
+            for (PendingSignatureView cluster : batch) {
+                int[] signature = TicketMinHash.signature(cluster.getNormalizedText());
+                clusterRepository.updateSignature(cluster.getId(), toArrayLiteral(signature));
+                indexBands(cluster.getId(), signature);
+            }
+            indexed += batch.size();
+        }
+        if (indexed > 0) {
+            log.info("🧲 Índice LSH: {} clusters existentes indexados", indexed);
+        }
+    }
+
+    private static int[] unbox(Integer[] values) {
+        if (values == null) {
+            return new int[0];
+        }
+        return Arrays.stream(values).mapToInt(v -> v == null ? 0 : v).toArray();
+    }
+
+    static String toArrayLiteral(long[] values) {
+        StringJoiner joiner = new StringJoiner(",", "{", "}");
+        for (long value : values) {
+            joiner.add(Long.toString(value));
+        }
+        return joiner.toString();
+    }
+
+    static String toArrayLiteral(int[] values) {
+        StringJoiner joiner = new StringJoiner(",", "{", "}");
+        for (int value : values) {
+            joiner.add(Integer.toString(value));
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssue;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que alimenta {@link GovernanceCounterService} com o artigo afetado.
+ *
+ * - KbArticle: o próprio artigo (sync, edição, remoção)
+ * - KbGovernanceIssue: o artigo da issue (issues abertas entram no contador)
+ *
+ * Updates em massa (JPQL/SQL nativo) não passam por aqui; a reconstrução
+ * semanal dos contadores cobre esses casos.
+ *
+ * O Hibernate cria o listener enquanto monta o EntityManagerFactory: o
+ * serviço (que depende do EntityManager) só é resolvido no primeiro evento.
+ */
+@Component
+public class GovernanceCounterEntityListener {
+
+    private final ObjectProvider<GovernanceCounterService> counterService;
+
+    public GovernanceCounterEntityListener(ObjectProvider<GovernanceCounterService> counterService) {
+        this.counterService = counterService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void changed(Object entity) {
+        if (entity instanceof KbArticle article) {
+            counterService.getObject().markDirtyAfterCommit(article.getId());
+        } else if (entity instanceof KbGovernanceIssue issue) {
+            counterService.getObject().markDirtyAfterCommit(issue.getArticleId());
+        }
+    }
+}
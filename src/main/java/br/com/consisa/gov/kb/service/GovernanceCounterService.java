@@ -0,0 +1,166 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.repository.KbGovernanceCounterRepository;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 🧮 Contadores incrementais de governança por sistema.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Delta: artigo salvo pelo sync ou issue criada/alterada pelos detectores
+ *   marca o artigo como pendente (só após o COMMIT, via {@link GovernanceCounterEntityListener})
+ * - Flush: periodicamente os pendentes são recalculados em lotes e a diferença
+ *   (novo - antigo) é aplicada em kb_governance_system_counter
+ * - Snapshot: INSERT ... SELECT direto dos contadores (custo por sistema, não por artigo)
+ * - Rebuild: recontagem completa semanal pela view, corrige deltas perdidos
+ *   (restart com pendentes em memória, UPDATE em massa fora do JPA); também
+ *   na subida, se há artigos e nenhum contador (carga em massa via COPY)
+ *
+ * Pendentes ficam em memória da instância que fez a mudança; o ajuste no banco
+ * é serializado entre instâncias por advisory lock.
+ */
+@Service
+public class GovernanceCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(GovernanceCounterService.class);
+
+    private final KbGovernanceCounterRepository counterRepository;
+    private final int batchSize;
+
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Object flushLock = new Object();
+
+    public GovernanceCounterService(
+            KbGovernanceCounterRepository counterRepository,
+            @Value("${app.governance.counters.batch-size:500}") int batchSize
+    ) {
+        this.counterRepository = counterRepository;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Marca o artigo para recálculo quando a transação corrente fizer commit
+     * (ou já, se não houver transação).
+     */
+    public void markDirtyAfterCommit(Long articleId) {
+        if (articleId == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(articleId);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<Long> ids = (Set<Long>) TransactionSynchronizationManager.getResource(this);
+        if (ids == null) {
+            Set<Long> txIds = new HashSet<>();
+            TransactionSynchronizationManager.bindResource(this, txIds);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pending.addAll(txIds);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(GovernanceCounterService.this);
+                }
+            });
+            ids = txIds;
+        }
+        ids.add(articleId);
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Aplica os deltas pendentes em lotes.
+     *
+     * Lote que falha volta para a fila e é tentado no próximo ciclo.
+     */
+    @Scheduled(fixedDelayString = "${app.governance.counters.flush-ms:30000}")
+    public int flushPending() {
+        synchronized (flushLock) {
+            int refreshed = 0;
+            List<Long> batch;
+            while (!(batch = drain()).isEmpty()) {
+                try {
+                    refreshed += counterRepository.refreshArticles(batch);
+                } catch (RuntimeException e) {
+                    pending.addAll(batch);
+                    log.warn("⚠️ Falha ao aplicar delta de contadores ({} artigos): {}", batch.size(), e.getMessage());
+                    break;
+                }
+            }
+            if (refreshed > 0) {
+                log.debug("🧮 Contadores ajustados: {} artigos recalculados", refreshed);
+            }
+            return refreshed;
+        }
+    }
+
+    /**
+     * Recontagem completa a partir da view (rede de segurança contra deriva).
+     */
+    @Scheduled(cron = "${app.governance.counters.rebuild-cron:0 30 4 * * SUN}", zone = "America/Sao_Paulo")
+    @SchedulerLock(name = "governanceCounterRebuild", lockAtMostFor = "PT30M")
+    public int rebuild() {
+        synchronized (flushLock) {
+            int articles = counterRepository.rebuildAll();
+            log.info("🧮 Contadores de governança reconstruídos: {} artigos", articles);
+            return articles;
+        }
+    }
+
+    /**
+     * Contadores vazios com artigos na base: reconstrói antes do primeiro snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @SchedulerLock(name = "governanceCounterRebuild", lockAtMostFor = "PT30M")
+    public void rebuildIfEmpty() {
+        if (counterRepository.isEmptyWithArticles()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Aplica os pendentes e grava os snapshots do dia a partir dos contadores.
+     *
+     * @return quantidade de snapshots gravados (global + sistemas ativos)
+     */
+    public int writeDailySnapshots(LocalDate date) {
+        flushPending();
+        return counterRepository.insertDailySnapshots(date);
+    }
+
+    private List<Long> drain() {
+        List<Long> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<Long> it = pending.iterator();
+        while (it.hasNext() && batch.size() < batchSize) {
+            batch.add(it.next());
+            it.remove();
+        }
+        return batch;
+    }
+}
@@ -2,7 +2,6 @@ package br.com.consisa.gov.kb.service;
 
 import br.com.consisa.gov.kb.controller.api.dto.GovernanceDashboardResponse;
 import br.com.consisa.gov.kb.repository.GovernanceDashboardRepository;
-import br.com.consisa.gov.kb.repository.GovernanceOverviewRepository;
 import br.com.consisa.gov.kb.repository.projection.OverdueIssue;
 import br.com.consisa.gov.kb.repository.projection.SlaComplianceTotals;
 import br.com.consisa.gov.kb.repository.projection.TrendsTotals;
@@ -10,7 +9,6 @@ import br.com.consisa.gov.kb.repository.projection.UnassignedIssue;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigInteger;
 import java.time.OffsetDateTime;
 import java.util.Comparator;
 import java.util.List;
@@ -21,14 +19,14 @@ public class GovernanceDashboardService {
     private static final int MAX_TOP_RISKS = 5;
     private static final int MAX_ATTENTION_ITEMS = 10;
 
-    private final GovernanceOverviewRepository overviewRepository;
+    private final GovernanceMetricsStore metricsStore;
     private final GovernanceDashboardRepository dashboardRepository;
     private final GovernanceHealthScoreCalculator healthScoreCalculator;
 
-    public GovernanceDashboardService(GovernanceOverviewRepository overviewRepository,
+    public GovernanceDashboardService(GovernanceMetricsStore metricsStore,
                                       GovernanceDashboardRepository dashboardRepository,
                                       GovernanceHealthScoreCalculator healthScoreCalculator) {
-        this.overviewRepository = overviewRepository;
+        this.metricsStore = metricsStore;
         this.dashboardRepository = dashboardRepository;
         this.healthScoreCalculator = healthScoreCalculator;
     }
@@ -50,13 +48,13 @@ public class GovernanceDashboardService {
     }
 
     private GovernanceDashboardResponse.Summary buildSummary() {
-        Object[] totalsRow = overviewRepository.fetchOverviewTotals();
-        long open = toLong(totalsRow, 0);
-        long errorOpen = toLong(totalsRow, 1);
-        long warnOpen = toLong(totalsRow, 2);
-        long infoOpen = toLong(totalsRow, 3);
-        long overdue = toLong(totalsRow, 4);
-        long unassigned = toLong(totalsRow, 5);
+        GovernanceMetricsSnapshot.IssueTotals issues = metricsStore.current().issues();
+        long open = issues.open();
+        long errorOpen = issues.errorOpen();
+        long warnOpen = issues.warnOpen();
+        long infoOpen = issues.infoOpen();
+        long overdue = issues.overdueOpen();
+        long unassigned = issues.unassignedOpen();
 
         SlaComplianceTotals slaTotals = dashboardRepository.fetchSlaComplianceTotals();
         long totalResolved = slaTotals.totalResolved();
@@ -77,26 +75,16 @@ public class GovernanceDashboardService {
     }
 
     private List<GovernanceDashboardResponse.TopRisk> buildTopRisks() {
-        return overviewRepository.fetchOverviewBySystem()
+        return metricsStore.current().issuesBySystem().values()
                 .stream()
-                .map(row -> {
-                    String systemCode = asString(row, 0);
-                    String systemName = asString(row, 1);
-                    long errorOpen = toLong(row, 3);
-                    long warnOpen = toLong(row, 4);
-                    long infoOpen = toLong(row, 5);
-                    long overdue = toLong(row, 6);
-                    long unassigned = toLong(row, 7);
-                    double healthScore = healthScoreCalculator.calculate(errorOpen, warnOpen, infoOpen);
-                    return new GovernanceDashboardResponse.TopRisk(
-                            systemCode != null ? systemCode : "UNCLASSIFIED",
-                            systemName != null ? systemName : "Não classificado",
-                            healthScore,
-                            errorOpen,
-                            overdue,
-                            unassigned
-                    );
-                })
+                .map(system -> new GovernanceDashboardResponse.TopRisk(
+                        system.systemCode() != null ? system.systemCode() : GovernanceMetricsSnapshot.UNCLASSIFIED_CODE,
+                        system.systemName() != null ? system.systemName() : GovernanceMetricsSnapshot.UNCLASSIFIED_NAME,
+                        healthScoreCalculator.calculate(system.errorOpen(), system.warnOpen(), system.infoOpen()),
+                        system.errorOpen(),
+                        system.overdueOpen(),
+                        system.unassignedOpen()
+                ))
                 .sorted(Comparator.comparingDouble(GovernanceDashboardResponse.TopRisk::healthScore))
                 .limit(MAX_TOP_RISKS)
                 .toList();
@@ -131,33 +119,6 @@ public class GovernanceDashboardService {
         );
     }
 
-    private long toLong(Object[] row, int index) {
-        if (row == null || row.length <= index || row[index] == null) {
-            return 0L;
-        }
-        Object value = row[index];
-        if (value instanceof Long) {
-            return (Long) value;
-        }
-        if (value instanceof Integer) {
-            return ((Integer) value).longValue();
-        }
-        if (value instanceof BigInteger) {
-            return ((BigInteger) value).longValue();
-        }
-        if (value instanceof Number) {
-            return ((Number) value).longValue();
-        }
-        return Long.parseLong(value.toString());
-    }
-
-    private String asString(Object[] row, int index) {
-        if (row == null || row.length <= index || row[index] == null) {
-            return null;
-        }
-        return row[index].toString();
-    }
-
     private GovernanceDashboardResponse.OverdueIssue toOverdueIssue(OverdueIssue issue) {
         return new GovernanceDashboardResponse.OverdueIssue(
                 issue.id(),
@@ -0,0 +1,70 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.domain.GovernanceSeverity;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssue;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+
+import java.time.OffsetDateTime;
+import java.util.Objects;
+
+/**
+ * Evento publicado quando uma issue de governança muda de estado
+ * (criada, reaberta, status alterado, atribuída/desatribuída).
+ *
+ * Carrega o estado ANTES e DEPOIS da mudança para que os agregados
+ * ({@link GovernanceMetricsStore}) possam ser ajustados por delta,
+ * sem recontar a tabela.
+ *
+ * - before == null  → issue nova
+ */
+public record GovernanceIssueChangedEvent(
+        Long issueId,
+        Long articleId,
+        IssueState before,
+        IssueState after
+) {
+
+    public boolean isCreated() {
+        return before == null;
+    }
+
+    public boolean hasChanges() {
+        return !Objects.equals(before, after);
+    }
+
+    /**
+     * Recorte do estado da issue que influencia os agregados.
+     */
+    public record IssueState(
+            GovernanceIssueStatus status,
+            GovernanceSeverity severity,
+            KbGovernanceIssueType issueType,
+            boolean assigned,
+            OffsetDateTime slaDueAt
+    ) {
+
+        public static IssueState of(KbGovernanceIssue issue) {
+            if (issue == null) {
+                return null;
+            }
+            return new IssueState(
+                    issue.getStatus(),
+                    issue.getSeverity(),
+                    issue.getIssueType(),
+                    issue.getResponsibleId() != null,
+                    issue.getSlaDueAt()
+            );
+        }
+
+        public boolean isOpen() {
+            return status != null
+                    && status != GovernanceIssueStatus.RESOLVED
+                    && status != GovernanceIssueStatus.IGNORED;
+        }
+
+        public boolean isOverdue(OffsetDateTime now) {
+            return isOpen() && slaDueAt != null && slaDueAt.isBefore(now);
+        }
+    }
+}
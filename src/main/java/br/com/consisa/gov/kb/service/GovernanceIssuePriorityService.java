@@ -44,7 +44,15 @@ public class GovernanceIssuePriorityService {
     }
 
     public PriorityAssessment assess(String severity, String issueType, String status, OffsetDateTime slaDueAt) {
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        return assess(severity, issueType, status, slaDueAt, OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    /**
+     * Avalia a prioridade num instante de referência (permite projetar
+     * quando a issue cruza o SLA e muda de nível).
+     */
+    public PriorityAssessment assess(String severity, String issueType, String status,
+                                     OffsetDateTime slaDueAt, OffsetDateTime now) {
         boolean overdue = isOverdue(status, slaDueAt, now);
         boolean dueSoon = isDueSoon(slaDueAt, now);
 
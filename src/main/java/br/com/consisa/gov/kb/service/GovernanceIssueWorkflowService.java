@@ -13,6 +13,7 @@ import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
 import br.com.consisa.gov.kb.util.DateTimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -31,19 +32,22 @@ public class GovernanceIssueWorkflowService {
     private final KbGovernanceIssueHistoryRepository historyRepository;
     private final GovernanceSlaService slaService;
     private final KbGovernanceIssueHistoryService richHistoryService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public GovernanceIssueWorkflowService(
             KbGovernanceIssueRepository issueRepository,
             KbGovernanceIssueAssignmentRepository assignmentRepository,
             KbGovernanceIssueHistoryRepository historyRepository,
             GovernanceSlaService slaService,
-            KbGovernanceIssueHistoryService richHistoryService
+            KbGovernanceIssueHistoryService richHistoryService,
+            ApplicationEventPublisher eventPublisher
     ) {
         this.issueRepository = issueRepository;
         this.assignmentRepository = assignmentRepository;
         this.historyRepository = historyRepository;
         this.slaService = slaService;
         this.richHistoryService = richHistoryService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -71,6 +75,7 @@ public class GovernanceIssueWorkflowService {
 
         GovernanceIssueStatus previousStatus = issue.getStatus();
         KbGovernanceIssue beforeChange = snapshot(issue);
+        var stateBefore = GovernanceIssueChangedEvent.IssueState.of(issue);
         boolean wasAssigned = issue.getResponsibleId() != null;
 
         if (responsibleId == null || responsibleId.isBlank()) {
@@ -107,6 +112,7 @@ public class GovernanceIssueWorkflowService {
         }
 
         issueRepository.save(issue);
+        publishChange(issue, stateBefore);
 
         if (responsibleId != null && !responsibleId.isBlank()) {
             richHistoryService.recordAssigned(beforeChange, issue, actor);
@@ -133,6 +139,7 @@ public class GovernanceIssueWorkflowService {
 
         GovernanceIssueStatus previousStatus = issue.getStatus();
         KbGovernanceIssue beforeChange = snapshot(issue);
+        var stateBefore = GovernanceIssueChangedEvent.IssueState.of(issue);
         if (previousStatus == newStatus) {
             return issue;
         }
@@ -177,6 +184,7 @@ public class GovernanceIssueWorkflowService {
                 });
 
         issueRepository.save(issue);
+        publishChange(issue, stateBefore);
 
         richHistoryService.recordStatusChanged(beforeChange, issue, actor);
         if (newStatus == GovernanceIssueStatus.OPEN
@@ -203,6 +211,7 @@ public class GovernanceIssueWorkflowService {
             if (previousStatus == newStatus) {
                 continue;
             }
+            var stateBefore = GovernanceIssueChangedEvent.IssueState.of(issue);
 
             issue.setStatus(newStatus);
             if (newStatus == GovernanceIssueStatus.RESOLVED || newStatus == GovernanceIssueStatus.IGNORED) {
@@ -222,6 +231,7 @@ public class GovernanceIssueWorkflowService {
                 issue.setSlaDueAt(slaService.calculateReopenedSlaDueAt(issue.getSeverity()));
             }
             issueRepository.save(issue);
+            publishChange(issue, stateBefore);
 
             saveHistory(issueId, action, previousStatus, newStatus, actor, newValue);
         }
@@ -239,6 +249,14 @@ public class GovernanceIssueWorkflowService {
                 .ifPresent(issue -> updateStatus(issue.getId(), newStatus, actor));
     }
 
+    private void publishChange(KbGovernanceIssue issue, GovernanceIssueChangedEvent.IssueState stateBefore) {
+        var event = new GovernanceIssueChangedEvent(issue.getId(), issue.getArticleId(), stateBefore,
+                GovernanceIssueChangedEvent.IssueState.of(issue));
+        if (event.hasChanges()) {
+            eventPublisher.publishEvent(event);
+        }
+    }
+
     private void saveHistory(Long issueId,
                              String action,
                              GovernanceIssueStatus oldStatus,
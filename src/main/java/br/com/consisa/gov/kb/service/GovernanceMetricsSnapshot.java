@@ -0,0 +1,227 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.domain.GovernanceSeverity;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📊 Agregado imutável de métricas de governança.
+ *
+ * Montado por completo na reconciliação ({@link GovernanceMetricsStore#reconcile()})
+ * e ajustado por delta a cada {@link GovernanceIssueChangedEvent}.
+ *
+ * Os dashboards só leem este objeto (nenhuma query por request).
+ *
+ * REGRAS (mesmas das views vw_kb_governance_overview*):
+ * - "aberta" = status diferente de RESOLVED/IGNORED
+ * - por sistema = apenas artigos ativos (article_status = 1)
+ */
+public record GovernanceMetricsSnapshot(
+        IssueTotals issues,
+        Map<GovernanceIssueStatus, Long> issuesByStatus,
+        Map<KbGovernanceIssueType, Long> issuesByType,
+        Map<String, SystemMetrics> issuesBySystem,
+        ArticleTotals articles,
+        long needsOpen,
+        long needsRecurring,
+        OffsetDateTime reconciledAt,
+        OffsetDateTime updatedAt
+) {
+
+    public static final String UNCLASSIFIED_CODE = "UNCLASSIFIED";
+    public static final String UNCLASSIFIED_NAME = "Não classificado";
+
+    public GovernanceMetricsSnapshot {
+        issuesByStatus = Collections.unmodifiableMap(nonNullEnumMap(issuesByStatus, GovernanceIssueStatus.class));
+        issuesByType = Collections.unmodifiableMap(nonNullEnumMap(issuesByType, KbGovernanceIssueType.class));
+        issuesBySystem = Collections.unmodifiableMap(new LinkedHashMap<>(issuesBySystem != null ? issuesBySystem : Map.of()));
+    }
+
+    /**
+     * Totais de issues (todas as issues, independente do artigo estar ativo).
+     */
+    public record IssueTotals(
+            long total,
+            long open,
+            long errorOpen,
+            long warnOpen,
+            long infoOpen,
+            long overdueOpen,
+            long unassignedOpen
+    ) {
+        public static final IssueTotals EMPTY = new IssueTotals(0, 0, 0, 0, 0, 0, 0);
+    }
+
+    /**
+     * Contadores por sistema (somente artigos ativos).
+     */
+    public record SystemMetrics(
+            String systemCode,
+            String systemName,
+            long total,
+            long open,
+            long errorOpen,
+            long warnOpen,
+            long infoOpen,
+            long overdueOpen,
+            long unassignedOpen
+    ) {
+        public static SystemMetrics empty(String systemCode, String systemName) {
+            return new SystemMetrics(systemCode, systemName, 0, 0, 0, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * Métricas de artigos (mudam com o sync, não com o workflow de issues).
+     * Atualizadas apenas na reconciliação.
+     */
+    public record ArticleTotals(
+            long total,
+            long withIssues,
+            long duplicateHashGroups,
+            long openDuplicateIssues,
+            List<ArticlesBySystem> activeBySystem,
+            List<Object[]> bySystemAndSyncStatus,
+            Map<String, Object> reportSummary
+    ) {
+        public static final ArticleTotals EMPTY = new ArticleTotals(0, 0, 0, 0, List.of(), List.of(), Map.of());
+
+        public ArticleTotals {
+            activeBySystem = activeBySystem != null ? List.copyOf(activeBySystem) : List.of();
+            bySystemAndSyncStatus = bySystemAndSyncStatus != null ? List.copyOf(bySystemAndSyncStatus) : List.of();
+            reportSummary = reportSummary != null
+                    ? Collections.unmodifiableMap(new LinkedHashMap<>(reportSummary))
+                    : Map.of();
+        }
+
+        public long ok() {
+            return Math.max(0, total - withIssues);
+        }
+    }
+
+    public record ArticlesBySystem(String systemCode, String systemName, long total) {
+    }
+
+    // ======================
+    // Delta
+    // ======================
+
+    /**
+     * Aplica a mudança de uma issue sobre o agregado e devolve um novo snapshot.
+     *
+     * @param event       estado antes/depois da issue
+     * @param systemCode  sistema do artigo (null = artigo inativo, não entra no "por sistema")
+     * @param systemName  nome do sistema
+     * @param now         referência para o cálculo de overdue
+     */
+    public GovernanceMetricsSnapshot applyChange(GovernanceIssueChangedEvent event,
+                                                 String systemCode,
+                                                 String systemName,
+                                                 OffsetDateTime now) {
+        if (event == null || !event.hasChanges()) {
+            return this;
+        }
+
+        IssueTotals totals = issues;
+        Map<GovernanceIssueStatus, Long> byStatus = nonNullEnumMap(issuesByStatus, GovernanceIssueStatus.class);
+        Map<KbGovernanceIssueType, Long> byType = nonNullEnumMap(issuesByType, KbGovernanceIssueType.class);
+        Map<String, SystemMetrics> bySystem = new LinkedHashMap<>(issuesBySystem);
+
+        if (event.before() != null) {
+            totals = adjust(totals, event.before(), -1, now);
+            increment(byStatus, event.before().status(), -1L);
+            increment(byType, event.before().issueType(), -1L);
+            adjustSystem(bySystem, systemCode, systemName, event.before(), -1, now);
+        }
+        if (event.after() != null) {
+            totals = adjust(totals, event.after(), 1, now);
+            increment(byStatus, event.after().status(), 1L);
+            increment(byType, event.after().issueType(), 1L);
+            adjustSystem(bySystem, systemCode, systemName, event.after(), 1, now);
+        }
+
+        byStatus.values().removeIf(value -> value <= 0);
+        byType.values().removeIf(value -> value <= 0);
+
+        return new GovernanceMetricsSnapshot(
+                totals,
+                byStatus,
+                byType,
+                bySystem,
+                articles,
+                needsOpen,
+                needsRecurring,
+                reconciledAt,
+                now
+        );
+    }
+
+    private static IssueTotals adjust(IssueTotals totals,
+                                      GovernanceIssueChangedEvent.IssueState state,
+                                      int sign,
+                                      OffsetDateTime now) {
+        boolean open = state.isOpen();
+        return new IssueTotals(
+                nonNegative(totals.total() + sign),
+                nonNegative(totals.open() + (open ? sign : 0)),
+                nonNegative(totals.errorOpen() + (open && state.severity() == GovernanceSeverity.ERROR ? sign : 0)),
+                nonNegative(totals.warnOpen() + (open && state.severity() == GovernanceSeverity.WARN ? sign : 0)),
+                nonNegative(totals.infoOpen() + (open && state.severity() == GovernanceSeverity.INFO ? sign : 0)),
+                nonNegative(totals.overdueOpen() + (state.isOverdue(now) ? sign : 0)),
+                nonNegative(totals.unassignedOpen() + (open && !state.assigned() ? sign : 0))
+        );
+    }
+
+    private static void adjustSystem(Map<String, SystemMetrics> bySystem,
+                                     String systemCode,
+                                     String systemName,
+                                     GovernanceIssueChangedEvent.IssueState state,
+                                     int sign,
+                                     OffsetDateTime now) {
+        if (systemCode == null) {
+            return;
+        }
+        SystemMetrics current = bySystem.getOrDefault(systemCode, SystemMetrics.empty(systemCode, systemName));
+        boolean open = state.isOpen();
+        bySystem.put(systemCode, new SystemMetrics(
+                current.systemCode(),
+                current.systemName() != null ? current.systemName() : systemName,
+                nonNegative(current.total() + sign),
+                nonNegative(current.open() + (open ? sign : 0)),
+                nonNegative(current.errorOpen() + (open && state.severity() == GovernanceSeverity.ERROR ? sign : 0)),
+                nonNegative(current.warnOpen() + (open && state.severity() == GovernanceSeverity.WARN ? sign : 0)),
+                nonNegative(current.infoOpen() + (open && state.severity() == GovernanceSeverity.INFO ? sign : 0)),
+                nonNegative(current.overdueOpen() + (state.isOverdue(now) ? sign : 0)),
+                nonNegative(current.unassignedOpen() + (open && !state.assigned() ? sign : 0))
+        ));
+    }
+
+    private static <K> void increment(Map<K, Long> map, K key, long delta) {
+        if (key != null) {
+            map.merge(key, delta, Long::sum);
+        }
+    }
+
+    private static long nonNegative(long value) {
+        return Math.max(0L, value);
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> nonNullEnumMap(Map<E, Long> source, Class<E> type) {
+        Map<E, Long> copy = new EnumMap<>(type);
+        if (source != null) {
+            source.forEach((key, value) -> {
+                if (key != null && value != null) {
+                    copy.put(key, value);
+                }
+            });
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,333 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.cache.DataDomain;
+import br.com.consisa.gov.kb.cache.DataVersionService;
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+import br.com.consisa.gov.kb.repository.DetectedNeedRepository;
+import br.com.consisa.gov.kb.repository.GovernanceOverviewRepository;
+import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
+import br.com.consisa.gov.kb.util.DateTimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 📊 Store de métricas de governança (agregado pré-computado).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Reconciliação: recalcula tudo a partir do banco (mesmas queries de antes),
+ *   periodicamente e quando alguém marca o agregado como desatualizado
+ * - Delta: cada {@link GovernanceIssueChangedEvent} (após commit) ajusta os
+ *   contadores de issues sem recontar a tabela
+ * - Leitura: dashboards leem o snapshot atual (O(1), sem query por request)
+ *
+ * O que só muda na reconciliação:
+ * - métricas de artigos (mudam com o sync)
+ * - needs (mudam na importação de suporte)
+ * - overdue por passagem do tempo
+ *
+ * Top críticas ficam em {@link GovernanceTopIssuesTracker}.
+ *
+ * Delta x reconciliação: a carga roda fora do lock (não trava o commit de
+ * quem publicou o evento). Delta que chega durante a carga é registrado com
+ * número de sequência e reaplicado sobre o snapshot novo (senão a troca o
+ * descartaria); como não dá para saber se a carga já o viu, o agregado fica
+ * marcado como desatualizado e o próximo tick reconcilia de novo.
+ *
+ * O estado é por instância (memória local); cada nó reconcilia o seu.
+ */
+@Service
+public class GovernanceMetricsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(GovernanceMetricsStore.class);
+
+    private static final String NEED_STATUS_OPEN = "OPEN";
+
+    private final KbGovernanceIssueRepository issueRepository;
+    private final KbArticleRepository articleRepository;
+    private final DetectedNeedRepository needRepository;
+    private final GovernanceOverviewRepository overviewRepository;
+    private final KbGovernanceReportService reportService;
+    private final DataVersionService dataVersions;
+    private final Duration reconcileInterval;
+
+    private final AtomicReference<GovernanceMetricsSnapshot> current = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean(false);
+    private final Object writeLock = new Object();
+
+    // guardados por writeLock
+    private long deltaSequence;
+    private int reconcilesInFlight;
+    private final List<AppliedDelta> deltasDuringReconcile = new ArrayList<>();
+
+    public GovernanceMetricsStore(
+            KbGovernanceIssueRepository issueRepository,
+            KbArticleRepository articleRepository,
+            DetectedNeedRepository needRepository,
+            GovernanceOverviewRepository overviewRepository,
+            KbGovernanceReportService reportService,
+            DataVersionService dataVersions,
+            @Value("${app.governance.metrics.reconcile-interval-minutes:5}") long reconcileIntervalMinutes
+    ) {
+        this.issueRepository = issueRepository;
+        this.articleRepository = articleRepository;
+        this.needRepository = needRepository;
+        this.overviewRepository = overviewRepository;
+        this.reportService = reportService;
+        this.dataVersions = dataVersions;
+        this.reconcileInterval = Duration.ofMinutes(Math.max(1, reconcileIntervalMinutes));
+    }
+
+    // ======================
+    // Leitura
+    // ======================
+
+    /**
+     * Snapshot atual. Na primeira leitura (startup) reconcilia de forma síncrona.
+     */
+    public GovernanceMetricsSnapshot current() {
+        GovernanceMetricsSnapshot snapshot = current.get();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        synchronized (writeLock) {
+            snapshot = current.get();
+            return snapshot != null ? snapshot : reconcile();
+        }
+    }
+
+    /**
+     * Marca o agregado como desatualizado (reconcilia no próximo tick).
+     * Usado após sync, importação de suporte e mudanças em needs.
+     */
+    public void markStale() {
+        stale.set(true);
+    }
+
+    // ======================
+    // Delta (eventos)
+    // ======================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(GovernanceIssueChangedEvent event) {
+        if (event == null || !event.hasChanges() || current.get() == null) {
+            return;
+        }
+        try {
+            var systemRef = event.articleId() != null
+                    ? articleRepository.findActiveSystemRef(event.articleId()).orElse(null)
+                    : null;
+            String systemCode = systemRef != null ? systemRef.getSystemCode() : null;
+            String systemName = systemRef != null ? systemRef.getSystemName() : null;
+            OffsetDateTime now = DateTimeUtils.nowSaoPaulo();
+
+            synchronized (writeLock) {
+                GovernanceMetricsSnapshot snapshot = current.get();
+                if (snapshot != null) {
+                    current.set(snapshot.applyChange(event, systemCode, systemName, now));
+                    dataVersions.bump(DataDomain.METRICS);
+                    deltaSequence++;
+                    if (reconcilesInFlight > 0) {
+                        deltasDuringReconcile.add(new AppliedDelta(deltaSequence, event, systemCode, systemName, now));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // Delta perdido: a reconciliação corrige
+            log.warn("⚠️ Falha ao aplicar delta de métricas (issueId={}): {}", event.issueId(), e.getMessage());
+            markStale();
+        }
+    }
+
+    // ======================
+    // Reconciliação
+    // ======================
+
+    @Scheduled(
+            fixedDelayString = "${app.governance.metrics.refresh-check-ms:30000}",
+            initialDelayString = "${app.governance.metrics.refresh-check-ms:30000}"
+    )
+    public void refreshIfNeeded() {
+        GovernanceMetricsSnapshot snapshot = current.get();
+        boolean expired = snapshot == null
+                || snapshot.reconciledAt() == null
+                || snapshot.reconciledAt().plus(reconcileInterval).isBefore(DateTimeUtils.nowSaoPaulo());
+        if (!expired && !stale.get()) {
+            return;
+        }
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("❌ Erro na reconciliação de métricas de governança: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Recalcula todo o agregado a partir do banco e substitui o snapshot atual
+     * (reaplicando os deltas que chegaram durante a carga).
+     */
+    public GovernanceMetricsSnapshot reconcile() {
+        long started = System.currentTimeMillis();
+        stale.set(false);
+
+        long startSequence;
+        synchronized (writeLock) {
+            startSequence = deltaSequence;
+            reconcilesInFlight++;
+        }
+
+        GovernanceMetricsSnapshot snapshot;
+        int replayed = 0;
+        try {
+            snapshot = new GovernanceMetricsSnapshot(
+                    loadIssueTotals(),
+                    loadByStatus(),
+                    loadByType(),
+                    loadBySystem(),
+                    loadArticleTotals(),
+                    needRepository.countByStatus(NEED_STATUS_OPEN),
+                    needRepository.countRecurringNeeds(),
+                    DateTimeUtils.nowSaoPaulo(),
+                    DateTimeUtils.nowSaoPaulo()
+            );
+
+            synchronized (writeLock) {
+                for (AppliedDelta delta : deltasDuringReconcile) {
+                    if (delta.sequence() > startSequence) {
+                        snapshot = snapshot.applyChange(delta.event(), delta.systemCode(), delta.systemName(), delta.at());
+                        replayed++;
+                    }
+                }
+                current.set(snapshot);
+                dataVersions.bump(DataDomain.METRICS);
+            }
+        } finally {
+            synchronized (writeLock) {
+                if (--reconcilesInFlight == 0) {
+                    deltasDuringReconcile.clear();
+                }
+            }
+        }
+
+        if (replayed > 0) {
+            // a carga pode ter visto algum desses deltas: confirma no próximo tick
+            markStale();
+        }
+        log.info("📊 Métricas de governança reconciliadas em {}ms (issues={} abertas={} deltas reaplicados={})",
+                System.currentTimeMillis() - started, snapshot.issues().total(), snapshot.issues().open(), replayed);
+        return snapshot;
+    }
+
+    private GovernanceMetricsSnapshot.IssueTotals loadIssueTotals() {
+        Object[] row = overviewRepository.fetchOverviewTotals();
+        return new GovernanceMetricsSnapshot.IssueTotals(
+                issueRepository.countTotalIssues(),
+                toLong(row, 0),
+                toLong(row, 1),
+                toLong(row, 2),
+                toLong(row, 3),
+                toLong(row, 4),
+                toLong(row, 5)
+        );
+    }
+
+    private Map<GovernanceIssueStatus, Long> loadByStatus() {
+        Map<GovernanceIssueStatus, Long> byStatus = new EnumMap<>(GovernanceIssueStatus.class);
+        issueRepository.countByStatus().forEach(row -> {
+            if (row.getStatus() != null) {
+                byStatus.put(row.getStatus(), row.getTotal() != null ? row.getTotal() : 0L);
+            }
+        });
+        return byStatus;
+    }
+
+    private Map<KbGovernanceIssueType, Long> loadByType() {
+        Map<KbGovernanceIssueType, Long> byType = new EnumMap<>(KbGovernanceIssueType.class);
+        issueRepository.countByIssueType().forEach(row -> {
+            if (row.getIssueType() != null) {
+                byType.put(row.getIssueType(), row.getTotal() != null ? row.getTotal() : 0L);
+            }
+        });
+        return byType;
+    }
+
+    private Map<String, GovernanceMetricsSnapshot.SystemMetrics> loadBySystem() {
+        Map<String, Long> totals = new LinkedHashMap<>();
+        issueRepository.countBySystem().forEach(row ->
+                totals.put(row.getSystemCode(), row.getTotal() != null ? row.getTotal() : 0L));
+
+        Map<String, GovernanceMetricsSnapshot.SystemMetrics> bySystem = new LinkedHashMap<>();
+        for (Object[] row : overviewRepository.fetchOverviewBySystem()) {
+            String systemCode = row[0] != null ? row[0].toString() : GovernanceMetricsSnapshot.UNCLASSIFIED_CODE;
+            String systemName = row[1] != null ? row[1].toString() : GovernanceMetricsSnapshot.UNCLASSIFIED_NAME;
+            bySystem.put(systemCode, new GovernanceMetricsSnapshot.SystemMetrics(
+                    systemCode,
+                    systemName,
+                    totals.getOrDefault(systemCode, 0L),
+                    toLong(row, 2),
+                    toLong(row, 3),
+                    toLong(row, 4),
+                    toLong(row, 5),
+                    toLong(row, 6),
+                    toLong(row, 7)
+            ));
+        }
+        return bySystem;
+    }
+
+    private GovernanceMetricsSnapshot.ArticleTotals loadArticleTotals() {
+        List<String> duplicateHashes = articleRepository.findDuplicateContentHashes();
+        List<GovernanceMetricsSnapshot.ArticlesBySystem> activeBySystem = articleRepository.countActiveBySystem()
+                .stream()
+                .map(row -> new GovernanceMetricsSnapshot.ArticlesBySystem(
+                        row[0] != null ? String.valueOf(row[0]) : GovernanceMetricsSnapshot.UNCLASSIFIED_CODE,
+                        row[1] != null ? String.valueOf(row[1]) : GovernanceMetricsSnapshot.UNCLASSIFIED_NAME,
+                        toLong(row, 2)
+                ))
+                .toList();
+
+        return new GovernanceMetricsSnapshot.ArticleTotals(
+                articleRepository.count(),
+                issueRepository.countDistinctArticlesWithIssues(),
+                duplicateHashes != null ? duplicateHashes.size() : 0L,
+                issueRepository.countByStatusAndIssueType(GovernanceIssueStatus.OPEN, KbGovernanceIssueType.DUPLICATE_CONTENT),
+                activeBySystem,
+                articleRepository.countBySystemAndSyncStatus(),
+                reportService.getSummaryStatistics()
+        );
+    }
+
+    /**
+     * Delta já aplicado, guardado para reaplicar sobre a reconciliação em curso.
+     */
+    private record AppliedDelta(long sequence, GovernanceIssueChangedEvent event,
+                                String systemCode, String systemName, OffsetDateTime at) {
+    }
+
+    private long toLong(Object[] row, int index) {
+        if (row == null || row.length <= index || row[index] == null) {
+            return 0L;
+        }
+        Object value = row[index];
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        return Long.parseLong(value.toString());
+    }
+}
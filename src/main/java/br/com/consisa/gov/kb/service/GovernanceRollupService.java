@@ -0,0 +1,374 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.GovernanceMetric;
+import br.com.consisa.gov.kb.domain.KbGovernanceMetricRollup;
+import br.com.consisa.gov.kb.domain.KbGovernanceSnapshot;
+import br.com.consisa.gov.kb.domain.RollupResolution;
+import br.com.consisa.gov.kb.repository.KbGovernanceMetricRollupRepository;
+import br.com.consisa.gov.kb.repository.KbGovernanceSnapshotRepository;
+import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * 📈 Série temporal de métricas de governança (rollups diário/semanal/mensal).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Gravação: após o snapshot diário, cada métrica de cada escopo entra no
+ *   bucket DAY; os buckets WEEK e MONTH do dia são recalculados a partir dos
+ *   DAY (idempotente: reexecutar o mesmo dia não duplica)
+ * - Leitura: escolhe a resolução mais fina que cabe em maxPoints e, se ainda
+ *   passar, agrupa buckets vizinhos — a resposta tem no máximo maxPoints pontos
+ * - Retenção: snapshots brutos antigos são consolidados e removidos; DAY e
+ *   WEEK expiram, MONTH fica para sempre (o histórico não se perde)
+ */
+@Service
+public class GovernanceRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(GovernanceRollupService.class);
+
+    public static final int MAX_POINTS_LIMIT = 1000;
+
+    private static final String GLOBAL_SCOPE = KbGovernanceMetricRollup.GLOBAL_SCOPE;
+
+    private final KbGovernanceMetricRollupRepository rollupRepo;
+    private final KbGovernanceSnapshotRepository snapshotRepo;
+    private final int defaultMaxPoints;
+    private final int rawRetentionDays;
+    private final int dayRetentionMonths;
+    private final int weekRetentionYears;
+
+    public GovernanceRollupService(
+            KbGovernanceMetricRollupRepository rollupRepo,
+            KbGovernanceSnapshotRepository snapshotRepo,
+            @Value("${app.governance.rollup.max-points:120}") int defaultMaxPoints,
+            @Value("${app.governance.rollup.raw-retention-days:90}") int rawRetentionDays,
+            @Value("${app.governance.rollup.day-retention-months:24}") int dayRetentionMonths,
+            @Value("${app.governance.rollup.week-retention-years:10}") int weekRetentionYears
+    ) {
+        this.rollupRepo = rollupRepo;
+        this.snapshotRepo = snapshotRepo;
+        this.defaultMaxPoints = clampPoints(defaultMaxPoints);
+        this.rawRetentionDays = rawRetentionDays;
+        this.dayRetentionMonths = dayRetentionMonths;
+        this.weekRetentionYears = weekRetentionYears;
+    }
+
+    public record MetricPoint(
+            LocalDate bucketStart,
+            double avg,
+            double min,
+            double max,
+            double last,
+            int samples
+    ) {
+    }
+
+    public record MetricSeries(
+            String scope,
+            GovernanceMetric metric,
+            RollupResolution resolution,
+            List<MetricPoint> points
+    ) {
+    }
+
+    public int defaultMaxPoints() {
+        return defaultMaxPoints;
+    }
+
+    // ======================
+    // GRAVAÇÃO
+    // ======================
+
+    /**
+     * Consolida os snapshots de uma data nos rollups DAY, WEEK e MONTH.
+     */
+    @Transactional
+    public void recordDay(LocalDate date) {
+        List<KbGovernanceSnapshot> snapshots = snapshotRepo.findBySnapshotDateOrderBySystemCode(date);
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        LocalDate dayBlock = RollupResolution.DAY.blockStartOf(date);
+        int dayIndex = RollupResolution.DAY.indexOf(date);
+        Map<SeriesKey, KbGovernanceMetricRollup> dayRows = load(RollupResolution.DAY, Set.of(dayBlock));
+
+        for (KbGovernanceSnapshot snapshot : snapshots) {
+            String scope = scopeOf(snapshot.getSystemCode());
+            for (GovernanceMetric metric : GovernanceMetric.values()) {
+                Double value = metric.valueOf(snapshot);
+                if (value == null) {
+                    continue;
+                }
+                dayRows.computeIfAbsent(new SeriesKey(scope, metric, dayBlock),
+                                k -> new KbGovernanceMetricRollup(RollupResolution.DAY, scope, metric, dayBlock))
+                        .setBucket(dayIndex, value, value, value, value, 1);
+            }
+        }
+        rollupRepo.saveAll(dayRows.values());
+
+        rollUp(RollupResolution.WEEK, date);
+        rollUp(RollupResolution.MONTH, date);
+    }
+
+    /**
+     * Recalcula o bucket da resolução alvo que contém a data, a partir dos buckets DAY.
+     */
+    private void rollUp(RollupResolution target, LocalDate date) {
+        LocalDate bucketStart = target.bucketStartOf(date);
+        LocalDate bucketEnd = target.nextBucket(bucketStart); // exclusivo
+
+        Set<LocalDate> dayBlocks = new HashSet<>();
+        for (LocalDate d = bucketStart; d.isBefore(bucketEnd); d = d.plusDays(1)) {
+            dayBlocks.add(RollupResolution.DAY.blockStartOf(d));
+        }
+
+        Map<ScopeMetric, Accumulator> buckets = new HashMap<>();
+        for (KbGovernanceMetricRollup row : rollupRepo.findByResolutionAndBlockStartIn(RollupResolution.DAY, dayBlocks)) {
+            Accumulator acc = buckets.computeIfAbsent(new ScopeMetric(row.getScope(), row.getMetric()), k -> new Accumulator());
+            for (LocalDate d = bucketStart; d.isBefore(bucketEnd); d = d.plusDays(1)) {
+                int i = RollupResolution.DAY.indexOf(d);
+                if (RollupResolution.DAY.blockStartOf(d).equals(row.getBlockStart()) && row.hasBucket(i)) {
+                    acc.add(row.getAvg(i), row.getMin(i), row.getMax(i), row.getLast(i), row.getSamples(i));
+                }
+            }
+        }
+
+        LocalDate block = target.blockStartOf(bucketStart);
+        int index = target.indexOf(bucketStart);
+        Map<SeriesKey, KbGovernanceMetricRollup> rows = load(target, Set.of(block));
+        buckets.forEach((key, acc) -> {
+            if (acc.samples == 0) {
+                return;
+            }
+            rows.computeIfAbsent(new SeriesKey(key.scope(), key.metric(), block),
+                            k -> new KbGovernanceMetricRollup(target, key.scope(), key.metric(), block))
+                    .setBucket(index, acc.avg(), acc.min, acc.max, acc.last, acc.samples);
+        });
+        rollupRepo.saveAll(rows.values());
+    }
+
+    // ======================
+    // LEITURA
+    // ======================
+
+    /**
+     * Séries das métricas no período, com no máximo maxPoints pontos cada.
+     *
+     * @param systemCode null/vazio = global
+     */
+    @Transactional(readOnly = true)
+    public Map<GovernanceMetric, MetricSeries> series(
+            String systemCode,
+            Collection<GovernanceMetric> metrics,
+            LocalDate from,
+            LocalDate to,
+            int maxPoints
+    ) {
+        String scope = scopeOf(systemCode);
+        int limit = clampPoints(maxPoints);
+        RollupResolution resolution = resolutionFor(from, to, limit);
+
+        LocalDate firstBucket = resolution.bucketStartOf(from);
+        Map<GovernanceMetric, List<MetricPoint>> points = new EnumMap<>(GovernanceMetric.class);
+        metrics.forEach(m -> points.put(m, new ArrayList<>()));
+
+        if (!metrics.isEmpty() && !to.isBefore(from)) {
+            List<KbGovernanceMetricRollup> rows = rollupRepo.findSeriesBlocks(resolution, scope, metrics,
+                    resolution.blockStartOf(firstBucket), resolution.blockStartOf(resolution.bucketStartOf(to)));
+            for (KbGovernanceMetricRollup row : rows) {
+                for (int i = 0; i < row.bucketCount(); i++) {
+                    if (!row.hasBucket(i)) {
+                        continue;
+                    }
+                    LocalDate bucket = resolution.bucketAt(row.getBlockStart(), i);
+                    if (bucket.isBefore(firstBucket) || bucket.isAfter(to)) {
+                        continue;
+                    }
+                    points.get(row.getMetric()).add(new MetricPoint(bucket,
+                            row.getAvg(i), row.getMin(i), row.getMax(i), row.getLast(i), row.getSamples(i)));
+                }
+            }
+        }
+
+        Map<GovernanceMetric, MetricSeries> result = new EnumMap<>(GovernanceMetric.class);
+        points.forEach((metric, list) -> {
+            list.sort(Comparator.comparing(MetricPoint::bucketStart));
+            result.put(metric, new MetricSeries(scope, metric, resolution, downsample(list, limit)));
+        });
+        return result;
+    }
+
+    /**
+     * Tendência no formato de snapshot (um por bucket, valores médios do bucket),
+     * do mais recente para o mais antigo.
+     */
+    @Transactional(readOnly = true)
+    public List<KbGovernanceSnapshot> trend(String systemCode, LocalDate from, LocalDate to, int maxPoints) {
+        Map<GovernanceMetric, MetricSeries> series =
+                series(systemCode, EnumSet.allOf(GovernanceMetric.class), from, to, maxPoints);
+
+        Map<LocalDate, KbGovernanceSnapshot> byBucket = new TreeMap<>(Comparator.reverseOrder());
+        String snapshotSystem = GLOBAL_SCOPE.equals(scopeOf(systemCode)) ? null : scopeOf(systemCode);
+        series.values().forEach(s -> s.points().forEach(p -> {
+            KbGovernanceSnapshot snapshot = byBucket.computeIfAbsent(p.bucketStart(), d -> {
+                var created = new KbGovernanceSnapshot();
+                created.setSnapshotDate(d);
+                created.setSystemCode(snapshotSystem);
+                return created;
+            });
+            apply(snapshot, s.metric(), p.avg());
+        }));
+        return new ArrayList<>(byBucket.values());
+    }
+
+    // ======================
+    // RETENÇÃO
+    // ======================
+
+    /**
+     * Consolida e aplica retenção (roda também no startup para o backfill inicial).
+     *
+     * 1. Rollups vazios → consolida todos os snapshots existentes
+     * 2. Snapshots brutos mais antigos que raw-retention-days: consolida e remove
+     * 3. Blocos DAY/WEEK expirados são removidos; MONTH nunca
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.governance.rollup.retention-cron:0 30 5 * * *}", zone = "America/Sao_Paulo")
+    @SchedulerLock(name = "governanceRollupRetention", lockAtMostFor = "PT30M")
+    @Transactional
+    public void maintain() {
+        LocalDate today = LocalDate.now();
+
+        if (rollupRepo.count() == 0) {
+            List<LocalDate> dates = snapshotRepo.findSnapshotDatesBefore(today.plusDays(1));
+            dates.forEach(this::recordDay);
+            if (!dates.isEmpty()) {
+                log.info("📈 Backfill de rollups: {} dias consolidados", dates.size());
+            }
+        }
+
+        LocalDate rawCutoff = today.minusDays(rawRetentionDays);
+        List<LocalDate> expired = snapshotRepo.findSnapshotDatesBefore(rawCutoff);
+        if (!expired.isEmpty()) {
+            expired.forEach(this::recordDay);
+            snapshotRepo.deleteBySnapshotDateBefore(rawCutoff);
+        }
+
+        int days = rollupRepo.deleteBlocksBefore(RollupResolution.DAY,
+                RollupResolution.DAY.blockStartOf(today.minusMonths(dayRetentionMonths)));
+        int weeks = rollupRepo.deleteBlocksBefore(RollupResolution.WEEK,
+                RollupResolution.WEEK.blockStartOf(today.minusYears(weekRetentionYears)));
+
+        log.info("📈 Retenção de métricas: {} dias brutos consolidados, {} blocos DAY e {} WEEK expirados",
+                expired.size(), days, weeks);
+    }
+
+    // ======================
+    // HELPERS
+    // ======================
+
+    static RollupResolution resolutionFor(LocalDate from, LocalDate to, int maxPoints) {
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        for (RollupResolution resolution : RollupResolution.values()) {
+            if (days / resolution.approxDays() <= maxPoints) {
+                return resolution;
+            }
+        }
+        return RollupResolution.MONTH;
+    }
+
+    /**
+     * Agrupa pontos vizinhos até caber no limite (bucket = início do grupo).
+     */
+    static List<MetricPoint> downsample(List<MetricPoint> points, int maxPoints) {
+        if (points.size() <= maxPoints) {
+            return points;
+        }
+        int groupSize = (points.size() + maxPoints - 1) / maxPoints;
+        List<MetricPoint> result = new ArrayList<>(maxPoints);
+        for (int start = 0; start < points.size(); start += groupSize) {
+            Accumulator acc = new Accumulator();
+            List<MetricPoint> group = points.subList(start, Math.min(start + groupSize, points.size()));
+            group.forEach(p -> acc.add(p.avg(), p.min(), p.max(), p.last(), p.samples()));
+            result.add(new MetricPoint(group.get(0).bucketStart(), acc.avg(), acc.min, acc.max, acc.last, acc.samples));
+        }
+        return result;
+    }
+
+    private Map<SeriesKey, KbGovernanceMetricRollup> load(RollupResolution resolution, Set<LocalDate> blocks) {
+        Map<SeriesKey, KbGovernanceMetricRollup> rows = new HashMap<>();
+        for (KbGovernanceMetricRollup row : rollupRepo.findByResolutionAndBlockStartIn(resolution, blocks)) {
+            rows.put(new SeriesKey(row.getScope(), row.getMetric(), row.getBlockStart()), row);
+        }
+        return rows;
+    }
+
+    private static String scopeOf(String systemCode) {
+        return systemCode == null || systemCode.isBlank() ? GLOBAL_SCOPE : systemCode.trim();
+    }
+
+    private static int clampPoints(int maxPoints) {
+        return Math.max(1, Math.min(maxPoints, MAX_POINTS_LIMIT));
+    }
+
+    private static void apply(KbGovernanceSnapshot snapshot, GovernanceMetric metric, double value) {
+        int rounded = (int) Math.round(value);
+        switch (metric) {
+            case TOTAL_ARTICLES -> snapshot.setTotalArticles(rounded);
+            case IA_READY_COUNT -> snapshot.setIaReadyCount(rounded);
+            case AVG_QUALITY_SCORE -> snapshot.setAvgQualityScore(value);
+            case EMPTY_COUNT -> snapshot.setEmptyCount(rounded);
+            case SHORT_COUNT -> snapshot.setShortCount(rounded);
+            case DUPLICATE_COUNT -> snapshot.setDuplicateCount(rounded);
+            case NO_STRUCTURE_COUNT -> snapshot.setNoStructureCount(rounded);
+            case OPEN_ISSUES_COUNT -> snapshot.setOpenIssuesCount(rounded);
+            case PENDING_ASSIGNMENTS -> snapshot.setPendingAssignments(rounded);
+            case COMPLETED_ASSIGNMENTS -> snapshot.setCompletedAssignments(rounded);
+            case IA_READY_PCT -> {
+                // derivado de iaReady/total no snapshot
+            }
+        }
+    }
+
+    private record SeriesKey(String scope, GovernanceMetric metric, LocalDate blockStart) {
+    }
+
+    private record ScopeMetric(String scope, GovernanceMetric metric) {
+    }
+
+    /**
+     * Agregado de buckets em ordem cronológica (média ponderada por amostras).
+     */
+    private static final class Accumulator {
+        private double sum;
+        private int samples;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+        private double last;
+
+        void add(double avg, double bucketMin, double bucketMax, double bucketLast, int bucketSamples) {
+            sum += avg * bucketSamples;
+            samples += bucketSamples;
+            min = Math.min(min, bucketMin);
+            max = Math.max(max, bucketMax);
+            last = bucketLast;
+        }
+
+        double avg() {
+            return samples == 0 ? 0.0 : sum / samples;
+        }
+    }
+}
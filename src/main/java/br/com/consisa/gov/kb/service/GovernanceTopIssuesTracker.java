@@ -0,0 +1,367 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.cache.DataDomain;
+import br.com.consisa.gov.kb.cache.DataVersionService;
+import br.com.consisa.gov.kb.controller.api.dto.GovernanceManagementDashboardResponse.TopPriorityIssue;
+import br.com.consisa.gov.kb.domain.GovernancePriorityLevel;
+import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
+import br.com.consisa.gov.kb.util.DateTimeUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 🔥 Top-K de issues críticas mantido incrementalmente.
+ *
+ * ESTRUTURA:
+ * ----------
+ * - Um heap limitado (min-heap por prioridade) por escopo: global + cada sistema
+ * - Cada heap guarda até 2×K itens; a folga evita recarga a cada issue resolvida
+ * - Fila de "vencimentos": issues que viram CRITICAL quando o SLA estourar
+ *   (só as que vencem antes da próxima re-pontuação completa)
+ *
+ * ATUALIZAÇÃO:
+ * ------------
+ * - {@link GovernanceIssueChangedEvent}: remove/reinsere a issue (O(K))
+ * - Tick agendado: promove issues cujo SLA venceu (sem varrer a tabela)
+ * - Re-pontuação completa periódica: reconstrói os heaps em O(n log K);
+ *   também roda quando um heap esvaziou abaixo de K e havia itens descartados
+ *
+ * Leitura: lista pronta (imutável) por escopo, sem lock e sem query.
+ */
+@Service
+public class GovernanceTopIssuesTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(GovernanceTopIssuesTracker.class);
+
+    public static final String GLOBAL_SCOPE = "*";
+    public static final int DEFAULT_LIMIT = 10;
+    private static final int CAPACITY = DEFAULT_LIMIT * 2;
+
+    /**
+     * Ordem de exibição: maior score primeiro; empate → SLA mais antigo → menor id.
+     */
+    static final Comparator<TopPriorityIssue> RANK = Comparator
+            .comparingInt(TopPriorityIssue::priorityScore).reversed()
+            .thenComparing(TopPriorityIssue::slaDueAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TopPriorityIssue::id, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final KbGovernanceIssueRepository issueRepository;
+    private final KbArticleRepository articleRepository;
+    private final GovernanceIssuePriorityService priorityService;
+    private final DataVersionService dataVersions;
+    private final Duration rescoreInterval;
+
+    private final Object lock = new Object();
+    private final BoundedTopK global = new BoundedTopK();
+    private final Map<String, BoundedTopK> bySystem = new HashMap<>();
+    private final PriorityQueue<Candidate> pendingSla = new PriorityQueue<>(Comparator.comparing(Candidate::criticalAt));
+    private final Map<Long, Candidate> pendingById = new HashMap<>();
+
+    private volatile Map<String, List<TopPriorityIssue>> published;
+    private volatile boolean dirty;
+    private OffsetDateTime lastRescoreAt;
+
+    public GovernanceTopIssuesTracker(
+            KbGovernanceIssueRepository issueRepository,
+            KbArticleRepository articleRepository,
+            GovernanceIssuePriorityService priorityService,
+            DataVersionService dataVersions,
+            @Value("${app.governance.top-issues.rescore-interval-minutes:15}") long rescoreIntervalMinutes
+    ) {
+        this.issueRepository = issueRepository;
+        this.articleRepository = articleRepository;
+        this.priorityService = priorityService;
+        this.dataVersions = dataVersions;
+        this.rescoreInterval = Duration.ofMinutes(Math.max(1, rescoreIntervalMinutes));
+    }
+
+    // ======================
+    // Leitura
+    // ======================
+
+    /**
+     * Top críticas globais (até {@link #DEFAULT_LIMIT}).
+     */
+    public List<TopPriorityIssue> topCritical() {
+        return topCritical(null);
+    }
+
+    /**
+     * Top críticas de um sistema (null/vazio = global).
+     */
+    public List<TopPriorityIssue> topCritical(String systemCode) {
+        Map<String, List<TopPriorityIssue>> snapshot = published;
+        if (snapshot == null) {
+            synchronized (lock) {
+                if (published == null) {
+                    rescore();
+                }
+                snapshot = published;
+            }
+        }
+        String scope = systemCode == null || systemCode.isBlank() ? GLOBAL_SCOPE : systemCode.trim().toUpperCase();
+        return snapshot.getOrDefault(scope, List.of());
+    }
+
+    // ======================
+    // Delta (eventos)
+    // ======================
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIssueChanged(GovernanceIssueChangedEvent event) {
+        if (event == null || event.issueId() == null || !event.hasChanges() || published == null) {
+            return;
+        }
+        try {
+            GovernanceIssueChangedEvent.IssueState after = event.after();
+            var systemRef = after != null && after.isOpen() && event.articleId() != null
+                    ? articleRepository.findActiveSystemRef(event.articleId()).orElse(null)
+                    : null;
+            OffsetDateTime now = DateTimeUtils.nowSaoPaulo();
+
+            synchronized (lock) {
+                remove(event.issueId());
+                if (systemRef != null) {
+                    track(new Candidate(
+                            event.issueId(),
+                            after.issueType() != null ? after.issueType().name() : null,
+                            after.severity() != null ? after.severity().name() : null,
+                            after.status() != null ? after.status().name() : null,
+                            systemRef.getSystemCode(),
+                            systemRef.getSystemName(),
+                            after.slaDueAt(),
+                            null
+                    ), now);
+                }
+                publish();
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ Falha ao atualizar top críticas (issueId={}): {}", event.issueId(), e.getMessage());
+            dirty = true;
+        }
+    }
+
+    // ======================
+    // Agendamento
+    // ======================
+
+    /**
+     * Promove issues cujo SLA venceu e, quando necessário, re-pontua tudo.
+     */
+    @Scheduled(
+            fixedDelayString = "${app.governance.top-issues.tick-ms:60000}",
+            initialDelayString = "${app.governance.top-issues.tick-ms:60000}"
+    )
+    public void tick() {
+        if (published == null) {
+            return;
+        }
+        try {
+            OffsetDateTime now = DateTimeUtils.nowSaoPaulo();
+            synchronized (lock) {
+                if (dirty || lastRescoreAt == null || !lastRescoreAt.plus(rescoreInterval).isAfter(now)) {
+                    rescore();
+                    return;
+                }
+                if (promoteDue(now) > 0) {
+                    publish();
+                }
+            }
+        } catch (Exception e) {
+            log.error("❌ Erro ao atualizar top críticas: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reconstrói os heaps a partir das issues abertas (O(n log K)).
+     */
+    public void rescore() {
+        long started = System.currentTimeMillis();
+        OffsetDateTime now = DateTimeUtils.nowSaoPaulo();
+
+        synchronized (lock) {
+            dirty = false;
+            global.clear();
+            bySystem.clear();
+            pendingSla.clear();
+            pendingById.clear();
+            lastRescoreAt = now;
+
+            // artigo sem sistema: mesmo escopo do delta (findActiveSystemRef → UNCLASSIFIED)
+            issueRepository.listOpenIssueRows().forEach(row -> track(new Candidate(
+                    row.getId(),
+                    row.getIssueType(),
+                    row.getSeverity(),
+                    row.getStatus(),
+                    row.getSystemCode() != null ? row.getSystemCode() : GovernanceMetricsSnapshot.UNCLASSIFIED_CODE,
+                    row.getSystemName() != null ? row.getSystemName() : GovernanceMetricsSnapshot.UNCLASSIFIED_NAME,
+                    DateTimeUtils.toOffsetDateTimeOrNull(row.getSlaDueAt()),
+                    null
+            ), now));
+
+            publish();
+        }
+
+        log.info("🔥 Top críticas re-pontuadas em {}ms (globais={} pendentesSla={})",
+                System.currentTimeMillis() - started, global.size(), pendingSla.size());
+    }
+
+    // ======================
+    // Internos (sempre sob lock)
+    // ======================
+
+    private void track(Candidate candidate, OffsetDateTime now) {
+        var assessment = priorityService.assess(
+                candidate.severity(), candidate.issueType(), candidate.status(), candidate.slaDueAt(), now);
+
+        if (assessment.level() == GovernancePriorityLevel.CRITICAL) {
+            TopPriorityIssue item = candidate.toItem(assessment.score(), now);
+            global.offer(item);
+            if (candidate.systemCode() != null) {
+                bySystem.computeIfAbsent(candidate.systemCode().toUpperCase(), key -> new BoundedTopK()).offer(item);
+            }
+            return;
+        }
+
+        // Ainda não é crítica: vira quando o SLA vencer? Só interessa se for antes da próxima re-pontuação.
+        OffsetDateTime slaDueAt = candidate.slaDueAt();
+        if (slaDueAt == null || lastRescoreAt == null || slaDueAt.isAfter(lastRescoreAt.plus(rescoreInterval))) {
+            return;
+        }
+        var afterDue = priorityService.assess(
+                candidate.severity(), candidate.issueType(), candidate.status(), slaDueAt, slaDueAt.plusSeconds(1));
+        if (afterDue.level() == GovernancePriorityLevel.CRITICAL) {
+            Candidate pending = candidate.withCriticalAt(slaDueAt);
+            pendingSla.add(pending);
+            pendingById.put(pending.id(), pending);
+        }
+    }
+
+    private void remove(Long issueId) {
+        if (global.remove(issueId) && global.needsRefill()) {
+            dirty = true;
+        }
+        for (BoundedTopK heap : bySystem.values()) {
+            if (heap.remove(issueId) && heap.needsRefill()) {
+                dirty = true;
+            }
+        }
+        Candidate pending = pendingById.remove(issueId);
+        if (pending != null) {
+            pendingSla.remove(pending);
+        }
+    }
+
+    private int promoteDue(OffsetDateTime now) {
+        int promoted = 0;
+        while (!pendingSla.isEmpty() && !pendingSla.peek().criticalAt().isAfter(now)) {
+            Candidate candidate = pendingSla.poll();
+            pendingById.remove(candidate.id());
+            track(candidate.withCriticalAt(null), now);
+            promoted++;
+        }
+        return promoted;
+    }
+
+    private void publish() {
+        Map<String, List<TopPriorityIssue>> next = new HashMap<>();
+        next.put(GLOBAL_SCOPE, global.top(DEFAULT_LIMIT));
+        bySystem.forEach((code, heap) -> {
+            if (heap.size() > 0) {
+                next.put(code, heap.top(DEFAULT_LIMIT));
+            }
+        });
+        published = Map.copyOf(next);
+        dataVersions.bump(DataDomain.TOP_ISSUES);
+    }
+
+    /**
+     * Dados mínimos para avaliar e exibir uma issue.
+     */
+    private record Candidate(
+            Long id,
+            String issueType,
+            String severity,
+            String status,
+            String systemCode,
+            String systemName,
+            OffsetDateTime slaDueAt,
+            OffsetDateTime criticalAt
+    ) {
+        Candidate withCriticalAt(OffsetDateTime value) {
+            return new Candidate(id, issueType, severity, status, systemCode, systemName, slaDueAt, value);
+        }
+
+        TopPriorityIssue toItem(int score, OffsetDateTime now) {
+            return new TopPriorityIssue(
+                    id,
+                    issueType,
+                    severity,
+                    status,
+                    systemCode,
+                    systemName,
+                    slaDueAt,
+                    slaDueAt != null && slaDueAt.isBefore(now),
+                    score,
+                    GovernancePriorityLevel.CRITICAL.name()
+            );
+        }
+    }
+
+    /**
+     * Heap limitado: a cabeça é o PIOR item, descartado quando passa da capacidade.
+     */
+    static final class BoundedTopK {
+
+        private final PriorityQueue<TopPriorityIssue> heap = new PriorityQueue<>(RANK.reversed());
+        private boolean truncated;
+
+        void offer(TopPriorityIssue item) {
+            heap.add(item);
+            if (heap.size() > CAPACITY) {
+                heap.poll();
+                truncated = true;
+            }
+        }
+
+        boolean remove(Long issueId) {
+            return heap.removeIf(item -> item.id().equals(issueId));
+        }
+
+        /**
+         * Houve descarte e o heap ficou com menos de K: itens fora do heap podem ter subido.
+         */
+        boolean needsRefill() {
+            return truncated && heap.size() < DEFAULT_LIMIT;
+        }
+
+        int size() {
+            return heap.size();
+        }
+
+        void clear() {
+            heap.clear();
+            truncated = false;
+        }
+
+        List<TopPriorityIssue> top(int limit) {
+            List<TopPriorityIssue> items = new ArrayList<>(heap);
+            items.sort(RANK);
+            return List.copyOf(items.subList(0, Math.min(limit, items.size())));
+        }
+    }
+}
@@ -5,6 +5,7 @@ import br.com.consisa.gov.kb.client.movidesk.MovideskMenuDto;
 import br.com.consisa.gov.kb.domain.KbArticle;
 import br.com.consisa.gov.kb.domain.KbSyncIssueType;
 import br.com.consisa.gov.kb.domain.KbSystem;
+import br.com.consisa.gov.kb.repository.projection.ArticleRevision;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -60,6 +61,27 @@ public class KbArticleClassificationService {
         this.systemService = systemService;
     }
 
+    /**
+     * O menu do search item difere da classificação salva?
+     *
+     * Usado no artigo inalterado (mesma revisão): só vale carregar, reclassificar
+     * e regravar a entidade quando o artigo mudou de menu no Movidesk (ou nunca
+     * foi classificado). Mesma regra de {@link #classifyFromSearchItem}: menu
+     * ausente no search não sobrescreve o salvo.
+     */
+    public boolean needsReclassification(ArticleRevision stored, MovideskArticleSearchItemDto searchItem) {
+        if (searchItem == null) {
+            return false;
+        }
+        if (stored == null || stored.systemId() == null) {
+            return true;
+        }
+        Long menuId = extractMenuId(searchItem.getMenu());
+        String menuName = extractMenuName(searchItem.getMenu());
+        return (menuId != null && !menuId.equals(stored.sourceMenuId()))
+                || (menuName != null && !menuName.isBlank() && !menuName.equals(stored.sourceMenuName()));
+    }
+
     /**
      * Classifica artigo usando menu do search item.
      *
@@ -1,12 +1,18 @@
 package br.com.consisa.gov.kb.service;
 
+import br.com.consisa.gov.kb.cache.DataDomain;
+import br.com.consisa.gov.kb.cache.DataVersionService;
 import br.com.consisa.gov.kb.client.movidesk.MovideskArticleDto;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleFetch;
 import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
 import br.com.consisa.gov.kb.domain.GovernanceSeverity;
 import br.com.consisa.gov.kb.domain.KbArticle;
 import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
 import br.com.consisa.gov.kb.domain.KbSyncIssueType;
+import br.com.consisa.gov.kb.observability.KbTracing;
+import br.com.consisa.gov.kb.observability.jfr.ArticleSyncEvent;
 import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.repository.projection.ArticleRevision;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -42,6 +48,7 @@ import java.util.List;
  * - Chamado pelo DELTA sync
  * - Chamado pelo FULL sync (via loop)
  * - Endpoint manual: POST /kb/articles/{id}/sync
+ * - DELTA/FULL usam syncIfChanged (pula artigos inalterados)
  *
  * FLUXO:
  * ------
@@ -64,6 +71,23 @@ public class KbArticleSyncService {
     private static final String SYNC_OK = "OK";
     private static final String SYNC_NOT_FOUND = "NOT_FOUND";
     private static final String SYNC_ERROR = "ERROR";
+    // só no evento JFR: no banco fica sync_status OK / sync_state UNCHANGED
+    private static final String SYNC_UNCHANGED = "UNCHANGED";
+
+    /**
+     * Resultado do sync condicional.
+     *
+     * @param article   entidade salva (null se inalterado, 404 ou erro; quem
+     *                  reclassifica o inalterado carrega a entidade à parte)
+     * @param unchanged true = artigo não mudou, nada foi baixado/regravado
+     * @param stored    versão salva lida no check (só no inalterado)
+     */
+    public record ConditionalSyncResult(KbArticle article, boolean unchanged, ArticleRevision stored) {
+
+        public ConditionalSyncResult(KbArticle article, boolean unchanged) {
+            this(article, unchanged, null);
+        }
+    }
 
     // Dependencies (injeção)
     private final MovideskClient movideskClient;
@@ -74,6 +98,8 @@ public class KbArticleSyncService {
     private final KbArticleHashService hashService;
     private final KbSystemService systemService;
     private final KbGovernanceIssueService governanceIssueService;
+    private final KbTracing tracing;
+    private final DataVersionService dataVersions;
 
     public KbArticleSyncService(
             MovideskClient movideskClient,
@@ -83,7 +109,9 @@ public class KbArticleSyncService {
             KbSyncIssueService issueService,
             KbArticleHashService hashService,
             KbSystemService systemService,
-            KbGovernanceIssueService governanceIssueService
+            KbGovernanceIssueService governanceIssueService,
+            KbTracing tracing,
+            DataVersionService dataVersions
     ) {
         this.movideskClient = movideskClient;
         this.repository = repository;
@@ -93,6 +121,8 @@ public class KbArticleSyncService {
         this.hashService = hashService;
         this.systemService = systemService;
         this.governanceIssueService = governanceIssueService;
+        this.tracing = tracing;
+        this.dataVersions = dataVersions;
     }
 
     /**
@@ -107,20 +137,110 @@ public class KbArticleSyncService {
      */
     @Transactional
     public KbArticle sync(long articleId) {
-        // ===========================
-        // 1) Busca artigo via HTTP
-        // ===========================
+        // evento JFR e span envolvem HTTP, mapeamento, detectores e issues do artigo
+        ArticleSyncEvent event = new ArticleSyncEvent();
+        event.begin();
+        event.articleId = articleId;
+        event.status = SYNC_ERROR;
+        try {
+            return tracing.syncArticle(articleId, () -> sync(articleId, event));
+        } finally {
+            event.commit();
+        }
+    }
 
-        MovideskArticleDto dto;
+    /**
+     * Sync condicional (DELTA / FULL): só baixa, mapeia, calcula hash e salva
+     * o artigo se ele mudou desde o último sync.
+     *
+     * COMO FUNCIONA:
+     * --------------
+     * 1. Artigo novo (não está no banco) → sync normal
+     * 2. revisionId da busca paginada igual ao salvo → inalterado, sem HTTP
+     * 3. GET condicional (If-None-Match com o ETag salvo, If-Modified-Since
+     *    com o updatedDate) → 304 = inalterado, corpo não é baixado
+     * 4. 200 com o mesmo revisionId (API ignorou os headers) → inalterado,
+     *    sem mapeamento/hash/save
+     * 5. Mudou → mesmo fluxo do sync(articleId)
+     *
+     * Inalterado só atualiza lastSeenAt/syncState/ETag (update direto).
+     *
+     * @param listedRevisionId revisionId vindo da busca paginada (null = desconhecido)
+     */
+    @Transactional
+    public ConditionalSyncResult syncIfChanged(long articleId, Long listedRevisionId) {
+        ArticleSyncEvent event = new ArticleSyncEvent();
+        event.begin();
+        event.articleId = articleId;
+        event.status = SYNC_ERROR;
+        try {
+            return tracing.syncArticle(articleId, () -> syncIfChanged(articleId, listedRevisionId, event));
+        } finally {
+            event.commit();
+        }
+    }
 
+    private ConditionalSyncResult syncIfChanged(long articleId, Long listedRevisionId, ArticleSyncEvent event) {
+        ArticleRevision known = repository.findRevisionById(articleId).orElse(null);
+        if (known == null) {
+            return new ConditionalSyncResult(sync(articleId, event), false);
+        }
+
+        if (listedRevisionId != null && listedRevisionId.equals(known.revisionId())) {
+            return unchanged(known, null, event);
+        }
+
+        // revisão da busca já diz que mudou: validadores só gastariam um round-trip
+        boolean conditional = listedRevisionId == null;
+        MovideskArticleFetch fetch = fetch(articleId,
+                conditional ? known.sourceEtag() : null,
+                conditional ? known.updatedDate() : null,
+                event);
+        if (fetch == null) {
+            return new ConditionalSyncResult(null, false);
+        }
+        if (fetch.notModified()) {
+            return unchanged(known, fetch.etag(), event);
+        }
+
+        Long incomingRevisionId = fetch.article().getRevisionId();
+        if (incomingRevisionId != null && incomingRevisionId.equals(known.revisionId())) {
+            return unchanged(known, fetch.etag(), event);
+        }
+
+        return new ConditionalSyncResult(persist(articleId, fetch, event), false);
+    }
+
+    private ConditionalSyncResult unchanged(ArticleRevision known, String etag, ArticleSyncEvent event) {
+        long articleId = known.id();
+        // update em massa (JPQL) não passa pelo entity listener: bump manual
+        if (repository.markUnchanged(articleId, OffsetDateTime.now(ZoneOffset.UTC), etag) > 0) {
+            dataVersions.bumpAfterCommit(DataDomain.ARTICLES);
+        }
+        event.status = SYNC_UNCHANGED;
+        log.debug("⏭️ Artigo inalterado. id={}", articleId);
+        return new ConditionalSyncResult(null, true, known);
+    }
+
+    private KbArticle sync(long articleId, ArticleSyncEvent event) {
+        MovideskArticleFetch fetch = fetch(articleId, null, null, event);
+        return fetch == null ? null : persist(articleId, fetch, event);
+    }
+
+    /**
+     * Busca o artigo via HTTP; 404 e erros já viram issue (retorna null).
+     */
+    private MovideskArticleFetch fetch(long articleId, String etag, OffsetDateTime lastModified,
+                                       ArticleSyncEvent event) {
         try {
             log.debug("🔄 Sync artigo id={}", articleId);
-            dto = movideskClient.getArticleById(articleId);
+            return movideskClient.getArticleIfModified(articleId, etag, lastModified);
 
         } catch (HttpClientErrorException.NotFound ex) {
             // 404: artigo foi deletado ou nunca existiu
             log.warn("⚠️ Movidesk 404 (Article was not found). id={}", articleId);
             handleNotFound(articleId);
+            event.status = SYNC_NOT_FOUND;
             return null;
 
         } catch (Exception ex) {
@@ -129,6 +249,10 @@ public class KbArticleSyncService {
             handleError(articleId, ex);
             return null;
         }
+    }
+
+    private KbArticle persist(long articleId, MovideskArticleFetch fetch, ArticleSyncEvent event) {
+        MovideskArticleDto dto = fetch.article();
 
         // ===========================
         // 2) Validação básica
@@ -166,6 +290,7 @@ public class KbArticleSyncService {
 
         entity.setSyncStatus(SYNC_OK);
         entity.setSyncErrorMessage(null);
+        entity.setSourceEtag(fetch.etag());
 
         // marca como "visto" (usado no DELTA)
         entity.setLastSeenAt(OffsetDateTime.now(ZoneOffset.UTC));
@@ -176,6 +301,8 @@ public class KbArticleSyncService {
         // ===========================
 
         KbArticle saved = repository.save(entity);
+        event.status = SYNC_OK;
+        event.contentLength = length(saved.getContentHtml()) + length(saved.getContentText());
 
         governanceIssueService.open(
                 saved.getId(),
@@ -293,6 +420,10 @@ public class KbArticleSyncService {
         }
     }
 
+    private static int length(String s) {
+        return s == null ? 0 : s.length();
+    }
+
     /**
      * Trunca string para evitar overflow no banco.
      */
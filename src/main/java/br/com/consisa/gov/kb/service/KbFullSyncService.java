@@ -4,9 +4,14 @@ import br.com.consisa.gov.kb.client.movidesk.MovideskArticleSearchItemDto;
 import br.com.consisa.gov.kb.client.movidesk.MovideskArticleSearchResponse;
 import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
 import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.domain.SyncMode;
+import br.com.consisa.gov.kb.observability.KbMetrics;
 import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -42,6 +47,8 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - pageSize: 30-100 (recomendado: 50)
  * - batchSize: quantos artigos processar antes de commit
  * - parallelism: 1 (sequencial) ou mais (paralelo)
+ * - app.sync.full.skip-unchanged: pula artigos com a mesma revisão
+ *   (false = rebaixa tudo, ex.: validação de integridade)
  */
 @Service
 public class KbFullSyncService {
@@ -57,6 +64,9 @@ public class KbFullSyncService {
     private final KbArticleRepository repository;
     private final KbArticleSyncService syncService;
     private final KbArticleClassificationService classificationService;
+    private final SyncProgressBroadcaster progress;
+    private final KbMetrics metrics;
+    private final boolean skipUnchanged;
 
     // Métricas em tempo real
     private final AtomicInteger totalProcessed = new AtomicInteger(0);
@@ -68,12 +78,18 @@ public class KbFullSyncService {
             MovideskClient movideskClient,
             KbArticleRepository repository,
             KbArticleSyncService syncService,
-            KbArticleClassificationService classificationService
+            KbArticleClassificationService classificationService,
+            SyncProgressBroadcaster progress,
+            KbMetrics metrics,
+            @Value("${app.sync.full.skip-unchanged:true}") boolean skipUnchanged
     ) {
         this.movideskClient = movideskClient;
         this.repository = repository;
         this.syncService = syncService;
         this.classificationService = classificationService;
+        this.progress = progress;
+        this.metrics = metrics;
+        this.skipUnchanged = skipUnchanged;
     }
 
     // ======================
@@ -117,6 +133,7 @@ public class KbFullSyncService {
                 if (totalSize == null) {
                     totalSize = resp.getTotalSize();
                     log.info("📊 Total de artigos no Movidesk: {}", totalSize);
+                    progress.totalKnown(totalSize);
                 }
 
                 var items = resp.getItems();
@@ -127,6 +144,7 @@ public class KbFullSyncService {
                 }
 
                 log.info("📄 Processando página {} ({} artigos)...", page, items.size());
+                long pageStarted = System.currentTimeMillis();
 
                 // Processa página (batch ou paralelo)
                 List<SyncError> pageErrors = parallel
@@ -134,6 +152,9 @@ public class KbFullSyncService {
                         : processPageSequential(items, safeBatchSize);
 
                 errors.addAll(pageErrors);
+                long pageMs = System.currentTimeMillis() - pageStarted;
+                progress.pageCompleted(page, items.size(), pageMs);
+                metrics.syncPage(SyncMode.FULL, pageMs);
 
                 // Progresso em tempo real
                 logProgress(totalSize, page, safePageSize);
@@ -150,6 +171,7 @@ public class KbFullSyncService {
                 log.error("❌ FULL SYNC: falha na página {}. Encerrando. motivo={}",
                         page, ex.toString(), ex);
                 errors.add(new SyncError(null, page, ex.getMessage()));
+                progress.error(null, page, ex.getMessage());
                 break;
             }
         }
@@ -172,25 +194,45 @@ public class KbFullSyncService {
             if (item == null || item.getId() == null) continue;
 
             try {
-                KbArticle article = processItem(item);
+                KbArticleSyncService.ConditionalSyncResult result = processItem(item);
+                KbArticle article = result.article();
 
-                if (article != null) {
+                if (result.unchanged()) {
+                    if (article != null) {
+                        // só a classificação pode ter mudado
+                        batch.add(article);
+                    }
+                    totalSucceeded.incrementAndGet();
+                    progress.itemSucceeded();
+                    metrics.syncArticle(SyncMode.FULL, "unchanged");
+                    if (batch.size() >= batchSize) {
+                        repository.saveAll(batch);
+                        batch.clear();
+                    }
+                } else if (article != null) {
                     batch.add(article);
                     totalSucceeded.incrementAndGet();
+                    progress.itemSucceeded();
+                    metrics.syncArticle(SyncMode.FULL, "success");
 
                     // Commit batch
                     if (batch.size() >= batchSize) {
                         repository.saveAll(batch);
                         batch.clear();
                     }
+                } else {
+                    metrics.syncArticle(SyncMode.FULL, "not_found");
                 }
 
             } catch (Exception e) {
                 log.warn("⚠️ Erro ao processar artigo id={}: {}", item.getId(), e.getMessage());
                 errors.add(new SyncError(item.getId(), null, e.getMessage()));
                 totalFailed.incrementAndGet();
+                progress.itemFailed(item.getId(), null, e.getMessage());
+                metrics.syncArticle(SyncMode.FULL, "failed");
             } finally {
                 totalProcessed.incrementAndGet();
+                progress.itemProcessed();
             }
         }
 
@@ -211,7 +253,9 @@ public class KbFullSyncService {
         List<SyncError> errors = new CopyOnWriteArrayList<>();
 
         int threads = Math.min(4, Runtime.getRuntime().availableProcessors());
-        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // propaga trace/span (e MDC via tracing) para as threads do pool
+        ExecutorService executor = ContextExecutorService.wrap(
+                Executors.newFixedThreadPool(threads), ContextSnapshotFactory.builder().build()::captureAll);
 
         List<Future<KbArticle>> futures = new ArrayList<>();
 
@@ -220,9 +264,18 @@ public class KbFullSyncService {
 
             Future<KbArticle> future = executor.submit(() -> {
                 try {
-                    KbArticle article = processItem(item);
-                    if (article != null) {
+                    KbArticleSyncService.ConditionalSyncResult result = processItem(item);
+                    KbArticle article = result.article();
+                    if (result.unchanged()) {
                         totalSucceeded.incrementAndGet();
+                        progress.itemSucceeded();
+                        metrics.syncArticle(SyncMode.FULL, "unchanged");
+                    } else if (article != null) {
+                        totalSucceeded.incrementAndGet();
+                        progress.itemSucceeded();
+                        metrics.syncArticle(SyncMode.FULL, "success");
+                    } else {
+                        metrics.syncArticle(SyncMode.FULL, "not_found");
                     }
                     return article;
 
@@ -230,10 +283,13 @@ public class KbFullSyncService {
                     log.warn("⚠️ Erro ao processar artigo id={}: {}", item.getId(), e.getMessage());
                     errors.add(new SyncError(item.getId(), null, e.getMessage()));
                     totalFailed.incrementAndGet();
+                    progress.itemFailed(item.getId(), null, e.getMessage());
+                    metrics.syncArticle(SyncMode.FULL, "failed");
                     return null;
 
                 } finally {
                     totalProcessed.incrementAndGet();
+                    progress.itemProcessed();
                 }
             });
 
@@ -266,22 +322,52 @@ public class KbFullSyncService {
 
     /**
      * Processa um item individual.
+     *
+     * Com skipUnchanged, o revisionId da busca é comparado com o salvo antes
+     * de baixar o artigo (inalterado = nenhum GET /article/{id}). O inalterado
+     * só é carregado e reclassificado se o menu da busca difere do salvo
+     * (artigo movido de menu não muda de revisão); aí volta com a entidade
+     * para o batch.
      */
-    private KbArticle processItem(MovideskArticleSearchItemDto item) {
+    private KbArticleSyncService.ConditionalSyncResult processItem(MovideskArticleSearchItemDto item) {
         Long id = item.getId();
 
-        // 1) sync individual (baixa artigo completo)
-        KbArticle article = syncService.sync(id);
+        // 1) sync individual (baixa artigo completo só se mudou)
+        KbArticleSyncService.ConditionalSyncResult result = skipUnchanged
+                ? syncService.syncIfChanged(id, parseRevisionId(item.getRevisionId()))
+                : new KbArticleSyncService.ConditionalSyncResult(syncService.sync(id), false);
+        KbArticle article = result.article();
+        if (result.unchanged()) {
+            if (!classificationService.needsReclassification(result.stored(), item)) {
+                // nada mudou, nem o menu: nenhuma leitura/escrita além do check
+                return result;
+            }
+            article = repository.findById(id).orElse(null);
+        }
 
         if (article == null) {
-            log.debug("⚠️ Sync retornou null. id={}", id);
-            return null;
+            if (!result.unchanged()) {
+                log.debug("⚠️ Sync retornou null. id={}", id);
+            }
+            return result;
         }
 
         // 2) classifica usando menu do search
         classificationService.classifyFromSearchItem(article, item);
 
-        return article;
+        return new KbArticleSyncService.ConditionalSyncResult(article, result.unchanged());
+    }
+
+    /**
+     * revisionId da busca vem como string; não numérico = desconhecido.
+     */
+    private static Long parseRevisionId(String revisionId) {
+        if (revisionId == null || revisionId.isBlank()) return null;
+        try {
+            return Long.parseLong(revisionId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 
     // ======================
@@ -305,8 +391,8 @@ public class KbFullSyncService {
             Duration elapsed = Duration.between(syncStartTime, OffsetDateTime.now());
             long avgMs = processed > 0 ? elapsed.toMillis() / processed : 0;
 
-            log.info("📊 Progresso: {}/{} ({:.1f}%) | ✅ {} | ❌ {} | ⏱️ {}ms/artigo",
-                    processed, totalSize, percentage, succeeded, failed, avgMs);
+            log.info("📊 Progresso: {}/{} ({}%) | ✅ {} | ❌ {} | ⏱️ {}ms/artigo",
+                    processed, totalSize, String.format("%.1f", percentage), succeeded, failed, avgMs);
         } else {
             log.info("📊 Página {}: processados={} | ✅ {} | ❌ {}",
                     currentPage, processed, succeeded, failed);
@@ -329,8 +415,9 @@ public class KbFullSyncService {
             result.successRate = (result.succeeded * 100.0) / result.processed;
         }
 
-        log.info("🏁 FULL SYNC finalizado. processed={} succeeded={} failed={} duration={}ms successRate={:.1f}%",
-                result.processed, result.succeeded, result.failed, result.durationMs, result.successRate);
+        log.info("🏁 FULL SYNC finalizado. processed={} succeeded={} failed={} duration={}ms successRate={}%",
+                result.processed, result.succeeded, result.failed, result.durationMs,
+                String.format("%.1f", result.successRate));
 
         return result;
     }
@@ -5,10 +5,13 @@ import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
 import br.com.consisa.gov.kb.domain.GovernanceSeverity;
 import br.com.consisa.gov.kb.domain.KbGovernanceIssue;
 import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.observability.jfr.GovernanceIssueOpenEvent;
 import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
 import br.com.consisa.gov.kb.util.DateTimeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,15 +26,21 @@ public class KbGovernanceIssueService {
     private final KbGovernanceIssueRepository repo;
     private final GovernanceSlaService slaService;
     private final KbGovernanceIssueHistoryService historyService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KbMetrics metrics;
 
     public KbGovernanceIssueService(
             KbGovernanceIssueRepository repo,
             GovernanceSlaService slaService,
-            KbGovernanceIssueHistoryService historyService
+            KbGovernanceIssueHistoryService historyService,
+            ApplicationEventPublisher eventPublisher,
+            KbMetrics metrics
     ) {
         this.repo = repo;
         this.slaService = slaService;
         this.historyService = historyService;
+        this.eventPublisher = eventPublisher;
+        this.metrics = metrics;
     }
 
     @Transactional
@@ -40,6 +49,23 @@ public class KbGovernanceIssueService {
                                   GovernanceSeverity severity,
                                   String message,
                                   JsonNode evidence) {
+        GovernanceIssueOpenEvent event = new GovernanceIssueOpenEvent();
+        event.begin();
+        event.articleId = articleId == null ? 0 : articleId;
+        event.issueType = type == null ? null : type.name();
+        try {
+            return open(articleId, type, severity, message, evidence, event);
+        } finally {
+            event.commit();
+        }
+    }
+
+    private KbGovernanceIssue open(Long articleId,
+                                   KbGovernanceIssueType type,
+                                   GovernanceSeverity severity,
+                                   String message,
+                                   JsonNode evidence,
+                                   GovernanceIssueOpenEvent event) {
 
         var existing = repo.findTop1ByArticleIdAndIssueTypeOrderByCreatedAtDesc(articleId, type);
 
@@ -47,6 +73,7 @@ public class KbGovernanceIssueService {
         boolean isNew = issue.getId() == null;
         GovernanceIssueStatus previousStatus = issue.getStatus();
         KbGovernanceIssue beforeChange = snapshot(issue);
+        var stateBefore = isNew ? null : GovernanceIssueChangedEvent.IssueState.of(issue);
         issue.setArticleId(articleId);
         issue.setIssueType(type);
         if (previousStatus == GovernanceIssueStatus.RESOLVED || previousStatus == GovernanceIssueStatus.IGNORED) {
@@ -68,9 +95,21 @@ public class KbGovernanceIssueService {
         KbGovernanceIssue saved = repo.save(issue);
         if (isNew) {
             historyService.recordCreated(saved, "system");
+            metrics.governanceIssue(type, "created");
+            event.result = "created";
         } else if (previousStatus == GovernanceIssueStatus.RESOLVED || previousStatus == GovernanceIssueStatus.IGNORED) {
             historyService.recordReopened(beforeChange, saved, "system");
             historyService.recordStatusChanged(beforeChange, saved, "system");
+            metrics.governanceIssue(type, "reopened");
+            event.result = "reopened";
+        } else {
+            metrics.governanceIssue(type, "refreshed");
+            event.result = "refreshed";
+        }
+        var changed = new GovernanceIssueChangedEvent(saved.getId(), articleId, stateBefore,
+                GovernanceIssueChangedEvent.IssueState.of(saved));
+        if (changed.hasChanges()) {
+            eventPublisher.publishEvent(changed);
         }
         if (previousStatus != null && previousStatus != saved.getStatus()) {
             log.info("🔁 Issue reaberta: articleId={} type={} status {} -> {}",
@@ -1,7 +1,8 @@
 package br.com.consisa.gov.kb.service;
 
-import br.com.consisa.gov.kb.domain.*;
-import br.com.consisa.gov.kb.repository.*;
+import br.com.consisa.gov.kb.domain.GovernanceMetric;
+import br.com.consisa.gov.kb.domain.KbGovernanceSnapshot;
+import br.com.consisa.gov.kb.repository.KbGovernanceSnapshotRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -35,23 +36,17 @@ public class KbGovernanceSnapshotService {
     private static final Logger log = LoggerFactory.getLogger(KbGovernanceSnapshotService.class);
 
     private final KbGovernanceSnapshotRepository snapshotRepo;
-    private final KbGovernanceReportRepository reportRepo;
-    private final KbGovernanceIssueRepository issueRepo;
-    private final KbArticleAssignmentRepository assignmentRepo;
-    private final KbSystemRepository systemRepo;
+    private final GovernanceCounterService counterService;
+    private final GovernanceRollupService rollupService;
 
     public KbGovernanceSnapshotService(
             KbGovernanceSnapshotRepository snapshotRepo,
-            KbGovernanceReportRepository reportRepo,
-            KbGovernanceIssueRepository issueRepo,
-            KbArticleAssignmentRepository assignmentRepo,
-            KbSystemRepository systemRepo
+            GovernanceCounterService counterService,
+            GovernanceRollupService rollupService
     ) {
         this.snapshotRepo = snapshotRepo;
-        this.reportRepo = reportRepo;
-        this.issueRepo = issueRepo;
-        this.assignmentRepo = assignmentRepo;
-        this.systemRepo = systemRepo;
+        this.counterService = counterService;
+        this.rollupService = rollupService;
     }
 
     // ======================
@@ -60,162 +55,47 @@ public class KbGovernanceSnapshotService {
 
     /**
      * 📸 Cria snapshot diário (global + por sistema)
+     *
+     * Lê os contadores incrementais ({@link GovernanceCounterService}) em um
+     * INSERT ... SELECT: não varre a view de governança artigo a artigo.
+     * Reexecutar no mesmo dia sobrescreve os snapshots do dia.
      */
-    @Transactional
     public void createDailySnapshot() {
         LocalDate today = LocalDate.now();
 
         log.info("📸 Criando snapshots diários para {}", today);
 
-        // 1. Snapshot global
-        createGlobalSnapshot(today);
+        int written = counterService.writeDailySnapshots(today);
+        rollupService.recordDay(today);
 
-        // 2. Snapshots por sistema
-        var systems = systemRepo.findAll();
-        int created = 0;
-
-        for (var system : systems) {
-            if (system.getIsActive()) {
-                createSystemSnapshot(today, system.getCode());
-                created++;
-            }
-        }
-
-        log.info("✅ Snapshots criados: 1 global + {} sistemas", created);
+        snapshotRepo.findBySnapshotDateAndSystemCodeIsNull(today).ifPresent(global ->
+                log.info("✅ Snapshots gravados: {} (global: {} artigos, {} IA-ready ({}%))",
+                        written,
+                        global.getTotalArticles(),
+                        global.getIaReadyCount(),
+                        String.format("%.1f", global.getIaReadyPercentage())));
     }
 
     /**
      * 📸 Cria snapshot semanal (mais detalhado)
      */
-    @Transactional
     public void createWeeklySnapshot() {
         createDailySnapshot(); // mesma lógica, mas em dia específico
     }
 
-    /**
-     * 📸 Cria snapshot GLOBAL
-     */
-    @Transactional
-    public KbGovernanceSnapshot createGlobalSnapshot(LocalDate date) {
-        log.debug("📸 Criando snapshot global para {}", date);
-
-        var snapshot = new KbGovernanceSnapshot();
-        snapshot.setSnapshotDate(date);
-        snapshot.setSystemCode(null); // global
-
-        // Busca métricas do report
-        Object[] summaryStats = reportRepo.getSummaryStats();
-
-        if (summaryStats != null && summaryStats.length > 0) {
-            Object[] stats = summaryStats;
-
-            snapshot.setTotalArticles(toInt(stats[0]));
-            snapshot.setEmptyCount(toInt(stats[1]));
-            snapshot.setShortCount(toInt(stats[2]));
-            snapshot.setDuplicateCount(toInt(stats[3]));
-            snapshot.setNoStructureCount(toInt(stats[5]));
-            snapshot.setIaReadyCount(toInt(stats[6]));
-
-            // Score médio (aproximação)
-            double scoreApprox = calculateAverageQualityScore();
-            snapshot.setAvgQualityScore(scoreApprox);
-        }
-
-        // Issues abertas
-        long openIssues = issueRepo.count();
-        snapshot.setOpenIssuesCount((int) openIssues);
-
-        // Atribuições
-        List<Object[]> assignmentStats = assignmentRepo.getStatistics();
-        if (assignmentStats.size() > 0) {
-            Object[] aStats = assignmentStats.get(0);
-            snapshot.setPendingAssignments(toInt(aStats[1]));  // PENDING
-            snapshot.setCompletedAssignments(toInt(aStats[3])); // COMPLETED
-        } else {
-            snapshot.setPendingAssignments(0);
-            snapshot.setCompletedAssignments(0);
-        }
-
-        var saved = snapshotRepo.save(snapshot);
-
-        log.info("✅ Snapshot global salvo: {} artigos, {} IA-ready ({}%)",
-                saved.getTotalArticles(),
-                saved.getIaReadyCount(),
-                String.format("%.1f", saved.getIaReadyPercentage()));
-
-        return saved;
-    }
-
-    /**
-     * 📸 Cria snapshot de um SISTEMA específico
-     */
-    @Transactional
-    public KbGovernanceSnapshot createSystemSnapshot(LocalDate date, String systemCode) {
-        log.debug("📸 Criando snapshot para sistema {} em {}", systemCode, date);
-
-        var snapshot = new KbGovernanceSnapshot();
-        snapshot.setSnapshotDate(date);
-        snapshot.setSystemCode(systemCode);
-
-        // Busca report do sistema
-        List<Object[]> systemReport = reportRepo.findBySystemCode(systemCode);
-
-        if (systemReport.size() == 0) {
-            log.warn("⚠️ Nenhum dado encontrado para sistema {}", systemCode);
-            snapshot.setTotalArticles(0);
-            snapshot.setIaReadyCount(0);
-            snapshot.setAvgQualityScore(0.0);
-            return snapshotRepo.save(snapshot);
-        }
-
-        // Contadores
-        int total = systemReport.size();
-        int empty = 0, tooShort = 0, duplicate = 0, noStructure = 0, iaReady = 0;
-
-        for (Object[] row : systemReport) {
-            if (Boolean.TRUE.equals(row[7])) empty++;
-            if (Boolean.TRUE.equals(row[8])) tooShort++;
-            if (Boolean.TRUE.equals(row[9])) duplicate++;
-            if (Boolean.TRUE.equals(row[11])) noStructure++;
-
-            // IA-ready: sem problemas críticos
-            boolean hasProblems = Boolean.TRUE.equals(row[7]) ||
-                    Boolean.TRUE.equals(row[9]) ||
-                    Boolean.TRUE.equals(row[11]);
-            if (!hasProblems) iaReady++;
-        }
-
-        snapshot.setTotalArticles(total);
-        snapshot.setEmptyCount(empty);
-        snapshot.setShortCount(tooShort);
-        snapshot.setDuplicateCount(duplicate);
-        snapshot.setNoStructureCount(noStructure);
-        snapshot.setIaReadyCount(iaReady);
-
-        // Score aproximado
-        double scoreApprox = total > 0 ? ((double) iaReady / total) * 100 : 0.0;
-        snapshot.setAvgQualityScore(scoreApprox);
-
-        // Atribuições do sistema (aproximação)
-        snapshot.setPendingAssignments(0);  // TODO: filtrar por sistema
-        snapshot.setCompletedAssignments(0);
-
-        return snapshotRepo.save(snapshot);
-    }
-
     // ======================
     // CONSULTAS DE TENDÊNCIAS
     // ======================
 
     /**
      * 📈 Retorna tendência dos últimos N dias (global)
+     *
+     * Vem dos rollups: períodos longos voltam em semanas/meses (médias do
+     * bucket), limitados a app.governance.rollup.max-points pontos.
      */
     @Transactional(readOnly = true)
     public List<KbGovernanceSnapshot> getTrend(int days) {
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusDays(days);
-
-        return snapshotRepo.findGlobalSnapshotsBetween(startDate, endDate);
+        return getSystemTrend(null, days);
     }
 
     /**
@@ -226,7 +106,7 @@ public class KbGovernanceSnapshotService {
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusDays(days);
 
-        return snapshotRepo.findSystemSnapshotsBetween(startDate, endDate, systemCode);
+        return rollupService.trend(systemCode, startDate, endDate, rollupService.defaultMaxPoints());
     }
 
     /**
@@ -238,23 +118,17 @@ public class KbGovernanceSnapshotService {
 
         // Período atual
         LocalDate currentStart = today.minusDays(periodDays);
-        var currentSnaps = snapshotRepo.findGlobalSnapshotsBetween(currentStart, today);
+        int maxPoints = rollupService.defaultMaxPoints();
+        var currentSnaps = rollupService.trend(null, currentStart, today, maxPoints);
 
         // Período anterior
         LocalDate previousStart = currentStart.minusDays(periodDays);
         LocalDate previousEnd = currentStart.minusDays(1);
-        var previousSnaps = snapshotRepo.findGlobalSnapshotsBetween(previousStart, previousEnd);
+        var previousSnaps = rollupService.trend(null, previousStart, previousEnd, maxPoints);
 
-        // Médias
-        double currentAvgIaReady = currentSnaps.stream()
-                .mapToDouble(KbGovernanceSnapshot::getIaReadyPercentage)
-                .average()
-                .orElse(0.0);
-
-        double previousAvgIaReady = previousSnaps.stream()
-                .mapToDouble(KbGovernanceSnapshot::getIaReadyPercentage)
-                .average()
-                .orElse(0.0);
+        // Médias (ponderadas pelos dias de cada bucket)
+        double currentAvgIaReady = averageIaReady(currentStart, today, maxPoints);
+        double previousAvgIaReady = averageIaReady(previousStart, previousEnd, maxPoints);
 
         double change = currentAvgIaReady - previousAvgIaReady;
 
@@ -304,25 +178,16 @@ public class KbGovernanceSnapshotService {
     // HELPERS
     // ======================
 
-    private int toInt(Object obj) {
-        if (obj == null) return 0;
-        if (obj instanceof Integer) return (Integer) obj;
-        if (obj instanceof Long) return ((Long) obj).intValue();
-        if (obj instanceof java.math.BigInteger) return ((java.math.BigInteger) obj).intValue();
-        return 0;
-    }
-
-    private double calculateAverageQualityScore() {
-        List<Object[]> iaReadyArticles = reportRepo.findIaReady();
-        if (iaReadyArticles.size() == 0) return 0.0;
+    private double averageIaReady(LocalDate from, LocalDate to, int maxPoints) {
+        var series = rollupService.series(null, List.of(GovernanceMetric.IA_READY_PCT), from, to, maxPoints)
+                .get(GovernanceMetric.IA_READY_PCT);
 
-        // Aproximação: conta headers como proxy de qualidade
-        double avgHeaders = iaReadyArticles.stream()
-                .mapToInt(row -> toInt(row[16]))  // header_count
-                .average()
-                .orElse(0.0);
-
-        // Normaliza para escala 0-100
-        return Math.min(avgHeaders * 10, 100);
+        double sum = 0.0;
+        int samples = 0;
+        for (var point : series.points()) {
+            sum += point.avg() * point.samples();
+            samples += point.samples();
+        }
+        return samples == 0 ? 0.0 : sum / samples;
     }
-}
\ No newline at end of file
+}
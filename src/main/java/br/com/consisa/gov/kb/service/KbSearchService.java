@@ -1,6 +1,7 @@
 package br.com.consisa.gov.kb.service;
 
 import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.observability.KbMetrics;
 import br.com.consisa.gov.kb.repository.KbArticleRepository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
@@ -38,6 +39,11 @@ import java.util.stream.Collectors;
  * - Sugestões de artigos relacionados
  * - Base para futura integração RAG/IA
  * - Autocomplete de pesquisa
+ *
+ * MÉTRICAS:
+ * ---------
+ * - kb.search{variant=all|system|ia_ready}: latência da consulta
+ * - kb.search.results{variant}: quantidade de resultados
  */
 @Service
 public class KbSearchService {
@@ -46,10 +52,12 @@ public class KbSearchService {
 
     private final EntityManager entityManager;
     private final KbArticleRepository articleRepo;
+    private final KbMetrics metrics;
 
-    public KbSearchService(EntityManager entityManager, KbArticleRepository articleRepo) {
+    public KbSearchService(EntityManager entityManager, KbArticleRepository articleRepo, KbMetrics metrics) {
         this.entityManager = entityManager;
         this.articleRepo = articleRepo;
+        this.metrics = metrics;
     }
 
     // ======================
@@ -108,6 +116,7 @@ public class KbSearchService {
             LIMIT :limit
         """;
 
+        long started = System.nanoTime();
         Query nativeQuery = entityManager.createNativeQuery(sql);
         nativeQuery.setParameter("query", sanitized);
         nativeQuery.setParameter("limit", safeLimit);
@@ -118,6 +127,7 @@ public class KbSearchService {
         List<SearchResult> results = rows.stream()
                 .map(this::mapToSearchResult)
                 .collect(Collectors.toList());
+        metrics.search("all", System.nanoTime() - started, results.size());
 
         log.info("✅ Encontrados {} resultados para '{}'", results.size(), sanitized);
 
@@ -168,6 +178,7 @@ public class KbSearchService {
             LIMIT :limit
         """;
 
+        long started = System.nanoTime();
         Query nativeQuery = entityManager.createNativeQuery(sql);
         nativeQuery.setParameter("query", sanitized);
         nativeQuery.setParameter("systemCode", systemCode);
@@ -176,9 +187,11 @@ public class KbSearchService {
         @SuppressWarnings("unchecked")
         List<Object[]> rows = nativeQuery.getResultList();
 
-        return rows.stream()
+        List<SearchResult> results = rows.stream()
                 .map(this::mapToSearchResult)
                 .collect(Collectors.toList());
+        metrics.search("system", System.nanoTime() - started, results.size());
+        return results;
     }
 
     /**
@@ -233,6 +246,7 @@ public class KbSearchService {
             LIMIT :limit
         """;
 
+        long started = System.nanoTime();
         Query nativeQuery = entityManager.createNativeQuery(sql);
         nativeQuery.setParameter("query", sanitized);
         nativeQuery.setParameter("limit", safeLimit);
@@ -240,9 +254,11 @@ public class KbSearchService {
         @SuppressWarnings("unchecked")
         List<Object[]> rows = nativeQuery.getResultList();
 
-        return rows.stream()
+        List<SearchResult> results = rows.stream()
                 .map(this::mapToSearchResult)
                 .collect(Collectors.toList());
+        metrics.search("ia_ready", System.nanoTime() - started, results.size());
+        return results;
     }
 
     /**
@@ -1,7 +1,11 @@
 package br.com.consisa.gov.kb.service;
 
+import br.com.consisa.gov.kb.cache.DataDomain;
+import br.com.consisa.gov.kb.cache.DataVersionService;
 import br.com.consisa.gov.kb.domain.*;
 import br.com.consisa.gov.kb.governance.KbGovernanceDetectorService;
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.observability.KbTracing;
 import br.com.consisa.gov.kb.repository.KbArticleRepository;
 import br.com.consisa.gov.kb.repository.KbSyncConfigRepository;
 import br.com.consisa.gov.kb.repository.KbSyncRunRepository;
@@ -36,6 +40,13 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * - FULL: Varre tudo (usar só 1x ou reprocessamento)
  * - DELTA: Busca artigos alterados nos últimos N dias
  * - DELTA_SMART: Delta cirúrgico (só baixa se detectar mudança)
+ *
+ * MULTI-RÉPLICA:
+ * --------------
+ * - Padrão: o AtomicBoolean protege só esta JVM; o ShedLock do scheduler
+ *   garante que uma réplica dispara por vez
+ * - app.sync.leasing.enabled=true: o run vira unidades de trabalho que
+ *   todas as réplicas processam (KbSyncWorkLeaseService)
  */
 @Service
 public class KbSyncOrchestratorService {
@@ -57,6 +68,12 @@ public class KbSyncOrchestratorService {
     private final KbFullSyncService fullSyncService;
     private final KbDeltaSyncService deltaSyncService;
     private final KbGovernanceDetectorService governanceDetector;
+    private final GovernanceMetricsStore metricsStore;
+    private final SyncProgressBroadcaster progress;
+    private final DataVersionService dataVersions;
+    private final KbMetrics metrics;
+    private final KbTracing tracing;
+    private final KbSyncWorkLeaseService workLeasing;
 
     public KbSyncOrchestratorService(
             KbSyncConfigRepository configRepo,
@@ -65,7 +82,13 @@ public class KbSyncOrchestratorService {
             KbArticleSyncService articleSyncService,
             KbFullSyncService fullSyncService,
             KbDeltaSyncService deltaSyncService,
-            KbGovernanceDetectorService governanceDetector
+            KbGovernanceDetectorService governanceDetector,
+            GovernanceMetricsStore metricsStore,
+            SyncProgressBroadcaster progress,
+            DataVersionService dataVersions,
+            KbMetrics metrics,
+            KbTracing tracing,
+            KbSyncWorkLeaseService workLeasing
     ) {
         this.configRepo = configRepo;
         this.runRepo = runRepo;
@@ -74,6 +97,12 @@ public class KbSyncOrchestratorService {
         this.fullSyncService = fullSyncService;
         this.deltaSyncService = deltaSyncService;
         this.governanceDetector = governanceDetector;
+        this.metricsStore = metricsStore;
+        this.progress = progress;
+        this.dataVersions = dataVersions;
+        this.metrics = metrics;
+        this.tracing = tracing;
+        this.workLeasing = workLeasing;
     }
 
     // ======================
@@ -104,14 +133,22 @@ public class KbSyncOrchestratorService {
 
     @Transactional(readOnly = true)
     public boolean isRunning() {
-        return syncInProgress.get();
+        return syncInProgress.get() || (workLeasing.isEnabled() && workLeasing.hasOpenWork());
     }
 
     /**
      * 🚀 Executa sync com proteção contra concorrência.
+     *
+     * Com app.sync.leasing.enabled só planeja as unidades de trabalho e
+     * devolve o run RUNNING; as réplicas processam (KbSyncWorkLeaseService).
      */
     @Transactional
     public KbSyncRun runNow(SyncMode mode, Integer daysBack) {
+        if (workLeasing.isEnabled()) {
+            return tracing.syncExecution(String.valueOf(mode), () -> workLeasing.plan(
+                    mode, daysBack, mode == SyncMode.DELTA ? computeSince(daysBack) : null));
+        }
+
         // 🔒 Proteção contra execução simultânea
         if (!syncInProgress.compareAndSet(false, true)) {
             log.warn("⚠️ Sync já em execução. Ignorando nova tentativa.");
@@ -119,9 +156,11 @@ public class KbSyncOrchestratorService {
         }
 
         try {
-            return doRunSync(mode, daysBack);
+            return tracing.syncExecution(String.valueOf(mode), () -> doRunSync(mode, daysBack));
         } finally {
             syncInProgress.set(false);
+            // artigos mudaram: métricas de artigos do dashboard precisam reconciliar
+            metricsStore.markStale();
         }
     }
 
@@ -138,6 +177,7 @@ public class KbSyncOrchestratorService {
         run.setDaysBack(daysBack);
         run.setStatus(SyncRunStatus.RUNNING);
         run = runRepo.save(run);
+        progress.runStarted(run.getId(), mode);
 
         ResultCounts counts = new ResultCounts();
 
@@ -146,14 +186,15 @@ public class KbSyncOrchestratorService {
 
             // Executa estratégia de sync
             switch (mode) {
-                case FULL -> counts = runFull(counts);
-                case DELTA -> counts = runDeltaWindow(counts, daysBack);
+                case FULL -> counts = tracing.syncStage("full", () -> runFull(new ResultCounts()));
+                case DELTA -> counts = tracing.syncStage("delta", () -> runDeltaWindow(new ResultCounts(), daysBack));
                 default -> throw new IllegalArgumentException("Modo desconhecido: " + mode);
             }
 
             // Detecta artigos deletados (opcional, só em FULL)
             if (mode == SyncMode.FULL) {
-                counts = detectDeleted(counts);
+                ResultCounts current = counts;
+                counts = tracing.syncStage("detect-deleted", () -> detectDeleted(current));
             }
 
             OffsetDateTime finished = OffsetDateTime.now(ZoneOffset.UTC);
@@ -179,11 +220,16 @@ public class KbSyncOrchestratorService {
             // IMPORTANTE: Salva o run como SUCCESS ANTES de rodar detectores
             // Assim, se governança falhar, sync continua marcado como SUCCESS
             KbSyncRun savedRun = runRepo.save(run);
+            progress.runFinished(savedRun.getId(), SyncRunStatus.SUCCESS, savedRun.getNote());
+            metrics.syncRun(mode, SyncRunStatus.SUCCESS.name(), savedRun.getDurationMs());
 
             // 🔍 DISPARO AUTOMÁTICO DE DETECTORES PÓS-SYNC
             // REGRA: Governança falhar NÃO pode impedir sincronização de conteúdo
             // Se falhar: sync continua SUCCESS, erro é logado como WARN
-            runGovernanceDetectors(savedRun);
+            tracing.syncStage("governance", () -> {
+                runGovernanceDetectors(savedRun);
+                return null;
+            });
 
             return savedRun;
 
@@ -196,6 +242,8 @@ public class KbSyncOrchestratorService {
             run.setStatus(SyncRunStatus.FAILED);
             run.setNote(trunc(e.getMessage(), 350));
             runRepo.save(run);
+            progress.runFinished(run.getId(), SyncRunStatus.FAILED, run.getNote());
+            metrics.syncRun(mode, SyncRunStatus.FAILED.name(), run.getDurationMs());
 
             throw e;
         }
@@ -219,24 +267,38 @@ public class KbSyncOrchestratorService {
 
     /**
      * DELTA: Busca artigos alterados via query SQL.
+     * Candidatos inalterados no Movidesk contam como skipped (nada é regravado).
      */
     private ResultCounts runDeltaWindow(ResultCounts c, Integer daysBack) {
         OffsetDateTime since = computeSince(daysBack);
         List<Long> ids = articleRepo.findIdsForDeltaSince(since);
 
         log.info("🟦 DELTA: since={} candidates={}", since, ids.size());
+        progress.totalKnown(ids.size());
 
         for (Long id : ids) {
             try {
-                var saved = articleSyncService.sync(id);
-                if (saved == null) {
+                // sem revisão da busca aqui: GET condicional (ETag / If-Modified-Since)
+                var result = articleSyncService.syncIfChanged(id, null);
+                if (result.unchanged()) {
+                    c.skipped++;
+                    progress.itemSucceeded();
+                    metrics.syncArticle(SyncMode.DELTA, "unchanged");
+                } else if (result.article() == null) {
                     c.notFound++;
+                    metrics.syncArticle(SyncMode.DELTA, "not_found");
                 } else {
                     c.updated++;
+                    progress.itemSucceeded();
+                    metrics.syncArticle(SyncMode.DELTA, "success");
                 }
             } catch (Exception ex) {
                 log.warn("⚠️ Erro ao sincronizar id={}: {}", id, ex.getMessage());
                 c.errors++;
+                progress.itemFailed(id, null, ex.getMessage());
+                metrics.syncArticle(SyncMode.DELTA, "failed");
+            } finally {
+                progress.itemProcessed();
             }
         }
 
@@ -269,6 +331,10 @@ public class KbSyncOrchestratorService {
         OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minusHours(2);
 
         int marked = articleRepo.markMissingArticles(cutoff);
+        if (marked > 0) {
+            // update em massa não passa pelo listener JPA
+            dataVersions.bumpAfterCommit(DataDomain.ARTICLES);
+        }
 
         log.info("🗑️ Artigos marcados como MISSING: {}", marked);
 
@@ -0,0 +1,392 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.cache.DataDomain;
+import br.com.consisa.gov.kb.cache.DataVersionService;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleSearchItemDto;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleSearchResponse;
+import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
+import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.domain.KbSyncConfig;
+import br.com.consisa.gov.kb.domain.KbSyncRun;
+import br.com.consisa.gov.kb.domain.SyncMode;
+import br.com.consisa.gov.kb.domain.SyncRunStatus;
+import br.com.consisa.gov.kb.governance.KbGovernanceDetectorService;
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.repository.KbSyncConfigRepository;
+import br.com.consisa.gov.kb.repository.KbSyncRunRepository;
+import br.com.consisa.gov.kb.repository.KbSyncWorkUnitRepository;
+import br.com.consisa.gov.kb.repository.KbSyncWorkUnitRepository.UnitCounts;
+import br.com.consisa.gov.kb.repository.KbSyncWorkUnitRepository.WorkUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * 🧩 Sync distribuído: execução quebrada em unidades de trabalho que
+ * qualquer réplica processa (app.sync.leasing.enabled=true).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - plan: cria o kb_sync_run (RUNNING) e as unidades
+ *   - FULL: uma unidade por página da busca do Movidesk
+ *   - DELTA: lotes de ids de findIdsForDeltaSince
+ * - Cada réplica roda o {@link SyncWorkUnitWorker}: reivindica uma unidade
+ *   (FOR UPDATE SKIP LOCKED + lease), processa e conclui
+ * - Artigo que mudou já passa pelos detectores de governança na própria
+ *   unidade: detectores escalam junto com as réplicas
+ * - A réplica que conclui a última unidade fecha o run e roda o que é global:
+ *   detecção de deletados (FULL) e detector de duplicados
+ * - Páginas são faixas fixas do totalSize planejado: se alguma página viu
+ *   outro total (artigos criados/removidos no meio do run), a detecção de
+ *   deletados é pulada, para não marcar MISSING o que só mudou de página
+ * - Réplica que cai no meio de uma unidade: o lease vence e outra réplica
+ *   reprocessa (sync condicional → artigos já gravados saem como inalterados)
+ *
+ * O lock do ShedLock no KbSyncScheduler continua decidindo QUEM planeja;
+ * planejamentos manuais concorrentes são serializados por advisory lock.
+ */
+@Service
+public class KbSyncWorkLeaseService {
+
+    private static final Logger log = LoggerFactory.getLogger(KbSyncWorkLeaseService.class);
+
+    private final KbSyncWorkUnitRepository unitRepo;
+    private final KbSyncRunRepository runRepo;
+    private final KbSyncConfigRepository configRepo;
+    private final KbArticleRepository articleRepo;
+    private final MovideskClient movideskClient;
+    private final KbArticleSyncService articleSyncService;
+    private final KbArticleClassificationService classificationService;
+    private final KbGovernanceDetectorService governanceDetector;
+    private final GovernanceMetricsStore metricsStore;
+    private final DataVersionService dataVersions;
+    private final KbMetrics metrics;
+
+    private final boolean enabled;
+    private final String nodeId;
+    private final int pageSize;
+    private final int idBatchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+
+    public KbSyncWorkLeaseService(
+            KbSyncWorkUnitRepository unitRepo,
+            KbSyncRunRepository runRepo,
+            KbSyncConfigRepository configRepo,
+            KbArticleRepository articleRepo,
+            MovideskClient movideskClient,
+            KbArticleSyncService articleSyncService,
+            KbArticleClassificationService classificationService,
+            KbGovernanceDetectorService governanceDetector,
+            GovernanceMetricsStore metricsStore,
+            DataVersionService dataVersions,
+            KbMetrics metrics,
+            @Value("${app.sync.leasing.enabled:false}") boolean enabled,
+            @Value("${app.sync.leasing.node-id:${HOSTNAME:}}") String nodeId,
+            @Value("${app.sync.leasing.page-size:50}") int pageSize,
+            @Value("${app.sync.leasing.id-batch-size:50}") int idBatchSize,
+            @Value("${app.sync.leasing.lease-seconds:600}") long leaseSeconds,
+            @Value("${app.sync.leasing.max-attempts:3}") int maxAttempts
+    ) {
+        this.unitRepo = unitRepo;
+        this.runRepo = runRepo;
+        this.configRepo = configRepo;
+        this.articleRepo = articleRepo;
+        this.movideskClient = movideskClient;
+        this.articleSyncService = articleSyncService;
+        this.classificationService = classificationService;
+        this.governanceDetector = governanceDetector;
+        this.metricsStore = metricsStore;
+        this.dataVersions = dataVersions;
+        this.metrics = metrics;
+        this.enabled = enabled;
+        this.nodeId = nodeId == null || nodeId.isBlank() ? "node-" + UUID.randomUUID() : nodeId;
+        this.pageSize = Math.max(1, pageSize);
+        this.idBatchSize = Math.max(1, idBatchSize);
+        this.lease = Duration.ofSeconds(Math.max(30, leaseSeconds));
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Há run distribuído em andamento (alguma unidade aberta)?
+     */
+    public boolean hasOpenWork() {
+        return unitRepo.hasOpenUnits();
+    }
+
+    // ======================
+    // PLANEJAMENTO
+    // ======================
+
+    /**
+     * Cria o run e as unidades de trabalho; não espera o processamento.
+     *
+     * @param since início da janela (DELTA); ignorado no FULL
+     * @return run RUNNING (ou já fechado, se não havia nada a processar)
+     * @throws IllegalStateException se já existe run distribuído em andamento
+     */
+    @Transactional
+    public KbSyncRun plan(SyncMode mode, Integer daysBack, OffsetDateTime since) {
+        unitRepo.lockPlanning();
+        if (unitRepo.hasOpenUnits()) {
+            throw new IllegalStateException("Sync já em execução");
+        }
+
+        OffsetDateTime started = OffsetDateTime.now(ZoneOffset.UTC);
+        KbSyncRun run = new KbSyncRun();
+        run.setStartedAt(started);
+        run.setMode(mode);
+        run.setDaysBack(daysBack);
+        run.setStatus(SyncRunStatus.RUNNING);
+        run = runRepo.saveAndFlush(run);
+
+        int units;
+        if (mode == SyncMode.FULL) {
+            MovideskArticleSearchResponse first = movideskClient.searchArticles(0, pageSize);
+            int total = first.getTotalSize() == null ? 0 : first.getTotalSize();
+            units = (total + pageSize - 1) / pageSize;
+            unitRepo.insertPages(run.getId(), units, pageSize, total);
+        } else {
+            List<List<Long>> batches = partition(articleRepo.findIdsForDeltaSince(since), idBatchSize);
+            units = batches.size();
+            unitRepo.insertIdBatches(run.getId(), batches);
+        }
+
+        // scheduler usa lastStartedAt para decidir o próximo disparo
+        KbSyncConfig cfg = configRepo.findById(1L).orElseGet(KbSyncConfig::new);
+        cfg.setLastStartedAt(started);
+        configRepo.save(cfg);
+
+        log.info("🧩 Sync distribuído planejado. runId={} mode={} unidades={} node={}",
+                run.getId(), mode, units, nodeId);
+
+        if (units == 0) {
+            // nada a processar: run fecha aqui mesmo
+            run.setStatus(SyncRunStatus.SUCCESS);
+            run.setFinishedAt(OffsetDateTime.now(ZoneOffset.UTC));
+            run.setDurationMs(Duration.between(started, run.getFinishedAt()).toMillis());
+            cfg.setLastFinishedAt(run.getFinishedAt());
+        }
+        return run;
+    }
+
+    // ======================
+    // PROCESSAMENTO
+    // ======================
+
+    public Optional<WorkUnit> claim() {
+        return unitRepo.claim(nodeId, lease, maxAttempts);
+    }
+
+    /**
+     * Processa uma unidade reivindicada; cada artigo roda na própria transação
+     * (KbArticleSyncService). Falha da unidade inteira (ex.: busca da página)
+     * propaga para o worker devolver a unidade à fila.
+     */
+    public UnitCounts process(WorkUnit unit) {
+        Tally tally = new Tally();
+        if (KbSyncWorkUnitRepository.KIND_PAGE.equals(unit.kind())) {
+            MovideskArticleSearchResponse page = movideskClient.searchArticles(unit.pageNumber(), unit.pageSize());
+            unitRepo.recordListedTotal(unit.id(), page.getTotalSize());
+            List<MovideskArticleSearchItemDto> items = page.getItems() == null ? List.of() : page.getItems();
+            for (MovideskArticleSearchItemDto item : items) {
+                if (item == null || item.getId() == null) continue;
+                syncOne(SyncMode.FULL, item.getId(), parseRevisionId(item.getRevisionId()), item, tally);
+            }
+        } else {
+            for (Long id : unit.articleIds()) {
+                syncOne(SyncMode.DELTA, id, null, null, tally);
+            }
+        }
+        return tally.toCounts();
+    }
+
+    private void syncOne(SyncMode mode, long id, Long listedRevisionId,
+                         MovideskArticleSearchItemDto item, Tally tally) {
+        try {
+            KbArticleSyncService.ConditionalSyncResult result = articleSyncService.syncIfChanged(id, listedRevisionId);
+            KbArticle article = result.article();
+            if (result.unchanged()) {
+                if (item != null && classificationService.needsReclassification(result.stored(), item)) {
+                    // revisão igual não garante menu igual: artigo movido de menu
+                    // no Movidesk só aparece na busca
+                    articleRepo.findById(id).ifPresent(stored -> {
+                        classificationService.classifyFromSearchItem(stored, item);
+                        articleRepo.save(stored);
+                    });
+                }
+                tally.synced++;
+                tally.skipped++;
+                metrics.syncArticle(mode, "unchanged");
+                return;
+            }
+            if (article == null) {
+                tally.notFound++;
+                metrics.syncArticle(mode, "not_found");
+                return;
+            }
+            if (item != null) {
+                // classifica usando menu do search (como no FULL local)
+                classificationService.classifyFromSearchItem(article, item);
+                article = articleRepo.save(article);
+            }
+            tally.synced++;
+            tally.updated++;
+            metrics.syncArticle(mode, "success");
+            analyze(article);
+        } catch (Exception ex) {
+            log.warn("⚠️ Erro ao sincronizar id={}: {}", id, ex.getMessage());
+            tally.errors++;
+            metrics.syncArticle(mode, "failed");
+        }
+    }
+
+    private void analyze(KbArticle article) {
+        try {
+            governanceDetector.analyzeArticle(article);
+        } catch (Exception ex) {
+            // governança falhar não derruba o sync do artigo
+            log.warn("⚠️ Detectores falharam para id={}: {}", article.getId(), ex.getMessage());
+        }
+    }
+
+    public Optional<String> complete(WorkUnit unit, UnitCounts counts) {
+        return unitRepo.complete(unit, nodeId, counts);
+    }
+
+    public Optional<String> fail(WorkUnit unit, Exception ex) {
+        return unitRepo.fail(unit, nodeId, trunc(ex.getMessage(), 400), maxAttempts);
+    }
+
+    /**
+     * Unidades cujo lease venceu na última tentativa → FAILED.
+     *
+     * @return runs que esta chamada fechou (id → status)
+     */
+    public List<ClosedRun> failExhausted() {
+        List<ClosedRun> closed = new ArrayList<>();
+        for (Long runId : unitRepo.failExhausted(maxAttempts).stream().distinct().toList()) {
+            unitRepo.closeRunIfDone(runId).ifPresent(status -> closed.add(new ClosedRun(runId, status)));
+        }
+        return closed;
+    }
+
+    public record ClosedRun(long runId, String status) {
+    }
+
+    // ======================
+    // FECHAMENTO
+    // ======================
+
+    /**
+     * Pós-processamento do run fechado (só na réplica que o fechou):
+     * deletados (FULL com SUCCESS), config e métricas.
+     */
+    @Transactional
+    public KbSyncRun finishRun(long runId) {
+        KbSyncRun run = runRepo.findById(runId)
+                .orElseThrow(() -> new IllegalArgumentException("Run não encontrado: " + runId));
+
+        if (run.getMode() == SyncMode.FULL && run.getStatus() == SyncRunStatus.SUCCESS
+                && unitRepo.listingChanged(runId)) {
+            // páginas são faixas fixas: com a listagem mudando no meio do run,
+            // artigo vivo pode ter deslizado para uma página já processada
+            log.warn("⚠️ Listagem do Movidesk mudou durante o run {}: MISSING não marcado", runId);
+            String note = "[MISSING_SKIPPED] listagem mudou durante o run";
+            run.setNote(run.getNote() != null ? trunc(run.getNote() + " | " + note, 400) : note);
+        } else if (run.getMode() == SyncMode.FULL && run.getStatus() == SyncRunStatus.SUCCESS) {
+            // tudo que a busca listou foi visto depois do início do run
+            int marked = articleRepo.markMissingArticles(run.getStartedAt());
+            if (marked > 0) {
+                dataVersions.bumpAfterCommit(DataDomain.ARTICLES);
+            }
+            log.info("🗑️ Artigos marcados como MISSING: {}", marked);
+        }
+
+        KbSyncConfig cfg = configRepo.findById(1L).orElseGet(KbSyncConfig::new);
+        cfg.setLastFinishedAt(run.getFinishedAt());
+        configRepo.save(cfg);
+
+        metrics.syncRun(run.getMode(), run.getStatus().name(),
+                run.getDurationMs() == null ? 0 : run.getDurationMs());
+        metricsStore.markStale();
+
+        log.info("✅ Sync distribuído concluído. runId={} status={} updated={} skipped={} errors={} duration={}ms",
+                run.getId(), run.getStatus(), run.getUpdatedCount(), run.getSkippedCount(),
+                run.getErrorCount(), run.getDurationMs());
+        return run;
+    }
+
+    /**
+     * Detector global de duplicados (uma vez por run, fora da transação do
+     * fechamento). Falha vai para o note do run, como no sync local.
+     */
+    public void runGlobalDetectors(KbSyncRun run) {
+        try {
+            int duplicateIssues = governanceDetector.analyzeAllDuplicates();
+            log.info("✅ Detector DUPLICATE_CONTENT: {} issues abertas/atualizadas", duplicateIssues);
+        } catch (Exception e) {
+            log.warn("⚠️ Erro ao executar detectores de governança (sync mantém status): {}", e.getMessage(), e);
+            String errorNote = "[GOVERNANCE_ERROR] " + trunc(e.getMessage(), 150);
+            run.setNote(run.getNote() != null ? trunc(run.getNote() + " | " + errorNote, 400) : errorNote);
+            runRepo.save(run);
+        }
+    }
+
+    // ======================
+    // Helpers
+    // ======================
+
+    static List<List<Long>> partition(List<Long> ids, int size) {
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += size) {
+            batches.add(List.copyOf(ids.subList(from, Math.min(ids.size(), from + size))));
+        }
+        return batches;
+    }
+
+    private static Long parseRevisionId(String revisionId) {
+        if (revisionId == null || revisionId.isBlank()) return null;
+        try {
+            return Long.parseLong(revisionId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String trunc(String s, int max) {
+        if (s == null) return null;
+        return s.length() <= max ? s : s.substring(0, max);
+    }
+
+    private static final class Tally {
+        int synced;
+        int updated;
+        int skipped;
+        int notFound;
+        int errors;
+
+        UnitCounts toCounts() {
+            return new UnitCounts(synced, updated, skipped, notFound, errors);
+        }
+    }
+}
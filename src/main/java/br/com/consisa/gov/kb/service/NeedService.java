@@ -3,6 +3,7 @@ package br.com.consisa.gov.kb.service;
 import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
 import br.com.consisa.gov.kb.client.movidesk.MovideskTicketRequest;
 import br.com.consisa.gov.kb.client.movidesk.MovideskTicketResponse;
+import br.com.consisa.gov.kb.domain.DailyCountRing;
 import br.com.consisa.gov.kb.domain.DetectedNeed;
 import br.com.consisa.gov.kb.domain.FaqCluster;
 import br.com.consisa.gov.kb.domain.RecurrenceRule;
@@ -15,6 +16,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.List;
@@ -100,6 +102,18 @@ public class NeedService {
         return needRepository.save(need);
     }
 
+    /**
+     * Ocorrências do cluster dentro da janela da regra (anel diário do cluster,
+     * sem agregação em faq_cluster_ticket). Sem regra, usa a janela máxima do anel.
+     */
+    public int liveOccurrences(FaqCluster cluster, RecurrenceRule rule) {
+        if (cluster == null) {
+            return 0;
+        }
+        int windowDays = rule != null ? rule.getWindowDays() : DailyCountRing.DAYS;
+        return cluster.occurrencesInWindow(LocalDate.now(ZoneOffset.UTC), windowDays);
+    }
+
     @Transactional(readOnly = true)
     public List<MovideskTicketResponse> fetchRecurringTickets(OffsetDateTime start, OffsetDateTime end) {
         return movideskClient.searchTickets(start, end);
@@ -1,83 +1,101 @@
 package br.com.consisa.gov.kb.service;
 
-import br.com.consisa.gov.kb.domain.DetectedNeed;
+import br.com.consisa.gov.kb.domain.DailyCountRing;
 import br.com.consisa.gov.kb.domain.RecurrenceRule;
 import br.com.consisa.gov.kb.repository.DetectedNeedRepository;
 import br.com.consisa.gov.kb.repository.FaqClusterRepository;
-import br.com.consisa.gov.kb.repository.FaqClusterTicketRepository;
 import br.com.consisa.gov.kb.repository.RecurrenceRuleRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.OffsetDateTime;
+import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.StringJoiner;
 
 @Service
 public class RecurrenceService {
 
     private static final Logger log = LoggerFactory.getLogger(RecurrenceService.class);
 
-    private static final String NEED_STATUS_OPEN = "OPEN";
-    private static final String TASK_STATUS_PENDING = "PENDING";
+    /** Pares (cluster, regra) por comando de upsert. */
+    static final int UPSERT_BATCH = 5_000;
 
     private final RecurrenceRuleRepository ruleRepository;
     private final FaqClusterRepository clusterRepository;
-    private final FaqClusterTicketRepository clusterTicketRepository;
     private final DetectedNeedRepository needRepository;
+    private final GovernanceMetricsStore metricsStore;
 
     public RecurrenceService(
             RecurrenceRuleRepository ruleRepository,
             FaqClusterRepository clusterRepository,
-            FaqClusterTicketRepository clusterTicketRepository,
-            DetectedNeedRepository needRepository
+            DetectedNeedRepository needRepository,
+            GovernanceMetricsStore metricsStore
     ) {
         this.ruleRepository = ruleRepository;
         this.clusterRepository = clusterRepository;
-        this.clusterTicketRepository = clusterTicketRepository;
         this.needRepository = needRepository;
+        this.metricsStore = metricsStore;
     }
 
+    /**
+     * Avalia todas as regras ativas contra todos os clusters.
+     *
+     * COMO FUNCIONA:
+     * --------------
+     * - Lê só o anel diário ({@link DailyCountRing}) dos clusters com atividade
+     *   dentro da maior janela; clusters parados nem são carregados
+     * - Threshold checado em memória: custo constante por cluster × regra,
+     *   sem contar faq_cluster_ticket
+     * - Pares que passaram viram um upsert em lote que respeita o cooldown
+     */
     @Transactional
     public void evaluateRules() {
         List<RecurrenceRule> rules = ruleRepository.findByActiveTrue();
         if (rules.isEmpty()) {
             return;
         }
-        clusterRepository.findAll().forEach(cluster -> {
-            for (RecurrenceRule rule : rules) {
-                evaluateCluster(rule, cluster.getId());
-            }
-        });
-    }
 
-    private void evaluateCluster(RecurrenceRule rule, Long clusterId) {
-        OffsetDateTime cutoff = OffsetDateTime.now(ZoneOffset.UTC).minusDays(rule.getWindowDays());
-        long count = clusterTicketRepository.countTicketsInWindow(clusterId, cutoff);
-        if (count < rule.getThresholdCount()) {
-            return;
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        int maxWindow = rules.stream().mapToInt(RecurrenceRule::getWindowDays).max().orElse(0);
+        if (maxWindow > DailyCountRing.DAYS) {
+            log.warn("⚠️ Janela de {} dias maior que o anel de contadores; limitada a {} dias",
+                    maxWindow, DailyCountRing.DAYS);
         }
-        DetectedNeed need = needRepository.findByClusterIdAndRuleId(clusterId, rule.getId())
-                .orElseGet(DetectedNeed::new);
+        LocalDate since = today.minusDays(Math.min(maxWindow, DailyCountRing.DAYS) - 1L);
 
-        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
-        if (need.getId() != null && need.getLastDetectedAt() != null) {
-            OffsetDateTime nextAllowed = need.getLastDetectedAt().plusHours(rule.getCooldownHours());
-            if (now.isBefore(nextAllowed)) {
-                return;
+        List<Long> clusterIds = new ArrayList<>();
+        List<Long> ruleIds = new ArrayList<>();
+        for (var cluster : clusterRepository.findByRecentCountsDayGreaterThanEqual(since)) {
+            var ring = new DailyCountRing(cluster.getRecentDailyCounts(), cluster.getRecentCountsDay());
+            for (RecurrenceRule rule : rules) {
+                if (ring.countInWindow(today, rule.getWindowDays()) >= rule.getThresholdCount()) {
+                    clusterIds.add(cluster.getId());
+                    ruleIds.add(rule.getId());
+                }
             }
         }
 
-        if (need.getId() == null) {
-            need.setClusterId(clusterId);
-            need.setRuleId(rule.getId());
-            need.setStatus(NEED_STATUS_OPEN);
-            need.setTaskStatus(TASK_STATUS_PENDING);
+        int detected = 0;
+        for (int from = 0; from < clusterIds.size(); from += UPSERT_BATCH) {
+            int to = Math.min(from + UPSERT_BATCH, clusterIds.size());
+            detected += needRepository.upsertDetectedNeeds(
+                    toArrayLiteral(clusterIds.subList(from, to)),
+                    toArrayLiteral(ruleIds.subList(from, to)));
+        }
+        if (detected > 0) {
+            log.info("🔁 Needs detectados/renovados: {} (pares acima do threshold: {})", detected, clusterIds.size());
         }
-        need.setLastDetectedAt(now);
-        needRepository.save(need);
-        log.info("🔁 Need detectado: cluster={} rule={} count={}", clusterId, rule.getId(), count);
+        // contadores de needs do dashboard
+        metricsStore.markStale();
+    }
+
+    static String toArrayLiteral(List<Long> ids) {
+        StringJoiner joiner = new StringJoiner(",", "{", "}");
+        ids.forEach(id -> joiner.add(Long.toString(id)));
+        return joiner.toString();
     }
 }
@@ -1,213 +1,275 @@
 package br.com.consisa.gov.kb.service;
 
-import br.com.consisa.gov.kb.client.movidesk.MovideskActionDto;
 import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
 import br.com.consisa.gov.kb.client.movidesk.MovideskTicketResponse;
-import br.com.consisa.gov.kb.domain.FaqCluster;
-import br.com.consisa.gov.kb.domain.FaqClusterTicket;
 import br.com.consisa.gov.kb.domain.JobRun;
-import br.com.consisa.gov.kb.domain.SupportTicket;
-import br.com.consisa.gov.kb.domain.SupportTicketMessage;
-import br.com.consisa.gov.kb.repository.FaqClusterRepository;
-import br.com.consisa.gov.kb.repository.FaqClusterTicketRepository;
+import br.com.consisa.gov.kb.job.JobContext;
 import br.com.consisa.gov.kb.repository.JobRunRepository;
-import br.com.consisa.gov.kb.repository.SupportTicketMessageRepository;
-import br.com.consisa.gov.kb.repository.SupportTicketRepository;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+/**
+ * 📥 Importação de tickets de suporte (Movidesk) por janelas.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * 1. O período é quebrado em janelas de window-days (createdDateFrom/To)
+ * 2. Até parallelism janelas são buscadas ao mesmo tempo, cada uma paginada
+ *    ($top/$skip); o limite de requisições do Movidesk é global
+ * 3. Cada janela baixada é gravada e commitada sozinha
+ *    ({@link SupportIngestionService}) e vira checkpoint no job_run
+ * 4. Se o último import do MESMO período não terminou (FAILED/RUNNING),
+ *    as janelas já commitadas são puladas
+ * 5. No fim, avalia as regras de recorrência uma única vez
+ *
+ * Memória limitada a ~parallelism janelas: a próxima busca só começa
+ * quando uma janela termina.
+ *
+ * Pela API roda na fila de jobs ({@link br.com.consisa.gov.kb.job.SupportImportJobHandler}):
+ * progresso = janelas concluídas; cancelamento é checado entre janelas
+ * (o checkpoint fica, o próximo import do período retoma).
+ */
 @Service
 public class SupportImportService {
 
     private static final Logger log = LoggerFactory.getLogger(SupportImportService.class);
 
+    static final String JOB_NAME = "support-import";
+
     private final MovideskClient movideskClient;
-    private final SupportTicketRepository ticketRepository;
-    private final SupportTicketMessageRepository messageRepository;
-    private final FaqClusterRepository clusterRepository;
-    private final FaqClusterTicketRepository clusterTicketRepository;
+    private final SupportIngestionService ingestionService;
     private final RecurrenceService recurrenceService;
-    private final SupportNormalizationService normalizationService;
     private final JobRunRepository jobRunRepository;
     private final ObjectMapper objectMapper;
+    private final int windowDays;
+    private final int parallelism;
 
     public SupportImportService(
             MovideskClient movideskClient,
-            SupportTicketRepository ticketRepository,
-            SupportTicketMessageRepository messageRepository,
-            FaqClusterRepository clusterRepository,
-            FaqClusterTicketRepository clusterTicketRepository,
+            SupportIngestionService ingestionService,
             RecurrenceService recurrenceService,
-            SupportNormalizationService normalizationService,
             JobRunRepository jobRunRepository,
-            ObjectMapper objectMapper
+            ObjectMapper objectMapper,
+            @Value("${app.support.import.window-days:7}") int windowDays,
+            @Value("${app.support.import.parallelism:3}") int parallelism
     ) {
         this.movideskClient = movideskClient;
-        this.ticketRepository = ticketRepository;
-        this.messageRepository = messageRepository;
-        this.clusterRepository = clusterRepository;
-        this.clusterTicketRepository = clusterTicketRepository;
+        this.ingestionService = ingestionService;
         this.recurrenceService = recurrenceService;
-        this.normalizationService = normalizationService;
         this.jobRunRepository = jobRunRepository;
         this.objectMapper = objectMapper;
+        this.windowDays = Math.max(1, windowDays);
+        this.parallelism = Math.max(1, parallelism);
     }
 
-    @Transactional
     public ImportResult runImport(OffsetDateTime start, OffsetDateTime end) {
+        return runImport(start, end, JobContext.NONE);
+    }
+
+    public ImportResult runImport(OffsetDateTime start, OffsetDateTime end, JobContext context) {
+        OffsetDateTime until = end != null ? end : OffsetDateTime.now(ZoneOffset.UTC);
+        List<Window> windows = windows(start, until, windowDays);
+        Set<String> completed = new LinkedHashSet<>(resumableWindows(start, until));
+
         JobRun jobRun = new JobRun();
-        jobRun.setJobName("support-import");
+        jobRun.setJobName(JOB_NAME);
         jobRun.setStatus("RUNNING");
         jobRun.setStartedAt(OffsetDateTime.now(ZoneOffset.UTC));
+        jobRun.setDetailsJson(checkpoint(start, until, windows.size(), completed, new ImportResult(0, 0, 0)));
         jobRunRepository.save(jobRun);
 
-        int ticketsCreated = 0;
-        int ticketsUpdated = 0;
-        int messagesCreated = 0;
+        if (!completed.isEmpty()) {
+            log.info("📥 Import de suporte retomado: {}/{} janelas já concluídas", completed.size(), windows.size());
+        }
 
+        ImportResult total = new ImportResult(0, 0, 0);
+        context.progress(completed.size(), windows.size(), "Janelas importadas");
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, Math.max(1, windows.size())));
         try {
-            List<MovideskTicketResponse> tickets = movideskClient.searchTickets(start, end);
-            for (MovideskTicketResponse ticket : tickets) {
-                SupportTicket saved = upsertTicket(ticket);
-                if (saved.getCreatedAt().equals(saved.getUpdatedAt())) {
-                    ticketsCreated++;
-                } else {
-                    ticketsUpdated++;
+            CompletionService<FetchedWindow> fetches = new ExecutorCompletionService<>(executor);
+            Deque<Window> queue = new ArrayDeque<>();
+            windows.stream().filter(w -> !completed.contains(w.key())).forEach(queue::add);
+
+            int inFlight = 0;
+            while (inFlight < parallelism && !queue.isEmpty()) {
+                Window window = queue.poll();
+                fetches.submit(() -> new FetchedWindow(window, fetch(window)));
+                inFlight++;
+            }
+            while (inFlight > 0) {
+                FetchedWindow fetched = take(fetches);
+                inFlight--;
+                context.checkCancelled();
+                if (!queue.isEmpty()) {
+                    Window next = queue.poll();
+                    fetches.submit(() -> new FetchedWindow(next, fetch(next)));
+                    inFlight++;
                 }
-                messagesCreated += saveMessages(saved, ticket.getActions());
-                updateClusters(saved, ticket);
+
+                total = total.plus(ingestionService.ingest(fetched.tickets()));
+                completed.add(fetched.window().key());
+                jobRun.setDetailsJson(checkpoint(start, until, windows.size(), completed, total));
+                jobRunRepository.save(jobRun);
+                context.progress(completed.size(), windows.size(), "Janelas importadas");
             }
 
+            log.info("📥 Import de suporte: {} janelas, {} tickets novos, {} existentes, {} mensagens",
+                    windows.size(), total.ticketsCreated(), total.ticketsUpdated(), total.messagesCreated());
+
             recurrenceService.evaluateRules();
 
             jobRun.setStatus("SUCCESS");
-        } catch (Exception ex) {
+        } catch (RuntimeException ex) {
             jobRun.setStatus("FAILED");
-            ObjectNode details = objectMapper.createObjectNode();
+            ObjectNode details = checkpoint(start, until, windows.size(), completed, total);
             details.put("error", ex.getMessage());
             jobRun.setDetailsJson(details);
             throw ex;
         } finally {
+            executor.shutdownNow();
             jobRun.setFinishedAt(OffsetDateTime.now(ZoneOffset.UTC));
             jobRunRepository.save(jobRun);
         }
 
-        return new ImportResult(ticketsCreated, ticketsUpdated, messagesCreated);
+        return total;
     }
 
-    private SupportTicket upsertTicket(MovideskTicketResponse ticket) {
-        SupportTicket entity = ticketRepository.findByExternalTicketId(ticket.getId())
-                .orElseGet(SupportTicket::new);
-        entity.setExternalTicketId(ticket.getId());
-        entity.setProtocol(ticket.getProtocol());
-        entity.setSubject(ticket.getSubject());
-        entity.setStatus(ticket.getStatus());
-        entity.setOwnerTeam(ticket.getOwnerTeam());
-        entity.setRequester(ticket.getClients() != null && !ticket.getClients().isEmpty()
-                ? ticket.getClients().get(0).getBusinessName()
-                : null);
-        if (ticket.getCreatedDate() != null) {
-            entity.setOriginCreatedAt(ticket.getCreatedDate().atOffset(ZoneOffset.UTC));
-        }
-        if (ticket.getLastUpdate() != null) {
-            entity.setOriginUpdatedAt(ticket.getLastUpdate().atOffset(ZoneOffset.UTC));
-            entity.setLastMessageAt(ticket.getLastUpdate().atOffset(ZoneOffset.UTC));
+    private List<MovideskTicketResponse> fetch(Window window) {
+        List<MovideskTicketResponse> tickets = new ArrayList<>();
+        int pageSize = MovideskClient.TICKET_PAGE_SIZE;
+        for (int skip = 0; ; skip += pageSize) {
+            List<MovideskTicketResponse> page = movideskClient.searchTickets(window.start(), window.end(), skip, pageSize);
+            tickets.addAll(page);
+            if (page.size() < pageSize) {
+                return tickets;
+            }
         }
-        return ticketRepository.save(entity);
     }
 
-    private int saveMessages(SupportTicket ticket, List<MovideskActionDto> actions) {
-        if (actions == null || actions.isEmpty()) {
-            return 0;
-        }
-        int created = 0;
-        int index = 0;
-        for (MovideskActionDto action : actions) {
-            String key = ticket.getExternalTicketId() + ":" + index + ":" + Integer.toHexString(Objects.hash(action.getDescription(), action.getHtmlDescription()));
-            index++;
-            if (messageRepository.findByExternalMessageKey(key).isPresent()) {
-                continue;
+    private static FetchedWindow take(CompletionService<FetchedWindow> fetches) {
+        try {
+            return fetches.take().get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import de suporte interrompido", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
             }
-            SupportTicketMessage message = new SupportTicketMessage();
-            message.setTicketId(ticket.getId());
-            message.setDirection(resolveDirection(action));
-            message.setAuthor(action.getCreatedBy() != null ? action.getCreatedBy().getBusinessName() : null);
-            message.setContent(action.getDescription());
-            message.setContentHtml(action.getHtmlDescription());
-            message.setExternalMessageKey(key);
-            messageRepository.save(message);
-            created++;
+            throw new IllegalStateException("Falha ao buscar janela de tickets", ex.getCause());
         }
-        return created;
     }
 
-    private String resolveDirection(MovideskActionDto action) {
-        Integer type = action.getType();
-        if (type != null && type == 2) {
-            return "OUT";
-        }
-        return "IN";
-    }
+    // ======================
+    // JANELAS / CHECKPOINT
+    // ======================
 
-    private void updateClusters(SupportTicket ticket, MovideskTicketResponse source) {
-        StringBuilder sb = new StringBuilder();
-        if (source.getSubject() != null) {
-            sb.append(source.getSubject()).append(" ");
+    /**
+     * Quebra [start, end] em janelas de windowDays dias.
+     * Janelas vizinhas compartilham o instante da fronteira (filtro do
+     * Movidesk é inclusivo nas duas pontas): terminar 1s antes perderia o
+     * ticket criado em hh:mm:59.5. Ticket na fronteira vem nas duas janelas
+     * e o upsert por external_ticket_id o grava uma vez só.
+     * Sem início, o período inteiro é uma janela só (ainda paginada).
+     */
+    static List<Window> windows(OffsetDateTime start, OffsetDateTime end, int windowDays) {
+        if (start == null) {
+            return List.of(new Window(null, end));
         }
-        if (source.getActions() != null) {
-            for (MovideskActionDto action : source.getActions()) {
-                if (action.getDescription() != null) {
-                    sb.append(action.getDescription()).append(" ");
-                }
+        List<Window> windows = new ArrayList<>();
+        OffsetDateTime from = start;
+        while (!from.isAfter(end)) {
+            OffsetDateTime next = from.plusDays(windowDays);
+            OffsetDateTime to = next.isBefore(end) ? next : end;
+            windows.add(new Window(from, to));
+            if (!to.isBefore(end)) {
+                break;
             }
+            from = to;
         }
-        String normalized = normalizationService.normalize(sb.toString());
-        if (normalized.isBlank()) {
-            return;
-        }
-        String fingerprint = normalizationService.fingerprint(normalized);
-
-        FaqCluster cluster = clusterRepository.findByFingerprint(fingerprint)
-                .orElseGet(FaqCluster::new);
-        if (cluster.getId() == null) {
-            cluster.setFingerprint(fingerprint);
-            cluster.setNormalizedText(normalized);
-            cluster.setSampleText(truncate(sb.toString(), 400));
-            cluster.setTicketCount(0);
-        }
-        clusterRepository.save(cluster);
-
-        if (!clusterTicketRepository.existsByClusterIdAndTicketId(cluster.getId(), ticket.getId())) {
-            FaqClusterTicket link = new FaqClusterTicket();
-            link.setClusterId(cluster.getId());
-            link.setTicketId(ticket.getId());
-            clusterTicketRepository.save(link);
-            int count = (int) clusterTicketRepository.countByClusterId(cluster.getId());
-            cluster.setTicketCount(count);
-            clusterRepository.save(cluster);
-        }
+        return windows;
     }
 
-    private String truncate(String value, int max) {
-        if (value == null) {
-            return null;
-        }
-        String trimmed = value.trim();
-        if (trimmed.length() <= max) {
-            return trimmed;
+    /**
+     * Janelas já commitadas pelo último import, se ele não terminou e cobria o mesmo período.
+     */
+    private List<String> resumableWindows(OffsetDateTime start, OffsetDateTime end) {
+        return jobRunRepository.findTopByJobNameOrderByIdDesc(JOB_NAME)
+                .filter(last -> !"SUCCESS".equals(last.getStatus()))
+                .map(JobRun::getDetailsJson)
+                .filter(details -> Objects.equals(text(details, "start"), format(start))
+                        && Objects.equals(text(details, "end"), format(end))
+                        && details.path("windowDays").asInt() == windowDays)
+                .map(details -> {
+                    List<String> keys = new ArrayList<>();
+                    details.path("completedWindows").forEach(node -> keys.add(node.asText()));
+                    return keys;
+                })
+                .orElse(List.of());
+    }
+
+    private ObjectNode checkpoint(OffsetDateTime start, OffsetDateTime end, int windowCount,
+                                  Set<String> completed, ImportResult total) {
+        ObjectNode details = objectMapper.createObjectNode();
+        details.put("start", format(start));
+        details.put("end", format(end));
+        details.put("windowDays", windowDays);
+        details.put("windows", windowCount);
+        ArrayNode done = details.putArray("completedWindows");
+        completed.forEach(done::add);
+        details.put("ticketsCreated", total.ticketsCreated());
+        details.put("ticketsUpdated", total.ticketsUpdated());
+        details.put("messagesCreated", total.messagesCreated());
+        return details;
+    }
+
+    private static String text(JsonNode details, String field) {
+        JsonNode node = details.get(field);
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    private static String format(OffsetDateTime value) {
+        return value == null ? null : value.withOffsetSameInstant(ZoneOffset.UTC).toString();
+    }
+
+    record Window(OffsetDateTime start, OffsetDateTime end) {
+
+        String key() {
+            return format(start) + "/" + format(end);
         }
-        return trimmed.substring(0, max);
+    }
+
+    private record FetchedWindow(Window window, List<MovideskTicketResponse> tickets) {
     }
 
     public record ImportResult(int ticketsCreated, int ticketsUpdated, int messagesCreated) {
+
+        ImportResult plus(ImportResult other) {
+            return new ImportResult(
+                    ticketsCreated + other.ticketsCreated,
+                    ticketsUpdated + other.ticketsUpdated,
+                    messagesCreated + other.messagesCreated);
+        }
     }
-}
\ No newline at end of file
+}
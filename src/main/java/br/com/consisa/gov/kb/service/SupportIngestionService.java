@@ -0,0 +1,247 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.client.movidesk.MovideskActionDto;
+import br.com.consisa.gov.kb.client.movidesk.MovideskTicketResponse;
+import br.com.consisa.gov.kb.repository.SupportIngestionRepository;
+import br.com.consisa.gov.kb.repository.SupportIngestionRepository.ClusterLink;
+import br.com.consisa.gov.kb.repository.SupportIngestionRepository.MessageRow;
+import br.com.consisa.gov.kb.repository.SupportIngestionRepository.TicketRow;
+import br.com.consisa.gov.kb.service.SupportImportService.ImportResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 📥 Gravação em lote de tickets de suporte já buscados no Movidesk.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * Para cada lote de batch-size tickets:
+ * 1. Uma consulta resolve quais tickets já existem; upsert em batch JDBC
+ * 2. Mensagens: INSERT ... ON CONFLICT DO NOTHING pela chave externa
+ * 3. Clusters: tickets ainda sem cluster são agrupados (fingerprint exato
+ *    resolvido em lote, depois MinHash/LSH); vínculos em batch e contadores
+ *    somados uma vez por cluster (ticket_count + n)
+ *
+ * Cada chamada é uma transação (uma janela do import = um commit).
+ */
+@Service
+public class SupportIngestionService {
+
+    private final SupportIngestionRepository ingestionRepository;
+    private final FaqClusterMatcher clusterMatcher;
+    private final SupportNormalizationService normalizationService;
+    private final int batchSize;
+
+    public SupportIngestionService(
+            SupportIngestionRepository ingestionRepository,
+            FaqClusterMatcher clusterMatcher,
+            SupportNormalizationService normalizationService,
+            @Value("${app.support.import.batch-size:500}") int batchSize
+    ) {
+        this.ingestionRepository = ingestionRepository;
+        this.clusterMatcher = clusterMatcher;
+        this.normalizationService = normalizationService;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Transactional
+    public ImportResult ingest(List<MovideskTicketResponse> tickets) {
+        ImportResult total = new ImportResult(0, 0, 0);
+        for (int from = 0; from < tickets.size(); from += batchSize) {
+            total = total.plus(importBatch(tickets.subList(from, Math.min(from + batchSize, tickets.size()))));
+        }
+        return total;
+    }
+
+    private ImportResult importBatch(List<MovideskTicketResponse> batch) {
+        // mesmo ticket repetido no lote: vale a última versão
+        Map<String, MovideskTicketResponse> byExternalId = new LinkedHashMap<>();
+        for (MovideskTicketResponse ticket : batch) {
+            if (ticket.getId() != null) {
+                byExternalId.put(ticket.getId(), ticket);
+            }
+        }
+        if (byExternalId.isEmpty()) {
+            return new ImportResult(0, 0, 0);
+        }
+
+        Map<String, Long> existing = ingestionRepository.findTicketIds(byExternalId.keySet());
+        ingestionRepository.upsertTickets(byExternalId.values().stream().map(this::toTicketRow).toList());
+
+        Map<String, Long> ticketIds = new HashMap<>(existing);
+        if (ticketIds.size() < byExternalId.size()) {
+            ticketIds.putAll(ingestionRepository.findTicketIds(
+                    byExternalId.keySet().stream().filter(id -> !existing.containsKey(id)).toList()));
+        }
+
+        List<MessageRow> messages = new ArrayList<>();
+        byExternalId.forEach((externalId, ticket) ->
+                addMessageRows(messages, ticketIds.get(externalId), externalId, ticket.getActions()));
+        int messagesCreated = ingestionRepository.insertMessages(messages);
+
+        updateClusters(byExternalId, ticketIds);
+
+        int created = byExternalId.size() - existing.size();
+        return new ImportResult(created, existing.size(), messagesCreated);
+    }
+
+    private TicketRow toTicketRow(MovideskTicketResponse ticket) {
+        OffsetDateTime lastUpdate = ticket.getLastUpdate() != null
+                ? ticket.getLastUpdate().atOffset(ZoneOffset.UTC)
+                : null;
+        return new TicketRow(
+                ticket.getId(),
+                ticket.getProtocol(),
+                ticket.getSubject(),
+                ticket.getStatus(),
+                ticket.getClients() != null && !ticket.getClients().isEmpty()
+                        ? ticket.getClients().get(0).getBusinessName()
+                        : null,
+                ticket.getOwnerTeam(),
+                ticket.getCreatedDate() != null ? ticket.getCreatedDate().atOffset(ZoneOffset.UTC) : null,
+                lastUpdate,
+                lastUpdate
+        );
+    }
+
+    private void addMessageRows(List<MessageRow> rows, Long ticketId, String externalTicketId, List<MovideskActionDto> actions) {
+        if (ticketId == null || actions == null || actions.isEmpty()) {
+            return;
+        }
+        int index = 0;
+        for (MovideskActionDto action : actions) {
+            String key = externalTicketId + ":" + index + ":" + Integer.toHexString(Objects.hash(action.getDescription(), action.getHtmlDescription()));
+            index++;
+            rows.add(new MessageRow(
+                    ticketId,
+                    resolveDirection(action),
+                    action.getCreatedBy() != null ? action.getCreatedBy().getBusinessName() : null,
+                    action.getDescription(),
+                    action.getHtmlDescription(),
+                    key
+            ));
+        }
+    }
+
+    private String resolveDirection(MovideskActionDto action) {
+        Integer type = action.getType();
+        if (type != null && type == 2) {
+            return "OUT";
+        }
+        return "IN";
+    }
+
+    private void updateClusters(Map<String, MovideskTicketResponse> byExternalId, Map<String, Long> ticketIds) {
+        // reimportação: o ticket continua no cluster em que já entrou
+        Set<Long> linked = ingestionRepository.findLinkedTicketIds(ticketIds.values());
+
+        List<PendingLink> pending = new ArrayList<>();
+        byExternalId.forEach((externalId, source) -> {
+            Long ticketId = ticketIds.get(externalId);
+            if (ticketId == null || linked.contains(ticketId)) {
+                return;
+            }
+            String rawText = clusterText(source);
+            String normalized = normalizationService.normalize(rawText);
+            if (!normalized.isBlank()) {
+                pending.add(new PendingLink(ticketId, source, rawText, normalized,
+                        normalizationService.fingerprint(normalized)));
+            }
+        });
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> clusterByFingerprint = new HashMap<>(ingestionRepository.findClusterIdsByFingerprint(
+                pending.stream().map(PendingLink::fingerprint).distinct().toList()));
+
+        List<ClusterLink> links = new ArrayList<>();
+        for (PendingLink link : pending) {
+            long clusterId = clusterByFingerprint.computeIfAbsent(link.fingerprint(), fp -> findOrCreateCluster(link));
+            links.add(new ClusterLink(clusterId, link.ticketId()));
+        }
+        // import concorrente pode ter vinculado o mesmo ticket depois do
+        // findLinkedTicketIds: só conta o vínculo que este lote inseriu
+        Set<ClusterLink> inserted = ingestionRepository.insertLinks(links);
+
+        Map<Long, List<LocalDate>> occurrences = new HashMap<>();
+        for (int i = 0; i < links.size(); i++) {
+            ClusterLink link = links.get(i);
+            if (inserted.contains(link)) {
+                // total + anel diário (janela deslizante das regras de recorrência)
+                occurrences.computeIfAbsent(link.clusterId(), id -> new ArrayList<>())
+                        .add(occurrenceDay(pending.get(i).source()));
+            }
+        }
+        ingestionRepository.addOccurrences(occurrences);
+    }
+
+    /**
+     * Cluster mais parecido via MinHash/LSH; senão um cluster novo, já indexado.
+     */
+    private long findOrCreateCluster(PendingLink link) {
+        int[] signature = clusterMatcher.signature(link.normalized());
+        return clusterMatcher.findNearest(signature).orElseGet(() -> {
+            long id = ingestionRepository.insertCluster(
+                    link.fingerprint(), link.normalized(), truncate(link.rawText(), 400), signature);
+            clusterMatcher.indexBands(id, signature);
+            return id;
+        });
+    }
+
+    private String clusterText(MovideskTicketResponse source) {
+        StringBuilder sb = new StringBuilder();
+        if (source.getSubject() != null) {
+            sb.append(source.getSubject()).append(" ");
+        }
+        if (source.getActions() != null) {
+            for (MovideskActionDto action : source.getActions()) {
+                if (action.getDescription() != null) {
+                    sb.append(action.getDescription()).append(" ");
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    private LocalDate occurrenceDay(MovideskTicketResponse ticket) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        if (ticket.getCreatedDate() == null) {
+            return today;
+        }
+        LocalDate origin = ticket.getCreatedDate().toLocalDate();
+        return origin.isAfter(today) ? today : origin;
+    }
+
+    private String truncate(String value, int max) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        if (trimmed.length() <= max) {
+            return trimmed;
+        }
+        return trimmed.substring(0, max);
+    }
+
+    private record PendingLink(
+            Long ticketId,
+            MovideskTicketResponse source,
+            String rawText,
+            String normalized,
+            String fingerprint
+    ) {
+    }
+}
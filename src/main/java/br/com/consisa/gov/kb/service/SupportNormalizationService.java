@@ -4,40 +4,249 @@ import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.text.Normalizer;
-import java.util.Locale;
+import java.util.HexFormat;
 
+/**
+ * 🧹 Normalização de texto de ticket (agrupamento e fingerprint).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * Uma única varredura do texto, sem regex:
+ * - Remove acentos e passa para minúsculas (tabela pré-calculada para
+ *   Latin-1/Latin Extended; demais caracteres via NFD pontual)
+ * - Mascara dados pessoais/identificadores inteiros (limite de palavra):
+ *   CPF (11 dígitos ou 000.000.000-00) → [cpf],
+ *   CNPJ (14 dígitos ou 00.000.000/0000-00) → [cnpj],
+ *   outros números com 6+ dígitos → [id], e-mails → [email]
+ * - Colapsa espaços e apara as pontas
+ */
 @Service
 public class SupportNormalizationService {
 
+    /** Code points com acento/caixa resolvidos por tabela (o resto é raro). */
+    private static final int FOLD_TABLE_END = 0x0250;
+    private static final String[] FOLD_TABLE = new String[FOLD_TABLE_END];
+
+    static {
+        for (int cp = 0x80; cp < FOLD_TABLE_END; cp++) {
+            FOLD_TABLE[cp] = computeFold(cp);
+        }
+    }
+
+    private static final String CPF_FORMAT = "ddd.ddd.ddd-dd";
+    private static final String CNPJ_FORMAT = "dd.ddd.ddd/dddd-dd";
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Falha ao gerar fingerprint", ex);
+        }
+    });
+
     public String normalize(String text) {
         if (text == null) {
             return "";
         }
-        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
-                .replaceAll("\\p{InCombiningDiacriticalMarks}+", "");
-        normalized = normalized.toLowerCase(Locale.ROOT);
-        normalized = normalized.replaceAll("\\b\\d{6,}\\b", "[id]");
-        normalized = normalized.replaceAll("\\b\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}\\b", "[cpf]");
-        normalized = normalized.replaceAll("\\b\\d{11}\\b", "[cpf]");
-        normalized = normalized.replaceAll("\\b\\d{2}\\.\\d{3}\\.\\d{3}/\\d{4}-\\d{2}\\b", "[cnpj]");
-        normalized = normalized.replaceAll("\\b\\d{14}\\b", "[cnpj]");
-        normalized = normalized.replaceAll("[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,}", "[email]");
-        normalized = normalized.replaceAll("\\s+", " ").trim();
-        return normalized;
+        int length = text.length();
+        StringBuilder out = new StringBuilder(length);
+        boolean pendingSpace = false;
+
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+
+            if (isSpace(c)) {
+                pendingSpace = out.length() > 0;
+                i++;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+
+            if (isDigit(c) && !endsWithWordChar(out)) {
+                i = appendNumber(text, i, out);
+            } else if (c == '@') {
+                i = appendAt(text, i, out);
+            } else if (c < 0x80) {
+                out.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+                i++;
+            } else {
+                int cp = text.codePointAt(i);
+                out.append(fold(cp));
+                i += Character.charCount(cp);
+            }
+        }
+        return out.toString();
     }
 
     public String fingerprint(String normalized) {
-        try {
-            MessageDigest digest = MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(normalized.getBytes(StandardCharsets.UTF_8));
-            StringBuilder sb = new StringBuilder();
-            for (byte b : hash) {
-                sb.append(String.format("%02x", b));
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // ========================================
+    // NÚMEROS (CPF / CNPJ / ID)
+    // ========================================
+
+    /**
+     * Número começando em start (já em limite de palavra): grava a máscara
+     * ou os dígitos como vieram. Retorna a posição seguinte.
+     */
+    private static int appendNumber(String text, int start, StringBuilder out) {
+        int end = start;
+        while (end < text.length() && isDigit(text.charAt(end))) {
+            end++;
+        }
+        int digits = end - start;
+
+        if (digits == 3 && matchesFormat(text, start, CPF_FORMAT)) {
+            out.append("[cpf]");
+            return start + CPF_FORMAT.length();
+        }
+        if (digits == 2 && matchesFormat(text, start, CNPJ_FORMAT)) {
+            out.append("[cnpj]");
+            return start + CNPJ_FORMAT.length();
+        }
+        // seguido de '@': fica para a máscara de e-mail
+        if (digits >= 6 && !isWordCharAt(text, end) && !(end < text.length() && text.charAt(end) == '@')) {
+            out.append(digits == 11 ? "[cpf]" : digits == 14 ? "[cnpj]" : "[id]");
+            return end;
+        }
+        out.append(text, start, end);
+        return end;
+    }
+
+    private static boolean matchesFormat(String text, int start, String format) {
+        int end = start + format.length();
+        if (end > text.length() || isWordCharAt(text, end)) {
+            return false;
+        }
+        for (int k = 0; k < format.length(); k++) {
+            char expected = format.charAt(k);
+            char actual = text.charAt(start + k);
+            if (expected == 'd' ? !isDigit(actual) : actual != expected) {
+                return false;
             }
-            return sb.toString();
-        } catch (Exception ex) {
-            throw new IllegalStateException("Falha ao gerar fingerprint", ex);
         }
+        return true;
+    }
+
+    // ========================================
+    // E-MAIL
+    // ========================================
+
+    /**
+     * '@' na posição at: se a parte local (já gravada) e o domínio formam um
+     * e-mail, troca tudo por [email]. Retorna a posição seguinte.
+     */
+    private static int appendAt(String text, int at, StringBuilder out) {
+        int localStart = out.length();
+        while (localStart > 0 && isLocalChar(out.charAt(localStart - 1))) {
+            localStart--;
+        }
+        int domainEnd = localStart < out.length() ? matchDomain(text, at + 1) : -1;
+        if (domainEnd < 0) {
+            out.append('@');
+            return at + 1;
+        }
+        out.setLength(localStart);
+        out.append("[email]");
+        return domainEnd;
+    }
+
+    /**
+     * Maior domínio [a-z0-9.-]+\.[a-z]{2,} a partir de start.
+     *
+     * @return posição no texto logo após o domínio, ou -1
+     */
+    private static int matchDomain(String text, int start) {
+        int end = start;
+        while (end < text.length() && isDomainChar(asciiFold(text.charAt(end)))) {
+            end++;
+        }
+        for (int e = end; e - start >= 4; e--) {
+            if (!isLetter(asciiFold(text.charAt(e - 1)))) {
+                continue;
+            }
+            int p = e - 1;
+            while (p > start && isLetter(asciiFold(text.charAt(p - 1)))) {
+                p--;
+            }
+            if (e - p >= 2 && p - 1 > start && text.charAt(p - 1) == '.') {
+                return e;
+            }
+        }
+        return -1;
+    }
+
+    // ========================================
+    // CARACTERES
+    // ========================================
+
+    private static String fold(int cp) {
+        if (cp >= 0x0300 && cp <= 0x036F) {
+            return ""; // acento combinante solto
+        }
+        return cp < FOLD_TABLE_END ? FOLD_TABLE[cp] : computeFold(cp);
+    }
+
+    private static String computeFold(int cp) {
+        String decomposed = Normalizer.normalize(new String(Character.toChars(cp)), Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        decomposed.codePoints()
+                .filter(c -> c < 0x0300 || c > 0x036F)
+                .map(Character::toLowerCase)
+                .forEach(sb::appendCodePoint);
+        return sb.toString();
+    }
+
+    /** Caractere único ASCII depois de tirar acento/caixa, ou 0. */
+    private static char asciiFold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        if (Character.isSurrogate(c)) {
+            return 0;
+        }
+        String folded = fold(c);
+        return folded.length() == 1 && folded.charAt(0) < 0x80 ? folded.charAt(0) : 0;
+    }
+
+    private static boolean isWordCharAt(String text, int index) {
+        return index < text.length() && isWordChar(asciiFold(text.charAt(index)));
+    }
+
+    private static boolean endsWithWordChar(StringBuilder out) {
+        return !out.isEmpty() && isWordChar(out.charAt(out.length() - 1));
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == 0x0B;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isLetter(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isWordChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '_' || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isDomainChar(char c) {
+        return isLetter(c) || isDigit(c) || c == '.' || c == '-';
     }
 }
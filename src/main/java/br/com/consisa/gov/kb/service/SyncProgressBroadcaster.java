@@ -0,0 +1,314 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.SyncMode;
+import br.com.consisa.gov.kb.domain.SyncRunStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 📡 Progresso do sync em tempo real via Server-Sent Events.
+ *
+ * EVENTOS:
+ * --------
+ * - snapshot  : estado atual, enviado ao conectar
+ * - started   : run iniciado (imediato)
+ * - progress  : contadores + throughput da última página (coalescido)
+ * - errors    : falhas por artigo desde o último push (coalescido)
+ * - finished  : run encerrado (imediato)
+ *
+ * COALESCÊNCIA:
+ * -------------
+ * O sync só incrementa contadores e marca "dirty" (custo ~zero por artigo).
+ * Um tick a cada app.sync.progress.push-interval-ms envia no máximo um
+ * "progress" e um "errors" para todos os clientes.
+ *
+ * O tick roda numa thread própria, não no scheduler do @Scheduled: o sync
+ * agendado (KbSyncScheduler) ocupa aquela thread durante o run inteiro e o
+ * progresso/heartbeat ficaria parado justamente enquanto há o que mostrar.
+ *
+ * Substitui o polling de /kb/sync/progress e /api/v1/sync/runs/latest.
+ */
+@Service
+public class SyncProgressBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncProgressBroadcaster.class);
+
+    private static final int MAX_BUFFERED_ERRORS = 20;
+    private static final long HEARTBEAT_EVERY_MS = 15_000;
+
+    private final long emitterTimeoutMs;
+    private final long pushIntervalMs;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    // Estado do run corrente
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final AtomicInteger processed = new AtomicInteger();
+    private final AtomicInteger succeeded = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile Long runId;
+    private volatile SyncMode mode;
+    private volatile Integer total;
+    private volatile OffsetDateTime startedAt;
+    private volatile PageThroughput lastPage;
+    private volatile Map<String, Object> lastFinished;
+
+    private final Deque<Map<String, Object>> pendingErrors = new ArrayDeque<>();
+    private int droppedErrors;
+    private long lastPushAt;
+    private ScheduledExecutorService ticker;
+
+    public SyncProgressBroadcaster(
+            @Value("${app.sync.progress.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+            @Value("${app.sync.progress.push-interval-ms:1000}") long pushIntervalMs
+    ) {
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.pushIntervalMs = Math.max(100, pushIntervalMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        ticker = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("kb-sync-progress").daemon(true).factory());
+        ticker.scheduleWithFixedDelay(this::tick, pushIntervalMs, pushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.shutdownNow();
+        }
+    }
+
+    // ======================
+    // Assinatura
+    // ======================
+
+    /**
+     * Registra um cliente SSE e envia o estado atual.
+     */
+    public SseEmitter subscribe() {
+        return subscribe(new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(SseEmitter emitter) {
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ex -> emitters.remove(emitter));
+        emitters.add(emitter);
+
+        send(emitter, "snapshot", snapshot());
+        log.debug("📡 Cliente SSE de sync conectado (total={})", emitters.size());
+        return emitter;
+    }
+
+    public int subscribers() {
+        return emitters.size();
+    }
+
+    // ======================
+    // Reporte (chamado pelo sync)
+    // ======================
+
+    public void runStarted(Long runId, SyncMode mode) {
+        this.runId = runId;
+        this.mode = mode;
+        this.total = null;
+        this.startedAt = OffsetDateTime.now(ZoneOffset.UTC);
+        this.lastPage = null;
+        processed.set(0);
+        succeeded.set(0);
+        failed.set(0);
+        synchronized (pendingErrors) {
+            pendingErrors.clear();
+            droppedErrors = 0;
+        }
+        running.set(true);
+        dirty.set(false);
+
+        broadcast("started", snapshot());
+    }
+
+    public void totalKnown(Integer total) {
+        this.total = total;
+        dirty.set(true);
+    }
+
+    public void itemProcessed() {
+        processed.incrementAndGet();
+        dirty.set(true);
+    }
+
+    public void itemSucceeded() {
+        succeeded.incrementAndGet();
+        dirty.set(true);
+    }
+
+    public void itemFailed(Long articleId, Integer page, String message) {
+        failed.incrementAndGet();
+        error(articleId, page, message);
+    }
+
+    /**
+     * Registra um erro para o próximo push (sem contar como artigo falho,
+     * ex.: falha ao buscar a página inteira).
+     */
+    public void error(Long articleId, Integer page, String message) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("articleId", articleId);
+        error.put("page", page);
+        error.put("message", message);
+        error.put("at", OffsetDateTime.now(ZoneOffset.UTC));
+        synchronized (pendingErrors) {
+            if (pendingErrors.size() >= MAX_BUFFERED_ERRORS) {
+                pendingErrors.pollFirst();
+                droppedErrors++;
+            }
+            pendingErrors.addLast(error);
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Fim de uma página do sync: alimenta o throughput exibido.
+     */
+    public void pageCompleted(int page, int items, long durationMs) {
+        this.lastPage = new PageThroughput(page, items, durationMs,
+                durationMs > 0 ? items * 1000.0 / durationMs : items);
+        dirty.set(true);
+    }
+
+    public void runFinished(Long runId, SyncRunStatus status, String note) {
+        flush();
+        running.set(false);
+        lastFinished = null;
+
+        Map<String, Object> payload = snapshot();
+        payload.put("runId", runId != null ? runId : this.runId);
+        payload.put("status", status != null ? status.name() : null);
+        payload.put("note", note);
+        lastFinished = payload;
+
+        broadcast("finished", payload);
+    }
+
+    // ======================
+    // Push coalescido
+    // ======================
+
+    private void tick() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // exceção cancelaria o agendamento: próximo tick tenta de novo
+            log.warn("⚠️ Falha no push de progresso SSE: {}", e.getMessage());
+        }
+    }
+
+    public synchronized void flush() {
+        if (emitters.isEmpty()) {
+            dirty.set(false);
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (dirty.getAndSet(false)) {
+            broadcast("progress", snapshot());
+
+            List<Map<String, Object>> errors;
+            int dropped;
+            synchronized (pendingErrors) {
+                errors = new ArrayList<>(pendingErrors);
+                dropped = droppedErrors;
+                pendingErrors.clear();
+                droppedErrors = 0;
+            }
+            if (!errors.isEmpty()) {
+                broadcast("errors", Map.of("items", errors, "dropped", dropped));
+            }
+            lastPushAt = now;
+        } else if (now - lastPushAt >= HEARTBEAT_EVERY_MS) {
+            // mantém proxies/load balancers com a conexão aberta
+            heartbeat();
+            lastPushAt = now;
+        }
+    }
+
+    // ======================
+    // Internos
+    // ======================
+
+    private Map<String, Object> snapshot() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("isRunning", running.get());
+        data.put("runId", runId);
+        data.put("mode", mode != null ? mode.name() : null);
+        data.put("startedAt", startedAt);
+        data.put("total", total);
+        data.put("processed", processed.get());
+        data.put("succeeded", succeeded.get());
+        data.put("failed", failed.get());
+
+        long elapsedMs = startedAt != null
+                ? Duration.between(startedAt, OffsetDateTime.now(ZoneOffset.UTC)).toMillis()
+                : 0;
+        data.put("elapsedMs", elapsedMs);
+        data.put("avgTimePerArticleMs", processed.get() > 0 ? elapsedMs / processed.get() : 0);
+        data.put("lastPage", lastPage);
+        if (!running.get() && lastFinished != null) {
+            data.put("lastFinished", lastFinished);
+        }
+        return data;
+    }
+
+    private void broadcast(String name, Object payload) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, name, payload);
+        }
+    }
+
+    private void heartbeat() {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+            }
+        }
+    }
+
+    private void send(SseEmitter emitter, String name, Object payload) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(payload, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // cliente desconectou
+            emitters.remove(emitter);
+        }
+    }
+
+    public record PageThroughput(int page, int items, long durationMs, double itemsPerSecond) {
+    }
+}
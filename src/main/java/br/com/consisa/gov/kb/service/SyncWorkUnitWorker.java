@@ -0,0 +1,132 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.KbSyncRun;
+import br.com.consisa.gov.kb.observability.KbTracing;
+import br.com.consisa.gov.kb.repository.KbSyncWorkUnitRepository.UnitCounts;
+import br.com.consisa.gov.kb.repository.KbSyncWorkUnitRepository.WorkUnit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 👷 Worker do sync distribuído: roda em TODAS as réplicas.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - app.sync.leasing.workers threads próprias (fora do pool do @Scheduled,
+ *   que tem uma thread só e atende métricas/SSE)
+ * - Cada thread: reivindica unidade → processa → conclui; sem unidade,
+ *   dorme poll-ms e aproveita para falhar unidades com lease esgotado
+ * - Quem fecha o run faz o pós-processamento (deletados, duplicados)
+ */
+@Component
+@ConditionalOnProperty(name = "app.sync.leasing.enabled", havingValue = "true")
+public class SyncWorkUnitWorker {
+
+    private static final Logger log = LoggerFactory.getLogger(SyncWorkUnitWorker.class);
+
+    private final KbSyncWorkLeaseService leasing;
+    private final KbTracing tracing;
+    private final int workers;
+    private final long pollMs;
+
+    private volatile boolean running;
+    private ExecutorService executor;
+
+    public SyncWorkUnitWorker(
+            KbSyncWorkLeaseService leasing,
+            KbTracing tracing,
+            @Value("${app.sync.leasing.workers:2}") int workers,
+            @Value("${app.sync.leasing.poll-ms:5000}") long pollMs
+    ) {
+        this.leasing = leasing;
+        this.tracing = tracing;
+        this.workers = Math.max(1, workers);
+        this.pollMs = Math.max(100, pollMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        executor = Executors.newFixedThreadPool(workers,
+                Thread.ofPlatform().name("kb-sync-worker-", 0).daemon(true).factory());
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::loop);
+        }
+        log.info("👷 Sync distribuído: {} worker(s) na réplica {}", workers, leasing.nodeId());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+            // unidade interrompida volta para a fila quando o lease vencer
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private void loop() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                if (!workOnce()) {
+                    leasing.failExhausted().forEach(closed -> finish(closed.runId()));
+                    Thread.sleep(pollMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("❌ Worker de sync: {}", e.getMessage(), e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * @return false quando não havia unidade disponível
+     */
+    boolean workOnce() {
+        Optional<WorkUnit> claimed = leasing.claim();
+        if (claimed.isEmpty()) {
+            return false;
+        }
+        WorkUnit unit = claimed.get();
+        tracing.job("kbSyncWorkUnit", () -> {
+            log.debug("🧩 Unidade {} (run {}, {}, tentativa {})", unit.id(), unit.runId(), unit.kind(), unit.attempts());
+            Optional<String> closed;
+            try {
+                UnitCounts counts = leasing.process(unit);
+                closed = leasing.complete(unit, counts);
+            } catch (Exception e) {
+                log.warn("⚠️ Unidade {} falhou (tentativa {}): {}", unit.id(), unit.attempts(), e.getMessage());
+                closed = leasing.fail(unit, e);
+            }
+            closed.ifPresent(status -> finish(unit.runId()));
+        });
+        return true;
+    }
+
+    private void finish(long runId) {
+        KbSyncRun run = leasing.finishRun(runId);
+        leasing.runGlobalDetectors(run);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
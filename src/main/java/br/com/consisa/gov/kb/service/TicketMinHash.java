@@ -0,0 +1,120 @@
+package br.com.consisa.gov.kb.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * 🧬 Assinatura MinHash de texto normalizado de ticket (+ chaves LSH).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Texto vira conjunto de shingles de {@link #SHINGLE_WORDS} palavras
+ *   (textos mais curtos usam as próprias palavras)
+ * - Para cada uma das {@link #HASHES} funções de hash guarda o menor valor:
+ *   a fração de posições iguais entre duas assinaturas estima o Jaccard
+ *   entre os conjuntos de shingles
+ * - LSH: a assinatura é cortada em {@link #BANDS} bandas de {@link #ROWS}
+ *   linhas; cada banda vira uma chave. Textos com Jaccard ~0,5 compartilham
+ *   ao menos uma banda em ~87% dos casos, ~0,3 em ~23%
+ *
+ * Sementes fixas: assinaturas persistidas continuam comparáveis entre
+ * execuções (mudar HASHES/BANDS/sementes exige recalcular o índice).
+ */
+final class TicketMinHash {
+
+    static final int HASHES = 128;
+    static final int BANDS = 32;
+    static final int ROWS = HASHES / BANDS;
+    static final int SHINGLE_WORDS = 3;
+
+    private static final Pattern WORD_SEPARATOR = Pattern.compile("[^\\p{Alnum}\\[\\]]+");
+
+    private static final long[] SEEDS = new long[HASHES];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6B62_4661_7143_6C75L);
+        for (int i = 0; i < HASHES; i++) {
+            SEEDS[i] = random.nextLong();
+        }
+    }
+
+    private TicketMinHash() {
+    }
+
+    /**
+     * @return assinatura com {@link #HASHES} posições, ou array vazio se o texto não tem palavras
+     */
+    static int[] signature(String normalized) {
+        String[] words = normalized == null ? new String[0] : WORD_SEPARATOR.split(normalized);
+        long[] wordHashes = Arrays.stream(words)
+                .filter(w -> !w.isEmpty())
+                .mapToLong(w -> mix(w.hashCode()))
+                .toArray();
+        if (wordHashes.length == 0) {
+            return new int[0];
+        }
+
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+
+        int width = Math.min(SHINGLE_WORDS, wordHashes.length);
+        for (int start = 0; start + width <= wordHashes.length; start++) {
+            long shingle = 0;
+            for (int j = 0; j < width; j++) {
+                shingle = shingle * 0x9E37_79B9_7F4A_7C15L + wordHashes[start + j];
+            }
+            for (int i = 0; i < HASHES; i++) {
+                int value = (int) (mix(shingle ^ SEEDS[i]) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Uma chave por banda (o índice da banda entra no hash: bandas diferentes não colidem).
+     */
+    static long[] bandKeys(int[] signature) {
+        if (signature.length != HASHES) {
+            return new long[0];
+        }
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = band + 1L;
+            for (int row = 0; row < ROWS; row++) {
+                key = key * 0x100_0000_01B3L + signature[band * ROWS + row];
+            }
+            keys[band] = mix(key);
+        }
+        return keys;
+    }
+
+    /**
+     * Jaccard estimado (0 quando alguma assinatura é vazia/incompatível).
+     */
+    static double similarity(int[] a, int[] b) {
+        if (a.length != HASHES || b.length != HASHES) {
+            return 0.0;
+        }
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    /** Finalizador do MurmurHash3 (64 bits). */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51_AFD7_ED55_8CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CE_B9FE_1A85_EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,103 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V15
+-- Contadores incrementais por sistema
+-- =====================================================
+-- Descrição: Mantém, por sistema, os totais usados nos
+--            snapshots diários. Os contadores são ajustados
+--            por delta (artigo a artigo) e o snapshot vira um
+--            INSERT ... SELECT sobre poucas linhas, sem varrer
+--            a view kb_article_governance_report.
+-- =====================================================
+
+-- ========================================
+-- 1. TABELA: kb_article_quality_flags
+-- Última contribuição de cada artigo aos contadores
+-- ========================================
+-- Guardar o que foi somado permite subtrair exatamente a mesma
+-- coisa quando o artigo muda (delta = novo - antigo).
+CREATE TABLE IF NOT EXISTS kb_article_quality_flags (
+    article_id          BIGINT PRIMARY KEY,
+    system_code         VARCHAR(60) NOT NULL,
+    content_hash        VARCHAR(64),
+
+    is_empty            BOOLEAN NOT NULL DEFAULT FALSE,
+    is_too_short        BOOLEAN NOT NULL DEFAULT FALSE,
+    is_duplicate        BOOLEAN NOT NULL DEFAULT FALSE,
+    lacks_min_structure BOOLEAN NOT NULL DEFAULT FALSE,
+    is_ia_ready         BOOLEAN NOT NULL DEFAULT FALSE,
+    header_count        INTEGER NOT NULL DEFAULT 0,
+    open_issues         INTEGER NOT NULL DEFAULT 0,
+
+    computed_at         TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_quality_flags_hash ON kb_article_quality_flags(content_hash);
+
+COMMENT ON TABLE kb_article_quality_flags IS 'Flags de qualidade por artigo já contabilizadas em kb_governance_system_counter';
+
+-- ========================================
+-- 2. TABELA: kb_governance_system_counter
+-- Totais por sistema (mesmo system_code da view: GERAL = sem sistema)
+-- ========================================
+CREATE TABLE IF NOT EXISTS kb_governance_system_counter (
+    system_code         VARCHAR(60) PRIMARY KEY,
+
+    total_articles      INTEGER NOT NULL DEFAULT 0,
+    ia_ready_count      INTEGER NOT NULL DEFAULT 0,
+    empty_count         INTEGER NOT NULL DEFAULT 0,
+    short_count         INTEGER NOT NULL DEFAULT 0,
+    duplicate_count     INTEGER NOT NULL DEFAULT 0,
+    no_structure_count  INTEGER NOT NULL DEFAULT 0,
+    ia_ready_header_sum BIGINT  NOT NULL DEFAULT 0,
+    open_issues_count   INTEGER NOT NULL DEFAULT 0,
+
+    updated_at          TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+COMMENT ON TABLE kb_governance_system_counter IS 'Contadores de governança por sistema, atualizados por delta';
+COMMENT ON COLUMN kb_governance_system_counter.ia_ready_header_sum IS 'Soma de header_count dos artigos IA-ready (score médio global)';
+
+-- ========================================
+-- 3. BACKFILL
+-- ========================================
+INSERT INTO kb_article_quality_flags (
+    article_id, system_code, content_hash,
+    is_empty, is_too_short, is_duplicate, lacks_min_structure, is_ia_ready,
+    header_count, open_issues
+)
+SELECT
+    r.article_id,
+    r.system_code,
+    r.content_hash,
+    COALESCE(r.is_empty, FALSE),
+    COALESCE(r.is_too_short, FALSE),
+    COALESCE(r.is_duplicate_same_system, FALSE),
+    COALESCE(r.lacks_min_structure, FALSE),
+    NOT (COALESCE(r.is_empty, FALSE) OR COALESCE(r.is_duplicate_same_system, FALSE) OR COALESCE(r.lacks_min_structure, FALSE)),
+    COALESCE(r.header_count, 0),
+    (
+        SELECT COUNT(*)
+        FROM kb_governance_issue i
+        WHERE i.article_id = r.article_id
+          AND i.status NOT IN ('RESOLVED', 'IGNORED')
+    )
+FROM kb_article_governance_report r
+ON CONFLICT (article_id) DO NOTHING;
+
+INSERT INTO kb_governance_system_counter (
+    system_code, total_articles, ia_ready_count, empty_count, short_count,
+    duplicate_count, no_structure_count, ia_ready_header_sum, open_issues_count
+)
+SELECT
+    system_code,
+    COUNT(*),
+    COUNT(*) FILTER (WHERE is_ia_ready),
+    COUNT(*) FILTER (WHERE is_empty),
+    COUNT(*) FILTER (WHERE is_too_short),
+    COUNT(*) FILTER (WHERE is_duplicate),
+    COUNT(*) FILTER (WHERE lacks_min_structure),
+    COALESCE(SUM(header_count) FILTER (WHERE is_ia_ready), 0),
+    COALESCE(SUM(open_issues), 0)
+FROM kb_article_quality_flags
+GROUP BY system_code
+ON CONFLICT (system_code) DO NOTHING;
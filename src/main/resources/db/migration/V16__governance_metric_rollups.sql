@@ -0,0 +1,47 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V16
+-- Série temporal de métricas (rollups diário/semanal/mensal)
+-- =====================================================
+-- Descrição: Guarda cada métrica por escopo em blocos com
+--            arrays por bucket (colunar). Consultas de tendência
+--            leem poucas linhas e devolvem quantidade limitada
+--            de pontos; a retenção passa a ser por rollup em
+--            vez de apagar o histórico.
+-- =====================================================
+
+-- ========================================
+-- 1. TABELA: kb_governance_metric_rollup
+-- ========================================
+-- DAY:   bloco = mês, 1 posição por dia
+-- WEEK:  bloco = ano, 1 posição por semana (segunda-feira)
+-- MONTH: bloco = ano, 1 posição por mês
+CREATE TABLE IF NOT EXISTS kb_governance_metric_rollup (
+    id           BIGSERIAL PRIMARY KEY,
+    resolution   VARCHAR(10) NOT NULL,
+    scope        VARCHAR(60) NOT NULL,   -- '__GLOBAL__' ou system_code
+    metric       VARCHAR(40) NOT NULL,
+    block_start  DATE NOT NULL,
+
+    avg_values   DOUBLE PRECISION[] NOT NULL,
+    min_values   DOUBLE PRECISION[] NOT NULL,
+    max_values   DOUBLE PRECISION[] NOT NULL,
+    last_values  DOUBLE PRECISION[] NOT NULL,
+    samples      INTEGER[] NOT NULL,
+
+    updated_at   TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT uq_metric_rollup UNIQUE (resolution, scope, metric, block_start),
+    CONSTRAINT ck_metric_rollup_resolution CHECK (resolution IN ('DAY', 'WEEK', 'MONTH'))
+);
+
+CREATE INDEX IF NOT EXISTS idx_metric_rollup_block ON kb_governance_metric_rollup(resolution, block_start);
+
+COMMENT ON TABLE kb_governance_metric_rollup IS 'Rollups colunares de métricas de governança por escopo';
+COMMENT ON COLUMN kb_governance_metric_rollup.samples IS 'Dias agregados em cada bucket (0 = sem dado)';
+
+-- ========================================
+-- 2. RETENÇÃO
+-- ========================================
+-- O histórico não é mais apagado por idade: snapshots brutos antigos
+-- só saem depois de consolidados nos rollups (GovernanceRollupService).
+DROP PROCEDURE IF EXISTS cleanup_old_snapshots();
@@ -0,0 +1,11 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V17
+-- Avaliação set-based de regras de recorrência
+-- =====================================================
+-- Descrição: A avaliação parte dos tickets dentro da janela
+--            (idx_support_ticket_origin_created) e chega aos
+--            clusters pelo ticket_id; sem este índice o join
+--            varre faq_cluster_ticket inteira.
+-- =====================================================
+
+CREATE INDEX IF NOT EXISTS idx_faq_cluster_ticket_ticket ON faq_cluster_ticket(ticket_id);
@@ -0,0 +1,56 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V18
+-- Contadores diários por cluster (janela deslizante)
+-- =====================================================
+-- Descrição: Anel de 120 posições por cluster, uma por dia
+--            (posição = dias desde 1970-01-01 % 120). É
+--            atualizado ao vincular ticket na importação e
+--            substitui a recontagem de faq_cluster_ticket na
+--            avaliação das regras de recorrência.
+-- =====================================================
+
+ALTER TABLE faq_cluster ADD COLUMN IF NOT EXISTS recent_daily_counts INTEGER[];
+ALTER TABLE faq_cluster ADD COLUMN IF NOT EXISTS recent_counts_day DATE;
+
+COMMENT ON COLUMN faq_cluster.recent_daily_counts IS 'Ocorrências por dia (anel de 120 posições, índice = epoch_day % 120)';
+COMMENT ON COLUMN faq_cluster.recent_counts_day IS 'Dia mais recente gravado no anel';
+
+CREATE INDEX IF NOT EXISTS idx_faq_cluster_recent_day ON faq_cluster(recent_counts_day);
+
+-- ========================================
+-- BACKFILL: tickets dos últimos 120 dias
+-- ========================================
+WITH recent AS (
+    SELECT
+        ct.cluster_id,
+        ((st.origin_created_at AT TIME ZONE 'UTC')::date - DATE '1970-01-01') % 120 AS slot,
+        COUNT(*) AS cnt
+    FROM faq_cluster_ticket ct
+    JOIN support_ticket st ON st.id = ct.ticket_id
+    WHERE (st.origin_created_at AT TIME ZONE 'UTC')::date > CURRENT_DATE - 120
+      AND (st.origin_created_at AT TIME ZONE 'UTC')::date <= CURRENT_DATE
+    GROUP BY 1, 2
+),
+rings AS (
+    SELECT
+        c.cluster_id,
+        ARRAY(
+            SELECT COALESCE(r.cnt, 0)::INTEGER
+            FROM generate_series(0, 119) AS s(slot)
+            LEFT JOIN recent r ON r.cluster_id = c.cluster_id AND r.slot = s.slot
+            ORDER BY s.slot
+        ) AS counts
+    FROM (SELECT DISTINCT cluster_id FROM recent) c
+)
+UPDATE faq_cluster f
+SET recent_daily_counts = rings.counts,
+    recent_counts_day = CURRENT_DATE
+FROM rings
+WHERE rings.cluster_id = f.id;
+
+-- ticket_count passa a ser mantido por incremento; alinha com os vínculos atuais
+UPDATE faq_cluster f
+SET ticket_count = t.cnt
+FROM (SELECT cluster_id, COUNT(*)::INTEGER AS cnt FROM faq_cluster_ticket GROUP BY cluster_id) t
+WHERE t.cluster_id = f.id
+  AND f.ticket_count <> t.cnt;
@@ -0,0 +1,29 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V19
+-- Agrupamento de tickets por similaridade (MinHash/LSH)
+-- =====================================================
+-- Descrição: O ticket deixa de exigir fingerprint idêntico
+--            para entrar num cluster. Cada cluster guarda a
+--            assinatura MinHash do ticket que o criou e é
+--            indexado por bandas LSH; o ticket novo só é
+--            comparado com os clusters que compartilham banda.
+-- =====================================================
+
+ALTER TABLE faq_cluster ADD COLUMN IF NOT EXISTS minhash_signature INTEGER[];
+
+COMMENT ON COLUMN faq_cluster.minhash_signature IS 'Assinatura MinHash (128 posições) do texto representativo; vazia = texto sem palavras';
+
+-- ========================================
+-- ÍNDICE LSH: banda → clusters
+-- ========================================
+-- Clusters existentes são indexados no startup (FaqClusterMatcher),
+-- pois a assinatura é calculada na aplicação.
+CREATE TABLE IF NOT EXISTS faq_cluster_lsh_band (
+    band_key   BIGINT NOT NULL,
+    cluster_id BIGINT NOT NULL REFERENCES faq_cluster(id) ON DELETE CASCADE,
+    PRIMARY KEY (band_key, cluster_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_faq_cluster_lsh_band_cluster ON faq_cluster_lsh_band(cluster_id);
+
+COMMENT ON TABLE faq_cluster_lsh_band IS 'Chaves de banda LSH por cluster (candidatos a similaridade)';
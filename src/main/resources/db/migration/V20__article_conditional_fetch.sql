@@ -0,0 +1,13 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V20
+-- Busca condicional de artigos (ETag / revisão)
+-- =====================================================
+-- Descrição: Guarda o ETag devolvido pelo Movidesk em
+--            GET /article/{id}. O sync seguinte manda
+--            If-None-Match (e If-Modified-Since com o
+--            updated_date) e, com 304, não baixa o corpo.
+-- =====================================================
+
+ALTER TABLE kb_article ADD COLUMN IF NOT EXISTS source_etag VARCHAR(200);
+
+COMMENT ON COLUMN kb_article.source_etag IS 'ETag da última resposta de GET /article/{id}; null = API não devolveu ETag';
@@ -0,0 +1,51 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V21
+-- Sync distribuído (work leasing entre réplicas)
+-- =====================================================
+-- Descrição: Uma execução de sync (kb_sync_run) é quebrada
+--            em unidades de trabalho: páginas da busca do
+--            Movidesk (FULL) ou lotes de ids (DELTA).
+--            Qualquer réplica reivindica a próxima unidade
+--            com SELECT ... FOR UPDATE SKIP LOCKED e a
+--            segura por um lease; lease vencido (réplica
+--            caiu) volta a ser reivindicável.
+--            O run termina quando não sobra unidade aberta.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS kb_sync_work_unit (
+    id              BIGSERIAL PRIMARY KEY,
+    run_id          BIGINT NOT NULL REFERENCES kb_sync_run(id) ON DELETE CASCADE,
+
+    -- O que processar
+    kind            VARCHAR(20) NOT NULL,   -- PAGE, IDS
+    page_number     INTEGER,
+    page_size       INTEGER,
+    article_ids     BIGINT[],
+
+    -- Lease
+    status          VARCHAR(20) NOT NULL DEFAULT 'PENDING',  -- PENDING, CLAIMED, DONE, FAILED
+    attempts        INTEGER NOT NULL DEFAULT 0,
+    claimed_by      VARCHAR(255),
+    lease_until     TIMESTAMPTZ,
+
+    -- Resultado
+    synced_count    INTEGER NOT NULL DEFAULT 0,
+    updated_count   INTEGER NOT NULL DEFAULT 0,
+    skipped_count   INTEGER NOT NULL DEFAULT 0,
+    not_found_count INTEGER NOT NULL DEFAULT 0,
+    error_count     INTEGER NOT NULL DEFAULT 0,
+    last_error      VARCHAR(400),
+
+    created_at      TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+    finished_at     TIMESTAMPTZ
+);
+
+-- Fila: só unidades abertas entram no índice
+CREATE INDEX IF NOT EXISTS ix_kb_sync_work_unit_open
+    ON kb_sync_work_unit(id)
+    WHERE status IN ('PENDING', 'CLAIMED');
+
+CREATE INDEX IF NOT EXISTS ix_kb_sync_work_unit_run ON kb_sync_work_unit(run_id, status);
+
+COMMENT ON TABLE kb_sync_work_unit IS 'Unidades de trabalho de um sync distribuído (página ou lote de ids), reivindicadas por lease';
+COMMENT ON COLUMN kb_sync_work_unit.lease_until IS 'Até quando a réplica claimed_by detém a unidade; vencido = reivindicável de novo';
@@ -0,0 +1,53 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V22
+-- Fila persistente de jobs (job_run)
+-- =====================================================
+-- Descrição: Operações longas disparadas pela API (sync,
+--            retry de falhas, import de suporte) deixam de
+--            rodar na thread HTTP: viram uma linha QUEUED em
+--            job_run e um worker a reivindica com
+--            SELECT ... FOR UPDATE SKIP LOCKED, na ordem
+--            prioridade → run_after → id.
+--            Falha com tentativas restantes volta para a fila
+--            com backoff exponencial (run_after no futuro).
+--            Linhas antigas (checkpoint do import) não são
+--            afetadas: nunca ficam QUEUED nem têm lease.
+-- =====================================================
+
+ALTER TABLE job_run
+    ADD COLUMN IF NOT EXISTS priority         INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS payload_json     JSONB,
+
+    -- Tentativas / backoff
+    ADD COLUMN IF NOT EXISTS attempts         INTEGER NOT NULL DEFAULT 0,
+    ADD COLUMN IF NOT EXISTS max_attempts     INTEGER NOT NULL DEFAULT 1,
+    ADD COLUMN IF NOT EXISTS run_after        TIMESTAMPTZ,
+
+    -- Lease (renovado por heartbeat enquanto o job roda)
+    ADD COLUMN IF NOT EXISTS claimed_by       VARCHAR(255),
+    ADD COLUMN IF NOT EXISTS lease_until      TIMESTAMPTZ,
+
+    -- Cancelamento cooperativo / progresso
+    ADD COLUMN IF NOT EXISTS cancel_requested BOOLEAN NOT NULL DEFAULT FALSE,
+    ADD COLUMN IF NOT EXISTS progress_done    INTEGER,
+    ADD COLUMN IF NOT EXISTS progress_total   INTEGER,
+    ADD COLUMN IF NOT EXISTS progress_message VARCHAR(400),
+    ADD COLUMN IF NOT EXISTS last_error       VARCHAR(400),
+
+    ADD COLUMN IF NOT EXISTS created_at       TIMESTAMPTZ NOT NULL DEFAULT NOW();
+
+-- Fila: só jobs aguardando entram no índice
+CREATE INDEX IF NOT EXISTS ix_job_run_queued
+    ON job_run(priority DESC, run_after, id)
+    WHERE status = 'QUEUED';
+
+-- Leases vencidos (réplica caiu no meio do job)
+CREATE INDEX IF NOT EXISTS ix_job_run_leased
+    ON job_run(lease_until)
+    WHERE status = 'RUNNING' AND lease_until IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS ix_job_run_name ON job_run(job_name, id DESC);
+
+COMMENT ON COLUMN job_run.run_after IS 'Job QUEUED só é reivindicável a partir daqui (backoff entre tentativas)';
+COMMENT ON COLUMN job_run.lease_until IS 'Até quando o worker claimed_by detém o job; vencido = reivindicável de novo';
+COMMENT ON COLUMN job_run.cancel_requested IS 'Pedido de cancelamento; o job verifica entre etapas e termina CANCELLED';
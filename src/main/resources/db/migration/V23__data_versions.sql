@@ -0,0 +1,23 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V23
+-- Versões de dados compartilhadas entre réplicas (ETag)
+-- =====================================================
+-- Descrição: Os ETags de artigos e issues vinham de contadores
+--            em memória de cada réplica: escrita feita em outra
+--            réplica (sync eleito pelo ShedLock, unidades de
+--            trabalho do sync distribuído, API) não mudava a
+--            versão local e o cliente recebia 304 para dado
+--            alterado. A versão desses domínios passa a ficar
+--            aqui, incrementada depois do commit de quem escreveu.
+-- =====================================================
+
+CREATE TABLE IF NOT EXISTS kb_data_version (
+    domain      VARCHAR(30) PRIMARY KEY,
+    version     BIGINT NOT NULL DEFAULT 0,
+    updated_at  TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO kb_data_version (domain) VALUES ('ISSUES'), ('ARTICLES')
+ON CONFLICT (domain) DO NOTHING;
+
+COMMENT ON TABLE kb_data_version IS 'Contador de mudanças confirmadas por domínio (ETag de GET condicional), comum a todas as réplicas';
@@ -0,0 +1,19 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V24
+-- Sync distribuído: total da listagem por página
+-- =====================================================
+-- Descrição: As unidades PAGE são faixas fixas calculadas
+--            com o totalSize da busca no planejamento. Se a
+--            base do Movidesk ganha/perde artigos durante o
+--            run, os itens deslizam entre páginas e alguns
+--            não são visitados. Cada unidade guarda o total
+--            planejado e o total que viu; divergência = run
+--            não marca MISSING (o próximo FULL estável marca).
+-- =====================================================
+
+ALTER TABLE kb_sync_work_unit
+    ADD COLUMN IF NOT EXISTS planned_total INTEGER,
+    ADD COLUMN IF NOT EXISTS listed_total  INTEGER;
+
+COMMENT ON COLUMN kb_sync_work_unit.planned_total IS 'totalSize da busca no planejamento do run (PAGE)';
+COMMENT ON COLUMN kb_sync_work_unit.listed_total IS 'totalSize visto ao processar a página; diferente do planejado = listagem mudou no meio do run';
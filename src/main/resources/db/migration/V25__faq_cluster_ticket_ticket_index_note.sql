@@ -0,0 +1,16 @@
+-- =====================================================
+-- KB GOVERNANCE - MIGRATION V25
+-- Índice faq_cluster_ticket(ticket_id): novo motivo
+-- =====================================================
+-- Descrição: O V17 criou idx_faq_cluster_ticket_ticket para
+--            a avaliação set-based de recorrência
+--            (upsertRecurringNeeds), substituída pelo anel
+--            diário + upsertDetectedNeeds. O índice continua:
+--            a ingestão em lote busca os tickets já ligados a
+--            algum cluster por ticket_id = ANY(...)
+--            (SupportIngestionRepository.findLinkedTicketIds),
+--            e uk_faq_cluster_ticket começa por cluster_id.
+-- =====================================================
+
+COMMENT ON INDEX idx_faq_cluster_ticket_ticket IS
+    'Lookup por ticket_id na ingestão em lote (findLinkedTicketIds); uk_faq_cluster_ticket começa por cluster_id';
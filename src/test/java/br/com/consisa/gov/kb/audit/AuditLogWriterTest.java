@@ -0,0 +1,93 @@
+package br.com.consisa.gov.kb.audit;
+
+import br.com.consisa.gov.kb.repository.AuditLogBatchRepository;
+import br.com.consisa.gov.kb.repository.AuditLogBatchRepository.AuditLogRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogWriterTest {
+
+    @Mock
+    private AuditLogBatchRepository batchRepository;
+
+    @Test
+    void dropsWhenQueueIsFullInsteadOfBlocking() {
+        var writer = new AuditLogWriter(batchRepository, new ObjectMapper(), 2, 10, 100);
+
+        assertThat(writer.enqueue(event("a"))).isTrue();
+        assertThat(writer.enqueue(event("b"))).isTrue();
+        assertThat(writer.enqueue(event("c"))).isFalse();
+
+        assertThat(writer.stats().queued()).isEqualTo(2);
+        assertThat(writer.stats().dropped()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void serializesOffThreadAndWritesInBatches() {
+        var writer = new AuditLogWriter(batchRepository, new ObjectMapper(), 10, 2, 100);
+        writer.enqueue(event("a"));
+        writer.enqueue(event("b"));
+        writer.enqueue(event("c"));
+
+        // stop() sem start(): drena tudo na thread de shutdown
+        writer.stop();
+
+        ArgumentCaptor<List<AuditLogRow>> batches = ArgumentCaptor.forClass(List.class);
+        verify(batchRepository, times(2)).insertAll(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(batches.getAllValues().get(0).get(0).newValueJson()).isEqualTo("{\"name\":\"a\"}");
+        assertThat(writer.stats().written()).isEqualTo(3);
+        assertThat(writer.stats().queued()).isZero();
+    }
+
+    @Test
+    void countsFailedBatches() {
+        var writer = new AuditLogWriter(batchRepository, new ObjectMapper(), 10, 10, 100);
+        doThrow(new IllegalStateException("db down")).when(batchRepository).insertAll(any());
+        writer.enqueue(event("a"));
+
+        assertThat(writer.flushOnce()).isEqualTo(1);
+        assertThat(writer.stats().failed()).isEqualTo(1);
+        assertThat(writer.stats().written()).isZero();
+    }
+
+    @Test
+    void exposesQueueDepthAndLagThroughMicrometer() {
+        var registry = new SimpleMeterRegistry();
+        var writer = new AuditLogWriter(batchRepository, new ObjectMapper(), 10, 10, 100);
+        writer.bindTo(registry);
+        writer.enqueue(event("a"));
+        writer.enqueue(event("b"));
+
+        assertThat(registry.get("kb.audit.queue.depth").gauge().value()).isEqualTo(2.0);
+
+        writer.flushOnce();
+
+        assertThat(registry.get("kb.audit.queue.depth").gauge().value()).isZero();
+        assertThat(registry.get("kb.audit.events").tag("result", "written").functionCounter().count())
+                .isEqualTo(2.0);
+        assertThat(registry.get("kb.audit.lag").timer().count()).isEqualTo(2);
+    }
+
+    private static AuditEvent event(String name) {
+        return new AuditEvent("1", "POST /api/v1/x", "Map", "1", null, Map.of("name", name),
+                "corr", OffsetDateTime.now(), System.nanoTime());
+    }
+}
@@ -0,0 +1,101 @@
+package br.com.consisa.gov.kb.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DataVersionServiceTest {
+
+    private final InMemoryVersions store = new InMemoryVersions();
+    private final DataVersionService versions = new DataVersionService(store);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.unbindResourceIfPossible(versions);
+    }
+
+    @Test
+    void etagChangesOnlyForListedDomains() {
+        String before = versions.etag(DataDomain.ISSUES);
+
+        versions.bump(DataDomain.ARTICLES);
+        assertThat(versions.etag(DataDomain.ISSUES)).isEqualTo(before);
+
+        versions.bump(DataDomain.ISSUES);
+        assertThat(versions.etag(DataDomain.ISSUES)).isNotEqualTo(before);
+    }
+
+    @Test
+    void bumpAfterCommitWaitsForCommitAndCoalesces() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        versions.bumpAfterCommit(DataDomain.ISSUES);
+        versions.bumpAfterCommit(DataDomain.ISSUES);
+        assertThat(versions.version(DataDomain.ISSUES)).isZero();
+
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCommit();
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        }
+
+        assertThat(versions.version(DataDomain.ISSUES)).isEqualTo(1);
+    }
+
+    @Test
+    void sharedDomainWrittenOnAnotherReplicaChangesEtag() {
+        DataVersionService otherReplica = new DataVersionService(store);
+        String issuesBefore = versions.etag(DataDomain.ISSUES);
+        String metricsBefore = versions.etag(DataDomain.METRICS);
+
+        otherReplica.bump(DataDomain.ISSUES);
+        otherReplica.bump(DataDomain.METRICS);
+
+        assertThat(versions.etag(DataDomain.ISSUES)).isNotEqualTo(issuesBefore)
+                .isEqualTo(otherReplica.etag(DataDomain.ISSUES));
+        // estado em memória de outra réplica não invalida o desta
+        assertThat(versions.etag(DataDomain.METRICS)).isEqualTo(metricsBefore);
+    }
+
+    @Test
+    void ifNoneMatchUsesWeakComparison() {
+        String etag = versions.etag(DataDomain.METRICS);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/governance/overview");
+        request.addHeader("If-None-Match", "\"other\", " + etag.substring(2));
+
+        assertThat(ConditionalGetAspect.matches(request, etag)).isTrue();
+        assertThat(ConditionalGetAspect.matches(new MockHttpServletRequest(), etag)).isFalse();
+    }
+
+    /**
+     * kb_data_version em memória, compartilhada entre instâncias do serviço.
+     */
+    private static final class InMemoryVersions extends DataVersionRepository {
+
+        private final Map<DataDomain, Long> rows = new EnumMap<>(DataDomain.class);
+
+        private InMemoryVersions() {
+            super(null);
+        }
+
+        @Override
+        public synchronized Map<DataDomain, Long> findAll() {
+            return new EnumMap<>(rows);
+        }
+
+        @Override
+        public synchronized void increment(Collection<DataDomain> domains) {
+            domains.forEach(domain -> rows.merge(domain, 1L, Long::sum));
+        }
+    }
+}
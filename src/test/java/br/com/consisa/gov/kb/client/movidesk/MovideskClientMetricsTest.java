@@ -0,0 +1,48 @@
+package br.com.consisa.gov.kb.client.movidesk;
+
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class MovideskClientMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private MockRestServiceServer server;
+    private MovideskClient client;
+
+    @BeforeEach
+    void setUp() {
+        RestClient.Builder builder = RestClient.builder().baseUrl("http://movidesk.test");
+        server = MockRestServiceServer.bindTo(builder).build();
+        client = new MovideskClient(builder.build(), "tok", new MovideskRateLimiter(6000), new KbMetrics(registry));
+    }
+
+    @Test
+    void recordsEndpointAndHttpStatus() {
+        server.expect(requestTo("http://movidesk.test/article/1?token=tok"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://movidesk.test/article/2?token=tok"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThat(client.getArticleById(1).getId()).isEqualTo(1L);
+        assertThatThrownBy(() -> client.getArticleById(2)).isInstanceOf(HttpClientErrorException.class);
+
+        assertThat(registry.get("kb.movidesk.requests")
+                .tags("endpoint", "getArticleById", "status", "200").timer().count()).isEqualTo(1);
+        assertThat(registry.get("kb.movidesk.requests")
+                .tags("endpoint", "getArticleById", "status", "404").timer().count()).isEqualTo(1);
+        server.verify();
+    }
+}
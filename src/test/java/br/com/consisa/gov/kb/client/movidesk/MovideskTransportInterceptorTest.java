@@ -0,0 +1,78 @@
+package br.com.consisa.gov.kb.client.movidesk;
+
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.perf.FakeMovideskServer;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MovideskTransportInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private FakeMovideskServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        FakeMovideskServer.Options defaults = FakeMovideskServer.Options.defaults();
+        server = new FakeMovideskServer(new FakeMovideskServer.Options(0, 50, 0, defaults.ticketsFrom(), 30,
+                0, 0, 0.0, 0.0, 0, 42L)).start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    private MovideskClient client(boolean compression) {
+        KbMetrics metrics = new KbMetrics(registry);
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(HttpClient.newHttpClient());
+        factory.enableCompression(false);
+        RestClient restClient = RestClient.builder()
+                .requestFactory(factory)
+                .requestInterceptor(new MovideskTransportInterceptor(compression, 2, Duration.ofSeconds(5), metrics))
+                .baseUrl(server.baseUrl())
+                .build();
+        return new MovideskClient(restClient, "tok", new MovideskRateLimiter(6000), metrics);
+    }
+
+    @Test
+    void decodesGzipBodyAndRecordsWireAndDecodedBytes() {
+        MovideskArticleDto plain = client(false).getArticleById(7);
+        MovideskArticleDto gzipped = client(true).getArticleById(7);
+
+        assertThat(gzipped.getTitle()).isEqualTo(plain.getTitle());
+        assertThat(gzipped.getContentText()).isEqualTo(plain.getContentText());
+
+        DistributionSummary wire = registry.get("kb.movidesk.response.bytes")
+                .tags("encoding", "gzip", "layer", "wire").summary();
+        DistributionSummary decoded = registry.get("kb.movidesk.response.bytes")
+                .tags("encoding", "gzip", "layer", "decoded").summary();
+        assertThat(wire.count()).isEqualTo(1);
+        assertThat(wire.totalAmount()).isLessThan(decoded.totalAmount());
+        assertThat(decoded.totalAmount()).isEqualTo(registry.get("kb.movidesk.response.bytes")
+                .tags("encoding", "identity", "layer", "wire").summary().totalAmount());
+    }
+
+    @Test
+    void releasesConnectionSlotWhenResponseIsClosed() {
+        MovideskClient client = client(true);
+
+        for (long id = 1; id <= 5; id++) {
+            client.getArticleById(id);
+        }
+
+        assertThat(registry.get("kb.movidesk.connections.active").gauge().value()).isZero();
+        assertThat(registry.get("kb.movidesk.connections.max").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("kb.movidesk.connection.wait").timer().count()).isEqualTo(5);
+    }
+}
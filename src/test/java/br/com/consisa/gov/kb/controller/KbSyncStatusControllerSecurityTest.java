@@ -0,0 +1,108 @@
+package br.com.consisa.gov.kb.controller;
+
+import br.com.consisa.gov.kb.job.JobQueueService;
+import br.com.consisa.gov.kb.job.RetryFailedSyncJobHandler;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
+import br.com.consisa.gov.kb.scheduler.KbSyncScheduler;
+import br.com.consisa.gov.kb.service.KbFullSyncService;
+import br.com.consisa.gov.kb.service.KbSyncOrchestratorService;
+import br.com.consisa.gov.kb.service.SyncProgressBroadcaster;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Regras de @PreAuthorize do KbSyncStatusController (method security real,
+ * sem subir a camada web).
+ */
+class KbSyncStatusControllerSecurityTest {
+
+    private final JobQueueService jobQueue = mock(JobQueueService.class);
+    private AnnotationConfigApplicationContext context;
+    private KbSyncStatusController controller;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(JobQueueService.class, () -> jobQueue);
+        context.register(MethodSecurityConfig.class);
+        context.refresh();
+        controller = context.getBean(KbSyncStatusController.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Test
+    void retryFailedIsForbiddenForNonAdmin() {
+        authenticate("ROLE_ANALYST");
+
+        assertThatThrownBy(() -> controller.retryFailed(50))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(jobQueue);
+    }
+
+    @Test
+    void retryFailedIsEnqueuedForAdmin() {
+        when(jobQueue.enqueue(eq(RetryFailedSyncJobHandler.JOB_NAME), any(JsonNode.class)))
+                .thenReturn(queued());
+        authenticate("ROLE_ADMIN");
+
+        var response = controller.retryFailed(50);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        verify(jobQueue).enqueue(eq(RetryFailedSyncJobHandler.JOB_NAME), any(JsonNode.class));
+    }
+
+    private static void authenticate(String role) {
+        SecurityContextHolder.getContext()
+                .setAuthentication(new TestingAuthenticationToken("user@consisa.com.br", null, role));
+    }
+
+    private static QueuedJob queued() {
+        OffsetDateTime now = OffsetDateTime.now();
+        return new QueuedJob(1L, RetryFailedSyncJobHandler.JOB_NAME, "QUEUED", 0,
+                "{\"limit\":50}", null, 0, 1, now, now, null, now, false,
+                null, null, null, null);
+    }
+
+    @Configuration
+    @EnableMethodSecurity
+    static class MethodSecurityConfig {
+
+        @Bean
+        KbSyncStatusController kbSyncStatusController(JobQueueService jobQueue) {
+            return new KbSyncStatusController(
+                    mock(KbSyncOrchestratorService.class),
+                    mock(KbFullSyncService.class),
+                    mock(KbSyncScheduler.class),
+                    mock(SyncProgressBroadcaster.class),
+                    jobQueue,
+                    new ObjectMapper());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package br.com.consisa.gov.kb.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DailyCountRingTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    void countsOnlyDaysInsideWindow() {
+        var ring = new DailyCountRing(null, null);
+        ring.record(TODAY);
+        ring.record(TODAY);
+        ring.record(TODAY.minusDays(6));
+        ring.record(TODAY.minusDays(7));
+        ring.record(TODAY.minusDays(40));
+
+        assertThat(ring.countInWindow(TODAY, 1)).isEqualTo(2);
+        assertThat(ring.countInWindow(TODAY, 7)).isEqualTo(3);
+        assertThat(ring.countInWindow(TODAY, 30)).isEqualTo(4);
+        assertThat(ring.countInWindow(TODAY, 90)).isEqualTo(5);
+        assertThat(ring.lastDay()).isEqualTo(TODAY);
+    }
+
+    @Test
+    void bucketsExpireAsWindowSlides() {
+        var ring = new DailyCountRing(null, null);
+        ring.record(TODAY);
+        ring.record(TODAY.minusDays(1));
+
+        // dias sem ocorrência: janela desliza mesmo sem gravação nova
+        assertThat(ring.countInWindow(TODAY.plusDays(1), 2)).isEqualTo(1);
+        assertThat(ring.countInWindow(TODAY.plusDays(5), 3)).isZero();
+
+        // avançar o anel reaproveita posições e zera as antigas
+        ring.record(TODAY.plusDays(DailyCountRing.DAYS));
+        assertThat(ring.countInWindow(TODAY.plusDays(DailyCountRing.DAYS), DailyCountRing.DAYS)).isEqualTo(1);
+    }
+
+    @Test
+    void ignoresOccurrenceOlderThanRingAndSurvivesRoundTrip() {
+        var ring = new DailyCountRing(null, null);
+        ring.record(TODAY);
+
+        assertThat(ring.record(TODAY.minusDays(DailyCountRing.DAYS))).isFalse();
+        assertThat(ring.record(TODAY.minusDays(DailyCountRing.DAYS - 1L))).isTrue();
+
+        var restored = new DailyCountRing(ring.counts(), ring.lastDay());
+        assertThat(restored.countInWindow(TODAY, DailyCountRing.DAYS)).isEqualTo(2);
+        assertThat(restored.countInWindow(TODAY, 500)).isEqualTo(2);
+    }
+}
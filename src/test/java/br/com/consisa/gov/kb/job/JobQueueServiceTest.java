@@ -0,0 +1,195 @@
+package br.com.consisa.gov.kb.job;
+
+import br.com.consisa.gov.kb.repository.JobQueueRepository;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enfileiramento concorrente pelo proxy transacional real: o lock de
+ * enfileiramento (advisory lock de transação, simulado aqui) só protege o
+ * check + insert se a chamada pública abrir a transação.
+ */
+class JobQueueServiceTest {
+
+    private static final String JOB = "test";
+
+    @Test
+    void concurrentEnqueueOfSameJobNameOpensOnlyOneJob() throws Exception {
+        try (var context = new AnnotationConfigApplicationContext(Config.class)) {
+            JobQueueService queue = context.getBean(JobQueueService.class);
+            FakeQueueRepository repository = context.getBean(FakeQueueRepository.class);
+            JsonNode payload = new ObjectMapper().createObjectNode();
+
+            CountDownLatch start = new CountDownLatch(1);
+            Callable<Boolean> enqueue = () -> {
+                start.await();
+                try {
+                    queue.enqueue(JOB, payload);
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;
+                }
+            };
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                List<Future<Boolean>> results = List.of(executor.submit(enqueue), executor.submit(enqueue));
+                start.countDown();
+
+                List<Boolean> accepted = new ArrayList<>();
+                for (Future<Boolean> result : results) {
+                    accepted.add(get(result));
+                }
+                assertThat(accepted).containsExactlyInAnyOrder(true, false);
+                assertThat(repository.inserted()).containsExactly(JOB);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static boolean get(Future<Boolean> result) throws InterruptedException, ExecutionException {
+        try {
+            return result.get(5, TimeUnit.SECONDS);
+        } catch (TimeoutException e) {
+            throw new AssertionError("enqueue não terminou", e);
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class Config {
+
+        @Bean
+        PlatformTransactionManager transactionManager() {
+            return new FakeTransactionManager();
+        }
+
+        @Bean
+        FakeQueueRepository jobQueueRepository() {
+            return new FakeQueueRepository();
+        }
+
+        @Bean
+        JobQueueService jobQueueService(FakeQueueRepository repository) {
+            JobHandler handler = new JobHandler() {
+                @Override
+                public String jobName() {
+                    return JOB;
+                }
+
+                @Override
+                public JsonNode run(JsonNode payload, JobContext context) {
+                    return null;
+                }
+            };
+            return new JobQueueService(repository, new ObjectMapper(), List.of(handler));
+        }
+    }
+
+    /**
+     * Fila em memória; lockEnqueue se comporta como pg_advisory_xact_lock:
+     * fora de transação (autocommit) o lock é solto na hora.
+     * (O bean vira proxy por causa dos @Transactional herdados: estado só
+     * por método.)
+     */
+    static class FakeQueueRepository extends JobQueueRepository {
+
+        private final ReentrantLock advisoryLock = new ReentrantLock();
+        private final List<String> inserted = new CopyOnWriteArrayList<>();
+
+        FakeQueueRepository() {
+            super(new JdbcTemplate());
+        }
+
+        @Override
+        public void lockEnqueue() {
+            advisoryLock.lock();
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                advisoryLock.unlock();
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    advisoryLock.unlock();
+                }
+            });
+        }
+
+        public List<String> inserted() {
+            return inserted;
+        }
+
+        @Override
+        public boolean hasOpen(String jobName) {
+            return inserted.contains(jobName);
+        }
+
+        @Override
+        public QueuedJob insert(String jobName, int priority, String payloadJson, int maxAttempts) {
+            try {
+                // alarga a janela entre o check e o insert
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inserted.add(jobName);
+            OffsetDateTime now = OffsetDateTime.now();
+            return new QueuedJob(inserted.size(), jobName, "QUEUED", priority, payloadJson, null,
+                    0, maxAttempts, now, now, null, now, false, null, null, null, null);
+        }
+    }
+
+    /**
+     * Transação sem recurso: só ativa a sincronização (afterCompletion).
+     */
+    static class FakeTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
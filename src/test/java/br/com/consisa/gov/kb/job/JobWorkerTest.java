@@ -0,0 +1,130 @@
+package br.com.consisa.gov.kb.job;
+
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.observability.KbTracing;
+import br.com.consisa.gov.kb.repository.JobQueueRepository;
+import br.com.consisa.gov.kb.repository.JobQueueRepository.QueuedJob;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobWorkerTest {
+
+    private static final String OWNER = "node-a#0";
+
+    @Mock
+    private JobQueueRepository repository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private JobWorker worker(JobHandler handler) {
+        JobQueueService queue = new JobQueueService(repository, objectMapper, List.of(handler));
+        return new JobWorker(queue, repository, new KbTracing(ObservationRegistry.NOOP, Tracer.NOOP),
+                new KbMetrics(registry), "node-a", 1, 1000, 120, 10000, 30, 600);
+    }
+
+    private static QueuedJob job(int attempts) {
+        OffsetDateTime now = OffsetDateTime.now();
+        return new QueuedJob(7, "test", "RUNNING", 5, "{\"limit\":3}", null, attempts, 3,
+                now, now, null, now, false, null, null, null, null);
+    }
+
+    private static JobHandler handler(Body body) {
+        return new JobHandler() {
+            @Override
+            public String jobName() {
+                return "test";
+            }
+
+            @Override
+            public JsonNode run(JsonNode payload, JobContext context) throws Exception {
+                return body.run(payload, context);
+            }
+        };
+    }
+
+    private interface Body {
+        JsonNode run(JsonNode payload, JobContext context) throws Exception;
+    }
+
+    @Test
+    void completesJobWithHandlerResultAndFinalProgress() {
+        JobWorker worker = worker(handler((payload, context) -> {
+            context.progress(3, 3, "feito");
+            return new ObjectMapper().createObjectNode().put("seen", payload.get("limit").asInt());
+        }));
+        when(repository.claim(eq(OWNER), any())).thenReturn(Optional.of(job(1)));
+        when(repository.heartbeat(eq(7L), eq(OWNER), any(), eq(3), eq(3), eq("feito"))).thenReturn(Optional.of(false));
+
+        assertThat(worker.workOnce(OWNER)).isTrue();
+
+        verify(repository).complete(7L, OWNER, "{\"seen\":3}");
+        assertThat(registry.get("kb.jobs.run").tags("job", "test", "outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void requeuesFailedJobWithExponentialBackoff() {
+        JobWorker worker = worker(handler((payload, context) -> {
+            throw new IllegalStateException("Sync já em execução");
+        }));
+        when(repository.claim(eq(OWNER), any())).thenReturn(Optional.of(job(2)));
+        when(repository.heartbeat(anyLong(), anyString(), any(), isNull(), isNull(), isNull())).thenReturn(Optional.of(false));
+        when(repository.fail(7L, OWNER, "Sync já em execução", Duration.ofSeconds(60))).thenReturn(Optional.of("QUEUED"));
+
+        worker.workOnce(OWNER);
+
+        verify(repository, never()).complete(anyLong(), anyString(), any());
+        assertThat(registry.get("kb.jobs.run").tags("outcome", "retry").timer().count()).isEqualTo(1);
+        assertThat(worker.backoff(1)).isEqualTo(Duration.ofSeconds(30));
+        assertThat(worker.backoff(10)).isEqualTo(Duration.ofSeconds(600));
+    }
+
+    @Test
+    void stopsAtCancellationPointWhenCancelWasRequested() {
+        JobWorker worker = worker(handler((payload, context) -> {
+            context.checkCancelled();
+            return null;
+        }));
+        OffsetDateTime now = OffsetDateTime.now();
+        QueuedJob cancelled = new QueuedJob(7, "test", "RUNNING", 5, null, null, 1, 3,
+                now, now, null, now, true, null, null, null, null);
+        when(repository.claim(eq(OWNER), any())).thenReturn(Optional.of(cancelled));
+        when(repository.heartbeat(anyLong(), anyString(), any(), any(), any(), any())).thenReturn(Optional.of(true));
+
+        worker.workOnce(OWNER);
+
+        verify(repository).cancelled(7L, OWNER, "Job cancelado");
+        verify(repository, never()).fail(anyLong(), anyString(), anyString(), any());
+    }
+
+    @Test
+    void returnsFalseWhenQueueIsEmpty() {
+        when(repository.claim(eq(OWNER), any())).thenReturn(Optional.empty());
+
+        assertThat(worker(handler((payload, context) -> null)).workOnce(OWNER)).isFalse();
+        verify(repository, never()).heartbeat(anyLong(), anyString(), any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,79 @@
+package br.com.consisa.gov.kb.observability;
+
+import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
+import br.com.consisa.gov.kb.client.movidesk.MovideskRateLimiter;
+import br.com.consisa.gov.kb.client.movidesk.MovideskTrafficInterceptor;
+import br.com.consisa.gov.kb.observability.jfr.MovideskRequestEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class FlightRecorderServiceTest {
+
+    private final FlightRecorderService flightRecorder = new FlightRecorderService(false, "default", 5, 10);
+
+    @AfterEach
+    void tearDown() {
+        flightRecorder.stop();
+    }
+
+    @Test
+    void dumpContainsMovideskRequestsWithTraffic() throws Exception {
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl("http://movidesk.test")
+                .requestInterceptor(new MovideskTrafficInterceptor());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        MovideskClient client = new MovideskClient(builder.build(), "tok",
+                new MovideskRateLimiter(6000), new KbMetrics(new SimpleMeterRegistry()));
+
+        String body = "{\"id\":7,\"title\":\"Emissão de NF-e\"}";
+        server.expect(requestTo("http://movidesk.test/article/7?token=tok"))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON));
+        server.expect(requestTo("http://movidesk.test/article/8?token=tok"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        assertThat(flightRecorder.start(null).running()).isTrue();
+        assertThatThrownBy(() -> flightRecorder.start(null)).isInstanceOf(IllegalStateException.class);
+
+        client.getArticleById(7);
+        assertThatThrownBy(() -> client.getArticleById(8)).isInstanceOf(HttpClientErrorException.class);
+
+        Path dump = flightRecorder.dump();
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                    .filter(e -> e.getEventType().getName().equals(MovideskRequestEvent.NAME))
+                    .toList();
+
+            assertThat(events).extracting(e -> e.getLong("articleId")).containsExactly(7L, 8L);
+            assertThat(events).extracting(e -> e.getString("status")).containsExactly("200", "404");
+            RecordedEvent ok = events.get(0);
+            assertThat(ok.getString("endpoint")).isEqualTo("getArticleById");
+            assertThat(ok.getLong("responseBytes")).isEqualTo(body.getBytes(StandardCharsets.UTF_8).length);
+            assertThat(ok.getLong("requestBytes")).isZero();
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+
+        flightRecorder.stop();
+        assertThat(flightRecorder.status().running()).isFalse();
+        server.verify();
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.consisa.gov.kb.observability;
+
+import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
+import br.com.consisa.gov.kb.client.movidesk.MovideskClientObservationConvention;
+import br.com.consisa.gov.kb.client.movidesk.MovideskRateLimiter;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.tck.TestObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.micrometer.observation.tck.TestObservationRegistryAssert.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class KbTracingTest {
+
+    private final TestObservationRegistry registry = TestObservationRegistry.create();
+    private final KbTracing tracing = new KbTracing(registry, Tracer.NOOP);
+
+    @Test
+    void jobIsRootObservationWithCorrelationIdInMdc() {
+        AtomicReference<String> correlationId = new AtomicReference<>();
+
+        tracing.job("governanceDaily", () -> {
+            correlationId.set(MDC.get(CorrelationIdFilter.MDC_KEY));
+            tracing.syncStage("delta", () -> tracing.detector("OutdatedContentDetector", 42L, () -> 1));
+        });
+
+        assertThat(correlationId.get()).isNotBlank();
+        assertThat(MDC.get(CorrelationIdFilter.MDC_KEY)).isNull();
+        assertThat(registry)
+                .hasObservationWithNameEqualTo("kb.job").that()
+                .hasLowCardinalityKeyValue("job", "governanceDaily")
+                .hasBeenStopped();
+        assertThat(registry)
+                .hasObservationWithNameEqualTo("kb.sync.stage").that()
+                .hasLowCardinalityKeyValue("stage", "delta")
+                .hasParentObservationContextMatching(parent -> parent.getName().equals("kb.job"));
+        assertThat(registry)
+                .hasObservationWithNameEqualTo("kb.detector").that()
+                .hasLowCardinalityKeyValue("detector", "OutdatedContentDetector")
+                .hasHighCardinalityKeyValue("article.id", "42");
+    }
+
+    @Test
+    void spanOnlyObservationsDoNotDuplicateKbMetricsTimers() {
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new ObservationHandler.FirstMatchingCompositeObservationHandler(
+                new SpanOnlyMeterObservationHandler(), new DefaultMeterObservationHandler(meters)));
+        KbTracing meteredTracing = new KbTracing(observations, Tracer.NOOP);
+
+        meteredTracing.syncExecution("DELTA", () -> meteredTracing.syncStage("delta",
+                () -> meteredTracing.detector("OutdatedContentDetector", 42L, () -> 1)));
+
+        assertThat(meters.find("kb.sync.execution").meters()).isEmpty();
+        assertThat(meters.find("kb.detector").meters()).isEmpty();
+        assertThat(meters.find("kb.sync.stage").timer()).isNotNull();
+    }
+
+    @Test
+    void movideskSpanUrlDoesNotLeakToken() {
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl("http://movidesk.test")
+                .observationRegistry(registry)
+                .observationConvention(new MovideskClientObservationConvention());
+        MockRestServiceServer server = MockRestServiceServer.bindTo(builder).build();
+        MovideskClient client = new MovideskClient(builder.build(), "secret-token",
+                new MovideskRateLimiter(6000), new KbMetrics(new SimpleMeterRegistry()));
+
+        server.expect(requestTo("http://movidesk.test/article/1?token=secret-token"))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        client.getArticleById(1);
+
+        assertThat(registry)
+                .hasObservationWithNameEqualTo("http.client.requests").that()
+                .hasHighCardinalityKeyValue("http.url", "http://movidesk.test/article/1")
+                .hasBeenStopped();
+        server.verify();
+    }
+}
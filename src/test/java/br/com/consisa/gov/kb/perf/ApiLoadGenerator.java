@@ -0,0 +1,402 @@
+package br.com.consisa.gov.kb.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 🏋️ Gerador de carga da API REST (/api/v1 + busca) com usuários virtuais.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Login em /api/v1/auth/login (renova o token em 401) e descoberta de ids
+ *   de issues abertas para as alterações de status
+ * - N usuários virtuais (virtual threads) sorteiam operações pelos pesos do
+ *   {@link Mix} e medem a latência de cada requisição (corpo lido inteiro)
+ * - Warmup descartado; só a janela medida entra no relatório
+ * - Cada usuário guarda as próprias amostras (sem contenção); no fim vira um
+ *   {@link ApiLoadReport} (percentis/throughput por endpoint) em JSON
+ * - Com baseline gravado: regressão = saída 1 (falha o build no perfil loadtest)
+ *
+ * USO:
+ * ----
+ * - Pelo build (semeia o banco, sobe a app, roda e derruba):
+ *   mvn -Ploadtest verify -Dloadtest.args="--users=50 --duration=120 --mix=mixed"
+ * - Contra app já rodando: mesma linha com -Dloadtest.external=true
+ * - Gravar baseline: acrescentar --write-baseline aos args
+ */
+public final class ApiLoadGenerator {
+
+    /** Pesos por operação em cada mix (soma livre). */
+    public enum Mix {
+        DASHBOARD(Map.of(Operation.DASHBOARD_SUMMARY, 40, Operation.DASHBOARD_GOVERNANCE, 30,
+                Operation.GOVERNANCE_OVERVIEW, 20, Operation.TOP_CRITICAL, 10)),
+        TRIAGE(Map.of(Operation.ISSUES_LIST, 60, Operation.ISSUE_STATUS, 25, Operation.TOP_CRITICAL, 15)),
+        SEARCH(Map.of(Operation.SEARCH, 70, Operation.ARTICLES_LIST, 30)),
+        MIXED(Map.of(Operation.DASHBOARD_SUMMARY, 20, Operation.DASHBOARD_GOVERNANCE, 10,
+                Operation.GOVERNANCE_OVERVIEW, 5, Operation.TOP_CRITICAL, 5, Operation.ISSUES_LIST, 25,
+                Operation.ARTICLES_LIST, 10, Operation.SEARCH, 20, Operation.ISSUE_STATUS, 5));
+
+        private final Map<Operation, Integer> weights;
+
+        Mix(Map<Operation, Integer> weights) {
+            this.weights = new EnumMap<>(weights);
+        }
+    }
+
+    enum Operation {
+        DASHBOARD_SUMMARY("dashboard.summary"),
+        DASHBOARD_GOVERNANCE("dashboard.governance"),
+        GOVERNANCE_OVERVIEW("governance.overview"),
+        TOP_CRITICAL("governance.top-critical"),
+        ISSUES_LIST("governance.issues"),
+        ARTICLES_LIST("articles.list"),
+        SEARCH("kb.search"),
+        ISSUE_STATUS("governance.issue-status");
+
+        private final String label;
+
+        Operation(String label) {
+            this.label = label;
+        }
+    }
+
+    private static final String[] SEARCH_TERMS = {
+            "nota fiscal", "cadastro de clientes", "fechamento de caixa", "importação de XML",
+            "conciliação bancária", "férias", "inventário", "impressora", "SPED", "filiais"
+    };
+    private static final String[] SYSTEM_CODES = {"CONSISANET", "NOTAON", "SGRH", "GERAL", "QUINTO_EIXO"};
+    private static final String[] ISSUE_STATUSES = {"OPEN", "IN_PROGRESS", "RESOLVED"};
+
+    private final Options options;
+    private final HttpClient http;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicReference<String> token = new AtomicReference<>();
+    private long[] issueIds = new long[0];
+
+    public ApiLoadGenerator(Options options) {
+        this.options = options;
+        this.http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.fromArgs(args);
+        ApiLoadReport report = new ApiLoadGenerator(options).run();
+
+        System.out.println();
+        System.out.printf("Mix %s, %d usuários, %.0fs medidos%n", report.mix(), report.users(), report.durationSeconds());
+        System.out.print(report.toTable());
+        report.write(options.report());
+        System.out.println("Relatório: " + options.report().toAbsolutePath());
+
+        if (options.writeBaseline()) {
+            report.write(options.baseline());
+            System.out.println("Baseline gravado: " + options.baseline().toAbsolutePath());
+            return;
+        }
+        if (!Files.exists(options.baseline())) {
+            System.out.println("Sem baseline em " + options.baseline() + " (use --write-baseline para gravar)");
+            return;
+        }
+        List<String> regressions = report.regressionsAgainst(ApiLoadReport.read(options.baseline()), options.tolerance());
+        if (regressions.isEmpty()) {
+            System.out.println("✅ Sem regressões contra o baseline");
+            return;
+        }
+        System.out.println("❌ Regressões contra o baseline:");
+        regressions.forEach(r -> System.out.println("  - " + r));
+        System.exit(1);
+    }
+
+    public ApiLoadReport run() throws Exception {
+        login();
+        issueIds = discoverIssueIds();
+
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(options.warmupSeconds()).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(options.durationSeconds()).toNanos();
+
+        List<Future<VirtualUser>> users = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.users(); i++) {
+                VirtualUser user = new VirtualUser(new SplittableRandom(options.seed() + i), warmupEnd, end);
+                users.add(executor.submit(() -> {
+                    user.loop();
+                    return user;
+                }));
+            }
+        }
+
+        Map<String, long[]> latencies = new HashMap<>();
+        Map<String, Long> errors = new HashMap<>();
+        for (Future<VirtualUser> future : users) {
+            VirtualUser user = future.get();
+            for (Operation op : Operation.values()) {
+                Samples samples = user.samples.get(op);
+                if (samples == null) {
+                    continue;
+                }
+                latencies.merge(op.label, samples.toArray(), ApiLoadGenerator::concat);
+                errors.merge(op.label, samples.errors, Long::sum);
+            }
+        }
+        return ApiLoadReport.of(options.mix().name().toLowerCase(Locale.ROOT), options.users(),
+                options.durationSeconds(), latencies, errors);
+    }
+
+    // ======================
+    // USUÁRIO VIRTUAL
+    // ======================
+
+    private final class VirtualUser {
+
+        private final SplittableRandom random;
+        private final long warmupEnd;
+        private final long end;
+        private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+        private final Operation[] wheel;
+
+        VirtualUser(SplittableRandom random, long warmupEnd, long end) {
+            this.random = random;
+            this.warmupEnd = warmupEnd;
+            this.end = end;
+            List<Operation> slots = new ArrayList<>();
+            options.mix().weights.forEach((op, weight) -> {
+                // sem issues para alterar, a operação sai do sorteio
+                if (op != Operation.ISSUE_STATUS || issueIds.length > 0) {
+                    for (int i = 0; i < weight; i++) {
+                        slots.add(op);
+                    }
+                }
+            });
+            this.wheel = slots.toArray(Operation[]::new);
+        }
+
+        void loop() throws InterruptedException {
+            while (System.nanoTime() < end) {
+                Operation op = wheel[random.nextInt(wheel.length)];
+                HttpRequest request = request(op, random);
+                long started = System.nanoTime();
+                boolean ok = send(request);
+                long elapsed = System.nanoTime() - started;
+                if (started >= warmupEnd) {
+                    samples.computeIfAbsent(op, o -> new Samples()).add(elapsed, ok);
+                }
+                if (options.thinkMs() > 0) {
+                    Thread.sleep(random.nextLong(options.thinkMs() * 2 + 1));
+                }
+            }
+        }
+    }
+
+    private HttpRequest request(Operation op, SplittableRandom random) {
+        return switch (op) {
+            case DASHBOARD_SUMMARY -> get("/api/v1/dashboard/summary");
+            case DASHBOARD_GOVERNANCE -> get("/api/v1/dashboard/governance");
+            case GOVERNANCE_OVERVIEW -> get("/api/v1/governance/overview");
+            case TOP_CRITICAL -> get("/api/v1/governance/dashboard/top-critical");
+            case ISSUES_LIST -> {
+                StringBuilder path = new StringBuilder("/api/v1/governance/issues?size=20&page=")
+                        .append(1 + random.nextInt(10));
+                if (random.nextBoolean()) {
+                    path.append("&status=").append(pick(random, ISSUE_STATUSES));
+                }
+                if (random.nextInt(3) == 0) {
+                    path.append("&systemCode=").append(pick(random, SYSTEM_CODES));
+                }
+                if (random.nextInt(4) == 0) {
+                    path.append("&overdue=true");
+                }
+                yield get(path.toString());
+            }
+            case ARTICLES_LIST -> get("/api/v1/articles?size=20&page=" + (1 + random.nextInt(20))
+                    + (random.nextBoolean() ? "&systemCode=" + pick(random, SYSTEM_CODES) : ""));
+            case SEARCH -> get("/kb/search?limit=10&q=" + URLEncoder.encode(pick(random, SEARCH_TERMS), StandardCharsets.UTF_8));
+            case ISSUE_STATUS -> {
+                long id = issueIds[random.nextInt(issueIds.length)];
+                // alterna OPEN ↔ IN_PROGRESS: transição livre, não esgota o conjunto de issues
+                String status = random.nextBoolean() ? "IN_PROGRESS" : "OPEN";
+                yield builder("/api/v1/governance/issues/" + id + "/status")
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString(
+                                "{\"status\":\"" + status + "\",\"actor\":\"loadtest\"}"))
+                        .build();
+            }
+        };
+    }
+
+    private boolean send(HttpRequest request) {
+        try {
+            HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() == 401) {
+                login();
+                return false;
+            }
+            return response.statusCode() < 400;
+        } catch (IOException ex) {
+            return false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // ======================
+    // SETUP
+    // ======================
+
+    private synchronized void login() {
+        try {
+            String body = mapper.writeValueAsString(Map.of("email", options.email(), "password", options.password()));
+            HttpResponse<String> response = http.send(HttpRequest.newBuilder(uri("/api/v1/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Login falhou: HTTP " + response.statusCode() + " " + response.body());
+            }
+            token.set(mapper.readTree(response.body()).path("accessToken").asText());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Login falhou: " + ex.getMessage(), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Login interrompido", ex);
+        }
+    }
+
+    private long[] discoverIssueIds() throws IOException, InterruptedException {
+        HttpResponse<String> response = http.send(get("/api/v1/governance/issues?size=100&page=1&status=OPEN"),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            return new long[0];
+        }
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode issue : mapper.readTree(response.body()).path("data")) {
+            ids.add(issue.path("id").asLong());
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private HttpRequest get(String path) {
+        return builder(path).GET().build();
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token.get());
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.baseUrl() + path);
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] merged = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, merged, a.length, b.length);
+        return merged;
+    }
+
+    /** Latências de um usuário/operação (array crescente, sem boxing). */
+    private static final class Samples {
+
+        private long[] values = new long[256];
+        private int size;
+        private long errors;
+
+        void add(long nanos, boolean ok) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * @param thinkMs pausa média entre requisições de um usuário (0 = carga máxima)
+     * @param tolerance folga relativa na comparação com o baseline (0.2 = 20%)
+     */
+    public record Options(
+            String baseUrl,
+            String email,
+            String password,
+            Mix mix,
+            int users,
+            int warmupSeconds,
+            int durationSeconds,
+            long thinkMs,
+            Path report,
+            Path baseline,
+            double tolerance,
+            boolean writeBaseline,
+            long seed
+    ) {
+
+        /**
+         * Lê --chave=valor (base-url, email, password, mix, users, warmup, duration, think-ms,
+         * report, baseline, tolerance, seed) e a flag --write-baseline.
+         */
+        public static Options fromArgs(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (arg.startsWith("--")) {
+                    int eq = arg.indexOf('=');
+                    values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+                }
+            }
+            Mix mix = Mix.valueOf(values.getOrDefault("mix", "mixed").toUpperCase(Locale.ROOT));
+            String mixName = mix.name().toLowerCase(Locale.ROOT);
+            return new Options(
+                    values.getOrDefault("base-url", "http://localhost:8080"),
+                    values.getOrDefault("email", "loadtest@kb.local"),
+                    values.getOrDefault("password", "loadtest"),
+                    mix,
+                    Integer.parseInt(values.getOrDefault("users", "20")),
+                    Integer.parseInt(values.getOrDefault("warmup", "10")),
+                    Integer.parseInt(values.getOrDefault("duration", "60")),
+                    Long.parseLong(values.getOrDefault("think-ms", "0")),
+                    Path.of(values.getOrDefault("report", "target/loadtest-" + mixName + ".json")),
+                    // baseline por mix: números de mixes diferentes não se comparam
+                    Path.of(values.getOrDefault("baseline", "src/test/resources/perf/api-baseline-" + mixName + ".json")),
+                    Double.parseDouble(values.getOrDefault("tolerance", "0.2")),
+                    Boolean.parseBoolean(values.getOrDefault("write-baseline", "false")),
+                    Long.parseLong(values.getOrDefault("seed", "7"))
+            );
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package br.com.consisa.gov.kb.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 📈 Resultado de uma rodada de carga (por endpoint) e comparação com o baseline.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Latências brutas (ns) de cada endpoint são ordenadas uma vez: percentis
+ *   exatos (nearest-rank), sem histograma aproximado
+ * - Throughput = requisições / duração medida (warmup fora)
+ * - Regressão contra o baseline, por endpoint presente nos dois:
+ *   p95 acima de baseline × (1 + tolerância) e a diferença passa do piso
+ *   absoluto (ruído de poucos ms não conta), throughput abaixo de
+ *   baseline × (1 - tolerância), ou taxa de erro 1 ponto acima
+ * - JSON simples (mesmo formato para resultado e baseline)
+ */
+public record ApiLoadReport(
+        String mix,
+        int users,
+        double durationSeconds,
+        Map<String, EndpointStats> endpoints
+) {
+
+    private static final double P95_FLOOR_MS = 5.0;
+    private static final double ERROR_RATE_SLACK = 0.01;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    public record EndpointStats(
+            long requests,
+            long errors,
+            double throughput,
+            double p50Ms,
+            double p90Ms,
+            double p95Ms,
+            double p99Ms,
+            double maxMs
+    ) {
+
+        static EndpointStats of(long[] latenciesNanos, long errors, double durationSeconds) {
+            long[] sorted = latenciesNanos.clone();
+            Arrays.sort(sorted);
+            return new EndpointStats(
+                    sorted.length,
+                    errors,
+                    durationSeconds > 0 ? sorted.length / durationSeconds : 0,
+                    percentile(sorted, 0.50),
+                    percentile(sorted, 0.90),
+                    percentile(sorted, 0.95),
+                    percentile(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1_000_000.0
+            );
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    /**
+     * @param latencies latências (ns) por endpoint; errors: falhas por endpoint
+     */
+    public static ApiLoadReport of(String mix, int users, double durationSeconds,
+                                   Map<String, long[]> latencies, Map<String, Long> errors) {
+        Map<String, EndpointStats> endpoints = new TreeMap<>();
+        latencies.forEach((endpoint, values) -> endpoints.put(endpoint,
+                EndpointStats.of(values, errors.getOrDefault(endpoint, 0L), durationSeconds)));
+        return new ApiLoadReport(mix, users, durationSeconds, endpoints);
+    }
+
+    /**
+     * Regressões em relação ao baseline (vazio = ok).
+     */
+    public List<String> regressionsAgainst(ApiLoadReport baseline, double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        endpoints.forEach((endpoint, current) -> {
+            EndpointStats base = baseline.endpoints().get(endpoint);
+            if (base == null || base.requests() == 0) {
+                return;
+            }
+            if (current.p95Ms() > base.p95Ms() * (1 + tolerance) && current.p95Ms() - base.p95Ms() > P95_FLOOR_MS) {
+                regressions.add(String.format(Locale.ROOT, "%s: p95 %.1fms (baseline %.1fms)",
+                        endpoint, current.p95Ms(), base.p95Ms()));
+            }
+            if (current.throughput() < base.throughput() * (1 - tolerance)) {
+                regressions.add(String.format(Locale.ROOT, "%s: throughput %.1f req/s (baseline %.1f req/s)",
+                        endpoint, current.throughput(), base.throughput()));
+            }
+            if (current.errorRate() > base.errorRate() + ERROR_RATE_SLACK) {
+                regressions.add(String.format(Locale.ROOT, "%s: erros %.1f%% (baseline %.1f%%)",
+                        endpoint, current.errorRate() * 100, base.errorRate() * 100));
+            }
+        });
+        return regressions;
+    }
+
+    public String toTable() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-28s %9s %7s %9s %8s %8s %8s %8s %8s%n",
+                "endpoint", "reqs", "erros", "req/s", "p50", "p90", "p95", "p99", "max"));
+        endpoints.forEach((endpoint, s) -> sb.append(String.format(Locale.ROOT,
+                "%-28s %9d %7d %9.1f %8.1f %8.1f %8.1f %8.1f %8.1f%n",
+                endpoint, s.requests(), s.errors(), s.throughput(),
+                s.p50Ms(), s.p90Ms(), s.p95Ms(), s.p99Ms(), s.maxMs())));
+        return sb.toString();
+    }
+
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    public static ApiLoadReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), ApiLoadReport.class);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
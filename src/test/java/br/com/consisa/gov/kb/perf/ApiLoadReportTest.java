@@ -0,0 +1,50 @@
+package br.com.consisa.gov.kb.perf;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiLoadReportTest {
+
+    private static long[] millis(long from, long to) {
+        return LongStream.rangeClosed(from, to).map(ms -> ms * 1_000_000).toArray();
+    }
+
+    @Test
+    void computesExactPercentilesAndThroughput() {
+        ApiLoadReport report = ApiLoadReport.of("mixed", 10, 10.0,
+                Map.of("kb.search", millis(1, 100)), Map.of("kb.search", 2L));
+
+        ApiLoadReport.EndpointStats stats = report.endpoints().get("kb.search");
+        assertThat(stats.requests()).isEqualTo(100);
+        assertThat(stats.errors()).isEqualTo(2);
+        assertThat(stats.throughput()).isEqualTo(10.0);
+        assertThat(stats.p50Ms()).isEqualTo(50.0);
+        assertThat(stats.p95Ms()).isEqualTo(95.0);
+        assertThat(stats.p99Ms()).isEqualTo(99.0);
+        assertThat(stats.maxMs()).isEqualTo(100.0);
+    }
+
+    @Test
+    void flagsRegressionsBeyondToleranceOnly(@TempDir Path dir) throws IOException {
+        ApiLoadReport baseline = ApiLoadReport.of("mixed", 10, 10.0,
+                Map.of("dashboard.summary", millis(1, 100), "kb.search", millis(1, 100)), Map.of());
+        baseline.write(dir.resolve("baseline.json"));
+
+        // summary: +10% de latência (dentro da tolerância); search: 2x mais lento e metade do throughput
+        ApiLoadReport current = ApiLoadReport.of("mixed", 10, 10.0,
+                Map.of("dashboard.summary", LongStream.of(millis(1, 100)).map(v -> v * 11 / 10).toArray(),
+                        "kb.search", LongStream.of(millis(1, 50)).map(v -> v * 4).toArray()),
+                Map.of());
+
+        assertThat(current.regressionsAgainst(ApiLoadReport.read(dir.resolve("baseline.json")), 0.2))
+                .hasSize(2)
+                .allMatch(r -> r.startsWith("kb.search"));
+    }
+}
@@ -0,0 +1,476 @@
+package br.com.consisa.gov.kb.perf;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 🧪 Stand-in local da API pública do Movidesk (sync/importação offline).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Serve as rotas usadas pelo MovideskClient: GET /kb/article (busca
+ *   paginada), GET /article/{id}, GET /tickets (período + $top/$skip),
+ *   POST /tickets e POST /tickets/{id}/actions
+ * - Dados do {@link KbSyntheticDataset} gerados sob demanda a partir do id:
+ *   50k+ artigos sem ocupar memória, os mesmos que o KbDatasetLoader grava
+ *   no banco (duplicados, esboços, menus enviesados)
+ * - Cada requisição passa por: latência (+ jitter) → 429 aleatório →
+ *   limite de requisições/min em /tickets → 500 aleatório → rota
+ * - Resposta em gzip quando o cliente manda Accept-Encoding: gzip
+ * - GET /article/{id} devolve ETag (= revisão) e 304 para If-None-Match igual
+ * - {@link #touch(long)} gera nova revisão de um artigo (simula edição para
+ *   o delta)
+ *
+ * USO:
+ * ----
+ * - Em teste: {@code new FakeMovideskServer(options).start()} e apontar
+ *   {@code movidesk.base-url} para {@link #baseUrl()}
+ * - Standalone (porta fixa, para rodar a aplicação contra ele):
+ *   mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=br.com.consisa.gov.kb.perf.FakeMovideskServer
+ *   -Dexec.args="--port=8089 --preset=100k --latency-ms=80 --error-rate=0.01"
+ */
+public class FakeMovideskServer implements AutoCloseable {
+
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+
+    private final Options options;
+    private final KbSyntheticDataset dataset;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Long, Integer> revisions = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final AtomicLong createdTickets = new AtomicLong();
+    private final long ticketIntervalNanos;
+    private long nextTicketSlotNanos = System.nanoTime();
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FakeMovideskServer(Options options) {
+        this.options = options;
+        this.dataset = new KbSyntheticDataset(options.articles(), options.tickets(),
+                options.ticketsFrom(), options.ticketSpanDays(), options.seed());
+        this.ticketIntervalNanos = options.ticketRequestsPerMinute() > 0
+                ? TimeUnit.MINUTES.toNanos(1) / options.ticketRequestsPerMinute()
+                : 0;
+    }
+
+    public static void main(String[] args) throws IOException {
+        FakeMovideskServer server = new FakeMovideskServer(Options.fromArgs(args)).start();
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Fake Movidesk em " + server.baseUrl() + " " + server.options);
+    }
+
+    public FakeMovideskServer start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", options.port()), 256);
+        // latência simulada dorme na thread: virtual threads não limitam a concorrência
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        return this;
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+        }
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Nova revisão do artigo (revisionId e updatedDate avançam).
+     */
+    public void touch(long articleId) {
+        revisions.merge(articleId, 1, Integer::sum);
+    }
+
+    /**
+     * Requisições recebidas por rota (ex.: "GET /article", "429", "500").
+     */
+    public long requestCount(String key) {
+        LongAdder adder = requests.get(key);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    // ======================
+    // PIPELINE DA REQUISIÇÃO
+    // ======================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String[] path = exchange.getRequestURI().getPath().replaceAll("^/+|/+$", "").split("/");
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String route = method + " /" + path[0];
+            count(route);
+
+            simulateLatency();
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (random.nextDouble() < options.throttleRate() || ticketLimitExceeded(route)) {
+                count("429");
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                send(exchange, 429, Map.of("message", "Too Many Requests"));
+                return;
+            }
+            if (random.nextDouble() < options.errorRate()) {
+                count("500");
+                send(exchange, 500, Map.of("message", "Erro simulado"));
+                return;
+            }
+
+            route(exchange, method, path, query);
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String[] path, Map<String, String> query) throws IOException {
+        if ("GET".equals(method) && path.length == 2 && "kb".equals(path[0]) && "article".equals(path[1])) {
+            send(exchange, 200, searchArticles(intParam(query, "page", 0), intParam(query, "pageSize", 50)));
+        } else if ("GET".equals(method) && path.length == 2 && "article".equals(path[0])) {
+            long id = parseLong(path[1]);
+            if (id < 1 || id > options.articles()) {
+                send(exchange, 404, Map.of("message", "Artigo não encontrado"));
+            } else {
+                String etag = "\"" + revision(dataset.article(id)) + "\"";
+                exchange.getResponseHeaders().add("ETag", etag);
+                if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    count("304");
+                    exchange.sendResponseHeaders(304, -1);
+                } else {
+                    send(exchange, 200, article(id));
+                }
+            }
+        } else if ("GET".equals(method) && path.length == 1 && "tickets".equals(path[0])) {
+            send(exchange, 200, searchTickets(query));
+        } else if ("POST".equals(method) && path.length == 1 && "tickets".equals(path[0])) {
+            exchange.getRequestBody().readAllBytes();
+            long id = options.tickets() + createdTickets.incrementAndGet();
+            send(exchange, 200, Map.of("id", String.valueOf(id), "protocol", "FAKE-" + id));
+        } else if ("POST".equals(method) && path.length == 3 && "tickets".equals(path[0]) && "actions".equals(path[2])) {
+            exchange.getRequestBody().readAllBytes();
+            send(exchange, 200, Map.of());
+        } else {
+            send(exchange, 404, Map.of("message", "Rota não simulada"));
+        }
+    }
+
+    private void simulateLatency() {
+        long latency = options.latencyMs();
+        if (options.jitterMs() > 0) {
+            latency += ThreadLocalRandom.current().nextLong(options.jitterMs() + 1);
+        }
+        if (latency <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Limite da API de tickets: uma vaga a cada 60s / ticketRequestsPerMinute.
+     */
+    private boolean ticketLimitExceeded(String route) {
+        if (ticketIntervalNanos == 0 || !"GET /tickets".equals(route)) {
+            return false;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now < nextTicketSlotNanos) {
+                return true;
+            }
+            nextTicketSlotNanos = now + ticketIntervalNanos;
+            return false;
+        }
+    }
+
+    // ======================
+    // ARTIGOS
+    // ======================
+
+    private Map<String, Object> searchArticles(int page, int pageSize) {
+        int size = Math.max(1, pageSize);
+        long first = (long) Math.max(0, page) * size + 1;
+        long last = Math.min(options.articles(), first + size - 1);
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (long id = first; id <= last; id++) {
+            KbSyntheticDataset.ArticleSpec spec = dataset.article(id);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", id);
+            item.put("title", spec.title());
+            item.put("summary", "Resumo do artigo " + id);
+            item.put("status", 1);
+            item.put("updatedDate", updatedDate(spec));
+            item.put("revisionId", String.valueOf(revision(spec)));
+            item.put("menu", menu(spec));
+            items.add(item);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("pageSize", size);
+        response.put("totalSize", options.articles());
+        response.put("items", items);
+        return response;
+    }
+
+    private Map<String, Object> article(long id) {
+        KbSyntheticDataset.ArticleSpec spec = dataset.article(id);
+        Map<String, Object> article = new LinkedHashMap<>();
+        article.put("id", id);
+        article.put("articleStatus", 1);
+        article.put("title", spec.title());
+        article.put("slug", "artigo-" + id);
+        article.put("summary", "Resumo do artigo " + id);
+        // dataset gera só HTML ou só texto; a API real sempre devolve contentHtml
+        article.put("contentHtml", spec.contentHtml() != null || spec.contentText() == null
+                ? spec.contentHtml()
+                : "<p>" + spec.contentText() + "</p>");
+        article.put("contentText", spec.contentText());
+        article.put("revisionId", revision(spec));
+        article.put("readingTime", "3 min");
+        article.put("createdDate", spec.createdDate().format(DATE_TIME));
+        article.put("updatedDate", updatedDate(spec));
+        article.put("menu", menu(spec));
+        return article;
+    }
+
+    private long revision(KbSyntheticDataset.ArticleSpec spec) {
+        return spec.revisionId() + revisions.getOrDefault(spec.id(), 0);
+    }
+
+    private String updatedDate(KbSyntheticDataset.ArticleSpec spec) {
+        LocalDateTime updated = revisions.containsKey(spec.id())
+                ? LocalDateTime.now(ZoneOffset.UTC).withNano(0)
+                : spec.updatedDate();
+        return updated.format(DATE_TIME);
+    }
+
+    private static Map<String, Object> menu(KbSyntheticDataset.ArticleSpec spec) {
+        return Map.of("id", spec.menuId(), "name", spec.menuName());
+    }
+
+    // ======================
+    // TICKETS
+    // ======================
+
+    private List<Map<String, Object>> searchTickets(Map<String, String> query) {
+        // createdDate cresce com o índice: o período vira um intervalo de índices
+        long from = firstTicketAtOrAfter(parseDateTime(query.get("createdDateFrom")), 1);
+        long to = firstTicketAtOrAfter(parseDateTime(query.get("createdDateTo")), options.tickets() + 1L) - 1;
+        int skip = intParam(query, "$skip", 0);
+        int top = intParam(query, "$top", 100);
+
+        List<Map<String, Object>> tickets = new ArrayList<>();
+        for (long index = from + skip; index <= to && tickets.size() < top; index++) {
+            tickets.add(ticket(index));
+        }
+        return tickets;
+    }
+
+    private long firstTicketAtOrAfter(LocalDateTime instant, long fallback) {
+        if (instant == null) {
+            return fallback;
+        }
+        long low = 1;
+        long high = options.tickets() + 1L;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (dataset.ticketCreatedAt(mid).isBefore(instant)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private Map<String, Object> ticket(long index) {
+        KbSyntheticDataset.TicketSpec spec = dataset.ticket(index);
+        LocalDateTime created = spec.createdAt();
+        Map<String, Object> client = Map.of("id", "c" + (index % 500), "businessName", spec.requester());
+
+        // type 1 = mensagem do cliente (direção IN na importação)
+        Map<String, Object> action = new LinkedHashMap<>();
+        action.put("type", 1);
+        action.put("description", spec.text());
+        action.put("createdBy", client);
+
+        Map<String, Object> ticket = new LinkedHashMap<>();
+        ticket.put("id", String.valueOf(index));
+        ticket.put("protocol", "FAKE-" + index);
+        ticket.put("subject", spec.subject());
+        ticket.put("type", 2);
+        ticket.put("status", index % 3 == 0 ? "Resolvido" : "Novo");
+        ticket.put("createdDate", created.format(DATE_TIME));
+        ticket.put("lastUpdate", created.plusHours(2).format(DATE_TIME));
+        ticket.put("ownerTeam", spec.ownerTeam());
+        ticket.put("clients", List.of(client));
+        ticket.put("actions", List.of(action));
+        return ticket;
+    }
+
+    // ======================
+    // HELPERS
+    // ======================
+
+    private void count(String key) {
+        requests.computeIfAbsent(key, k -> new LongAdder()).increment();
+    }
+
+    private void send(HttpExchange exchange, int status, Object body) throws IOException {
+        byte[] json = objectMapper.writeValueAsBytes(body);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        String acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            json = gzip(json);
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(status, json.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(json);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            // '+' do offset (-03:00/+00:00) chega sem escape na query
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1).replace("+", "%2B"), StandardCharsets.UTF_8);
+            params.put(key, value);
+        }
+        return params;
+    }
+
+    private static LocalDateTime parseDateTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return OffsetDateTime.parse(value).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private static int intParam(Map<String, String> query, String key, int fallback) {
+        String value = query.get(key);
+        if (value == null || value.isBlank()) {
+            return fallback;
+        }
+        return Integer.parseInt(value);
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * @param port                    0 = porta livre
+     * @param ticketsFrom             createdDate do primeiro ticket (UTC)
+     * @param ticketSpanDays          tickets distribuídos uniformemente nesse período
+     * @param errorRate               fração de respostas 500
+     * @param throttleRate            fração de respostas 429 (qualquer rota)
+     * @param ticketRequestsPerMinute limite de GET /tickets (0 = sem limite)
+     */
+    public record Options(
+            int port,
+            int articles,
+            int tickets,
+            LocalDateTime ticketsFrom,
+            int ticketSpanDays,
+            long latencyMs,
+            long jitterMs,
+            double errorRate,
+            double throttleRate,
+            int ticketRequestsPerMinute,
+            long seed
+    ) {
+
+        public static Options defaults() {
+            return new Options(0, 1_000, 1_000, LocalDateTime.of(2025, 1, 1, 0, 0), 30,
+                    0, 0, 0.0, 0.0, 0, 42L);
+        }
+
+        /**
+         * Lê --chave=valor (port, preset, articles, tickets, tickets-from, ticket-span-days,
+         * latency-ms, jitter-ms, error-rate, throttle-rate, ticket-rpm, seed); o resto fica no
+         * default. preset (10k/100k/1m) define artigos/tickets, sobrescritos por articles/tickets.
+         */
+        public static Options fromArgs(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (arg.startsWith("--") && arg.contains("=")) {
+                    values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+                }
+            }
+            Options d = defaults();
+            KbSyntheticDataset.Preset preset = values.containsKey("preset")
+                    ? KbSyntheticDataset.Preset.parse(values.get("preset"))
+                    : null;
+            int articles = preset != null ? preset.articles() : d.articles();
+            int tickets = preset != null ? preset.tickets() : d.tickets();
+            return new Options(
+                    Integer.parseInt(values.getOrDefault("port", "8089")),
+                    Integer.parseInt(values.getOrDefault("articles", String.valueOf(articles))),
+                    Integer.parseInt(values.getOrDefault("tickets", String.valueOf(tickets))),
+                    values.containsKey("tickets-from") ? LocalDateTime.parse(values.get("tickets-from")) : d.ticketsFrom(),
+                    Integer.parseInt(values.getOrDefault("ticket-span-days", String.valueOf(d.ticketSpanDays()))),
+                    Long.parseLong(values.getOrDefault("latency-ms", "0")),
+                    Long.parseLong(values.getOrDefault("jitter-ms", "0")),
+                    Double.parseDouble(values.getOrDefault("error-rate", "0")),
+                    Double.parseDouble(values.getOrDefault("throttle-rate", "0")),
+                    Integer.parseInt(values.getOrDefault("ticket-rpm", "0")),
+                    Long.parseLong(values.getOrDefault("seed", String.valueOf(d.seed())))
+            );
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.consisa.gov.kb.perf;
+
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleDto;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleFetch;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleSearchResponse;
+import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
+import br.com.consisa.gov.kb.client.movidesk.MovideskRateLimiter;
+import br.com.consisa.gov.kb.client.movidesk.MovideskTicketResponse;
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FakeMovideskServerTest {
+
+    private FakeMovideskServer server;
+
+    @AfterEach
+    void tearDown() {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private MovideskClient start(FakeMovideskServer.Options options) throws IOException {
+        server = new FakeMovideskServer(options).start();
+        return new MovideskClient(RestClient.builder().baseUrl(server.baseUrl()).build(), "tok",
+                new MovideskRateLimiter(6000), new KbMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    void servesArticlePagesAndDetails() throws IOException {
+        FakeMovideskServer.Options defaults = FakeMovideskServer.Options.defaults();
+        MovideskClient client = start(new FakeMovideskServer.Options(0, 120, 0, defaults.ticketsFrom(), 30,
+                0, 0, 0.0, 0.0, 0, 42L));
+
+        MovideskArticleSearchResponse last = client.searchArticles(2, 50);
+        assertThat(last.getTotalSize()).isEqualTo(120);
+        assertThat(last.getItems()).hasSize(20);
+        assertThat(last.getItems().get(0).getId()).isEqualTo(101L);
+
+        MovideskArticleDto article = client.getArticleById(101);
+        assertThat(article.getTitle()).isEqualTo(last.getItems().get(0).getTitle());
+        assertThat(article.getRevisionId()).isEqualTo(Long.valueOf(last.getItems().get(0).getRevisionId()));
+
+        server.touch(101);
+        assertThat(client.getArticleById(101).getRevisionId()).isEqualTo(article.getRevisionId() + 1);
+
+        assertThatThrownBy(() -> client.getArticleById(121))
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void answersNotModifiedForCurrentEtag() throws IOException {
+        FakeMovideskServer.Options defaults = FakeMovideskServer.Options.defaults();
+        MovideskClient client = start(new FakeMovideskServer.Options(0, 10, 0, defaults.ticketsFrom(), 30,
+                0, 0, 0.0, 0.0, 0, 42L));
+
+        MovideskArticleFetch first = client.getArticleIfModified(3, null, null);
+        assertThat(first.notModified()).isFalse();
+        assertThat(first.etag()).isEqualTo("\"" + first.article().getRevisionId() + "\"");
+
+        MovideskArticleFetch again = client.getArticleIfModified(3, first.etag(), null);
+        assertThat(again.notModified()).isTrue();
+        assertThat(again.article()).isNull();
+        assertThat(server.requestCount("304")).isEqualTo(1);
+
+        server.touch(3);
+        MovideskArticleFetch changed = client.getArticleIfModified(3, first.etag(), null);
+        assertThat(changed.notModified()).isFalse();
+        assertThat(changed.article().getRevisionId()).isEqualTo(first.article().getRevisionId() + 1);
+    }
+
+    @Test
+    void pagesTicketsWithinPeriod() throws IOException {
+        // 1.000 tickets em 10 dias: 100 por dia
+        MovideskClient client = start(new FakeMovideskServer.Options(0, 0, 1_000,
+                LocalDateTime.of(2025, 1, 1, 0, 0), 10, 0, 0, 0.0, 0.0, 0, 42L));
+
+        List<MovideskTicketResponse> tickets = client.searchTickets(
+                OffsetDateTime.of(2025, 1, 3, 0, 0, 0, 0, ZoneOffset.UTC),
+                OffsetDateTime.of(2025, 1, 5, 0, 0, 0, 0, ZoneOffset.UTC));
+
+        assertThat(tickets).hasSize(200);
+        assertThat(tickets.get(0).getId()).isEqualTo("201");
+        assertThat(tickets.get(0).getActions()).singleElement()
+                .satisfies(action -> assertThat(action.getDescription()).isNotBlank());
+    }
+
+    @Test
+    void throttlesWithTooManyRequests() throws IOException {
+        FakeMovideskServer.Options defaults = FakeMovideskServer.Options.defaults();
+        MovideskClient client = start(new FakeMovideskServer.Options(0, 10, 0, defaults.ticketsFrom(), 30,
+                0, 0, 0.0, 1.0, 0, 42L));
+
+        assertThatThrownBy(() -> client.getArticleById(1))
+                .isInstanceOfSatisfying(HttpClientErrorException.class,
+                        ex -> assertThat(ex.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        assertThat(server.requestCount("429")).isEqualTo(1);
+    }
+}
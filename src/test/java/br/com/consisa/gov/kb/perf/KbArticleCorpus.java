@@ -0,0 +1,217 @@
+package br.com.consisa.gov.kb.perf;
+
+import br.com.consisa.gov.kb.domain.KbArticle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 📚 Corpus sintético de artigos da KB em português (determinístico).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Artigos no formato dos manuais reais: título, seções ("Objetivo:",
+ *   "Passo a passo:", "FAQ:"...), listas numeradas e parágrafos livres
+ * - Parte do corpus vem em HTML (p/li/strong) e parte em texto puro; parte
+ *   traz acentos, e-mails e marcadores ("TODO", "em construção")
+ * - Faixas de tamanho ({@link Size}) cobrem do artigo curto ao manual longo
+ * - Semente fixa: a mesma faixa gera sempre o mesmo corpus (resultados
+ *   comparáveis entre execuções/versões)
+ * - {@link #article(long, long)} gera um artigo isolado a partir do id, com
+ *   mistura de tamanhos 70% SMALL / 25% MEDIUM / 5% LARGE: dá para servir
+ *   dezenas de milhares de artigos sem mantê-los em memória
+ */
+public final class KbArticleCorpus {
+
+    /** Faixas de tamanho (caracteres de conteúdo aproximados). */
+    public enum Size {
+        SMALL(600),
+        MEDIUM(6_000),
+        LARGE(60_000);
+
+        final int chars;
+
+        Size(int chars) {
+            this.chars = chars;
+        }
+    }
+
+    private static final String[] SYSTEMS = {
+            "Consisa Gestão", "Consisa Fiscal", "Consisa Folha", "Consisa PDV", "Consisa Estoque"
+    };
+
+    private static final String[] SUBJECTS = {
+            "emissão de nota fiscal", "cadastro de clientes", "fechamento de caixa",
+            "importação de XML", "conciliação bancária", "cálculo de férias",
+            "inventário de estoque", "configuração de impressora", "integração com e-commerce",
+            "geração do SPED", "transferência entre filiais", "controle de acesso"
+    };
+
+    private static final String[] SENTENCES = {
+            "O usuário deve acessar o menu principal e selecionar a opção correspondente.",
+            "Após a confirmação, o sistema valida as informações e grava o registro.",
+            "Caso ocorra erro de validação, revise os campos obrigatórios destacados em vermelho.",
+            "A operação só é permitida para usuários com permissão de supervisor.",
+            "Os dados são sincronizados com a matriz a cada quinze minutos.",
+            "Não é possível alterar um documento já transmitido à SEFAZ.",
+            "Em caso de dúvida, abra um chamado para suporte@consisa.com.br informando o protocolo.",
+            "Verifique se a data de emissão está dentro do período contábil aberto.",
+            "O relatório pode ser exportado em PDF ou planilha.",
+            "Ao concluir, o sistema exibe a mensagem de sucesso e o número do lançamento.",
+            "Essa configuração afeta todas as filiais vinculadas à empresa.",
+            "Recomenda-se executar o procedimento fora do horário de pico."
+    };
+
+    private static final String[] SECTIONS = {
+            "Objetivo", "Quando utilizar", "Como acessar", "Pré-requisitos", "Regras de negócio",
+            "Campos", "Passo a passo", "Erros comuns", "FAQ", "Intenções IA"
+    };
+
+    private KbArticleCorpus() {
+    }
+
+    /**
+     * @param count quantidade de artigos
+     * @param seed  semente (mesma semente = mesmo corpus)
+     */
+    public static List<KbArticle> articles(Size size, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ size.ordinal());
+        List<KbArticle> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            articles.add(article(random, size, i + 1L));
+        }
+        return articles;
+    }
+
+    /**
+     * Artigo isolado (mesmo id + semente = mesmo artigo), com faixa de tamanho sorteada.
+     */
+    public static KbArticle article(long id, long seed) {
+        SplittableRandom random = new SplittableRandom(seed ^ (id * 0x9E37_79B9_7F4A_7C15L));
+        int roll = random.nextInt(100);
+        Size size = roll < 70 ? Size.SMALL : roll < 95 ? Size.MEDIUM : Size.LARGE;
+        return article(random, size, id);
+    }
+
+    /**
+     * Assunto do artigo/ticket (para títulos e subjects).
+     */
+    public static String subject(long id, long seed) {
+        return SUBJECTS[Math.floorMod(id * 31 + seed, SUBJECTS.length)];
+    }
+
+    /**
+     * Texto livre de ticket de suporte (com CPF/CNPJ/e-mail/protocolo para o normalizador).
+     */
+    public static List<String> tickets(Size size, int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + size.ordinal());
+        List<String> tickets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tickets.add(ticket(random, size));
+        }
+        return tickets;
+    }
+
+    /**
+     * Texto de um ticket isolado (mesmo índice + semente = mesmo texto).
+     */
+    public static String ticket(long index, Size size, long seed) {
+        return ticket(new SplittableRandom(seed ^ (index * 0xC2B2_AE3D_27D4_EB4FL)), size);
+    }
+
+    private static String ticket(SplittableRandom random, Size size) {
+        StringBuilder sb = new StringBuilder(size.chars + 200);
+        sb.append("Olá, estou com problema na ").append(pick(random, SUBJECTS))
+                .append(" do ").append(pick(random, SYSTEMS)).append(". ");
+        while (sb.length() < size.chars) {
+            switch (random.nextInt(6)) {
+                case 0 -> sb.append("Meu CPF é ").append(digits(random, 3)).append('.')
+                        .append(digits(random, 3)).append('.').append(digits(random, 3))
+                        .append('-').append(digits(random, 2)).append(". ");
+                case 1 -> sb.append("CNPJ ").append(digits(random, 14)).append(". ");
+                case 2 -> sb.append("Contato: cliente").append(random.nextInt(1000))
+                        .append("@empresa.com.br. ");
+                case 3 -> sb.append("Protocolo ").append(digits(random, 8)).append(". ");
+                default -> sb.append(pick(random, SENTENCES)).append(' ');
+            }
+        }
+        return sb.toString();
+    }
+
+    private static KbArticle article(SplittableRandom random, Size size, long id) {
+        boolean html = random.nextInt(3) == 0;
+        String subject = pick(random, SUBJECTS);
+
+        StringBuilder sb = new StringBuilder(size.chars + 512);
+        int section = 0;
+        while (sb.length() < size.chars) {
+            // ~20% dos artigos pulam seções: o checklist IA-ready falha parte do corpus
+            String title = SECTIONS[section % SECTIONS.length];
+            section++;
+            if (random.nextInt(5) == 0) {
+                continue;
+            }
+            appendSection(sb, random, title, html);
+            if (random.nextInt(40) == 0) {
+                sb.append(html ? "<p>TODO: em construção</p>\n" : "TODO: em construção\n");
+            }
+        }
+
+        KbArticle article = new KbArticle();
+        article.setId(id);
+        article.setTitle("Como realizar " + subject + " no " + pick(random, SYSTEMS));
+        if (html) {
+            article.setContentHtml(sb.toString());
+        } else {
+            article.setContentText(sb.toString());
+        }
+        return article;
+    }
+
+    private static void appendSection(StringBuilder sb, SplittableRandom random, String title, boolean html) {
+        if (html) {
+            sb.append("<p><strong>").append(title).append(":</strong></p>\n");
+        } else {
+            sb.append(title).append(":\n");
+        }
+
+        boolean list = title.equals("Passo a passo") || title.equals("FAQ")
+                || title.equals("Regras de negócio") || title.equals("Intenções IA");
+        int items = 2 + random.nextInt(5);
+        if (list) {
+            if (html) {
+                sb.append("<ol>\n");
+            }
+            for (int i = 1; i <= items; i++) {
+                if (html) {
+                    sb.append("<li>").append(pick(random, SENTENCES)).append("</li>\n");
+                } else {
+                    sb.append(i).append(". ").append(pick(random, SENTENCES)).append('\n');
+                }
+            }
+            if (html) {
+                sb.append("</ol>\n");
+            }
+        } else {
+            sb.append(html ? "<p>" : "");
+            for (int i = 0; i < items; i++) {
+                sb.append(pick(random, SENTENCES)).append(' ');
+            }
+            sb.append(html ? "</p>\n" : "\n");
+        }
+        sb.append('\n');
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String digits(SplittableRandom random, int count) {
+        StringBuilder sb = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+}
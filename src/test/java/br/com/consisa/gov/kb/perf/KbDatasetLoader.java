@@ -0,0 +1,343 @@
+package br.com.consisa.gov.kb.perf;
+
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.service.KbArticleHashService;
+import br.com.consisa.gov.kb.service.SupportNormalizationService;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.stream.LongStream;
+
+/**
+ * 🚚 Carga do dataset sintético no PostgreSQL local via COPY.
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Esvazia as tabelas de conteúdo (kb_article, support_ticket, faq_cluster
+ *   e dependentes) e carrega o {@link KbSyntheticDataset} do preset
+ * - COPY ... FROM STDIN (formato texto) em blocos: as linhas são geradas em
+ *   paralelo por bloco e escritas em ordem, sem passar pelo JPA
+ * - content_hash pelo mesmo KbArticleHashService do sync (duplicados batem);
+ *   fingerprint/normalized_text dos clusters pelo SupportNormalizationService
+ * - Ao final: ajusta as sequences, ANALYZE e limpa os contadores de governança
+ *   (a aplicação reconstrói na subida, ver GovernanceCounterService)
+ * - Assinaturas MinHash dos clusters ficam nulas: FaqClusterMatcher indexa
+ *   na subida (backfillSignatures)
+ * - Garante o usuário ADMIN do teste de carga (loadtest@kb.local, senha em
+ *   --loadtest-password), usado pelo ApiLoadGenerator
+ *
+ * USO:
+ * ----
+ * mvn test-compile exec:java -Dexec.classpathScope=test
+ *   -Dexec.mainClass=br.com.consisa.gov.kb.perf.KbDatasetLoader
+ *   -Dexec.args="--preset=100k --url=jdbc:postgresql://localhost:5432/kb --user=kb --password=kb"
+ *
+ * Só aceita banco em localhost (apaga dados); --force libera outro host.
+ */
+public final class KbDatasetLoader {
+
+    private static final int CHUNK = 2_000;
+    private static final int FLUSH_BYTES = 1 << 20;
+    private static final String LOAD_TEST_USER = "loadtest@kb.local";
+    private static final String SOURCE_URL = "https://consisanet.movidesk.com/kb/pt-br/article/";
+
+    private final Connection connection;
+    private final KbSyntheticDataset dataset;
+    private final KbArticleHashService hashService = new KbArticleHashService();
+    private final SupportNormalizationService normalizationService = new SupportNormalizationService();
+    private final String loadedAt = LocalDateTime.now(ZoneOffset.UTC).toString() + "+00";
+    private final String loadTestPassword;
+
+    public KbDatasetLoader(Connection connection, KbSyntheticDataset dataset, String loadTestPassword) {
+        this.connection = connection;
+        this.dataset = dataset;
+        this.loadTestPassword = loadTestPassword;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int eq = arg.indexOf('=');
+                options.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+            }
+        }
+
+        String url = options.getOrDefault("url",
+                env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/kb_governance"));
+        String host = URI.create(url.substring("jdbc:".length())).getHost();
+        if (!options.containsKey("force") && !"localhost".equals(host) && !"127.0.0.1".equals(host)) {
+            throw new IllegalArgumentException("Carga apaga dados: use banco local ou --force (host=" + host + ")");
+        }
+
+        KbSyntheticDataset.Preset preset = KbSyntheticDataset.Preset.parse(options.getOrDefault("preset", "10k"));
+        int spanDays = Integer.parseInt(options.getOrDefault("ticket-span-days", "180"));
+        KbSyntheticDataset dataset = KbSyntheticDataset.of(preset,
+                LocalDateTime.now(ZoneOffset.UTC).minusDays(spanDays), spanDays,
+                Long.parseLong(options.getOrDefault("seed", "42")));
+
+        try (Connection connection = DriverManager.getConnection(url,
+                options.getOrDefault("user", env("SPRING_DATASOURCE_USERNAME", "postgres")),
+                options.getOrDefault("password", env("SPRING_DATASOURCE_PASSWORD", "postgres")))) {
+            new KbDatasetLoader(connection, dataset, options.getOrDefault("loadtest-password", "loadtest")).load();
+        }
+    }
+
+    public void load() throws SQLException {
+        long started = System.currentTimeMillis();
+        connection.setAutoCommit(false);
+        try {
+            truncate();
+            Map<String, Long> systemIds = systemIds();
+
+            long articles = copy("""
+                    COPY kb_article (id, title, slug, summary, content_html, content_text, article_status,
+                        revision_id, reading_time, created_date, updated_date, source_system, source_url,
+                        source_menu_id, source_menu_name, fetched_at, system_id, content_hash,
+                        governance_status, sync_status, last_seen_at)
+                    FROM STDIN""", dataset.articles(), id -> articleRows(id, systemIds));
+            log("kb_article", articles, started);
+
+            long issues = copy("""
+                    COPY kb_governance_issue (article_id, issue_type, severity, status, message,
+                        responsible_id, responsible_type, sla_due_at, created_at, updated_at,
+                        resolved_at, resolved_by, ignored_reason)
+                    FROM STDIN""", dataset.articles(), this::issueRows);
+            log("kb_governance_issue", issues, started);
+
+            int[] ticketCounts = new int[dataset.clusters()];
+            for (long index = 1; index <= dataset.tickets(); index++) {
+                ticketCounts[dataset.ticket(index).clusterIndex()]++;
+            }
+            long clusters = copy("""
+                    COPY faq_cluster (id, fingerprint, normalized_text, sample_text, ticket_count,
+                        created_at, updated_at)
+                    FROM STDIN""", dataset.clusters(), id -> clusterRow((int) id - 1, ticketCounts));
+            log("faq_cluster", clusters, started);
+
+            long tickets = copy("""
+                    COPY support_ticket (id, external_ticket_id, protocol, subject, status, requester,
+                        owner_team, origin_created_at, origin_updated_at, last_message_at)
+                    FROM STDIN""", dataset.tickets(), this::ticketRow);
+            copy("""
+                    COPY support_ticket_message (ticket_id, direction, author, content,
+                        external_message_key, created_at)
+                    FROM STDIN""", dataset.tickets(), this::messageRow);
+            copy("""
+                    COPY faq_cluster_ticket (cluster_id, ticket_id, created_at)
+                    FROM STDIN""", dataset.tickets(), this::clusterTicketRow);
+            log("support_ticket", tickets, started);
+
+            try (Statement st = connection.createStatement()) {
+                st.execute("SELECT setval(pg_get_serial_sequence('support_ticket', 'id'), GREATEST(1, (SELECT MAX(id) FROM support_ticket)))");
+                st.execute("SELECT setval(pg_get_serial_sequence('faq_cluster', 'id'), GREATEST(1, (SELECT MAX(id) FROM faq_cluster)))");
+            }
+            upsertLoadTestUser();
+            connection.commit();
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        }
+
+        connection.setAutoCommit(true);
+        try (Statement st = connection.createStatement()) {
+            st.execute("ANALYZE kb_article, kb_governance_issue, support_ticket, support_ticket_message, faq_cluster, faq_cluster_ticket");
+        }
+        System.out.printf("✅ Dataset carregado em %ds (%d artigos, %d tickets, %d clusters)%n",
+                (System.currentTimeMillis() - started) / 1000, dataset.articles(), dataset.tickets(), dataset.clusters());
+    }
+
+    private void truncate() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("TRUNCATE kb_article, support_ticket, faq_cluster CASCADE");
+            st.execute("TRUNCATE kb_article_quality_flags, kb_governance_system_counter");
+        }
+    }
+
+    private void upsertLoadTestUser() throws SQLException {
+        try (PreparedStatement user = connection.prepareStatement("""
+                INSERT INTO app_user (email, password_hash, is_active)
+                VALUES (?, ?, TRUE)
+                ON CONFLICT (email) DO UPDATE SET password_hash = EXCLUDED.password_hash, is_active = TRUE
+                """);
+             PreparedStatement role = connection.prepareStatement("""
+                     INSERT INTO app_user_role (user_id, role)
+                     SELECT id, 'ADMIN' FROM app_user WHERE email = ?
+                     ON CONFLICT DO NOTHING
+                     """)) {
+            user.setString(1, LOAD_TEST_USER);
+            user.setString(2, new BCryptPasswordEncoder().encode(loadTestPassword));
+            user.executeUpdate();
+            role.setString(1, LOAD_TEST_USER);
+            role.executeUpdate();
+        }
+    }
+
+    private Map<String, Long> systemIds() throws SQLException {
+        Map<String, Long> ids = new HashMap<>();
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("SELECT code, id FROM kb_system")) {
+            while (rs.next()) {
+                ids.put(rs.getString(1), rs.getLong(2));
+            }
+        }
+        return ids;
+    }
+
+    // ======================
+    // COPY
+    // ======================
+
+    /**
+     * COPY em blocos: gera as linhas de [1..count] em paralelo por bloco e
+     * envia em ordem. Cada chamada a rows devolve zero ou mais linhas prontas.
+     */
+    private long copy(String sql, long count, LongFunction<String> rows) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(sql);
+        try {
+            StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 64 * 1024);
+            for (long from = 1; from <= count; from += CHUNK) {
+                List<String> chunk = LongStream.range(from, Math.min(count + 1, from + CHUNK))
+                        .parallel()
+                        .mapToObj(rows)
+                        .toList();
+                for (String row : chunk) {
+                    buffer.append(row);
+                }
+                if (buffer.length() >= FLUSH_BYTES) {
+                    write(copyIn, buffer);
+                }
+            }
+            write(copyIn, buffer);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    // ======================
+    // LINHAS
+    // ======================
+
+    private String articleRows(long id, Map<String, Long> systemIds) {
+        KbSyntheticDataset.ArticleSpec a = dataset.article(id);
+        String hashBase = a.contentText() != null && !a.contentText().isBlank() ? a.contentText() : a.contentHtml();
+        boolean withIssues = dataset.issues(a).stream().anyMatch(i -> isPending(i.status()));
+        return row(
+                a.id(), a.title(), "artigo-" + a.id(), "Resumo do artigo " + a.id(),
+                a.contentHtml(), a.contentText(), 1, a.revisionId(), "3 min",
+                ts(a.createdDate()), ts(a.updatedDate()), "movidesk", SOURCE_URL + a.id() + "/artigo-" + a.id(),
+                a.menuId(), a.menuName(), loadedAt, systemIds.get(a.systemCode()),
+                hashBase == null || hashBase.isBlank() ? null : hashService.generateContentHash(hashBase),
+                withIssues ? "WITH_ISSUES" : "OK", "OK", loadedAt
+        );
+    }
+
+    private String issueRows(long id) {
+        StringBuilder sb = new StringBuilder();
+        for (KbSyntheticDataset.IssueSpec i : dataset.issues(dataset.article(id))) {
+            boolean resolved = i.status() == GovernanceIssueStatus.RESOLVED;
+            boolean ignored = i.status() == GovernanceIssueStatus.IGNORED;
+            LocalDateTime updated = resolved ? i.resolvedAt() : i.createdAt();
+            sb.append(row(
+                    i.articleId(), i.type().name(), i.severity().name(), i.status().name(), i.message(),
+                    i.responsibleId(), i.responsibleId() == null ? null : "USER", ts(i.slaDueAt()),
+                    ts(i.createdAt()), ts(updated), ts(i.resolvedAt()), resolved ? "dataset" : null,
+                    ignored ? "Falso positivo (dataset sintético)" : null
+            ));
+        }
+        return sb.toString();
+    }
+
+    private String clusterRow(int cluster, int[] ticketCounts) {
+        String template = dataset.clusterTemplate(cluster);
+        String normalized = normalizationService.normalize(template);
+        return row(cluster + 1, normalizationService.fingerprint(normalized), normalized, template,
+                ticketCounts[cluster], loadedAt, loadedAt);
+    }
+
+    private String ticketRow(long index) {
+        KbSyntheticDataset.TicketSpec t = dataset.ticket(index);
+        return row(index, "SYN-" + index, "SYN-" + index, t.subject(), index % 3 == 0 ? "Resolvido" : "Novo",
+                t.requester(), t.ownerTeam(), ts(t.createdAt()), ts(t.createdAt().plusHours(2)), ts(t.createdAt()));
+    }
+
+    private String messageRow(long index) {
+        KbSyntheticDataset.TicketSpec t = dataset.ticket(index);
+        return row(index, "IN", t.requester(), t.text(), "SYN-" + index + ":0", ts(t.createdAt()));
+    }
+
+    private String clusterTicketRow(long index) {
+        KbSyntheticDataset.TicketSpec t = dataset.ticket(index);
+        return row(t.clusterIndex() + 1, index, ts(t.createdAt()));
+    }
+
+    private static boolean isPending(GovernanceIssueStatus status) {
+        return status != GovernanceIssueStatus.RESOLVED && status != GovernanceIssueStatus.IGNORED;
+    }
+
+    /**
+     * Linha no formato texto do COPY (tab, \N para nulo, escapes de \ \t \n \r).
+     */
+    static String row(Object... values) {
+        StringBuilder sb = new StringBuilder(128);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append('\t');
+            }
+            Object value = values[i];
+            if (value == null) {
+                sb.append("\\N");
+                continue;
+            }
+            String text = value.toString();
+            for (int c = 0; c < text.length(); c++) {
+                char ch = text.charAt(c);
+                switch (ch) {
+                    case '\\' -> sb.append("\\\\");
+                    case '\t' -> sb.append("\\t");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    default -> sb.append(ch);
+                }
+            }
+        }
+        return sb.append('\n').toString();
+    }
+
+    private static String ts(LocalDateTime value) {
+        return value == null ? null : value + "+00";
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    private static void log(String table, long rows, long started) {
+        System.out.printf("  %-22s %,10d linhas (%ds)%n", table, rows, (System.currentTimeMillis() - started) / 1000);
+    }
+}
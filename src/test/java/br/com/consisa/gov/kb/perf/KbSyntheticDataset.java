@@ -0,0 +1,353 @@
+package br.com.consisa.gov.kb.perf;
+
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.domain.GovernanceSeverity;
+import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * 🗂️ Dataset sintético de volume (artigos, issues, tickets e clusters de FAQ).
+ *
+ * COMO FUNCIONA:
+ * --------------
+ * - Tudo é derivado do id/índice + semente: nada fica em memória e a mesma
+ *   configuração gera sempre o mesmo dataset (carga no banco e fake API
+ *   enxergam os mesmos dados)
+ * - Sistemas e menus com distribuição enviesada (Zipf): poucos sistemas
+ *   concentram a maior parte dos artigos, como na base real
+ * - Tipos de artigo ({@link ArticleKind}): original (corpus, com seções
+ *   faltando em parte), duplicado exato de um artigo anterior do mesmo
+ *   sistema, quase-duplicado (mesmo conteúdo + trecho extra) e esboço
+ *   (curto, vazio ou com "TODO")
+ * - Issues coerentes com o tipo do artigo (duplicado → DUPLICATE_CONTENT,
+ *   esboço → INCOMPLETE_CONTENT...) com status/SLA variados, inclusive atrasados
+ * - Tickets distribuídos no tempo por índice; cada um nasce de um modelo de
+ *   cluster (popularidade enviesada) + ruído pessoal (CPF, e-mail, protocolo)
+ */
+public final class KbSyntheticDataset {
+
+    /** Tamanhos prontos para benchmark (tickets = metade dos artigos). */
+    public enum Preset {
+        K10(10_000),
+        K100(100_000),
+        M1(1_000_000);
+
+        private final int articles;
+
+        Preset(int articles) {
+            this.articles = articles;
+        }
+
+        public int articles() {
+            return articles;
+        }
+
+        public int tickets() {
+            return articles / 2;
+        }
+
+        /**
+         * Aceita "10k", "100k", "1m" ou o nome do enum.
+         */
+        public static Preset parse(String value) {
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "10k", "k10" -> K10;
+                case "100k", "k100" -> K100;
+                case "1m", "m1" -> M1;
+                default -> throw new IllegalArgumentException("Preset desconhecido: " + value);
+            };
+        }
+    }
+
+    public enum ArticleKind {
+        ORIGINAL,
+        DUPLICATE,
+        NEAR_DUPLICATE,
+        STUB
+    }
+
+    public record ArticleSpec(
+            long id,
+            ArticleKind kind,
+            Long sourceId,
+            String systemCode,
+            long menuId,
+            String menuName,
+            String title,
+            String contentHtml,
+            String contentText,
+            long revisionId,
+            LocalDateTime createdDate,
+            LocalDateTime updatedDate
+    ) {
+    }
+
+    public record IssueSpec(
+            long articleId,
+            KbGovernanceIssueType type,
+            GovernanceSeverity severity,
+            GovernanceIssueStatus status,
+            String message,
+            String responsibleId,
+            LocalDateTime createdAt,
+            LocalDateTime slaDueAt,
+            LocalDateTime resolvedAt
+    ) {
+    }
+
+    public record TicketSpec(
+            long index,
+            int clusterIndex,
+            String subject,
+            String text,
+            String requester,
+            String ownerTeam,
+            LocalDateTime createdAt
+    ) {
+    }
+
+    /** Códigos do seed V3 (kb_system), do mais para o menos frequente. */
+    static final String[] SYSTEM_CODES = {
+            "CONSISANET", "NOTAON", "SGRH", "GERAL", "QUINTO_EIXO", "BIOJOB",
+            "CONTA_SHOP", "EDOC", "ACOR", "ORDENA", "CAPTURA", "CLOUD_EDI"
+    };
+
+    private static final String[] MENU_NAMES = {
+            "Fiscal", "Financeiro", "Cadastros", "Relatórios", "Configurações",
+            "Integrações", "Movimentações", "Utilitários"
+    };
+
+    private static final String[] EXTRA_SENTENCES = {
+            "Atualização: o procedimento também vale para a versão mais recente.",
+            "Observação: em filiais com regime especial, consulte o contador responsável.",
+            "Nota: a tela pode variar conforme as permissões do usuário."
+    };
+
+    private static final String[] STUB_TEXTS = {
+            "TODO: em construção.",
+            "Conteúdo em revisão. Em breve.",
+            "Ver manual anterior."
+    };
+
+    /** Artigos "editados" distribuídos nos últimos 3 anos antes desta data. */
+    private static final LocalDateTime ARTICLES_UNTIL = LocalDateTime.of(2025, 1, 1, 8, 0);
+    private static final int DUPLICATE_WINDOW = 5_000;
+    private static final int TICKETS_PER_CLUSTER = 25;
+
+    private static final double[] SYSTEM_CDF = zipfCdf(SYSTEM_CODES.length, 1.1);
+    private static final double[] MENU_CDF = zipfCdf(MENU_NAMES.length, 1.3);
+
+    private final int articles;
+    private final int tickets;
+    private final LocalDateTime ticketsFrom;
+    private final int ticketSpanDays;
+    private final long seed;
+
+    public KbSyntheticDataset(int articles, int tickets, LocalDateTime ticketsFrom, int ticketSpanDays, long seed) {
+        this.articles = articles;
+        this.tickets = tickets;
+        this.ticketsFrom = ticketsFrom;
+        this.ticketSpanDays = Math.max(1, ticketSpanDays);
+        this.seed = seed;
+    }
+
+    public static KbSyntheticDataset of(Preset preset, LocalDateTime ticketsFrom, int ticketSpanDays, long seed) {
+        return new KbSyntheticDataset(preset.articles(), preset.tickets(), ticketsFrom, ticketSpanDays, seed);
+    }
+
+    public int articles() {
+        return articles;
+    }
+
+    public int tickets() {
+        return tickets;
+    }
+
+    public int clusters() {
+        return Math.max(1, tickets / TICKETS_PER_CLUSTER);
+    }
+
+    // ======================
+    // ARTIGOS
+    // ======================
+
+    public ArticleSpec article(long id) {
+        SplittableRandom random = random(id, 0x5A17_C0DEL);
+        int roll = random.nextInt(100);
+        ArticleKind kind = id == 1 ? ArticleKind.ORIGINAL
+                : roll < 3 ? ArticleKind.DUPLICATE
+                : roll < 7 ? ArticleKind.NEAR_DUPLICATE
+                : roll < 12 ? ArticleKind.STUB
+                : ArticleKind.ORIGINAL;
+
+        LocalDateTime updated = ARTICLES_UNTIL.minusMinutes(random.nextLong(Duration.ofDays(3 * 365).toMinutes()));
+        LocalDateTime created = updated.minusDays(random.nextInt(720));
+        long revision = id * 10;
+
+        if (kind == ArticleKind.DUPLICATE || kind == ArticleKind.NEAR_DUPLICATE) {
+            long sourceId = id - 1 - random.nextLong(Math.min(id - 1, DUPLICATE_WINDOW));
+            ArticleSpec source = article(sourceId);
+            // mesmo sistema/menu do original: conta como duplicado no mesmo sistema
+            String html = source.contentHtml();
+            String text = source.contentText();
+            if (kind == ArticleKind.NEAR_DUPLICATE) {
+                String extra = EXTRA_SENTENCES[random.nextInt(EXTRA_SENTENCES.length)];
+                html = html == null ? null : html + "<p>" + extra + "</p>\n";
+                text = text == null ? null : text + extra + "\n";
+            }
+            return new ArticleSpec(id, kind, sourceId, source.systemCode(), source.menuId(), source.menuName(),
+                    source.title(), html, text, revision, created, updated);
+        }
+
+        int system = pick(random, SYSTEM_CDF);
+        int menu = pick(random, MENU_CDF);
+        String systemCode = SYSTEM_CODES[system];
+        String title = "Como realizar " + KbArticleCorpus.subject(id, seed) + " - " + systemCode + " (" + id + ")";
+
+        if (kind == ArticleKind.STUB) {
+            // 1/3 vazio (is_empty), o resto curto com marcador
+            String text = random.nextInt(3) == 0 ? null : STUB_TEXTS[random.nextInt(STUB_TEXTS.length)];
+            return new ArticleSpec(id, kind, null, systemCode, menuId(system, menu), menuName(system, menu),
+                    title, null, text, revision, created, updated);
+        }
+
+        KbArticle generated = KbArticleCorpus.article(id, seed);
+        return new ArticleSpec(id, kind, null, systemCode, menuId(system, menu), menuName(system, menu),
+                title, generated.getContentHtml(), generated.getContentText(), revision, created, updated);
+    }
+
+    /**
+     * Issues de governança do artigo (no máximo uma por tipo, como uq_kb_governance_issue_article_type).
+     */
+    public List<IssueSpec> issues(ArticleSpec article) {
+        SplittableRandom random = random(article.id(), 0x155_0E5L);
+        List<IssueSpec> issues = new ArrayList<>(2);
+        switch (article.kind()) {
+            case DUPLICATE -> issues.add(issue(random, article, KbGovernanceIssueType.DUPLICATE_CONTENT,
+                    GovernanceSeverity.WARN, "Conteúdo idêntico ao artigo " + article.sourceId()));
+            case NEAR_DUPLICATE -> issues.add(issue(random, article, KbGovernanceIssueType.INCONSISTENT_CONTENT,
+                    GovernanceSeverity.WARN, "Conteúdo muito parecido com o artigo " + article.sourceId()));
+            case STUB -> issues.add(issue(random, article, KbGovernanceIssueType.INCOMPLETE_CONTENT,
+                    GovernanceSeverity.ERROR, "Conteúdo vazio ou incompleto"));
+            case ORIGINAL -> {
+                if (random.nextInt(100) < 15) {
+                    issues.add(issue(random, article, KbGovernanceIssueType.NOT_AI_READY,
+                            GovernanceSeverity.INFO, "Artigo sem seções mínimas para IA"));
+                }
+            }
+        }
+        if (random.nextInt(100) < 8) {
+            issues.add(issue(random, article, KbGovernanceIssueType.OUTDATED_CONTENT,
+                    GovernanceSeverity.INFO, "Artigo sem revisão há mais de um ano"));
+        }
+        return issues;
+    }
+
+    private IssueSpec issue(SplittableRandom random, ArticleSpec article, KbGovernanceIssueType type,
+                            GovernanceSeverity severity, String message) {
+        int roll = random.nextInt(100);
+        GovernanceIssueStatus status = roll < 45 ? GovernanceIssueStatus.OPEN
+                : roll < 55 ? GovernanceIssueStatus.ASSIGNED
+                : roll < 65 ? GovernanceIssueStatus.IN_PROGRESS
+                : roll < 93 ? GovernanceIssueStatus.RESOLVED
+                : GovernanceIssueStatus.IGNORED;
+
+        LocalDateTime createdAt = article.updatedDate().plusHours(1 + random.nextInt(72));
+        int slaDays = switch (severity) {
+            case ERROR -> 3;
+            case WARN -> 15;
+            case INFO -> 30;
+        };
+        String responsible = status == GovernanceIssueStatus.ASSIGNED || status == GovernanceIssueStatus.IN_PROGRESS
+                ? "user-" + (1 + random.nextInt(40))
+                : null;
+        LocalDateTime resolvedAt = status == GovernanceIssueStatus.RESOLVED
+                ? createdAt.plusHours(1 + random.nextInt(24 * 20))
+                : null;
+        return new IssueSpec(article.id(), type, severity, status, message, responsible,
+                createdAt, createdAt.plusDays(slaDays), resolvedAt);
+    }
+
+    // ======================
+    // TICKETS / CLUSTERS
+    // ======================
+
+    public TicketSpec ticket(long index) {
+        SplittableRandom random = random(index, 0x71C_E7L);
+        // u³: clusters de índice baixo concentram a maior parte dos tickets
+        double u = random.nextDouble();
+        int cluster = (int) Math.min(clusters() - 1L, (long) (clusters() * u * u * u));
+
+        String text = clusterTemplate(cluster) + " " + KbArticleCorpus.ticket(index, KbArticleCorpus.Size.SMALL, seed)
+                .substring(0, 120 + random.nextInt(200));
+        String systemCode = SYSTEM_CODES[pick(random(cluster, 0xC1_5CL), SYSTEM_CDF)];
+        return new TicketSpec(
+                index,
+                cluster,
+                "Dúvida sobre " + KbArticleCorpus.subject(cluster, seed) + " - " + systemCode,
+                text,
+                "Cliente " + (index % 500),
+                "Suporte N" + (1 + index % 2),
+                ticketCreatedAt(index)
+        );
+    }
+
+    /**
+     * Texto-base do cluster (o que os tickets dele têm em comum).
+     */
+    public String clusterTemplate(int cluster) {
+        SplittableRandom random = random(cluster, 0xC1_5CL);
+        String systemCode = SYSTEM_CODES[pick(random, SYSTEM_CDF)];
+        // "erro E123": número colado em letra não é mascarado pelo normalizador → fingerprint único
+        return "Olá, estou com problema na " + KbArticleCorpus.subject(cluster, seed) + " do " + systemCode
+                + ", aparece o erro E" + cluster + " ao confirmar a operação.";
+    }
+
+    /** createdDate cresce com o índice (uniforme no período). */
+    public LocalDateTime ticketCreatedAt(long index) {
+        long spanSeconds = Duration.ofDays(ticketSpanDays).toSeconds();
+        return ticketsFrom.plusSeconds(spanSeconds * (index - 1) / Math.max(1, tickets));
+    }
+
+    // ======================
+    // HELPERS
+    // ======================
+
+    private static long menuId(int system, int menu) {
+        return (system + 1) * 100L + menu + 1;
+    }
+
+    private static String menuName(int system, int menu) {
+        return SYSTEM_CODES[system] + " / " + MENU_NAMES[menu];
+    }
+
+    private SplittableRandom random(long key, long salt) {
+        return new SplittableRandom(seed ^ salt ^ (key * 0x9E37_79B9_7F4A_7C15L));
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double sum = 0;
+        for (int i = 0; i < n; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < n; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private static int pick(SplittableRandom random, double[] cdf) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(cdf.length - 1, index >= 0 ? index : -index - 1);
+    }
+}
@@ -0,0 +1,72 @@
+package br.com.consisa.gov.kb.perf;
+
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+import br.com.consisa.gov.kb.service.SupportNormalizationService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KbSyntheticDatasetTest {
+
+    private final KbSyntheticDataset dataset =
+            new KbSyntheticDataset(2_000, 2_000, LocalDateTime.of(2025, 1, 1, 0, 0), 30, 42L);
+
+    @Test
+    void articlesAreDeterministicAndDuplicatesFollowTheirSource() {
+        Map<KbSyntheticDataset.ArticleKind, Integer> kinds = new EnumMap<>(KbSyntheticDataset.ArticleKind.class);
+        Map<String, Integer> systems = new HashMap<>();
+
+        for (long id = 1; id <= dataset.articles(); id++) {
+            KbSyntheticDataset.ArticleSpec article = dataset.article(id);
+            assertThat(dataset.article(id)).isEqualTo(article);
+            kinds.merge(article.kind(), 1, Integer::sum);
+            systems.merge(article.systemCode(), 1, Integer::sum);
+
+            if (article.kind() == KbSyntheticDataset.ArticleKind.DUPLICATE) {
+                KbSyntheticDataset.ArticleSpec source = dataset.article(article.sourceId());
+                assertThat(article.sourceId()).isLessThan(id);
+                assertThat(article.systemCode()).isEqualTo(source.systemCode());
+                assertThat(article.contentText()).isEqualTo(source.contentText());
+                assertThat(article.contentHtml()).isEqualTo(source.contentHtml());
+            }
+
+            List<KbGovernanceIssueType> types = dataset.issues(article).stream()
+                    .map(KbSyntheticDataset.IssueSpec::type)
+                    .toList();
+            assertThat(types).doesNotHaveDuplicates();
+        }
+
+        assertThat(kinds.keySet()).containsExactlyInAnyOrder(KbSyntheticDataset.ArticleKind.values());
+        // distribuição enviesada: o sistema mais frequente passa de 1/4 da base
+        assertThat(systems.get(KbSyntheticDataset.SYSTEM_CODES[0])).isGreaterThan(dataset.articles() / 4);
+    }
+
+    @Test
+    void ticketsConcentrateInFewClustersWithUniqueFingerprints() {
+        SupportNormalizationService normalization = new SupportNormalizationService();
+        Set<String> fingerprints = new HashSet<>();
+        for (int cluster = 0; cluster < dataset.clusters(); cluster++) {
+            fingerprints.add(normalization.fingerprint(normalization.normalize(dataset.clusterTemplate(cluster))));
+        }
+        assertThat(fingerprints).hasSize(dataset.clusters());
+
+        int[] counts = new int[dataset.clusters()];
+        LocalDateTime previous = LocalDateTime.MIN;
+        for (long index = 1; index <= dataset.tickets(); index++) {
+            KbSyntheticDataset.TicketSpec ticket = dataset.ticket(index);
+            counts[ticket.clusterIndex()]++;
+            assertThat(ticket.text()).startsWith(dataset.clusterTemplate(ticket.clusterIndex()));
+            assertThat(ticket.createdAt()).isAfterOrEqualTo(previous);
+            previous = ticket.createdAt();
+        }
+        assertThat(counts[0]).isGreaterThan(dataset.tickets() / dataset.clusters() * 3);
+    }
+}
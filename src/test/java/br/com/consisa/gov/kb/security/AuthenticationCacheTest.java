@@ -0,0 +1,110 @@
+package br.com.consisa.gov.kb.security;
+
+import br.com.consisa.gov.kb.domain.AppUser;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthenticationCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+    private final AuthenticationCache cache = new AuthenticationCache(100, Duration.ofSeconds(30), clock);
+
+    @Test
+    void verifiedTokenIsServedUntilItsExpiration() {
+        cache.putToken("token-a", claims(7L, "ana@consisa.com.br", clock.instant().plusSeconds(60)));
+
+        assertThat(cache.findToken("token-a")).get()
+                .extracting(AuthenticationCache.VerifiedToken::email)
+                .isEqualTo("ana@consisa.com.br");
+        assertThat(cache.findToken("token-b")).isEmpty();
+
+        clock.advance(Duration.ofSeconds(60));
+        assertThat(cache.findToken("token-a")).isEmpty();
+    }
+
+    @Test
+    void principalIsReloadedAfterTtl() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.principal("ana@consisa.com.br", email -> load(loads, 7L, email));
+        cache.principal("ana@consisa.com.br", email -> load(loads, 7L, email));
+        assertThat(loads).hasValue(1);
+
+        clock.advance(Duration.ofSeconds(30));
+        cache.principal("ana@consisa.com.br", email -> load(loads, 7L, email));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidateUserDropsTokensAndPrincipal() {
+        AtomicInteger loads = new AtomicInteger();
+        cache.putToken("token-a", claims(7L, "ana@consisa.com.br", clock.instant().plusSeconds(600)));
+        cache.putToken("token-b", claims(8L, "bia@consisa.com.br", clock.instant().plusSeconds(600)));
+        cache.principal("ana@consisa.com.br", email -> load(loads, 7L, email));
+
+        cache.invalidateUser(7L);
+
+        assertThat(cache.findToken("token-a")).isEmpty();
+        assertThat(cache.findToken("token-b")).isPresent();
+        cache.principal("ana@consisa.com.br", email -> load(loads, 7L, email));
+        assertThat(loads).hasValue(2);
+    }
+
+    private static Claims claims(Long userId, String email, Instant expiration) {
+        return Jwts.claims()
+                .subject(String.valueOf(userId))
+                .add("email", email)
+                .expiration(Date.from(expiration))
+                .build();
+    }
+
+    private static AppUserPrincipal load(AtomicInteger loads, Long id, String email) {
+        loads.incrementAndGet();
+        AppUser user = new AppUser();
+        user.setId(id);
+        user.setEmail(email);
+        user.setPasswordHash("x");
+        user.setRoles(Set.of("VIEWER"));
+        return new AppUserPrincipal(user);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.repository.KbGovernanceCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GovernanceCounterServiceTest {
+
+    @Mock
+    private KbGovernanceCounterRepository counterRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flushAppliesPendingInBatches() {
+        var service = new GovernanceCounterService(counterRepository, 2);
+        when(counterRepository.refreshArticles(any())).thenAnswer(inv -> ((Collection<Long>) inv.getArgument(0)).size());
+
+        service.markDirtyAfterCommit(1L);
+        service.markDirtyAfterCommit(2L);
+        service.markDirtyAfterCommit(2L);
+        service.markDirtyAfterCommit(3L);
+        service.markDirtyAfterCommit(null);
+
+        assertThat(service.flushPending()).isEqualTo(3);
+
+        ArgumentCaptor<Collection<Long>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(counterRepository, times(2)).refreshArticles(batches.capture());
+        Set<Long> seen = new HashSet<>();
+        batches.getAllValues().forEach(seen::addAll);
+        assertThat(seen).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(service.pendingCount()).isZero();
+    }
+
+    @Test
+    void failedBatchReturnsToQueue() {
+        var service = new GovernanceCounterService(counterRepository, 500);
+        when(counterRepository.refreshArticles(any())).thenThrow(new IllegalStateException("db down"));
+
+        service.markDirtyAfterCommit(10L);
+
+        assertThat(service.flushPending()).isZero();
+        assertThat(service.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void dirtyInsideTransactionOnlyCountsAfterCommit() {
+        var service = new GovernanceCounterService(counterRepository, 500);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.markDirtyAfterCommit(5L);
+            service.markDirtyAfterCommit(6L);
+            assertThat(service.pendingCount()).isZero();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.pendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void dailySnapshotFlushesBeforeInsertSelect() {
+        var service = new GovernanceCounterService(counterRepository, 500);
+        LocalDate today = LocalDate.of(2026, 1, 30);
+        when(counterRepository.insertDailySnapshots(today)).thenReturn(4);
+
+        service.markDirtyAfterCommit(7L);
+
+        assertThat(service.writeDailySnapshots(today)).isEqualTo(4);
+        var order = inOrder(counterRepository);
+        order.verify(counterRepository).refreshArticles(any());
+        order.verify(counterRepository).insertDailySnapshots(today);
+        verify(counterRepository, never()).rebuildAll();
+    }
+}
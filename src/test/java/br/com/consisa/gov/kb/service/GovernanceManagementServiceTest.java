@@ -2,27 +2,21 @@ package br.com.consisa.gov.kb.service;
 
 import br.com.consisa.gov.kb.controller.api.dto.GovernanceManagementDashboardResponse;
 import br.com.consisa.gov.kb.controller.api.dto.GovernanceWorkloadResponse;
-import br.com.consisa.gov.kb.domain.DetectedNeed;
 import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
 import br.com.consisa.gov.kb.domain.GovernancePriorityLevel;
 import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
-import br.com.consisa.gov.kb.domain.RecurrenceRule;
-import br.com.consisa.gov.kb.repository.DetectedNeedRepository;
 import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
-import br.com.consisa.gov.kb.repository.RecurrenceRuleRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.test.util.ReflectionTestUtils;
 
-import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,64 +26,42 @@ class GovernanceManagementServiceTest {
     private KbGovernanceIssueRepository issueRepository;
 
     @Mock
-    private DetectedNeedRepository needRepository;
+    private GovernanceMetricsStore metricsStore;
 
     @Mock
-    private RecurrenceRuleRepository ruleRepository;
-
-    @Mock
-    private GovernanceIssuePriorityService priorityService;
+    private GovernanceTopIssuesTracker topIssuesTracker;
 
     @InjectMocks
     private GovernanceManagementService managementService;
 
     @Test
     void buildDashboardAggregatesMetrics() {
-        when(issueRepository.countTotalIssues()).thenReturn(20L);
-        when(issueRepository.countOpenIssues()).thenReturn(8L);
-        when(issueRepository.countOverdueOpenIssues()).thenReturn(3L);
-        when(issueRepository.countUnassignedOpenIssues()).thenReturn(2L);
-
-        when(issueRepository.countByStatus()).thenReturn(List.of(
-                new StatusCountRowStub(GovernanceIssueStatus.OPEN, 5L),
-                new StatusCountRowStub(GovernanceIssueStatus.RESOLVED, 15L)
-        ));
-
-        when(issueRepository.countBySystem()).thenReturn(List.of(
-                new SystemCountRowStub("CONSISANET", "ConsisaNET", 10L)
-        ));
-
-        when(issueRepository.countByIssueType()).thenReturn(List.of(
-                new IssueTypeCountRowStub(KbGovernanceIssueType.DUPLICATE_CONTENT, 4L)
-        ));
-
-        DetectedNeed recurringNeed = new DetectedNeed();
-        recurringNeed.setRuleId(1L);
-        DetectedNeed operationalNeed = new DetectedNeed();
-        operationalNeed.setRuleId(2L);
-        when(needRepository.findAll()).thenReturn(List.of(recurringNeed, operationalNeed));
-        when(needRepository.countByStatus("OPEN")).thenReturn(2L);
-
-        RecurrenceRule recurringRule = new RecurrenceRule();
-        ReflectionTestUtils.setField(recurringRule, "id", 1L);
-        recurringRule.setThresholdCount(3);
-        RecurrenceRule operationalRule = new RecurrenceRule();
-        ReflectionTestUtils.setField(operationalRule, "id", 2L);
-        operationalRule.setThresholdCount(1);
-        when(ruleRepository.findAllById(anyIterable())).thenReturn(List.of(recurringRule, operationalRule));
-
-        KbGovernanceIssueRepository.IssueRow issueRow = new IssueRowStub(
+        var topIssue = new GovernanceManagementDashboardResponse.TopPriorityIssue(
                 101L,
                 "DUPLICATE_CONTENT",
                 "ERROR",
                 "OPEN",
                 "CONSISANET",
                 "ConsisaNET",
-                Instant.now()
+                OffsetDateTime.now(),
+                false,
+                90,
+                GovernancePriorityLevel.CRITICAL.name()
+        );
+        GovernanceMetricsSnapshot snapshot = new GovernanceMetricsSnapshot(
+                new GovernanceMetricsSnapshot.IssueTotals(20, 8, 4, 3, 1, 3, 2),
+                Map.of(GovernanceIssueStatus.OPEN, 5L, GovernanceIssueStatus.RESOLVED, 15L),
+                Map.of(KbGovernanceIssueType.DUPLICATE_CONTENT, 4L),
+                Map.of("CONSISANET", new GovernanceMetricsSnapshot.SystemMetrics(
+                        "CONSISANET", "ConsisaNET", 10, 5, 2, 2, 1, 1, 1)),
+                GovernanceMetricsSnapshot.ArticleTotals.EMPTY,
+                2L,
+                1L,
+                OffsetDateTime.now(),
+                OffsetDateTime.now()
         );
-        when(issueRepository.listOpenIssueRows()).thenReturn(List.of(issueRow));
-        when(priorityService.assess("ERROR", "DUPLICATE_CONTENT", "OPEN", any()))
-                .thenReturn(new GovernanceIssuePriorityService.PriorityAssessment(90, GovernancePriorityLevel.CRITICAL));
+        when(metricsStore.current()).thenReturn(snapshot);
+        when(topIssuesTracker.topCritical()).thenReturn(List.of(topIssue));
 
         GovernanceManagementDashboardResponse response = managementService.buildDashboard();
 
@@ -122,155 +94,6 @@ class GovernanceManagementServiceTest {
         assertThat(item.systemsHandled()).isEqualTo(2L);
     }
 
-    private record StatusCountRowStub(GovernanceIssueStatus status, Long total)
-            implements KbGovernanceIssueRepository.StatusCountRow {
-        @Override
-        public GovernanceIssueStatus getStatus() {
-            return status;
-        }
-
-        @Override
-        public Long getTotal() {
-            return total;
-        }
-    }
-
-    private record SystemCountRowStub(String systemCode, String systemName, Long total)
-            implements KbGovernanceIssueRepository.SystemCountRow {
-        @Override
-        public String getSystemCode() {
-            return systemCode;
-        }
-
-        @Override
-        public String getSystemName() {
-            return systemName;
-        }
-
-        @Override
-        public Long getTotal() {
-            return total;
-        }
-    }
-
-    private record IssueTypeCountRowStub(KbGovernanceIssueType issueType, Long total)
-            implements KbGovernanceIssueRepository.IssueTypeCountRow {
-        @Override
-        public KbGovernanceIssueType getIssueType() {
-            return issueType;
-        }
-
-        @Override
-        public Long getTotal() {
-            return total;
-        }
-    }
-
-    private record IssueRowStub(
-            Long id,
-            String issueType,
-            String severity,
-            String status,
-            String systemCode,
-            String systemName,
-            Instant slaDueAt
-    ) implements KbGovernanceIssueRepository.IssueRow {
-        @Override
-        public Long getId() {
-            return id;
-        }
-
-        @Override
-        public String getIssueType() {
-            return issueType;
-        }
-
-        @Override
-        public String getSeverity() {
-            return severity;
-        }
-
-        @Override
-        public String getStatus() {
-            return status;
-        }
-
-        @Override
-        public Long getArticleId() {
-            return null;
-        }
-
-        @Override
-        public String getArticleTitle() {
-            return null;
-        }
-
-        @Override
-        public String getSystemCode() {
-            return systemCode;
-        }
-
-        @Override
-        public String getSystemName() {
-            return systemName;
-        }
-
-        @Override
-        public String getMessage() {
-            return null;
-        }
-
-        @Override
-        public Instant getCreatedAt() {
-            return Instant.now();
-        }
-
-        @Override
-        public Instant getUpdatedAt() {
-            return null;
-        }
-
-        @Override
-        public String getResponsibleId() {
-            return null;
-        }
-
-        @Override
-        public String getResponsibleType() {
-            return null;
-        }
-
-        @Override
-        public Instant getSlaDueAt() {
-            return slaDueAt;
-        }
-
-        @Override
-        public Instant getResolvedAt() {
-            return null;
-        }
-
-        @Override
-        public String getIgnoredReason() {
-            return null;
-        }
-
-        @Override
-        public String getAssignedAgentId() {
-            return null;
-        }
-
-        @Override
-        public String getAssignedAgentName() {
-            return null;
-        }
-
-        @Override
-        public Instant getDueDate() {
-            return null;
-        }
-    }
-
     private record WorkloadRowStub(
             String responsibleId,
             Long openIssues,
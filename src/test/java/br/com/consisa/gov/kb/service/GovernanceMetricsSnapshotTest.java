@@ -0,0 +1,96 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.domain.GovernanceSeverity;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GovernanceMetricsSnapshotTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2026, 3, 10, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void applyChangeCountsNewIssue() {
+        var created = new GovernanceIssueChangedEvent(1L, 10L, null, state(GovernanceIssueStatus.OPEN, false, NOW.minusDays(1)));
+
+        GovernanceMetricsSnapshot result = empty().applyChange(created, "CONSISANET", "ConsisaNET", NOW);
+
+        assertThat(result.issues().total()).isEqualTo(1);
+        assertThat(result.issues().open()).isEqualTo(1);
+        assertThat(result.issues().errorOpen()).isEqualTo(1);
+        assertThat(result.issues().overdueOpen()).isEqualTo(1);
+        assertThat(result.issues().unassignedOpen()).isEqualTo(1);
+        assertThat(result.issuesByStatus()).containsEntry(GovernanceIssueStatus.OPEN, 1L);
+        assertThat(result.issuesByType()).containsEntry(KbGovernanceIssueType.DUPLICATE_CONTENT, 1L);
+        assertThat(result.issuesBySystem().get("CONSISANET").open()).isEqualTo(1);
+    }
+
+    @Test
+    void applyChangeMovesIssueBetweenStatuses() {
+        var created = new GovernanceIssueChangedEvent(1L, 10L, null, state(GovernanceIssueStatus.OPEN, false, NOW.plusDays(3)));
+        var assigned = new GovernanceIssueChangedEvent(1L, 10L,
+                state(GovernanceIssueStatus.OPEN, false, NOW.plusDays(3)),
+                state(GovernanceIssueStatus.ASSIGNED, true, NOW.plusDays(3)));
+        var resolved = new GovernanceIssueChangedEvent(1L, 10L,
+                state(GovernanceIssueStatus.ASSIGNED, true, NOW.plusDays(3)),
+                state(GovernanceIssueStatus.RESOLVED, true, NOW.plusDays(3)));
+
+        GovernanceMetricsSnapshot afterAssign = empty()
+                .applyChange(created, "CONSISANET", "ConsisaNET", NOW)
+                .applyChange(assigned, "CONSISANET", "ConsisaNET", NOW);
+
+        assertThat(afterAssign.issues().open()).isEqualTo(1);
+        assertThat(afterAssign.issues().unassignedOpen()).isZero();
+        assertThat(afterAssign.issuesByStatus()).containsOnlyKeys(GovernanceIssueStatus.ASSIGNED);
+
+        GovernanceMetricsSnapshot afterResolve = afterAssign.applyChange(resolved, "CONSISANET", "ConsisaNET", NOW);
+
+        assertThat(afterResolve.issues().total()).isEqualTo(1);
+        assertThat(afterResolve.issues().open()).isZero();
+        assertThat(afterResolve.issuesByStatus()).containsOnlyKeys(GovernanceIssueStatus.RESOLVED);
+        assertThat(afterResolve.issuesBySystem().get("CONSISANET").total()).isEqualTo(1);
+        assertThat(afterResolve.issuesBySystem().get("CONSISANET").open()).isZero();
+    }
+
+    @Test
+    void applyChangeSkipsSystemForInactiveArticle() {
+        var created = new GovernanceIssueChangedEvent(1L, 10L, null, state(GovernanceIssueStatus.OPEN, false, null));
+
+        GovernanceMetricsSnapshot result = empty().applyChange(created, null, null, NOW);
+
+        assertThat(result.issues().open()).isEqualTo(1);
+        assertThat(result.issuesBySystem()).isEmpty();
+    }
+
+    private static GovernanceIssueChangedEvent.IssueState state(GovernanceIssueStatus status,
+                                                                boolean assigned,
+                                                                OffsetDateTime slaDueAt) {
+        return new GovernanceIssueChangedEvent.IssueState(
+                status,
+                GovernanceSeverity.ERROR,
+                KbGovernanceIssueType.DUPLICATE_CONTENT,
+                assigned,
+                slaDueAt
+        );
+    }
+
+    private static GovernanceMetricsSnapshot empty() {
+        return new GovernanceMetricsSnapshot(
+                GovernanceMetricsSnapshot.IssueTotals.EMPTY,
+                Map.of(),
+                Map.of(),
+                Map.of(),
+                GovernanceMetricsSnapshot.ArticleTotals.EMPTY,
+                0,
+                0,
+                NOW,
+                NOW
+        );
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.cache.DataVersionRepository;
+import br.com.consisa.gov.kb.cache.DataVersionService;
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.domain.GovernanceSeverity;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+import br.com.consisa.gov.kb.repository.DetectedNeedRepository;
+import br.com.consisa.gov.kb.repository.GovernanceOverviewRepository;
+import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GovernanceMetricsStoreTest {
+
+    @Mock
+    private KbGovernanceIssueRepository issueRepository;
+    @Mock
+    private KbArticleRepository articleRepository;
+    @Mock
+    private DetectedNeedRepository needRepository;
+    @Mock
+    private GovernanceOverviewRepository overviewRepository;
+    @Mock
+    private KbGovernanceReportService reportService;
+
+    @Test
+    void deltaArrivingDuringReconcileIsReappliedAndConfirmedOnNextTick() {
+        var store = new GovernanceMetricsStore(issueRepository, articleRepository, needRepository,
+                overviewRepository, reportService, new DataVersionService(mock(DataVersionRepository.class)), 5);
+        store.reconcile();
+
+        // issue criada e commitada enquanto a carga ainda lia o banco (sem vê-la)
+        var created = new GovernanceIssueChangedEvent(1L, null, null, new GovernanceIssueChangedEvent.IssueState(
+                GovernanceIssueStatus.OPEN, GovernanceSeverity.ERROR, KbGovernanceIssueType.DUPLICATE_CONTENT,
+                false, null));
+        when(needRepository.countRecurringNeeds()).thenAnswer(inv -> {
+            store.onIssueChanged(created);
+            return 0L;
+        });
+
+        GovernanceMetricsSnapshot reconciled = store.reconcile();
+
+        assertThat(reconciled.issues().total()).isEqualTo(1);
+        assertThat(reconciled.issues().open()).isEqualTo(1);
+        assertThat(store.current()).isSameAs(reconciled);
+
+        // reaplicado sem saber se a carga o viu: próximo tick recarrega do banco
+        when(needRepository.countRecurringNeeds()).thenReturn(0L);
+        store.refreshIfNeeded();
+
+        verify(needRepository, times(3)).countRecurringNeeds();
+        assertThat(store.current().issues().total()).isZero();
+    }
+}
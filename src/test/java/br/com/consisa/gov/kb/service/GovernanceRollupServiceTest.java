@@ -0,0 +1,61 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.RollupResolution;
+import br.com.consisa.gov.kb.service.GovernanceRollupService.MetricPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GovernanceRollupServiceTest {
+
+    @Test
+    void picksFinestResolutionThatFitsMaxPoints() {
+        LocalDate to = LocalDate.of(2026, 6, 30);
+
+        assertThat(GovernanceRollupService.resolutionFor(to.minusDays(29), to, 120)).isEqualTo(RollupResolution.DAY);
+        assertThat(GovernanceRollupService.resolutionFor(to.minusYears(1), to, 120)).isEqualTo(RollupResolution.WEEK);
+        assertThat(GovernanceRollupService.resolutionFor(to.minusYears(5), to, 120)).isEqualTo(RollupResolution.MONTH);
+    }
+
+    @Test
+    void downsampleMergesNeighboursWeightedBySamples() {
+        List<MetricPoint> points = new ArrayList<>();
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < 10; i++) {
+            points.add(new MetricPoint(start.plusMonths(i), i, i, i, i, i == 0 ? 1 : 2));
+        }
+
+        List<MetricPoint> merged = GovernanceRollupService.downsample(points, 4);
+
+        assertThat(merged).hasSize(4);
+        assertThat(merged.get(0).bucketStart()).isEqualTo(start);
+        // bucket 0 (1 amostra, valor 0) + 1 (2) + 2 (2) → (0 + 2 + 4) / 5
+        assertThat(merged.get(0).avg()).isCloseTo(1.2, within(1e-9));
+        assertThat(merged.get(0).min()).isZero();
+        assertThat(merged.get(0).max()).isEqualTo(2.0);
+        assertThat(merged.get(0).last()).isEqualTo(2.0);
+        assertThat(merged.get(0).samples()).isEqualTo(5);
+        assertThat(merged.get(3).bucketStart()).isEqualTo(start.plusMonths(9));
+    }
+
+    @Test
+    void weekBucketsRoundTripThroughBlockIndex() {
+        LocalDate day = LocalDate.of(2025, 12, 31); // quarta; semana começa em 29/12/2025
+        LocalDate monday = RollupResolution.WEEK.bucketStartOf(day);
+        LocalDate block = RollupResolution.WEEK.blockStartOf(monday);
+        int index = RollupResolution.WEEK.indexOf(monday);
+
+        assertThat(monday.getDayOfWeek()).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(block).isEqualTo(LocalDate.of(2025, 1, 1));
+        assertThat(index).isLessThan(RollupResolution.WEEK.bucketsPerBlock(block));
+        assertThat(RollupResolution.WEEK.bucketAt(block, index)).isEqualTo(monday);
+        assertThat(RollupResolution.DAY.bucketAt(LocalDate.of(2026, 2, 1), RollupResolution.DAY.indexOf(LocalDate.of(2026, 2, 28))))
+                .isEqualTo(LocalDate.of(2026, 2, 28));
+    }
+}
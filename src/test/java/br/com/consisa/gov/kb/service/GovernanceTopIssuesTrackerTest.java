@@ -0,0 +1,141 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.cache.DataVersionRepository;
+import br.com.consisa.gov.kb.cache.DataVersionService;
+import br.com.consisa.gov.kb.controller.api.dto.GovernanceManagementDashboardResponse.TopPriorityIssue;
+import br.com.consisa.gov.kb.domain.GovernanceIssueStatus;
+import br.com.consisa.gov.kb.domain.GovernanceSeverity;
+import br.com.consisa.gov.kb.domain.KbGovernanceIssueType;
+import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.repository.KbGovernanceIssueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GovernanceTopIssuesTrackerTest {
+
+    @Mock
+    private KbGovernanceIssueRepository issueRepository;
+
+    @Mock
+    private KbArticleRepository articleRepository;
+
+    private GovernanceTopIssuesTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        tracker = new GovernanceTopIssuesTracker(issueRepository, articleRepository, new GovernanceIssuePriorityService(),
+                new DataVersionService(mock(DataVersionRepository.class)), 15);
+    }
+
+    @Test
+    void rescoreKeepsOnlyTopCriticalPerScope() {
+        Instant overdue = Instant.now().minus(2, ChronoUnit.DAYS);
+        List<KbGovernanceIssueRepository.IssueRow> rows = new ArrayList<>();
+        LongStream.rangeClosed(1, 15).forEach(id ->
+                rows.add(new IssueRowStub(id, "DUPLICATE_CONTENT", "ERROR", "SYS_A", overdue)));
+        rows.add(new IssueRowStub(100L, "NOT_AI_READY", "ERROR", "SYS_B", overdue));
+        rows.add(new IssueRowStub(200L, "DUPLICATE_CONTENT", "INFO", "SYS_B", overdue));
+        rows.add(new IssueRowStub(300L, "DUPLICATE_CONTENT", "ERROR", "SYS_B", null));
+        when(issueRepository.listOpenIssueRows()).thenReturn(rows);
+
+        List<TopPriorityIssue> global = tracker.topCritical();
+
+        assertThat(global).hasSize(GovernanceTopIssuesTracker.DEFAULT_LIMIT);
+        assertThat(global.get(0).priorityScore()).isEqualTo(98);
+        assertThat(global).extracting(TopPriorityIssue::id).doesNotContain(100L, 200L, 300L);
+        assertThat(tracker.topCritical("sys_b")).extracting(TopPriorityIssue::id).containsExactly(100L);
+        assertThat(tracker.topCritical("UNKNOWN")).isEmpty();
+    }
+
+    @Test
+    void issueEventRemovesAndReinsertsIssue() {
+        Instant overdue = Instant.now().minus(2, ChronoUnit.DAYS);
+        when(issueRepository.listOpenIssueRows()).thenReturn(List.of(
+                new IssueRowStub(1L, "DUPLICATE_CONTENT", "ERROR", "SYS_A", overdue),
+                new IssueRowStub(2L, "OUTDATED_CONTENT", "ERROR", "SYS_A", overdue)
+        ));
+        assertThat(tracker.topCritical()).extracting(TopPriorityIssue::id).containsExactly(1L, 2L);
+
+        OffsetDateTime slaDueAt = OffsetDateTime.ofInstant(overdue, ZoneOffset.UTC);
+        tracker.onIssueChanged(new GovernanceIssueChangedEvent(1L, 10L,
+                state(GovernanceIssueStatus.OPEN, slaDueAt),
+                state(GovernanceIssueStatus.RESOLVED, slaDueAt)));
+
+        assertThat(tracker.topCritical()).extracting(TopPriorityIssue::id).containsExactly(2L);
+        assertThat(tracker.topCritical("SYS_A")).extracting(TopPriorityIssue::id).containsExactly(2L);
+    }
+
+    @Test
+    void unclassifiedArticleUsesSameScopeInRescoreAndDelta() {
+        Instant overdue = Instant.now().minus(2, ChronoUnit.DAYS);
+        when(issueRepository.listOpenIssueRows()).thenReturn(List.of(
+                new IssueRowStub(1L, "DUPLICATE_CONTENT", "ERROR", null, overdue)
+        ));
+        assertThat(tracker.topCritical(GovernanceMetricsSnapshot.UNCLASSIFIED_CODE))
+                .extracting(TopPriorityIssue::id).containsExactly(1L);
+
+        when(articleRepository.findActiveSystemRef(10L)).thenReturn(Optional.of(new KbArticleRepository.ArticleSystemRef() {
+            @Override public String getSystemCode() { return GovernanceMetricsSnapshot.UNCLASSIFIED_CODE; }
+            @Override public String getSystemName() { return GovernanceMetricsSnapshot.UNCLASSIFIED_NAME; }
+        }));
+        OffsetDateTime slaDueAt = OffsetDateTime.ofInstant(overdue, ZoneOffset.UTC);
+        tracker.onIssueChanged(new GovernanceIssueChangedEvent(1L, 10L,
+                state(GovernanceIssueStatus.OPEN, slaDueAt),
+                state(GovernanceIssueStatus.IN_PROGRESS, slaDueAt)));
+
+        assertThat(tracker.topCritical(GovernanceMetricsSnapshot.UNCLASSIFIED_CODE))
+                .extracting(TopPriorityIssue::id).containsExactly(1L);
+        assertThat(tracker.topCritical(GovernanceMetricsSnapshot.UNCLASSIFIED_CODE).get(0).systemName())
+                .isEqualTo(GovernanceMetricsSnapshot.UNCLASSIFIED_NAME);
+    }
+
+    private static GovernanceIssueChangedEvent.IssueState state(GovernanceIssueStatus status, OffsetDateTime slaDueAt) {
+        return new GovernanceIssueChangedEvent.IssueState(
+                status, GovernanceSeverity.ERROR, KbGovernanceIssueType.DUPLICATE_CONTENT, false, slaDueAt);
+    }
+
+    private record IssueRowStub(
+            Long id,
+            String issueType,
+            String severity,
+            String systemCode,
+            Instant slaDueAt
+    ) implements KbGovernanceIssueRepository.IssueRow {
+        @Override public Long getId() { return id; }
+        @Override public String getIssueType() { return issueType; }
+        @Override public String getSeverity() { return severity; }
+        @Override public String getStatus() { return "OPEN"; }
+        @Override public Long getArticleId() { return id * 10; }
+        @Override public String getArticleTitle() { return "Artigo " + id; }
+        @Override public String getSystemCode() { return systemCode; }
+        @Override public String getSystemName() { return systemCode; }
+        @Override public String getMessage() { return null; }
+        @Override public Instant getCreatedAt() { return null; }
+        @Override public Instant getUpdatedAt() { return null; }
+        @Override public String getResponsibleId() { return null; }
+        @Override public String getResponsibleType() { return null; }
+        @Override public Instant getSlaDueAt() { return slaDueAt; }
+        @Override public Instant getResolvedAt() { return null; }
+        @Override public String getIgnoredReason() { return null; }
+        @Override public String getAssignedAgentId() { return null; }
+        @Override public String getAssignedAgentName() { return null; }
+        @Override public Instant getDueDate() { return null; }
+    }
+}
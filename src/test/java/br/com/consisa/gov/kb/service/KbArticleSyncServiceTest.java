@@ -0,0 +1,117 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.cache.DataDomain;
+import br.com.consisa.gov.kb.cache.DataVersionService;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleDto;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleFetch;
+import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
+import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.observability.KbTracing;
+import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.repository.projection.ArticleRevision;
+import br.com.consisa.gov.kb.service.KbArticleSyncService.ConditionalSyncResult;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KbArticleSyncServiceTest {
+
+    private static final OffsetDateTime UPDATED = OffsetDateTime.of(2026, 3, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Mock
+    private MovideskClient movideskClient;
+    @Mock
+    private KbArticleRepository repository;
+    @Mock
+    private KbArticleMetadataMapper metadataMapper;
+    @Mock
+    private KbArticleClassificationService classificationService;
+    @Mock
+    private KbSyncIssueService issueService;
+    @Mock
+    private KbArticleHashService hashService;
+    @Mock
+    private KbSystemService systemService;
+    @Mock
+    private KbGovernanceIssueService governanceIssueService;
+    @Mock
+    private DataVersionService dataVersions;
+
+    private KbArticleSyncService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new KbArticleSyncService(movideskClient, repository, metadataMapper, classificationService,
+                issueService, hashService, systemService, governanceIssueService,
+                new KbTracing(ObservationRegistry.NOOP, Tracer.NOOP), dataVersions);
+    }
+
+    @Test
+    void skipsDownloadWhenListedRevisionIsAlreadyStored() {
+        when(repository.findRevisionById(5L)).thenReturn(Optional.of(new ArticleRevision(5, 10L, "\"10\"", UPDATED, 3L, "Fiscal", 1L)));
+        when(repository.markUnchanged(eq(5L), any(), isNull())).thenReturn(1);
+
+        ConditionalSyncResult result = service.syncIfChanged(5, 10L);
+
+        assertThat(result.unchanged()).isTrue();
+        verify(repository).markUnchanged(eq(5L), any(), isNull());
+        // lastSeenAt/etag mudaram por update em massa: ETag de ARTICLES precisa mudar
+        verify(dataVersions).bumpAfterCommit(DataDomain.ARTICLES);
+        verifyNoInteractions(movideskClient, metadataMapper);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void skipsMappingAndSaveWhenMovideskAnswersNotModified() {
+        when(repository.findRevisionById(5L)).thenReturn(Optional.of(new ArticleRevision(5, 10L, "\"10\"", UPDATED, 3L, "Fiscal", 1L)));
+        when(movideskClient.getArticleIfModified(5, "\"10\"", UPDATED))
+                .thenReturn(new MovideskArticleFetch(null, "\"10\"", true));
+
+        ConditionalSyncResult result = service.syncIfChanged(5, null);
+
+        assertThat(result.unchanged()).isTrue();
+        verify(repository).markUnchanged(eq(5L), any(), eq("\"10\""));
+        verifyNoInteractions(metadataMapper, hashService);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void persistsChangedArticleWithNewEtag() {
+        MovideskArticleDto dto = new MovideskArticleDto();
+        dto.setId(5L);
+        dto.setRevisionId(11L);
+        KbArticle mapped = new KbArticle();
+        mapped.setId(5L);
+        when(repository.findRevisionById(5L)).thenReturn(Optional.of(new ArticleRevision(5, 10L, "\"10\"", UPDATED, 3L, "Fiscal", 1L)));
+        when(movideskClient.getArticleIfModified(5, null, null))
+                .thenReturn(new MovideskArticleFetch(dto, "\"11\"", false));
+        when(repository.findById(5L)).thenReturn(Optional.empty());
+        when(metadataMapper.map(dto, null)).thenReturn(mapped);
+        when(repository.save(mapped)).thenReturn(mapped);
+
+        ConditionalSyncResult result = service.syncIfChanged(5, 11L);
+
+        assertThat(result.unchanged()).isFalse();
+        assertThat(result.article().getSourceEtag()).isEqualTo("\"11\"");
+        assertThat(result.article().getSyncStatus()).isEqualTo("OK");
+        verify(repository, never()).markUnchanged(any(), any(), any());
+    }
+}
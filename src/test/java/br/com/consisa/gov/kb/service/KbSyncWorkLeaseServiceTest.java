@@ -0,0 +1,170 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.cache.DataVersionRepository;
+import br.com.consisa.gov.kb.cache.DataVersionService;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleSearchItemDto;
+import br.com.consisa.gov.kb.client.movidesk.MovideskArticleSearchResponse;
+import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
+import br.com.consisa.gov.kb.domain.KbArticle;
+import br.com.consisa.gov.kb.domain.KbSyncRun;
+import br.com.consisa.gov.kb.domain.SyncMode;
+import br.com.consisa.gov.kb.domain.SyncRunStatus;
+import br.com.consisa.gov.kb.governance.KbGovernanceDetectorService;
+import br.com.consisa.gov.kb.observability.KbMetrics;
+import br.com.consisa.gov.kb.repository.KbArticleRepository;
+import br.com.consisa.gov.kb.repository.KbSyncConfigRepository;
+import br.com.consisa.gov.kb.repository.KbSyncRunRepository;
+import br.com.consisa.gov.kb.repository.KbSyncWorkUnitRepository;
+import br.com.consisa.gov.kb.repository.KbSyncWorkUnitRepository.UnitCounts;
+import br.com.consisa.gov.kb.repository.KbSyncWorkUnitRepository.WorkUnit;
+import br.com.consisa.gov.kb.repository.projection.ArticleRevision;
+import br.com.consisa.gov.kb.service.KbArticleSyncService.ConditionalSyncResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class KbSyncWorkLeaseServiceTest {
+
+    private static final ArticleRevision REVISION =
+            new ArticleRevision(5, 12L, "\"12\"", OffsetDateTime.parse("2026-03-01T09:00:00Z"), 3L, "Fiscal", 1L);
+
+    @Mock
+    private KbSyncWorkUnitRepository unitRepo;
+    @Mock
+    private KbSyncRunRepository runRepo;
+    @Mock
+    private KbSyncConfigRepository configRepo;
+    @Mock
+    private KbArticleRepository articleRepo;
+    @Mock
+    private MovideskClient movideskClient;
+    @Mock
+    private KbArticleSyncService articleSyncService;
+    @Mock
+    private KbArticleClassificationService classificationService;
+    @Mock
+    private KbGovernanceDetectorService governanceDetector;
+    @Mock
+    private GovernanceMetricsStore metricsStore;
+
+    private KbSyncWorkLeaseService service() {
+        return new KbSyncWorkLeaseService(unitRepo, runRepo, configRepo, articleRepo, movideskClient,
+                articleSyncService, classificationService, governanceDetector, metricsStore,
+                new DataVersionService(mock(DataVersionRepository.class)), new KbMetrics(new SimpleMeterRegistry()),
+                true, "node-a", 50, 3, 600, 3);
+    }
+
+    @Test
+    void splitsDeltaIdsIntoFixedSizeBatches() {
+        assertThat(KbSyncWorkLeaseService.partition(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L), 3))
+                .containsExactly(List.of(1L, 2L, 3L), List.of(4L, 5L, 6L), List.of(7L));
+        assertThat(KbSyncWorkLeaseService.partition(List.of(), 3)).isEmpty();
+    }
+
+    @Test
+    void talliesIdBatchAndRunsDetectorsOnlyForChangedArticles() {
+        KbArticle changed = new KbArticle();
+        changed.setId(2L);
+        when(articleSyncService.syncIfChanged(1L, null)).thenReturn(new ConditionalSyncResult(null, true));
+        when(articleSyncService.syncIfChanged(2L, null)).thenReturn(new ConditionalSyncResult(changed, false));
+        when(articleSyncService.syncIfChanged(3L, null)).thenReturn(new ConditionalSyncResult(null, false));
+        when(articleSyncService.syncIfChanged(4L, null)).thenThrow(new IllegalStateException("boom"));
+
+        UnitCounts counts = service().process(new WorkUnit(10, 7, KbSyncWorkUnitRepository.KIND_IDS,
+                null, null, List.of(1L, 2L, 3L, 4L), 1));
+
+        assertThat(counts).isEqualTo(new UnitCounts(2, 1, 1, 1, 1));
+        verify(governanceDetector).analyzeArticle(changed);
+        verifyNoInteractions(movideskClient, classificationService);
+    }
+
+    @Test
+    void unchangedPageItemIsStillReclassifiedFromSearchMenu() {
+        MovideskArticleSearchItemDto item = new MovideskArticleSearchItemDto();
+        item.setId(5L);
+        item.setRevisionId("12");
+        MovideskArticleSearchResponse page = new MovideskArticleSearchResponse();
+        page.setItems(List.of(item));
+        KbArticle stored = new KbArticle();
+        stored.setId(5L);
+        when(movideskClient.searchArticles(1, 50)).thenReturn(page);
+        ConditionalSyncResult unchanged = new ConditionalSyncResult(null, true, REVISION);
+        when(articleSyncService.syncIfChanged(5L, 12L)).thenReturn(unchanged);
+        when(classificationService.needsReclassification(REVISION, item)).thenReturn(true);
+        when(articleRepo.findById(5L)).thenReturn(Optional.of(stored));
+
+        UnitCounts counts = service().process(new WorkUnit(11, 7, KbSyncWorkUnitRepository.KIND_PAGE,
+                1, 50, null, 1));
+
+        assertThat(counts).isEqualTo(new UnitCounts(1, 0, 1, 0, 0));
+        verify(classificationService).classifyFromSearchItem(stored, item);
+        verify(articleRepo).save(stored);
+        verify(governanceDetector, never()).analyzeArticle(stored);
+    }
+
+    @Test
+    void unchangedPageItemWithSameMenuIsNeitherLoadedNorSaved() {
+        MovideskArticleSearchItemDto item = new MovideskArticleSearchItemDto();
+        item.setId(5L);
+        item.setRevisionId("12");
+        MovideskArticleSearchResponse page = new MovideskArticleSearchResponse();
+        page.setItems(List.of(item));
+        when(movideskClient.searchArticles(1, 50)).thenReturn(page);
+        when(articleSyncService.syncIfChanged(5L, 12L)).thenReturn(new ConditionalSyncResult(null, true, REVISION));
+        when(classificationService.needsReclassification(REVISION, item)).thenReturn(false);
+
+        UnitCounts counts = service().process(new WorkUnit(11, 7, KbSyncWorkUnitRepository.KIND_PAGE,
+                1, 50, null, 1));
+
+        assertThat(counts).isEqualTo(new UnitCounts(1, 0, 1, 0, 0));
+        verify(articleRepo, never()).findById(any());
+        verify(articleRepo, never()).save(any());
+    }
+
+    @Test
+    void fullRunSkipsMissingMarkingWhenListingChangedMidRun() {
+        when(runRepo.findById(7L)).thenReturn(Optional.of(fullRun()));
+        when(unitRepo.listingChanged(7L)).thenReturn(true);
+
+        KbSyncRun run = service().finishRun(7L);
+
+        verify(articleRepo, never()).markMissingArticles(any());
+        assertThat(run.getNote()).contains("MISSING_SKIPPED");
+    }
+
+    @Test
+    void fullRunMarksMissingWhenListingWasStable() {
+        KbSyncRun run = fullRun();
+        when(runRepo.findById(7L)).thenReturn(Optional.of(run));
+        when(unitRepo.listingChanged(7L)).thenReturn(false);
+
+        service().finishRun(7L);
+
+        verify(articleRepo).markMissingArticles(run.getStartedAt());
+    }
+
+    private static KbSyncRun fullRun() {
+        KbSyncRun run = new KbSyncRun();
+        run.setMode(SyncMode.FULL);
+        run.setStatus(SyncRunStatus.SUCCESS);
+        run.setStartedAt(OffsetDateTime.parse("2026-03-01T10:00:00Z"));
+        run.setFinishedAt(OffsetDateTime.parse("2026-03-01T10:05:00Z"));
+        run.setDurationMs(300_000L);
+        return run;
+    }
+}
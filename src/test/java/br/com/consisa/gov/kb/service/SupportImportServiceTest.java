@@ -0,0 +1,106 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.client.movidesk.MovideskClient;
+import br.com.consisa.gov.kb.client.movidesk.MovideskTicketResponse;
+import br.com.consisa.gov.kb.domain.JobRun;
+import br.com.consisa.gov.kb.repository.JobRunRepository;
+import br.com.consisa.gov.kb.service.SupportImportService.ImportResult;
+import br.com.consisa.gov.kb.service.SupportImportService.Window;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SupportImportServiceTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final OffsetDateTime END = OffsetDateTime.of(2026, 1, 21, 23, 59, 59, 0, ZoneOffset.UTC);
+
+    @Mock
+    private MovideskClient movideskClient;
+    @Mock
+    private SupportIngestionService ingestionService;
+    @Mock
+    private RecurrenceService recurrenceService;
+    @Mock
+    private JobRunRepository jobRunRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void splitsRangeIntoContiguousWindows() {
+        List<Window> windows = SupportImportService.windows(START, END, 7);
+
+        assertThat(windows).hasSize(3);
+        assertThat(windows.get(0).start()).isEqualTo(START);
+        // fronteira inclusiva nas duas janelas: nenhum instante fica de fora
+        assertThat(windows.get(0).end()).isEqualTo(START.plusDays(7));
+        assertThat(windows.get(1).start()).isEqualTo(START.plusDays(7));
+        assertThat(windows.get(1).end()).isEqualTo(windows.get(2).start());
+        assertThat(windows.get(2).end()).isEqualTo(END);
+        // período múltiplo exato da janela não gera janela degenerada no fim
+        assertThat(SupportImportService.windows(START, START.plusDays(14), 7)).hasSize(2);
+        assertThat(SupportImportService.windows(null, END, 7)).containsExactly(new Window(null, END));
+    }
+
+    @Test
+    void pagesEachWindowAndResumesUnfinishedRun() {
+        var service = new SupportImportService(movideskClient, ingestionService, recurrenceService,
+                jobRunRepository, objectMapper, 7, 2);
+        List<Window> windows = SupportImportService.windows(START, END, 7);
+
+        JobRun previous = new JobRun();
+        previous.setStatus("FAILED");
+        var details = objectMapper.createObjectNode()
+                .put("start", START.toString())
+                .put("end", END.toString())
+                .put("windowDays", 7);
+        details.putArray("completedWindows").add(windows.get(0).key());
+        previous.setDetailsJson(details);
+        when(jobRunRepository.findTopByJobNameOrderByIdDesc(SupportImportService.JOB_NAME)).thenReturn(Optional.of(previous));
+
+        List<MovideskTicketResponse> fullPage = Collections.nCopies(MovideskClient.TICKET_PAGE_SIZE, new MovideskTicketResponse());
+        when(movideskClient.searchTickets(eq(windows.get(1).start()), any(), eq(0), anyInt())).thenReturn(fullPage);
+        when(movideskClient.searchTickets(eq(windows.get(1).start()), any(), eq(MovideskClient.TICKET_PAGE_SIZE), anyInt()))
+                .thenReturn(List.of());
+        when(movideskClient.searchTickets(eq(windows.get(2).start()), any(), eq(0), anyInt())).thenReturn(List.of());
+        List<Integer> ingested = Collections.synchronizedList(new ArrayList<>());
+        when(ingestionService.ingest(any())).thenAnswer(inv -> {
+            ingested.add(inv.<List<?>>getArgument(0).size());
+            return new ImportResult(1, 0, 0);
+        });
+        List<String> statuses = new ArrayList<>();
+        when(jobRunRepository.save(any())).thenAnswer(inv -> {
+            statuses.add(inv.<JobRun>getArgument(0).getStatus());
+            return inv.getArgument(0);
+        });
+
+        ImportResult result = service.runImport(START, END);
+
+        assertThat(result.ticketsCreated()).isEqualTo(2);
+        assertThat(ingested).containsExactlyInAnyOrder(MovideskClient.TICKET_PAGE_SIZE, 0);
+        verify(movideskClient, never()).searchTickets(eq(windows.get(0).start()), any(), anyInt(), anyInt());
+        verify(recurrenceService).evaluateRules();
+        // início + um checkpoint por janela + fim
+        assertThat(statuses).hasSize(4).endsWith("SUCCESS");
+        assertThat(IntStream.range(0, 3).mapToObj(statuses::get)).containsOnly("RUNNING");
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.client.movidesk.MovideskTicketResponse;
+import br.com.consisa.gov.kb.repository.SupportIngestionRepository;
+import br.com.consisa.gov.kb.repository.SupportIngestionRepository.ClusterLink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SupportIngestionServiceTest {
+
+    @Mock
+    private SupportIngestionRepository ingestionRepository;
+    @Mock
+    private FaqClusterMatcher clusterMatcher;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void importsInBatchesAndAggregatesClusterCounts() {
+        var service = new SupportIngestionService(ingestionRepository, clusterMatcher, new SupportNormalizationService(), 2);
+
+        LocalDateTime created = LocalDateTime.of(2026, 5, 4, 10, 0);
+        var tickets = List.of(
+                ticket("1", "erro ao emitir nota", created),
+                ticket("2", "erro ao emitir nota", created.plusDays(1)),
+                ticket("3", "erro ao emitir nota", created.plusDays(1)));
+        // lote 1: ticket 1 já existe, 2 é novo; lote 2: ticket 3 é novo
+        when(ingestionRepository.findTicketIds(anyCollection()))
+                .thenReturn(Map.of("1", 10L), Map.of("2", 20L), Map.of(), Map.of("3", 30L));
+        when(ingestionRepository.findLinkedTicketIds(anyCollection())).thenReturn(Set.of());
+        // cluster criado no lote 1 é achado por fingerprint no lote 2
+        when(ingestionRepository.findClusterIdsByFingerprint(anyCollection()))
+                .thenReturn(Map.of());
+        when(clusterMatcher.findNearest(any())).thenReturn(Optional.empty());
+        when(ingestionRepository.insertLinks(any())).thenAnswer(inv -> Set.copyOf(inv.<List<ClusterLink>>getArgument(0)));
+        when(ingestionRepository.insertCluster(anyString(), anyString(), anyString(), any())).thenAnswer(inv -> {
+            when(ingestionRepository.findClusterIdsByFingerprint(anyCollection()))
+                    .thenReturn(Map.of((String) inv.getArgument(0), 7L));
+            return 7L;
+        });
+
+        var result = service.ingest(tickets);
+
+        assertThat(result.ticketsCreated()).isEqualTo(2);
+        assertThat(result.ticketsUpdated()).isEqualTo(1);
+        verify(ingestionRepository, times(2)).upsertTickets(any());
+        // mesmo texto no lote: um cluster criado, vínculos e contadores agregados
+        verify(ingestionRepository).insertCluster(anyString(), anyString(), anyString(), any());
+        ArgumentCaptor<Map<Long, List<LocalDate>>> occurrences = ArgumentCaptor.forClass(Map.class);
+        verify(ingestionRepository, times(2)).addOccurrences(occurrences.capture());
+        assertThat(occurrences.getAllValues().get(0)).containsEntry(7L,
+                List.of(created.toLocalDate(), created.toLocalDate().plusDays(1)));
+        ArgumentCaptor<List<ClusterLink>> links = ArgumentCaptor.forClass(List.class);
+        verify(ingestionRepository, times(2)).insertLinks(links.capture());
+        assertThat(links.getAllValues().get(0)).containsExactly(new ClusterLink(7L, 10L), new ClusterLink(7L, 20L));
+        assertThat(links.getAllValues().get(1)).containsExactly(new ClusterLink(7L, 30L));
+        verify(clusterMatcher).indexBands(eq(7L), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void reimportedTicketsAlreadyLinkedElsewhereDoNotChangeCounts() {
+        var service = new SupportIngestionService(ingestionRepository, clusterMatcher, new SupportNormalizationService(), 10);
+
+        LocalDateTime created = LocalDateTime.of(2026, 5, 4, 10, 0);
+        var tickets = List.of(
+                ticket("1", "erro ao emitir nota", created),
+                ticket("2", "erro ao emitir nota", created));
+        when(ingestionRepository.findTicketIds(anyCollection()))
+                .thenReturn(Map.of("1", 10L, "2", 20L));
+        // import concorrente vinculou o ticket 10 depois do findLinkedTicketIds
+        when(ingestionRepository.findLinkedTicketIds(anyCollection())).thenReturn(Set.of());
+        when(ingestionRepository.findClusterIdsByFingerprint(anyCollection())).thenAnswer(inv -> Map.of(
+                inv.<List<String>>getArgument(0).get(0), 7L));
+        when(ingestionRepository.insertLinks(any())).thenReturn(Set.of(new ClusterLink(7L, 20L)));
+
+        service.ingest(tickets);
+
+        ArgumentCaptor<Map<Long, List<LocalDate>>> occurrences = ArgumentCaptor.forClass(Map.class);
+        verify(ingestionRepository).addOccurrences(occurrences.capture());
+        assertThat(occurrences.getValue()).containsExactly(Map.entry(7L, List.of(created.toLocalDate())));
+
+        // reimportação do mesmo lote: nenhum vínculo novo, nenhuma ocorrência
+        when(ingestionRepository.findTicketIds(anyCollection()))
+                .thenReturn(Map.of("1", 10L, "2", 20L));
+        when(ingestionRepository.insertLinks(any())).thenReturn(Set.of());
+
+        service.ingest(tickets);
+
+        verify(ingestionRepository, times(2)).addOccurrences(occurrences.capture());
+        assertThat(occurrences.getValue()).isEmpty();
+    }
+
+    private static MovideskTicketResponse ticket(String id, String subject, LocalDateTime createdDate) {
+        MovideskTicketResponse ticket = new MovideskTicketResponse();
+        ticket.setId(id);
+        ticket.setSubject(subject);
+        ticket.setCreatedDate(createdDate);
+        return ticket;
+    }
+}
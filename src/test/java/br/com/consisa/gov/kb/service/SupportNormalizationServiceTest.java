@@ -0,0 +1,42 @@
+package br.com.consisa.gov.kb.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SupportNormalizationServiceTest {
+
+    private final SupportNormalizationService service = new SupportNormalizationService();
+
+    @Test
+    void stripsAccentsLowercasesAndCollapsesSpaces() {
+        assertThat(service.normalize("  Não  CONSIGO\temitir\n\nNF-e Ação ÇÃO  ")).isEqualTo("nao consigo emitir nf-e acao cao");
+        assertThat(service.normalize(null)).isEmpty();
+    }
+
+    @Test
+    void masksIdentifiersOnWordBoundaries() {
+        assertThat(service.normalize("Pedido 1234567 do CPF 123.456.789-01 e 12345678901"))
+                .isEqualTo("pedido [id] do cpf [cpf] e [cpf]");
+        assertThat(service.normalize("CNPJ 12.345.678/0001-90 ou 12345678000190"))
+                .isEqualTo("cnpj [cnpj] ou [cnpj]");
+        // colado em letra ou número curto não é identificador
+        assertThat(service.normalize("abc1234567 12345 nf123.456.789-01"))
+                .isEqualTo("abc1234567 12345 nf123.456.789-01");
+    }
+
+    @Test
+    void masksEmailsAfterLowercasing() {
+        assertThat(service.normalize("Falar com João.Silva+kb@Empresa.COM.br, ok"))
+                .isEqualTo("falar com [email], ok");
+        assertThat(service.normalize("contato 1234567@mail.com")).isEqualTo("contato [email]");
+        assertThat(service.normalize("usuario @ empresa e x@y")).isEqualTo("usuario @ empresa e x@y");
+    }
+
+    @Test
+    void fingerprintIsSha256Hex() {
+        assertThat(service.fingerprint("abc"))
+                .isEqualTo("ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad");
+        assertThat(service.fingerprint("abc")).isEqualTo(service.fingerprint("abc"));
+    }
+}
@@ -0,0 +1,103 @@
+package br.com.consisa.gov.kb.service;
+
+import br.com.consisa.gov.kb.domain.SyncMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SyncProgressBroadcasterTest {
+
+    private final SyncProgressBroadcaster broadcaster = new SyncProgressBroadcaster(60_000, 1000);
+
+    @Test
+    void coalescesManyItemsIntoOneProgressPerTick() {
+        RecordingEmitter client = subscribe();
+        broadcaster.runStarted(1L, SyncMode.FULL);
+
+        for (int i = 0; i < 500; i++) {
+            broadcaster.itemProcessed();
+            broadcaster.itemSucceeded();
+        }
+        broadcaster.flush();
+        broadcaster.flush();
+
+        assertThat(client.names()).containsExactly("snapshot", "started", "progress");
+        assertThat(client.raw.get(2)).contains("processed=500", "succeeded=500");
+    }
+
+    @Test
+    void keepsOnlyLatestErrorsAndReportsHowManyWereDropped() {
+        RecordingEmitter client = subscribe();
+        broadcaster.runStarted(1L, SyncMode.FULL);
+
+        for (long id = 1; id <= 25; id++) {
+            broadcaster.itemFailed(id, 1, "falha " + id);
+        }
+        broadcaster.flush();
+
+        assertThat(client.names()).containsExactly("snapshot", "started", "progress", "errors");
+        String errors = client.raw.get(3);
+        assertThat(errors).contains("dropped=5", "message=falha 6,", "message=falha 25,")
+                .doesNotContain("message=falha 5,");
+        assertThat(client.raw.get(2)).contains("failed=25");
+    }
+
+    @Test
+    void sendsHeartbeatWhenIdleAndDropsDisconnectedClients() {
+        RecordingEmitter client = subscribe();
+        RecordingEmitter gone = subscribe();
+        gone.disconnected = true;
+
+        // nada mudou e nunca houve push: só o comentário de keep-alive
+        broadcaster.flush();
+
+        assertThat(client.raw).hasSize(2);
+        assertThat(client.raw.get(1)).startsWith(":keep-alive");
+        assertThat(broadcaster.subscribers()).isEqualTo(1);
+
+        // heartbeat recente: tick seguinte sem nada a enviar fica em silêncio
+        broadcaster.flush();
+        assertThat(client.raw).hasSize(2);
+    }
+
+    private RecordingEmitter subscribe() {
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.subscribe(emitter);
+        return emitter;
+    }
+
+    /**
+     * Emitter sem conexão HTTP: guarda o texto de cada evento enviado
+     * (payload ainda não serializado: Map.toString).
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final List<String> raw = new ArrayList<>();
+        private boolean disconnected;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (disconnected) {
+                throw new IOException("Broken pipe");
+            }
+            raw.add(builder.build().stream()
+                    .map(ResponseBodyEmitter.DataWithMediaType::getData)
+                    .map(String::valueOf)
+                    .collect(Collectors.joining()));
+        }
+
+        List<String> names() {
+            return raw.stream()
+                    .filter(event -> event.startsWith("event:"))
+                    .map(event -> event.substring("event:".length(), event.indexOf('\n')))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package br.com.consisa.gov.kb.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TicketMinHashTest {
+
+    private static final String BASE = "erro ao emitir nota fiscal eletronica rejeicao 539 duplicidade de nf-e "
+            + "com diferenca na chave de acesso ao transmitir o lote para a sefaz o sistema retorna a mensagem";
+
+    @Test
+    void nearDuplicatesShareBandAndScoreHigh() {
+        int[] a = TicketMinHash.signature(BASE + " no cliente [id]");
+        int[] b = TicketMinHash.signature(BASE + " na filial [id] hoje");
+
+        assertThat(TicketMinHash.similarity(a, b)).isGreaterThan(0.6);
+        assertThat(sharesBand(a, b)).isTrue();
+    }
+
+    @Test
+    void unrelatedTextsScoreLow() {
+        int[] a = TicketMinHash.signature(BASE);
+        int[] b = TicketMinHash.signature("como cadastrar novo usuario no modulo de folha de pagamento "
+                + "e liberar acesso ao relatorio de ferias para o departamento pessoal");
+
+        assertThat(TicketMinHash.similarity(a, b)).isLessThan(0.1);
+    }
+
+    @Test
+    void signatureIsStableAndEmptyTextHasNoBands() {
+        assertThat(TicketMinHash.signature(BASE)).containsExactly(TicketMinHash.signature(BASE));
+        assertThat(TicketMinHash.signature("  ")).isEmpty();
+        assertThat(TicketMinHash.bandKeys(new int[0])).isEmpty();
+        assertThat(TicketMinHash.signature("senha")).hasSize(TicketMinHash.HASHES);
+    }
+
+    private static boolean sharesBand(int[] a, int[] b) {
+        long[] keysB = TicketMinHash.bandKeys(b);
+        return Arrays.stream(TicketMinHash.bandKeys(a)).anyMatch(k -> Arrays.stream(keysB).anyMatch(o -> o == k));
+    }
+}